@@ -0,0 +1,445 @@
+package io.github.kkm237.notifier.core.circuit;
+
+import io.github.kkm237.notifier.core.exceptions.CircuitBreakerOpenException;
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Circuit breaker of a channel or a provider endpoint, failing the sends at once while it is degraded instead
+ * of letting each of them wait for its timeout
+ * <p>The outcome of the last {@code windowSize} sends is kept in a ring. Once {@code minimumCalls} are recorded, a
+ * failure rate or a slow call rate reaching its threshold opens the circuit: every send is refused for
+ * {@code openMillis}. The circuit is then half-open and lets {@code halfOpenProbes} sends through, refusing the
+ * others, and closes again when the probes are below the thresholds, or opens again otherwise.</p>
+ * <p>Only the failures of the endpoint itself should be recorded as failures, such as a timeout or a 5xx, not a
+ * refused recipient. The state transitions are logged and handed to the listeners of
+ * {@link #onStateTransition(Consumer)}.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class CircuitBreaker {
+
+    private static final Logger log = Logger.getLogger(CircuitBreaker.class.getName());
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final List<Consumer<StateTransition>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * outcome of the last sends, a combination of FAILED and SLOW, guarded by this breaker
+     */
+    private final byte[] window;
+    private int head;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private CircuitState state = CircuitState.CLOSED;
+    private long stateSinceNanos = System.nanoTime();
+    /**
+     * incremented by each transition, so the outcome of a send permitted before it is ignored
+     */
+    private long generation;
+    private int probesRunning;
+    private long notPermitted;
+
+    private CircuitBreaker(Builder builder, String name) {
+        this.name = name;
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = builder.minimumCalls;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(builder.slowCallMillis);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(builder.openMillis);
+        this.halfOpenProbes = builder.halfOpenProbes;
+        this.window = new byte[builder.windowSize];
+    }
+
+    /**
+     * Ask to send through the circuit
+     *
+     * @return the permit of the send, whose outcome must be recorded, or null when the circuit refuses it
+     */
+    public Permit tryAcquire() {
+        StateTransition transition = null;
+        Permit permit = null;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (state == CircuitState.OPEN && now - stateSinceNanos >= openNanos) {
+                transition = transitionTo(CircuitState.HALF_OPEN, now);
+            }
+            if (state == CircuitState.CLOSED) {
+                permit = new Permit(generation, false);
+            } else if (state == CircuitState.HALF_OPEN && probesRunning < halfOpenProbes) {
+                probesRunning++;
+                permit = new Permit(generation, true);
+            } else {
+                notPermitted++;
+            }
+        }
+        publish(transition);
+        return permit;
+    }
+
+    /**
+     * @return the exception of a send refused by the circuit
+     */
+    public CircuitBreakerOpenException openException() {
+        long retryAfterMillis;
+        synchronized (this) {
+            retryAfterMillis = state == CircuitState.OPEN
+                    ? TimeUnit.NANOSECONDS.toMillis(Math.max(0, openNanos - (System.nanoTime() - stateSinceNanos)))
+                    : 0;
+        }
+        return new CircuitBreakerOpenException(name, retryAfterMillis, "Circuit breaker " + name + " is " + getState());
+    }
+
+    /**
+     * Listener of the state transitions, called by the thread recording the send which caused it
+     */
+    public void onStateTransition(Consumer<StateTransition> listener) {
+        listeners.add(listener);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    public synchronized Metrics getMetrics() {
+        return new Metrics(name, state, calls, rate(failures), rate(slowCalls), notPermitted);
+    }
+
+    private void record(Permit permit, boolean failed, long durationNanos) {
+        StateTransition transition = null;
+        synchronized (this) {
+            if (permit.generation != generation) {
+                return;
+            }
+            if (permit.probe) {
+                probesRunning--;
+            }
+            add((byte) ((failed ? FAILED : 0) | (durationNanos >= slowCallNanos ? SLOW : 0)));
+            long now = System.nanoTime();
+            if (state == CircuitState.CLOSED) {
+                if (calls >= minimumCalls && isDegraded()) {
+                    transition = transitionTo(CircuitState.OPEN, now);
+                }
+            } else if (state == CircuitState.HALF_OPEN && calls >= halfOpenProbes) {
+                transition = transitionTo(isDegraded() ? CircuitState.OPEN : CircuitState.CLOSED, now);
+            }
+        }
+        publish(transition);
+    }
+
+    private synchronized void release(Permit permit) {
+        if (permit.probe && permit.generation == generation) {
+            probesRunning--;
+        }
+    }
+
+    private void add(byte outcome) {
+        if (calls == windowSize) {
+            byte evicted = window[head];
+            if ((evicted & FAILED) != 0) failures--;
+            if ((evicted & SLOW) != 0) slowCalls--;
+        } else {
+            calls++;
+        }
+        window[head] = outcome;
+        head = (head + 1) % windowSize;
+        if ((outcome & FAILED) != 0) failures++;
+        if ((outcome & SLOW) != 0) slowCalls++;
+    }
+
+    private boolean isDegraded() {
+        return rate(failures) >= failureRateThreshold || rate(slowCalls) >= slowCallRateThreshold;
+    }
+
+    private double rate(int count) {
+        return calls == 0 ? 0 : (double) count / calls;
+    }
+
+    /**
+     * Move to the given state with an empty window
+     */
+    private StateTransition transitionTo(CircuitState to, long now) {
+        StateTransition transition = new StateTransition(name, state, to, rate(failures), rate(slowCalls));
+        state = to;
+        stateSinceNanos = now;
+        generation++;
+        probesRunning = 0;
+        head = 0;
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+        return transition;
+    }
+
+    private void publish(StateTransition transition) {
+        if (transition == null) {
+            return;
+        }
+        log.log(transition.getTo() == CircuitState.OPEN ? Level.WARNING : Level.INFO, transition.toString());
+        for (Consumer<StateTransition> listener : listeners) {
+            try {
+                listener.accept(transition);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Circuit breaker listener of " + name + " failed", e);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int windowSize = 100;
+        private int minimumCalls = 20;
+        private double failureRateThreshold = 0.5;
+        private double slowCallRateThreshold = 0.8;
+        private long slowCallMillis = 5_000;
+        private long openMillis = 30_000;
+        private int halfOpenProbes = 5;
+
+        private Builder() {}
+
+        /**
+         * Sends whose outcome is kept to compute the rates
+         */
+        public Builder windowSize(int windowSize) {
+            if (windowSize < 1) throw new NotifierException("windowSize must be greater than 0");
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Sends recorded before the rates may open the circuit
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1) throw new NotifierException("minimumCalls must be greater than 0");
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Part of failed sends opening the circuit, between 0 and 1
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) throw new NotifierException("failureRateThreshold must be between 0 and 1");
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Part of slow sends opening the circuit, between 0 and 1
+         */
+        public Builder slowCallRateThreshold(double slowCallRateThreshold) {
+            if (!(slowCallRateThreshold > 0 && slowCallRateThreshold <= 1)) throw new NotifierException("slowCallRateThreshold must be between 0 and 1");
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        /**
+         * Duration above which a send is slow
+         */
+        public Builder slowCallMillis(long slowCallMillis) {
+            if (slowCallMillis < 1) throw new NotifierException("slowCallMillis must be greater than 0");
+            this.slowCallMillis = slowCallMillis;
+            return this;
+        }
+
+        /**
+         * Duration of the open state before the probes
+         */
+        public Builder openMillis(long openMillis) {
+            if (openMillis < 1) throw new NotifierException("openMillis must be greater than 0");
+            this.openMillis = openMillis;
+            return this;
+        }
+
+        /**
+         * Probe sends of the half-open state, deciding whether the circuit closes
+         */
+        public Builder halfOpenProbes(int halfOpenProbes) {
+            if (halfOpenProbes < 1) throw new NotifierException("halfOpenProbes must be greater than 0");
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+
+        /**
+         * @param name name of the breaker, such as its channel or endpoint
+         */
+        public CircuitBreaker build(String name) {
+            if (minimumCalls > windowSize) throw new NotifierException("minimumCalls cannot be greater than windowSize");
+            if (halfOpenProbes > windowSize) throw new NotifierException("halfOpenProbes cannot be greater than windowSize");
+            return new CircuitBreaker(this, name);
+        }
+    }
+
+    /**
+     * Right to send once through the circuit, only its first outcome is recorded
+     */
+    public final class Permit {
+        private final long generation;
+        private final boolean probe;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Permit(long generation, boolean probe) {
+            this.generation = generation;
+            this.probe = probe;
+        }
+
+        public void onSuccess(long durationNanos) {
+            if (done.compareAndSet(false, true)) {
+                record(this, false, durationNanos);
+            }
+        }
+
+        /**
+         * Record a failure of the endpoint itself
+         */
+        public void onFailure(long durationNanos) {
+            if (done.compareAndSet(false, true)) {
+                record(this, true, durationNanos);
+            }
+        }
+
+        /**
+         * Give the permit back without outcome, such as for a send cancelled before it started
+         */
+        public void release() {
+            if (done.compareAndSet(false, true)) {
+                CircuitBreaker.this.release(this);
+            }
+        }
+    }
+
+    /**
+     * Change of state of a circuit breaker, with the rates which caused it
+     */
+    public static final class StateTransition {
+        private final String name;
+        private final CircuitState from;
+        private final CircuitState to;
+        private final double failureRate;
+        private final double slowCallRate;
+
+        private StateTransition(String name, CircuitState from, CircuitState to, double failureRate, double slowCallRate) {
+            this.name = name;
+            this.from = from;
+            this.to = to;
+            this.failureRate = failureRate;
+            this.slowCallRate = slowCallRate;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public CircuitState getFrom() {
+            return from;
+        }
+
+        public CircuitState getTo() {
+            return to;
+        }
+
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        public double getSlowCallRate() {
+            return slowCallRate;
+        }
+
+        @Override
+        public String toString() {
+            return "Circuit breaker " + name + " " + from + " -> " + to
+                    + ", failure rate " + String.format("%.2f", failureRate)
+                    + ", slow call rate " + String.format("%.2f", slowCallRate);
+        }
+    }
+
+    /**
+     * Snapshot of the sliding window of a circuit breaker
+     */
+    public static final class Metrics {
+        private final String name;
+        private final CircuitState state;
+        private final int calls;
+        private final double failureRate;
+        private final double slowCallRate;
+        private final long notPermitted;
+
+        private Metrics(String name, CircuitState state, int calls, double failureRate, double slowCallRate, long notPermitted) {
+            this.name = name;
+            this.state = state;
+            this.calls = calls;
+            this.failureRate = failureRate;
+            this.slowCallRate = slowCallRate;
+            this.notPermitted = notPermitted;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public CircuitState getState() {
+            return state;
+        }
+
+        /**
+         * @return the sends recorded in the window since the last transition
+         */
+        public int getCalls() {
+            return calls;
+        }
+
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        public double getSlowCallRate() {
+            return slowCallRate;
+        }
+
+        /**
+         * @return the sends refused by the circuit
+         */
+        public long getNotPermitted() {
+            return notPermitted;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                    "name='" + name + '\'' +
+                    ", state=" + state +
+                    ", calls=" + calls +
+                    ", failureRate=" + failureRate +
+                    ", slowCallRate=" + slowCallRate +
+                    ", notPermitted=" + notPermitted +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.kkm237.notifier.core.circuit;
+
+/**
+ * @implNote State of a {@link CircuitBreaker}
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public enum CircuitState {
+    /**
+     * every send goes through, its outcome is recorded in the sliding window
+     */
+    CLOSED,
+    /**
+     * every send fails at once until the open duration elapsed
+     */
+    OPEN,
+    /**
+     * a few probe sends go through, the others fail at once, their outcome closes or opens the circuit again
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,72 @@
+package io.github.kkm237.notifier.core.delivery;
+
+import java.util.Locale;
+
+/**
+ * @implNote Delivery state of a message, as reported by its provider
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public enum DeliveryState {
+    QUEUED(false),
+    SENT(false),
+    DELIVERED(true),
+    UNDELIVERED(true),
+    FAILED(true),
+    EXPIRED(true),
+    REJECTED(true),
+    UNKNOWN(false);
+
+    private final boolean terminal;
+
+    DeliveryState(boolean terminal) {
+        this.terminal = terminal;
+    }
+
+    /**
+     * @return true when the state of the message cannot change anymore
+     */
+    public boolean isFinal() {
+        return terminal;
+    }
+
+    /**
+     * State of a Twilio message status (queued, sent, delivered, undelivered, ...) or of an SMPP delivery receipt
+     * state (ENROUTE, DELIVRD, UNDELIV, ...)
+     */
+    public static DeliveryState fromProviderStatus(String status) {
+        if (status == null) {
+            return UNKNOWN;
+        }
+        switch (status.toLowerCase(Locale.ROOT)) {
+            case "accepted":
+            case "scheduled":
+            case "queued":
+                return QUEUED;
+            case "sending":
+            case "sent":
+            case "enroute":
+            case "acceptd":
+                return SENT;
+            case "delivered":
+            case "read":
+            case "delivrd":
+                return DELIVERED;
+            case "undelivered":
+            case "undeliv":
+                return UNDELIVERED;
+            case "failed":
+            case "canceled":
+            case "deleted":
+                return FAILED;
+            case "expired":
+                return EXPIRED;
+            case "rejectd":
+            case "rejected":
+                return REJECTED;
+            default:
+                return UNKNOWN;
+        }
+    }
+}
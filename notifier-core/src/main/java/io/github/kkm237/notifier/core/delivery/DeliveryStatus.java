@@ -0,0 +1,80 @@
+package io.github.kkm237.notifier.core.delivery;
+
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+
+/**
+ * @implNote Last known delivery state of a message, a snapshot of the {@link DeliveryStatusStore}
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class DeliveryStatus {
+
+    private final String messageId;
+    private final String recipient;
+    private final NotifierPayload.Channel channel;
+    private final DeliveryState state;
+    private final String errorCode;
+    private final long updatedAtMillis;
+
+    DeliveryStatus(String messageId, String recipient, NotifierPayload.Channel channel, DeliveryState state,
+                   String errorCode, long updatedAtMillis) {
+        this.messageId = messageId;
+        this.recipient = recipient;
+        this.channel = channel;
+        this.state = state;
+        this.errorCode = errorCode;
+        this.updatedAtMillis = updatedAtMillis;
+    }
+
+    /**
+     * @return the id given by the provider to the message
+     */
+    public String getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * @return the recipient of the message, null when only a status callback was received
+     */
+    public String getRecipient() {
+        return recipient;
+    }
+
+    /**
+     * @return the channel of the message, null when only a status callback was received
+     */
+    public NotifierPayload.Channel getChannel() {
+        return channel;
+    }
+
+    public DeliveryState getState() {
+        return state;
+    }
+
+    /**
+     * @return the error code of the provider, null when none
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+
+    public boolean isFinal() {
+        return state.isFinal();
+    }
+
+    @Override
+    public String toString() {
+        return "DeliveryStatus{" +
+                "messageId='" + messageId + '\'' +
+                ", recipient='" + recipient + '\'' +
+                ", channel=" + channel +
+                ", state=" + state +
+                ", errorCode='" + errorCode + '\'' +
+                '}';
+    }
+}
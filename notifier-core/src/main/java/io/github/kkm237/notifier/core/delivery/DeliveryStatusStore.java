@@ -0,0 +1,325 @@
+package io.github.kkm237.notifier.core.delivery;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @implNote In-process store of the delivery state of the sent messages, fed by the notifiers when a message is
+ * accepted and by the status callbacks of the providers, so the final state is known without polling the provider.
+ * <p>The messages are indexed by provider message id and by recipient, the latest message of each recipient. Both
+ * lookups and updates are O(1). The store keeps at most {@code maxEntries} messages, each for
+ * {@code expireAfterMillis} after it was first seen: the oldest messages are evicted first, on each write, from the
+ * head of the insertion ordered index.</p>
+ * <p>A callback may arrive before the notifier has tracked its message, it is then kept and completed by the
+ * tracking. A final state is never replaced by a non final one received out of order.</p>
+ * <p>The listeners and the futures of {@link #awaitFinal(String)} are completed once the lock of the store is released,
+ * so a slow callback never blocks the other updates.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class DeliveryStatusStore {
+
+    private static final Logger log = Logger.getLogger(DeliveryStatusStore.class.getName());
+
+    private final int maxEntries;
+    private final long expireAfterMillis;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> byMessageId = new LinkedHashMap<>();
+    private final Map<String, Entry> byRecipient = new HashMap<>();
+    private final List<Consumer<DeliveryStatus>> listeners = new CopyOnWriteArrayList<>();
+    /**
+     * completions of the waiters collected under the lock, run once it is released
+     */
+    private List<Runnable> completions = new ArrayList<>();
+
+    /**
+     * @param maxEntries        maximum number of messages kept
+     * @param expireAfterMillis how long a message is kept after it was first seen
+     */
+    public DeliveryStatusStore(int maxEntries, long expireAfterMillis) {
+        this(maxEntries, expireAfterMillis, Clock.systemUTC());
+    }
+
+    public DeliveryStatusStore(int maxEntries, long expireAfterMillis, Clock clock) {
+        if (maxEntries < 1) throw new NotifierException("maxEntries must be greater than 0");
+        if (expireAfterMillis < 1) throw new NotifierException("expireAfterMillis must be greater than 0");
+        this.maxEntries = maxEntries;
+        this.expireAfterMillis = expireAfterMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Track a message accepted by its provider
+     */
+    public void track(NotifierPayload.Channel channel, String messageId, String recipient, DeliveryState state) {
+        DeliveryStatus notified;
+        List<Runnable> completed;
+        synchronized (this) {
+            long now = clock.millis();
+            expire(now);
+            Entry entry = entry(messageId, now);
+            entry.channel = channel;
+            if (entry.recipient == null) {
+                entry.recipient = recipient;
+            }
+            byRecipient.put(recipient, entry);
+            notified = apply(entry, state, null, now) ? entry.snapshot() : null;
+            completed = takeCompletions();
+        }
+        complete(completed);
+        notify(notified);
+    }
+
+    /**
+     * Record a state of a message, the message is created when it is not tracked yet
+     *
+     * @return true when the state of the message changed
+     */
+    public boolean update(String messageId, DeliveryState state, String errorCode) {
+        DeliveryStatus notified;
+        boolean changed;
+        List<Runnable> completed;
+        synchronized (this) {
+            long now = clock.millis();
+            expire(now);
+            Entry entry = entry(messageId, now);
+            changed = apply(entry, state, errorCode, now);
+            notified = changed && state.isFinal() ? entry.snapshot() : null;
+            completed = takeCompletions();
+        }
+        complete(completed);
+        notify(notified);
+        return changed;
+    }
+
+    /**
+     * Record a status reported by a provider, a Twilio message status or an SMPP delivery receipt state
+     *
+     * @return true when the state of the message changed
+     */
+    public boolean ingest(String messageId, String providerStatus, String errorCode) {
+        return update(messageId, DeliveryState.fromProviderStatus(providerStatus), errorCode);
+    }
+
+    /**
+     * Record the parameters of a Twilio status callback: MessageSid, MessageStatus and ErrorCode
+     *
+     * @return true when the state of the message changed
+     * @throws NotifierException when MessageSid is missing
+     */
+    public boolean ingestTwilioCallback(Map<String, String> parameters) {
+        String messageId = parameters.get("MessageSid");
+        if (messageId == null || messageId.isEmpty()) {
+            throw new NotifierException("Twilio status callback without MessageSid");
+        }
+        return ingest(messageId, parameters.get("MessageStatus"), parameters.get("ErrorCode"));
+    }
+
+    public Optional<DeliveryStatus> get(String messageId) {
+        Optional<DeliveryStatus> status;
+        List<Runnable> completed;
+        synchronized (this) {
+            expire(clock.millis());
+            Entry entry = byMessageId.get(messageId);
+            status = entry == null ? Optional.empty() : Optional.of(entry.snapshot());
+            completed = takeCompletions();
+        }
+        complete(completed);
+        return status;
+    }
+
+    /**
+     * Status of the latest message tracked for the recipient
+     */
+    public Optional<DeliveryStatus> getLatest(String recipient) {
+        Optional<DeliveryStatus> status;
+        List<Runnable> completed;
+        synchronized (this) {
+            expire(clock.millis());
+            Entry entry = byRecipient.get(recipient);
+            status = entry == null ? Optional.empty() : Optional.of(entry.snapshot());
+            completed = takeCompletions();
+        }
+        complete(completed);
+        return status;
+    }
+
+    /**
+     * @return a future completed with the final status of the message, failed when the message expires before
+     */
+    public CompletableFuture<DeliveryStatus> awaitFinal(String messageId) {
+        CompletableFuture<DeliveryStatus> waiter;
+        List<Runnable> completed;
+        synchronized (this) {
+            long now = clock.millis();
+            expire(now);
+            Entry entry = entry(messageId, now);
+            if (entry.state.isFinal()) {
+                waiter = CompletableFuture.completedFuture(entry.snapshot());
+            } else {
+                if (entry.waiter == null) {
+                    entry.waiter = new CompletableFuture<>();
+                }
+                waiter = entry.waiter;
+            }
+            completed = takeCompletions();
+        }
+        complete(completed);
+        return waiter;
+    }
+
+    /**
+     * Listener of the final states, called on the thread which recorded them
+     */
+    public void subscribe(Consumer<DeliveryStatus> listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized int size() {
+        return byMessageId.size();
+    }
+
+    private Entry entry(String messageId, long now) {
+        Entry entry = byMessageId.get(messageId);
+        if (entry == null) {
+            entry = new Entry(messageId, now);
+            byMessageId.put(messageId, entry);
+            if (byMessageId.size() > maxEntries) {
+                evict(byMessageId.entrySet().iterator());
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Evict the messages first seen more than expireAfterMillis ago, the oldest at the head of the index
+     */
+    private void expire(long now) {
+        Iterator<Map.Entry<String, Entry>> oldest = byMessageId.entrySet().iterator();
+        while (oldest.hasNext()) {
+            Entry entry = oldest.next().getValue();
+            if (now - entry.createdAtMillis < expireAfterMillis) {
+                return;
+            }
+            evict(entry, oldest);
+        }
+    }
+
+    private void evict(Iterator<Map.Entry<String, Entry>> oldest) {
+        evict(oldest.next().getValue(), oldest);
+    }
+
+    private void evict(Entry entry, Iterator<Map.Entry<String, Entry>> position) {
+        position.remove();
+        if (entry.recipient != null && byRecipient.get(entry.recipient) == entry) {
+            byRecipient.remove(entry.recipient);
+        }
+        CompletableFuture<DeliveryStatus> waiter = entry.waiter;
+        if (waiter != null) {
+            entry.waiter = null;
+            completions.add(() -> waiter.completeExceptionally(new NotifierException(
+                    "Delivery status of " + entry.messageId + " evicted before a final state")));
+        }
+    }
+
+    /**
+     * Apply a state to the message, its waiter being completed once the lock is released when the state is final
+     *
+     * @return true when the state changed
+     */
+    private boolean apply(Entry entry, DeliveryState next, String errorCode, long now) {
+        if (!entry.apply(next, errorCode, now)) {
+            return false;
+        }
+        CompletableFuture<DeliveryStatus> waiter = entry.waiter;
+        if (next.isFinal() && waiter != null) {
+            entry.waiter = null;
+            DeliveryStatus status = entry.snapshot();
+            completions.add(() -> waiter.complete(status));
+        }
+        return true;
+    }
+
+    private List<Runnable> takeCompletions() {
+        if (completions.isEmpty()) {
+            return List.of();
+        }
+        List<Runnable> taken = completions;
+        completions = new ArrayList<>();
+        return taken;
+    }
+
+    /**
+     * Complete the waiters outside of the lock, a stage chained on {@link #awaitFinal(String)} running on this thread
+     */
+    private static void complete(List<Runnable> completed) {
+        for (Runnable completion : completed) {
+            completion.run();
+        }
+    }
+
+    private void notify(DeliveryStatus status) {
+        if (status == null || !status.isFinal()) {
+            return;
+        }
+        for (Consumer<DeliveryStatus> listener : listeners) {
+            try {
+                listener.accept(status);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Delivery status listener failed for " + status, e);
+            }
+        }
+    }
+
+    /**
+     * Mutable state of one message, guarded by the store
+     */
+    private static final class Entry {
+        private final String messageId;
+        private final long createdAtMillis;
+        private String recipient;
+        private NotifierPayload.Channel channel;
+        private DeliveryState state = DeliveryState.UNKNOWN;
+        private String errorCode;
+        private long updatedAtMillis;
+        private CompletableFuture<DeliveryStatus> waiter;
+
+        private Entry(String messageId, long createdAtMillis) {
+            this.messageId = messageId;
+            this.createdAtMillis = createdAtMillis;
+            this.updatedAtMillis = createdAtMillis;
+        }
+
+        /**
+         * @return true when the state changed
+         */
+        private boolean apply(DeliveryState next, String nextErrorCode, long now) {
+            if (next == state || next == DeliveryState.UNKNOWN || (state.isFinal() && !next.isFinal())) {
+                return false;
+            }
+            state = next;
+            errorCode = nextErrorCode;
+            updatedAtMillis = now;
+            return true;
+        }
+
+        private DeliveryStatus snapshot() {
+            return new DeliveryStatus(messageId, recipient, channel, state, errorCode, updatedAtMillis);
+        }
+    }
+}
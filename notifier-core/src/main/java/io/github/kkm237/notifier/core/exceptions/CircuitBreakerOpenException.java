@@ -0,0 +1,30 @@
+package io.github.kkm237.notifier.core.exceptions;
+
+/**
+ * Throw this Exception when a notification is not sent because the circuit breaker of its channel or endpoint is open
+ */
+public class CircuitBreakerOpenException extends NotifierSendFailedException {
+
+    private final String circuitBreaker;
+    private final long retryAfterMillis;
+
+    public CircuitBreakerOpenException(String circuitBreaker, long retryAfterMillis, String message) {
+        super(message);
+        this.circuitBreaker = circuitBreaker;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Name of the open circuit breaker
+     */
+    public String getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Estimated delay before the circuit breaker lets probe sends through, 0 when it is half-open
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
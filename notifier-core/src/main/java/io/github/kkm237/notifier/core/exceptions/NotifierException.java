@@ -12,4 +12,12 @@ public class NotifierException extends RuntimeException {
     public NotifierException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * @param writableStackTrace false for a failure reported without being thrown, such as the failure of one
+     *                           recipient, whose stack trace is then not filled
+     */
+    protected NotifierException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, true, writableStackTrace);
+    }
 }
\ No newline at end of file
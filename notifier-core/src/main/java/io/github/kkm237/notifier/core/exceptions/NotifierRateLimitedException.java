@@ -0,0 +1,46 @@
+package io.github.kkm237.notifier.core.exceptions;
+
+/**
+ * Throw this Exception when a notification is not sent because the rate limit of its sender is reached
+ */
+public class NotifierRateLimitedException extends NotifierSendFailedException {
+
+    private final String sender;
+    private final long retryAfterMillis;
+
+    public NotifierRateLimitedException(String sender, long retryAfterMillis, String message) {
+        super(message);
+        this.sender = sender;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public NotifierRateLimitedException(String sender, long retryAfterMillis, String message, Throwable cause) {
+        super(message, cause);
+        this.sender = sender;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @param writableStackTrace false for the failure of one recipient, whose stack trace is then not filled
+     */
+    public NotifierRateLimitedException(String sender, long retryAfterMillis, String message, Throwable cause,
+                                        boolean writableStackTrace) {
+        super(message, cause, writableStackTrace);
+        this.sender = sender;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Sender whose rate limit is reached
+     */
+    public String getSender() {
+        return sender;
+    }
+
+    /**
+     * Estimated delay before a permit of the sender is available, -1 when unknown
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
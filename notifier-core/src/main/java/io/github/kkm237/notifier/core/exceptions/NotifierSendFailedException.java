@@ -14,4 +14,11 @@ public class NotifierSendFailedException extends NotifierException {
     public NotifierSendFailedException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * @param writableStackTrace false for the failure of one recipient, whose stack trace is then not filled
+     */
+    public NotifierSendFailedException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, writableStackTrace);
+    }
 }
@@ -5,21 +5,32 @@ import io.github.kkm237.notifier.core.exceptions.NotifierException;
 import io.github.kkm237.notifier.core.utils.StringUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
 
 /**
  * mainly for email
  */
 public final class AttachmentPayload {
 
+    private static final Logger log = Logger.getLogger(AttachmentPayload.class.getName());
+
     private final String filename;
     private final String contentType;
     private final byte[] content;
     private final File file;
     private final InputStream inputStream;
     private final String description;
+    private final boolean spooled;
+    private final AtomicBoolean streamTaken = new AtomicBoolean();
 
 
     public String getFilename() {
@@ -46,14 +57,128 @@ public final class AttachmentPayload {
         return description;
     }
 
+    /**
+     * Take the stream of the attachment to send it. A stream is read once, so a payload sent again, or an attachment
+     * shared by many payloads, fails instead of sending it empty: see {@link #spoolStream()} to send it more than once
+     *
+     * @return the stream, null when the attachment has none
+     * @throws NotifierException when the stream was already taken
+     */
+    public InputStream takeInputStream() {
+        if (inputStream == null) return null;
+        if (!streamTaken.compareAndSet(false, true)) {
+            throw new NotifierException("Attachment stream " + filename + " has already been sent, a stream can be read once");
+        }
+        return inputStream;
+    }
+
+    /**
+     * Copy of a stream attachment whose stream is moved to a temporary file, so the copy can be sent more than once.
+     * The copy is spooled and its file belongs to the caller of this method, see {@link #deleteSpoolFile()}
+     *
+     * @return the copy, or this attachment when it has no stream
+     * @throws NotifierException when the stream was already taken or cannot be written to disk
+     */
+    public AttachmentPayload spoolStream() {
+        if (inputStream == null) return this;
+        try (InputStream in = takeInputStream()) {
+            Path spool = Files.createTempFile("notifier-", ".spool");
+            try {
+                Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.deleteIfExists(spool);
+                throw e;
+            }
+            return new AttachmentPayload(this, spool.toFile());
+        } catch (IOException e) {
+            throw new NotifierException("Cannot spool attachment " + filename + " to disk: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return true when the content was moved to a temporary file, see {@link Builder#spoolThreshold(long)}. The file
+     * belongs to the caller: the notifiers read it on each send, so the payload may be sent again, and it is deleted
+     * by {@link #deleteSpoolFile()} once the payload is no longer sent
+     */
+    public boolean isSpooled() {
+        return spooled;
+    }
+
+    /**
+     * Delete the temporary file of a spooled attachment, nothing is done for other attachments
+     */
+    public void deleteSpoolFile() {
+        if (!spooled) return;
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            throw new NotifierException("Cannot delete spooled attachment " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Delete the temporary files of the spooled attachments, a file which cannot be deleted is logged
+     */
+    public static void deleteSpoolFiles(List<AttachmentPayload> attachments) {
+        if (attachments == null) return;
+        for (AttachmentPayload attachment : attachments) {
+            try {
+                attachment.deleteSpoolFile();
+            } catch (NotifierException e) {
+                log.warning(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Spool the stream attachments of a payload sent more than once, see {@link #spoolStream()}
+     *
+     * @return the attachments with each stream attachment replaced by its spooled copy, or the given list itself when
+     * it has no stream attachment. The copies are deleted by {@link #deleteSpooledStreams(List, List)}
+     */
+    public static List<AttachmentPayload> spoolStreams(List<AttachmentPayload> attachments) {
+        if (attachments.stream().allMatch(attachment -> attachment.inputStream == null)) {
+            return attachments;
+        }
+        List<AttachmentPayload> spooled = new ArrayList<>(attachments.size());
+        try {
+            for (AttachmentPayload attachment : attachments) {
+                spooled.add(attachment.spoolStream());
+            }
+        } catch (RuntimeException e) {
+            deleteSpooledStreams(attachments, spooled);
+            throw e;
+        }
+        return spooled;
+    }
+
+    /**
+     * Delete the copies made by {@link #spoolStreams(List)}, leaving the other attachments and their spool files in
+     * place
+     *
+     * @param attachments the attachments given to {@link #spoolStreams(List)}
+     * @param spooled     the attachments it returned
+     */
+    public static void deleteSpooledStreams(List<AttachmentPayload> attachments, List<AttachmentPayload> spooled) {
+        if (spooled == attachments) return;
+        List<AttachmentPayload> copies = new ArrayList<>(spooled.size());
+        for (int i = 0; i < spooled.size(); i++) {
+            if (spooled.get(i) != attachments.get(i)) {
+                copies.add(spooled.get(i));
+            }
+        }
+        deleteSpoolFiles(copies);
+    }
+
     @Override
     public String toString() {
         return "CourierAttachment{" +
                 "filename='" + filename + '\'' +
                 ", contentType='" + contentType + '\'' +
-                ", content=" + Arrays.toString(content) +
+                ", content=" + (content == null ? null : content.length + " bytes") +
                 ", file=" + file +
                 ", inputStream=" + inputStream +
+                ", spooled=" + spooled +
                 ", description='" + description + '\'' +
                 '}';
     }
@@ -62,9 +187,38 @@ public final class AttachmentPayload {
         this.filename = builder.filename;
         this.contentType = builder.contentType;
         this.description = builder.description;
-        this.content = builder.content;
-        this.file = builder.file;
         this.inputStream = builder.inputStream;
+        if (builder.content != null && builder.spoolThreshold >= 0 && builder.content.length > builder.spoolThreshold) {
+            this.content = null;
+            this.file = spool(builder.content, builder.spoolDirectory);
+            this.spooled = true;
+        } else {
+            this.content = builder.content;
+            this.file = builder.file;
+            this.spooled = false;
+        }
+    }
+
+    private AttachmentPayload(AttachmentPayload source, File spool) {
+        this.filename = source.filename;
+        this.contentType = source.contentType;
+        this.description = source.description;
+        this.content = null;
+        this.file = spool;
+        this.inputStream = null;
+        this.spooled = true;
+    }
+
+    private static File spool(byte[] content, Path directory) {
+        try {
+            Path spool = directory == null
+                    ? Files.createTempFile("notifier-", ".spool")
+                    : Files.createTempFile(directory, "notifier-", ".spool");
+            Files.write(spool, content);
+            return spool.toFile();
+        } catch (IOException e) {
+            throw new NotifierException("Cannot spool attachment to disk: " + e.getMessage(), e);
+        }
     }
 
     public static Builder builder() {
@@ -78,6 +232,8 @@ public final class AttachmentPayload {
         private byte[] content;
         private File file;
         private InputStream inputStream;
+        private long spoolThreshold = -1;
+        private Path spoolDirectory;
 
 
         private Builder() {}
@@ -117,6 +273,25 @@ public final class AttachmentPayload {
             return this;
         }
 
+        /**
+         * Size in bytes above which the content is moved to a temporary file when the attachment is built,
+         * so the heap holds no copy of it while it waits and while it is sent. The file is deleted by
+         * {@link AttachmentPayload#deleteSpoolFile()}, the notifiers leaving it in place.
+         */
+        public Builder spoolThreshold(long spoolThreshold){
+            if (spoolThreshold < 0) throw new NotifierException("Spool threshold cannot be negative");
+            this.spoolThreshold = spoolThreshold;
+            return this;
+        }
+
+        /**
+         * Directory of the spooled attachments, the system temporary directory when not set
+         */
+        public Builder spoolDirectory(Path spoolDirectory){
+            this.spoolDirectory = Objects.requireNonNull(spoolDirectory, "Spool directory cannot be null");
+            return this;
+        }
+
         public AttachmentPayload build() {
 
             if (filename.isEmpty()) {
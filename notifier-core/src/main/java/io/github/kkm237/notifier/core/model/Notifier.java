@@ -1,5 +1,10 @@
 package io.github.kkm237.notifier.core.model;
 
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * main interface for send notifications
@@ -13,6 +18,61 @@ public interface Notifier {
      */
     void send(NotifierPayload payload);
 
+    /**
+     * send a personalized notification to each recipient of the template payload.
+     * <p>A failed recipient does not prevent the next ones from being sent.</p>
+     *
+     * @param payload the template payload with the variables of each recipient
+     * @throws NotifierSendFailedException when at least one recipient failed
+     */
+    default void send(TemplatePayload payload) {
+        sendWithReport(payload).throwIfFailed("notifications");
+    }
+
+    /**
+     * send notification and report the outcome of each recipient instead of throwing.
+     * <p>The default implementation sends the payload at once, every recipient gets the same outcome.</p>
+     *
+     * @param payload the payload of notification
+     * @return one result per recipient of the payload
+     */
+    default SendReport sendWithReport(NotifierPayload payload) {
+        long start = System.nanoTime();
+        NotifierException failure = null;
+        try {
+            send(payload);
+        } catch (NotifierException e) {
+            failure = e;
+        }
+        long latency = System.nanoTime() - start;
+        List<RecipientResult> results = new ArrayList<>(payload.getRecipients().size());
+        for (String recipient : payload.getRecipients()) {
+            results.add(failure == null ? RecipientResult.sent(recipient, null, latency) : RecipientResult.failed(recipient, failure, latency));
+        }
+        return new SendReport(getChannel(), results);
+    }
+
+    /**
+     * send a personalized notification to each recipient of the template payload and report the outcome of
+     * each recipient instead of throwing.
+     *
+     * @param payload the template payload with the variables of each recipient
+     * @return one result per recipient of the payload
+     */
+    default SendReport sendWithReport(TemplatePayload payload) {
+        List<RecipientResult> results = new ArrayList<>(payload.getRecipients().size());
+        for (String recipient : payload.getRecipients()) {
+            long start = System.nanoTime();
+            try {
+                send(payload.render(recipient));
+                results.add(RecipientResult.sent(recipient, null, System.nanoTime() - start));
+            } catch (NotifierException e) {
+                results.add(RecipientResult.failed(recipient, e, System.nanoTime() - start));
+            }
+        }
+        return new SendReport(getChannel(), results);
+    }
+
     /**
      * check if this service support the specified channel
      *
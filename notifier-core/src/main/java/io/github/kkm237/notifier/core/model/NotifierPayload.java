@@ -1,6 +1,7 @@
 package io.github.kkm237.notifier.core.model;
 
 import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.utils.RecipientValidator;
 import io.github.kkm237.notifier.core.utils.StringUtils;
 
 import java.util.ArrayList;
@@ -90,6 +91,40 @@ public final class NotifierPayload {
         this.attachmentPayloads = List.copyOf(builder.attachmentPayloads);
     }
 
+    /**
+     * @param recipients recipients of this payload, already validated
+     * @return a copy of this payload sent to the given recipients only, such as its failed ones to send them again
+     */
+    public NotifierPayload withRecipients(List<String> recipients) {
+        return new NotifierPayload(this, recipients);
+    }
+
+    /**
+     * @param attachmentPayloads attachments of the copy
+     * @return a copy of this payload with the given attachments instead of its own
+     */
+    public NotifierPayload withAttachments(List<AttachmentPayload> attachmentPayloads) {
+        return new NotifierPayload(this, recipients, attachmentPayloads);
+    }
+
+    private NotifierPayload(NotifierPayload source, List<String> recipients) {
+        this(source, recipients, source.attachmentPayloads);
+    }
+
+    private NotifierPayload(NotifierPayload source, List<String> recipients, List<AttachmentPayload> attachmentPayloads) {
+        this.channel = source.channel;
+        this.recipients = List.copyOf(recipients);
+        this.cc = source.cc;
+        this.bcc = source.bcc;
+        this.subject = source.subject;
+        this.body = source.body;
+        this.organizationName = source.organizationName;
+        this.htmlContent = source.htmlContent;
+        this.priority = source.priority;
+        this.replyTo = source.replyTo;
+        this.attachmentPayloads = List.copyOf(attachmentPayloads);
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -97,6 +132,10 @@ public final class NotifierPayload {
     public static class Builder {
         private Channel channel;
         private List<String> recipients = new ArrayList<>();
+        /**
+         * recipients added before the channel was known, validated by build()
+         */
+        private List<String> uncheckedRecipients = new ArrayList<>();
         private List<String> cc = new ArrayList<>();
         private List<String> bcc = new ArrayList<>();
         private String subject;
@@ -114,15 +153,44 @@ public final class NotifierPayload {
             return this;
         }
 
+        /**
+         * add a recipient, an email for EMAIL, an E.164 phone number for SMS, an E.164 phone number optionally
+         * prefixed by {@code whatsapp:} for WHATSAPP. The recipient is validated at once when the channel is
+         * already set, by {@link #build()} otherwise.
+         */
         public Builder addRecipient(String recipient) {
             if (StringUtils.isNullOrEmpty(recipient)) throw new NotifierException("Recipient cannot be null or empty");
-            if (!StringUtils.isValidEmail(recipient)) throw new NotifierException("Recipient is not valid");
+            if (channel == null) {
+                this.uncheckedRecipients.add(recipient);
+            } else if (!RecipientValidator.isValid(channel, recipient)) {
+                throw new NotifierException("Recipient is not valid");
+            }
             this.recipients.add(recipient);
             return this;
         }
 
+        /**
+         * add many recipients, validated in a single pass
+         */
         public Builder addRecipients(List<String> recipients) {
-            recipients.forEach(this::addRecipient);
+            for (String recipient : recipients) {
+                if (StringUtils.isNullOrEmpty(recipient)) throw new NotifierException("Recipient cannot be null or empty");
+            }
+            if (channel == null) {
+                this.uncheckedRecipients.addAll(recipients);
+            } else {
+                RecipientValidator.requireAllValid(channel, recipients);
+            }
+            this.recipients.addAll(recipients);
+            return this;
+        }
+
+        /**
+         * add recipients already validated by the caller, such as the output of
+         * {@link RecipientValidator#validateAll(Channel, List)}, without validating them again
+         */
+        public Builder addValidatedRecipients(List<String> recipients) {
+            this.recipients.addAll(recipients);
             return this;
         }
 
@@ -140,7 +208,7 @@ public final class NotifierPayload {
 
         public Builder addBcc(String bccRecipient) {
             if (StringUtils.isNullOrEmpty(bccRecipient)) throw new NotifierException("BCC recipient cannot be null or empty");
-            if (StringUtils.isValidEmail(bccRecipient)) throw new NotifierException("BCC recipient is not valid");
+            if (!StringUtils.isValidEmail(bccRecipient)) throw new NotifierException("BCC recipient is not valid");
             this.bcc.add(bccRecipient);
             return this;
         }
@@ -206,6 +274,8 @@ public final class NotifierPayload {
                 throw new NotifierException("At least one recipient is required");
             }
 
+            RecipientValidator.requireAllValid(channel, uncheckedRecipients);
+
             if (subject.isBlank()) {
                 throw new NotifierException("Subject is required");
             }
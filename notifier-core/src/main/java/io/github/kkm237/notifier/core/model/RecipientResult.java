@@ -0,0 +1,124 @@
+package io.github.kkm237.notifier.core.model;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @implNote Outcome of a notification for one recipient, part of a {@link SendReport}
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class RecipientResult {
+
+    public enum Status {
+        /**
+         * accepted by the provider
+         */
+        SENT,
+        /**
+         * rejected by the provider or not sent
+         */
+        FAILED,
+        /**
+         * not sent because the rate limit of the sender was reached, may be retried later
+         */
+        RATE_LIMITED
+    }
+
+    private final String recipient;
+    private final Status status;
+    private final String providerId;
+    private final long latencyNanos;
+    private final String errorType;
+    private final String errorMessage;
+    private final Exception error;
+
+    private RecipientResult(String recipient, Status status, String providerId, long latencyNanos,
+                            String errorType, String errorMessage, Exception error) {
+        this.recipient = recipient;
+        this.status = status;
+        this.providerId = providerId;
+        this.latencyNanos = latencyNanos;
+        this.errorType = errorType;
+        this.errorMessage = errorMessage;
+        this.error = error;
+    }
+
+    /**
+     * @param providerId id given by the provider to the message, null when unknown
+     */
+    public static RecipientResult sent(String recipient, String providerId, long latencyNanos) {
+        return new RecipientResult(recipient, Status.SENT, providerId, latencyNanos, null, null, null);
+    }
+
+    public static RecipientResult failed(String recipient, Exception error, long latencyNanos) {
+        Status status = error instanceof NotifierRateLimitedException ? Status.RATE_LIMITED : Status.FAILED;
+        return new RecipientResult(recipient, status, null, latencyNanos, error.getClass().getName(), error.getMessage(), error);
+    }
+
+    /**
+     * Failure detected without exception, such as a recipient refused before sending
+     */
+    public static RecipientResult failed(String recipient, String errorType, String errorMessage, long latencyNanos) {
+        return new RecipientResult(recipient, Status.FAILED, null, latencyNanos, errorType, errorMessage, null);
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSent() {
+        return status == Status.SENT;
+    }
+
+    /**
+     * @return the id given by the provider to the message (Twilio SID, Message-ID, ...), null when unknown or failed
+     */
+    public String getProviderId() {
+        return providerId;
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public long getLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+    }
+
+    /**
+     * @return the class name of the failure, null when sent
+     */
+    public String getErrorType() {
+        return errorType;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * @return the failure cause, null when sent or when the failure was detected without exception
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "RecipientResult{" +
+                "recipient='" + recipient + '\'' +
+                ", status=" + status +
+                ", providerId='" + providerId + '\'' +
+                ", latencyMillis=" + getLatencyMillis() +
+                ", errorType='" + errorType + '\'' +
+                ", errorMessage='" + errorMessage + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.kkm237.notifier.core.model;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @implNote Outcome of a notification for each of its recipients, so a caller can resend only the failed
+ * recipients instead of the whole payload
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class SendReport {
+
+    private final NotifierPayload.Channel channel;
+    private final List<RecipientResult> results;
+
+    public SendReport(NotifierPayload.Channel channel, List<RecipientResult> results) {
+        this.channel = channel;
+        this.results = List.copyOf(results);
+    }
+
+    public NotifierPayload.Channel getChannel() {
+        return channel;
+    }
+
+    /**
+     * @return one result per recipient, in the order of the recipients
+     */
+    public List<RecipientResult> getResults() {
+        return results;
+    }
+
+    /**
+     * @return true when every recipient was sent
+     */
+    public boolean isSuccess() {
+        return results.stream().allMatch(RecipientResult::isSent);
+    }
+
+    public long getSentCount() {
+        return results.stream().filter(RecipientResult::isSent).count();
+    }
+
+    public List<RecipientResult> getFailures() {
+        return results.stream().filter(result -> !result.isSent()).toList();
+    }
+
+    /**
+     * @return the result of the recipient, null when the recipient is not part of the report
+     */
+    public RecipientResult getResult(String recipient) {
+        for (RecipientResult result : results) {
+            if (result.getRecipient().equals(recipient)) return result;
+        }
+        return null;
+    }
+
+    /**
+     * Turn a report with failed recipients into the exception thrown by {@link Notifier#send(TemplatePayload)}
+     *
+     * @param label what was sent, such as "SMS" or "notifications"
+     * @throws NotifierSendFailedException when at least one recipient failed
+     */
+    public void throwIfFailed(String label) {
+        List<RecipientResult> failures = getFailures();
+        if (failures.isEmpty()) {
+            return;
+        }
+        List<String> causes = new ArrayList<>(failures.size());
+        failures.forEach(result -> causes.add(result.getRecipient() + ": " + result.getErrorMessage()));
+        throw new NotifierSendFailedException("Failed to send " + failures.size() + "/" + results.size() + " " + label + ": " + causes);
+    }
+
+    @Override
+    public String toString() {
+        return "SendReport{" +
+                "channel=" + channel +
+                ", sent=" + getSentCount() +
+                ", total=" + results.size() +
+                ", failures=" + getFailures() +
+                '}';
+    }
+}
@@ -0,0 +1,281 @@
+package io.github.kkm237.notifier.core.model;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.template.MessageTemplate;
+import io.github.kkm237.notifier.core.utils.RecipientValidator;
+import io.github.kkm237.notifier.core.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Payload whose subject, body and htmlContent hold {@code {{name}}} placeholders,
+ * rendered for each recipient with its own variables.
+ * <p>The templates are compiled once when the payload is built.</p>
+ *
+ * @see io.github.kkm237.notifier.core.template.MessageTemplate
+ */
+public final class TemplatePayload {
+    private final NotifierPayload.Channel channel;
+    private final MessageTemplate subject;
+    private final MessageTemplate body;
+    private final MessageTemplate htmlContent;
+    private final String organizationName;
+    private final NotifierPayload.Priority priority;
+    private final String replyTo;
+    private final List<AttachmentPayload> attachmentPayloads;
+    /**
+     * variables of each recipient, in insertion order
+     */
+    private final Map<String, Map<String, String>> variables;
+    private final List<String> recipients;
+
+    public NotifierPayload.Channel getChannel() {
+        return channel;
+    }
+
+    public List<String> getRecipients() {
+        return recipients;
+    }
+
+    public Map<String, String> getVariables(String recipient) {
+        return variables.get(recipient);
+    }
+
+    public MessageTemplate getSubject() {
+        return subject;
+    }
+
+    public MessageTemplate getBody() {
+        return body;
+    }
+
+    public MessageTemplate getHtmlContent() {
+        return htmlContent;
+    }
+
+    public String getOrganizationName() {
+        return organizationName;
+    }
+
+    public NotifierPayload.Priority getPriority() {
+        return priority;
+    }
+
+    public String getReplyTo() {
+        return replyTo;
+    }
+
+    public List<AttachmentPayload> getCourierAttachments() {
+        return attachmentPayloads;
+    }
+
+    /**
+     * Render the body, or the html content when there is no body, of one recipient
+     *
+     * @param recipient recipient of the payload
+     * @param buffer    reusable buffer
+     * @return the rendered text
+     */
+    public String renderBody(String recipient, StringBuilder buffer) {
+        MessageTemplate template = body != null ? body : htmlContent;
+        return template.render(variablesOf(recipient), buffer);
+    }
+
+    /**
+     * Render the payload of one recipient
+     *
+     * @param recipient recipient of the payload
+     * @return a payload addressed to this recipient only
+     */
+    public NotifierPayload render(String recipient) {
+        Map<String, String> recipientVariables = variablesOf(recipient);
+        StringBuilder buffer = new StringBuilder();
+
+        NotifierPayload.Builder builder = NotifierPayload.builder()
+                .channel(channel)
+                // validated once by the builder of the template
+                .addValidatedRecipients(List.of(recipient))
+                .subject(subject.render(recipientVariables, buffer))
+                .priority(priority)
+                .addAttachments(attachmentPayloads);
+        if (body != null) builder.body(body.render(recipientVariables, buffer));
+        if (htmlContent != null) builder.htmlContent(htmlContent.render(recipientVariables, buffer));
+        if (organizationName != null) builder.organizationName(organizationName);
+        if (replyTo != null) builder.replyTo(replyTo);
+        return builder.build();
+    }
+
+    /**
+     * @param recipients recipients of this payload
+     * @return a copy of this payload sent to the given recipients only, with their variables
+     * @throws NotifierException when a recipient is not part of this payload
+     */
+    public TemplatePayload withRecipients(List<String> recipients) {
+        Map<String, Map<String, String>> subset = new LinkedHashMap<>(recipients.size() * 2);
+        for (String recipient : recipients) {
+            subset.put(recipient, variablesOf(recipient));
+        }
+        return new TemplatePayload(this, subset);
+    }
+
+    /**
+     * @param attachmentPayloads attachments of the copy
+     * @return a copy of this payload with the given attachments instead of its own
+     */
+    public TemplatePayload withAttachments(List<AttachmentPayload> attachmentPayloads) {
+        return new TemplatePayload(this, variables, attachmentPayloads);
+    }
+
+    private Map<String, String> variablesOf(String recipient) {
+        Map<String, String> recipientVariables = variables.get(recipient);
+        if (recipientVariables == null) throw new NotifierException("Unknown recipient: " + recipient);
+        return recipientVariables;
+    }
+
+    private TemplatePayload(Builder builder) {
+        this.channel = builder.channel;
+        this.subject = MessageTemplate.compile(builder.subject);
+        this.body = builder.body == null ? null : MessageTemplate.compile(builder.body);
+        this.htmlContent = builder.htmlContent == null ? null : MessageTemplate.compile(builder.htmlContent);
+        this.organizationName = builder.organizationName;
+        this.priority = builder.priority;
+        this.replyTo = builder.replyTo;
+        this.attachmentPayloads = List.copyOf(builder.attachmentPayloads);
+        this.variables = Collections.unmodifiableMap(new LinkedHashMap<>(builder.variables));
+        this.recipients = List.copyOf(builder.variables.keySet());
+    }
+
+    private TemplatePayload(TemplatePayload source, Map<String, Map<String, String>> variables) {
+        this(source, variables, source.attachmentPayloads);
+    }
+
+    private TemplatePayload(TemplatePayload source, Map<String, Map<String, String>> variables,
+                            List<AttachmentPayload> attachmentPayloads) {
+        this.channel = source.channel;
+        this.subject = source.subject;
+        this.body = source.body;
+        this.htmlContent = source.htmlContent;
+        this.organizationName = source.organizationName;
+        this.priority = source.priority;
+        this.replyTo = source.replyTo;
+        this.attachmentPayloads = List.copyOf(attachmentPayloads);
+        this.variables = Collections.unmodifiableMap(variables);
+        this.recipients = List.copyOf(variables.keySet());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private NotifierPayload.Channel channel;
+        private String subject;
+        private String body;
+        private String htmlContent;
+        private String organizationName;
+        private NotifierPayload.Priority priority = NotifierPayload.Priority.NORMAL;
+        private String replyTo;
+        private final List<AttachmentPayload> attachmentPayloads = new ArrayList<>();
+        private final Map<String, Map<String, String>> variables = new LinkedHashMap<>();
+
+        private Builder() {}
+
+        public Builder channel(NotifierPayload.Channel channel) {
+            this.channel = Objects.requireNonNull(channel, "channel cannot be null");
+            return this;
+        }
+
+        /**
+         * add a recipient with the values of its placeholders
+         */
+        public Builder addRecipient(String recipient, Map<String, String> recipientVariables) {
+            if (StringUtils.isNullOrEmpty(recipient)) throw new NotifierException("Recipient cannot be null or empty");
+            Objects.requireNonNull(recipientVariables, "variables cannot be null");
+            this.variables.put(recipient, Map.copyOf(recipientVariables));
+            return this;
+        }
+
+        public Builder addRecipients(Map<String, Map<String, String>> recipientVariables) {
+            recipientVariables.forEach(this::addRecipient);
+            return this;
+        }
+
+        public Builder subject(String subject) {
+            if (StringUtils.isNullOrEmpty(subject)) throw new NotifierException("Subject cannot be null or empty");
+            this.subject = subject;
+            return this;
+        }
+
+        public Builder body(String body) {
+            if (StringUtils.isNullOrEmpty(body)) throw new NotifierException("Body cannot be null or empty");
+            this.body = body;
+            return this;
+        }
+
+        public Builder htmlContent(String htmlContent) {
+            if (StringUtils.isNullOrEmpty(htmlContent)) throw new NotifierException("HTML content cannot be null or empty");
+            this.htmlContent = htmlContent;
+            return this;
+        }
+
+        public Builder organizationName(String organizationName) {
+            if (StringUtils.isNullOrEmpty(organizationName)) throw new NotifierException("Organization name cannot be null or empty");
+            this.organizationName = organizationName;
+            return this;
+        }
+
+        public Builder priority(NotifierPayload.Priority priority) {
+            this.priority = Objects.requireNonNull(priority, "Priority cannot be null");
+            return this;
+        }
+
+        public Builder replyTo(String replyTo) {
+            if (StringUtils.isNullOrEmpty(replyTo)) throw new NotifierException("Reply To cannot be null or empty");
+            if (!StringUtils.isValidEmail(replyTo)) throw new NotifierException("Reply To is not valid");
+            this.replyTo = replyTo;
+            return this;
+        }
+
+        public Builder addAttachment(AttachmentPayload attachmentPayload) {
+            this.attachmentPayloads.add(Objects.requireNonNull(attachmentPayload, "courierAttachment cannot be null"));
+            return this;
+        }
+
+        public Builder addAttachments(List<AttachmentPayload> attachmentPayloads) {
+            attachmentPayloads.forEach(this::addAttachment);
+            return this;
+        }
+
+        public TemplatePayload build() {
+
+            if (channel == null) {
+                throw new NotifierException("channel is required");
+            }
+
+            if (variables.isEmpty()) {
+                throw new NotifierException("At least one recipient is required");
+            }
+
+            RecipientValidator.requireAllValid(channel, new ArrayList<>(variables.keySet()));
+
+            if (subject == null || subject.isBlank()) {
+                throw new NotifierException("Subject is required");
+            }
+
+            if (body == null && htmlContent == null) {
+                throw new NotifierException("Cannot empty both body and htmlContent");
+            }
+
+            if (body != null && htmlContent != null) {
+                throw new NotifierException("Cannot specify both body and htmlContent");
+            }
+
+            return new TemplatePayload(this);
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package io.github.kkm237.notifier.core.outbox;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * @implNote Append-only log of records, durable once {@link #append(byte[])} returns, written in memory-mapped
+ * segment files of a directory.
+ * <p>Each record is framed by its length and its CRC32. A record never spans two segments: the rest of a full segment
+ * is marked as skipped and the log goes on in a new segment, named after its first position. The positions are
+ * absolute across the segments.</p>
+ * <p>The appenders commit as a group: the first appender waiting for its record to be durable forces every record
+ * written so far to disk with a single {@code msync}, and the appenders arriving meanwhile are committed by the next
+ * force. One reader consumes the committed records and checkpoints its position, which deletes the segments fully
+ * consumed. On {@link #open(Path, int)} the records from the checkpoint are read again, and a record torn by a crash
+ * ends the log.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class OutboxLog implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(OutboxLog.class.getName());
+
+    /**
+     * length and CRC32 of a record
+     */
+    private static final int HEADER = 8;
+    /**
+     * length marking the rest of a segment as unused
+     */
+    private static final int SKIP = -1;
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentBytes;
+    /**
+     * position and its complement, mapped so that an interrupted reader cannot close it
+     */
+    private final MappedByteBuffer checkpointBuffer;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private long writePosition;
+    private long durablePosition;
+    private int syncedOffset;
+    private boolean flushing;
+    private long checkpoint;
+    private boolean closed;
+
+    private OutboxLog(Path directory, int segmentBytes, MappedByteBuffer checkpointBuffer) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.checkpointBuffer = checkpointBuffer;
+    }
+
+    /**
+     * Open the log of the directory, created when missing, and recover its end
+     *
+     * @param segmentBytes size of the new segment files, the largest record is 8 bytes smaller
+     * @throws NotifierException when the directory cannot be read or written
+     */
+    public static OutboxLog open(Path directory, int segmentBytes) {
+        if (segmentBytes < 1024) throw new NotifierException("segmentBytes must be at least 1024");
+        try {
+            Files.createDirectories(directory);
+            OutboxLog outbox = new OutboxLog(directory, segmentBytes, map(directory.resolve(CHECKPOINT_FILE), 16));
+            outbox.recover();
+            return outbox;
+        } catch (IOException | UncheckedIOException e) {
+            throw new NotifierException("Cannot open the outbox log in " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Append a record and wait until it is durable
+     *
+     * @return the position of the record
+     * @throws NotifierException when the record is larger than a segment or cannot be written
+     */
+    public long append(byte[] record) {
+        if (record.length == 0) throw new NotifierException("Outbox record cannot be empty");
+        if (record.length > segmentBytes - HEADER) {
+            throw new NotifierException("Outbox record of " + record.length + " bytes is larger than a segment of " + segmentBytes + " bytes");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record);
+
+        long position;
+        long end;
+        synchronized (this) {
+            if (closed) throw new NotifierException("Outbox log is closed");
+            if (active.writeOffset + HEADER + record.length > active.buffer.capacity()) {
+                roll();
+            }
+            int offset = active.writeOffset;
+            active.buffer.putInt(offset + 4, (int) crc.getValue());
+            active.buffer.put(offset + HEADER, record);
+            // the length is written last, a record without it is not part of the log
+            active.buffer.putInt(offset, record.length);
+            active.writeOffset = offset + HEADER + record.length;
+            position = active.base + offset;
+            end = active.base + active.writeOffset;
+            writePosition = end;
+        }
+        awaitDurable(end);
+        return position;
+    }
+
+    /**
+     * Read the committed record at a position, the position of the first record or the next position of a record
+     *
+     * @return the record, null when no record is committed there yet
+     */
+    public Entry read(long position) {
+        Segment segment;
+        int offset;
+        int length;
+        synchronized (this) {
+            position = resolve(position);
+            if (position >= durablePosition) {
+                return null;
+            }
+            segment = segments.floorEntry(position).getValue();
+            offset = (int) (position - segment.base);
+            length = segment.buffer.getInt(offset);
+        }
+        byte[] data = new byte[length];
+        segment.buffer.get(offset + HEADER, data);
+        return new Entry(position, position + HEADER + length, data);
+    }
+
+    /**
+     * Wait until a record is committed at a position
+     *
+     * @return true when a record is committed there, false after the timeout or once the log is closed
+     */
+    public synchronized boolean awaitRecord(long position, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (!closed && resolve(position) >= durablePosition) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return !closed;
+    }
+
+    /**
+     * Record durably that every record before the position is consumed, and delete the segments fully consumed
+     */
+    public void checkpoint(long position) {
+        synchronized (checkpointBuffer) {
+            try {
+                checkpointBuffer.putLong(0, position);
+                checkpointBuffer.putLong(8, ~position);
+                checkpointBuffer.force();
+            } catch (UncheckedIOException e) {
+                throw new NotifierException("Cannot write the outbox checkpoint: " + e.getMessage(), e);
+            }
+        }
+        synchronized (this) {
+            checkpoint = Math.max(checkpoint, position);
+            Iterator<Segment> oldest = segments.values().iterator();
+            while (oldest.hasNext()) {
+                Segment segment = oldest.next();
+                if (segment == active || segment.end() > checkpoint) {
+                    break;
+                }
+                oldest.remove();
+                delete(segment.path);
+            }
+        }
+    }
+
+    /**
+     * @return the position of the first record not consumed yet
+     */
+    public synchronized long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * @return the position after the last durable record
+     */
+    public synchronized long getDurablePosition() {
+        return durablePosition;
+    }
+
+    /**
+     * Force the records written and stop the appends, the waiting reader is released
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        active.buffer.force();
+        durablePosition = writePosition;
+        notifyAll();
+    }
+
+    /**
+     * Wait until every record before the position is on disk, forcing them when no other appender does
+     */
+    private void awaitDurable(long position) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                Segment segment;
+                int from;
+                int to;
+                long target;
+                synchronized (this) {
+                    while (durablePosition < position && flushing) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            // the record is already in the log, it must be committed before returning
+                            interrupted = true;
+                        }
+                    }
+                    if (durablePosition >= position) {
+                        return;
+                    }
+                    flushing = true;
+                    segment = active;
+                    from = syncedOffset;
+                    to = segment.writeOffset;
+                    target = writePosition;
+                }
+
+                boolean synced = false;
+                try {
+                    segment.buffer.force(from, to - from);
+                    synced = true;
+                } catch (UncheckedIOException e) {
+                    throw new NotifierException("Cannot commit the outbox log: " + e.getMessage(), e);
+                } finally {
+                    synchronized (this) {
+                        flushing = false;
+                        if (synced) {
+                            durablePosition = Math.max(durablePosition, target);
+                            if (active == segment) {
+                                syncedOffset = Math.max(syncedOffset, to);
+                            }
+                        }
+                        notifyAll();
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Mark the rest of the active segment as skipped, force it and start a new segment
+     */
+    private void roll() {
+        Segment full = active;
+        if (full.buffer.capacity() - full.writeOffset >= 4) {
+            full.buffer.putInt(full.writeOffset, SKIP);
+        }
+        full.buffer.force();
+        active = createSegment(full.end());
+        segments.put(active.base, active);
+        writePosition = active.base;
+        durablePosition = active.base;
+        syncedOffset = 0;
+        notifyAll();
+    }
+
+    /**
+     * Skip the unused rest of a segment
+     *
+     * @return the position of the record stored at or after the position
+     */
+    private long resolve(long position) {
+        while (position < durablePosition) {
+            Segment segment = segments.floorEntry(position).getValue();
+            int offset = (int) (position - segment.base);
+            if (offset + HEADER <= segment.buffer.capacity() && segment.buffer.getInt(offset) != SKIP) {
+                return position;
+            }
+            position = segment.end();
+        }
+        return position;
+    }
+
+    private void recover() throws IOException {
+        checkpoint = readCheckpoint();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : files) {
+                String name = path.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(base, new Segment(base, path, map(path, Files.size(path))));
+            }
+        }
+
+        // segments consumed before a crash which prevented their deletion
+        while (!segments.isEmpty() && segments.firstEntry().getValue().end() <= checkpoint && segments.size() > 1) {
+            delete(segments.pollFirstEntry().getValue().path);
+        }
+        if (segments.isEmpty()) {
+            Segment first = createSegment(checkpoint);
+            segments.put(first.base, first);
+        }
+        checkpoint = Math.max(checkpoint, segments.firstKey());
+
+        Map.Entry<Long, Segment> current = segments.floorEntry(checkpoint);
+        int offset = (int) (checkpoint - current.getKey());
+        while (true) {
+            Segment segment = current.getValue();
+            MappedByteBuffer buffer = segment.buffer;
+            int length = offset + HEADER <= buffer.capacity() ? buffer.getInt(offset) : SKIP;
+            if (length == SKIP && segments.higherEntry(segment.base) != null) {
+                current = segments.higherEntry(segment.base);
+                offset = 0;
+                continue;
+            }
+            if (length > 0 && offset + HEADER + length <= buffer.capacity() && crcMatches(buffer, offset, length)) {
+                offset += HEADER + length;
+                continue;
+            }
+            if (length != 0 && length != SKIP) {
+                log.warning("Outbox log " + segment.path + " ends with a torn record at offset " + offset + ", it is discarded");
+                for (int i = offset; i < buffer.capacity(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.force();
+            }
+            active = segment;
+            active.writeOffset = offset;
+            break;
+        }
+        while (segments.lastKey() > active.base) {
+            log.warning("Outbox segment " + segments.lastEntry().getValue().path + " follows the end of the log, it is discarded");
+            delete(segments.pollLastEntry().getValue().path);
+        }
+        writePosition = active.base + active.writeOffset;
+        durablePosition = writePosition;
+        syncedOffset = active.writeOffset;
+        if (durablePosition > checkpoint) {
+            log.info("Outbox log replays " + (durablePosition - checkpoint) + " bytes of records from position " + checkpoint);
+        }
+    }
+
+    private long readCheckpoint() {
+        long position = checkpointBuffer.getLong(0);
+        long complement = checkpointBuffer.getLong(8);
+        if (position == 0 && complement == 0) {
+            // new log
+            return 0;
+        }
+        if (complement != ~position) {
+            log.warning("Outbox checkpoint is corrupted, the log is replayed from its first record");
+            return 0;
+        }
+        return position;
+    }
+
+    private static boolean crcMatches(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset + HEADER, length));
+        return (int) crc.getValue() == buffer.getInt(offset + 4);
+    }
+
+    private Segment createSegment(long base) {
+        Path path = directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+        try {
+            Segment segment = new Segment(base, path, map(path, segmentBytes));
+            // make the new file itself durable, not supported on every platform
+            try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                directoryChannel.force(true);
+            } catch (IOException e) {
+                log.log(Level.FINE, "Cannot sync the outbox directory", e);
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new NotifierException("Cannot create the outbox segment " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Cannot delete the outbox segment " + path, e);
+        }
+    }
+
+    /**
+     * Segment file, guarded by the log
+     */
+    private static final class Segment {
+        private final long base;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+
+        private Segment(long base, Path path, MappedByteBuffer buffer) {
+            this.base = base;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        private long end() {
+            return base + buffer.capacity();
+        }
+    }
+
+    /**
+     * Record read from the log
+     */
+    public static final class Entry {
+        private final long position;
+        private final long nextPosition;
+        private final byte[] data;
+
+        private Entry(long position, long nextPosition, byte[] data) {
+            this.position = position;
+            this.nextPosition = nextPosition;
+            this.data = data;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        /**
+         * @return the position to read the following record
+         */
+        public long getNextPosition() {
+            return nextPosition;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package io.github.kkm237.notifier.core.outbox;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.model.AttachmentPayload;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @implNote Payload kept in the {@link OutboxLog}, a {@link NotifierPayload} or a {@link TemplatePayload}, and its
+ * compact binary record
+ * <p>The strings are written as UTF-8 prefixed by their length. The templates are written as their source and compiled
+ * again when read. The content of an attachment is written in the record, spooled content included, except for an
+ * attachment backed by a file of the caller, which keeps its path: the file must still exist when the message is
+ * sent.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class OutboxMessage {
+
+    private static final byte VERSION = 1;
+    private static final byte NOTIFIER_PAYLOAD = 0;
+    private static final byte TEMPLATE_PAYLOAD = 1;
+    private static final byte ATTACHMENT_CONTENT = 0;
+    private static final byte ATTACHMENT_FILE = 1;
+
+    private final NotifierPayload payload;
+    private final TemplatePayload templatePayload;
+
+    private OutboxMessage(NotifierPayload payload, TemplatePayload templatePayload) {
+        this.payload = payload;
+        this.templatePayload = templatePayload;
+    }
+
+    public static OutboxMessage of(NotifierPayload payload) {
+        return new OutboxMessage(payload, null);
+    }
+
+    public static OutboxMessage of(TemplatePayload payload) {
+        return new OutboxMessage(null, payload);
+    }
+
+    /**
+     * @return the payload, null for a template payload
+     */
+    public NotifierPayload getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return the template payload, null for a payload
+     */
+    public TemplatePayload getTemplatePayload() {
+        return templatePayload;
+    }
+
+    public NotifierPayload.Channel getChannel() {
+        return payload != null ? payload.getChannel() : templatePayload.getChannel();
+    }
+
+    public NotifierPayload.Priority getPriority() {
+        return payload != null ? payload.getPriority() : templatePayload.getPriority();
+    }
+
+    /**
+     * @throws NotifierException when the content of an attachment cannot be read
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(payload != null ? NOTIFIER_PAYLOAD : TEMPLATE_PAYLOAD);
+            out.writeByte(getChannel().ordinal());
+            out.writeByte(getPriority().ordinal());
+            if (payload != null) {
+                writeString(out, payload.getSubject());
+                writeString(out, payload.getBody());
+                writeString(out, payload.getHtmlContent());
+                writeString(out, payload.getOrganizationName());
+                writeString(out, payload.getReplyTo());
+                writeStrings(out, payload.getRecipients());
+                writeStrings(out, payload.getCc());
+                writeStrings(out, payload.getBcc());
+                writeAttachments(out, payload.getCourierAttachments());
+            } else {
+                writeString(out, templatePayload.getSubject().getSource());
+                writeString(out, templatePayload.getBody() == null ? null : templatePayload.getBody().getSource());
+                writeString(out, templatePayload.getHtmlContent() == null ? null : templatePayload.getHtmlContent().getSource());
+                writeString(out, templatePayload.getOrganizationName());
+                writeString(out, templatePayload.getReplyTo());
+                out.writeInt(templatePayload.getRecipients().size());
+                for (String recipient : templatePayload.getRecipients()) {
+                    writeString(out, recipient);
+                    Map<String, String> variables = templatePayload.getVariables(recipient);
+                    out.writeInt(variables.size());
+                    for (Map.Entry<String, String> variable : variables.entrySet()) {
+                        writeString(out, variable.getKey());
+                        writeString(out, variable.getValue());
+                    }
+                }
+                writeAttachments(out, templatePayload.getCourierAttachments());
+            }
+        } catch (IOException e) {
+            throw new NotifierException("Cannot encode the outbox message: " + e.getMessage(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws NotifierException when the record is not a message of a known version
+     */
+    public static OutboxMessage decode(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            byte version = in.readByte();
+            if (version != VERSION) throw new NotifierException("Unknown outbox message version " + version);
+            byte kind = in.readByte();
+            NotifierPayload.Channel channel = NotifierPayload.Channel.values()[in.readByte()];
+            NotifierPayload.Priority priority = NotifierPayload.Priority.values()[in.readByte()];
+            String subject = readString(in);
+            String body = readString(in);
+            String htmlContent = readString(in);
+            String organizationName = readString(in);
+            String replyTo = readString(in);
+
+            if (kind == NOTIFIER_PAYLOAD) {
+                NotifierPayload.Builder builder = NotifierPayload.builder()
+                        .channel(channel)
+                        // validated when the payload was first built
+                        .addValidatedRecipients(readStrings(in))
+                        .addCcs(readStrings(in))
+                        .addBccs(readStrings(in))
+                        .addAttachments(readAttachments(in))
+                        .subject(subject)
+                        .priority(priority);
+                if (body != null) builder.body(body);
+                if (htmlContent != null) builder.htmlContent(htmlContent);
+                if (organizationName != null) builder.organizationName(organizationName);
+                if (replyTo != null) builder.replyTo(replyTo);
+                return of(builder.build());
+            }
+            if (kind != TEMPLATE_PAYLOAD) throw new NotifierException("Unknown outbox message kind " + kind);
+
+            Map<String, Map<String, String>> recipients = new LinkedHashMap<>();
+            int recipientCount = in.readInt();
+            for (int i = 0; i < recipientCount; i++) {
+                String recipient = readString(in);
+                int variableCount = in.readInt();
+                Map<String, String> variables = new LinkedHashMap<>(variableCount * 2);
+                for (int j = 0; j < variableCount; j++) {
+                    variables.put(readString(in), readString(in));
+                }
+                recipients.put(recipient, variables);
+            }
+            TemplatePayload.Builder builder = TemplatePayload.builder()
+                    .channel(channel)
+                    .addRecipients(recipients)
+                    .addAttachments(readAttachments(in))
+                    .subject(subject)
+                    .priority(priority);
+            if (body != null) builder.body(body);
+            if (htmlContent != null) builder.htmlContent(htmlContent);
+            if (organizationName != null) builder.organizationName(organizationName);
+            if (replyTo != null) builder.replyTo(replyTo);
+            return of(builder.build());
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new NotifierException("Cannot decode the outbox message: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeAttachments(DataOutputStream out, List<AttachmentPayload> attachments) throws IOException {
+        out.writeInt(attachments.size());
+        for (AttachmentPayload attachment : attachments) {
+            writeString(out, attachment.getFilename());
+            writeString(out, attachment.getContentType());
+            writeString(out, attachment.getDescription());
+            if (attachment.getFile() != null && !attachment.isSpooled()) {
+                out.writeByte(ATTACHMENT_FILE);
+                writeString(out, attachment.getFile().getPath());
+            } else {
+                byte[] content = attachment.getContent() != null ? attachment.getContent()
+                        : attachment.isSpooled() ? Files.readAllBytes(attachment.getFile().toPath())
+                        : readAll(attachment.takeInputStream());
+                out.writeByte(ATTACHMENT_CONTENT);
+                out.writeInt(content.length);
+                out.write(content);
+            }
+        }
+    }
+
+    private static List<AttachmentPayload> readAttachments(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<AttachmentPayload> attachments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AttachmentPayload.Builder builder = AttachmentPayload.builder()
+                    .filename(readString(in))
+                    .contentType(readString(in))
+                    .description(readString(in));
+            if (in.readByte() == ATTACHMENT_FILE) {
+                builder.file(new File(readString(in)));
+            } else {
+                byte[] content = new byte[in.readInt()];
+                in.readFully(content);
+                builder.content(content);
+            }
+            attachments.add(builder.build());
+        }
+        return attachments;
+    }
+
+    /**
+     * The stream is consumed once, its content is kept in the record
+     */
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        try (inputStream) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.kkm237.notifier.core.provider;
+
+import io.github.kkm237.notifier.core.circuit.CircuitBreaker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * @implNote {@link MessageProvider} guarded by the {@link CircuitBreaker} of its endpoint
+ * <p>A provider answering 408 or 5xx, not reached or slow counts against the endpoint. A message refused for its
+ * recipient or its content shows a healthy endpoint, and a rate limited one is not recorded. While the circuit is
+ * open the messages fail at once with a {@link io.github.kkm237.notifier.core.exceptions.CircuitBreakerOpenException}.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class CircuitBreakingProvider implements MessageProvider {
+
+    private final MessageProvider delegate;
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakingProvider(MessageProvider delegate, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public CompletableFuture<ProviderMessage> send(String from, String to, String body) {
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == null) {
+            return CompletableFuture.failedFuture(circuitBreaker.openException());
+        }
+        long start = System.nanoTime();
+        CompletableFuture<ProviderMessage> sent;
+        try {
+            sent = delegate.send(from, to, body);
+        } catch (RuntimeException e) {
+            permit.onFailure(System.nanoTime() - start);
+            throw e;
+        }
+        sent.whenComplete((message, error) -> {
+            long duration = System.nanoTime() - start;
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null) {
+                permit.onSuccess(duration);
+            } else if (!(cause instanceof ProviderException)) {
+                permit.release();
+            } else if (((ProviderException) cause).isRateLimited()) {
+                permit.release();
+            } else if (((ProviderException) cause).isServerError() || ((ProviderException) cause).getStatusCode() == 408) {
+                permit.onFailure(duration);
+            } else {
+                permit.onSuccess(duration);
+            }
+        });
+        return sent;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.kkm237.notifier.core.provider;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @implNote Provider sending the text messages of the SMS and WhatsApp notifiers, so the notifiers do not depend on
+ * one provider SDK
+ * <p>A failed send completes the future with a {@link ProviderException}.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public interface MessageProvider extends AutoCloseable {
+
+    /**
+     * Send one message
+     *
+     * @param from sender of the message
+     * @param to   recipient of the message
+     * @param body text of the message
+     * @return a future completed with the message accepted by the provider, or failed with a {@link ProviderException}
+     */
+    CompletableFuture<ProviderMessage> send(String from, String to, String body);
+
+    /**
+     * Release the connections of the provider
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.kkm237.notifier.core.provider;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+
+/**
+ * @implNote Message refused by a {@link MessageProvider}, or provider not reachable
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public class ProviderException extends NotifierSendFailedException {
+
+    private final int statusCode;
+    private final Integer errorCode;
+
+    /**
+     * @param statusCode HTTP status of the response, -1 when the provider was not reached
+     * @param errorCode  error code of the provider, null when unknown
+     */
+    public ProviderException(int statusCode, Integer errorCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+        this.errorCode = errorCode;
+    }
+
+    public ProviderException(int statusCode, Integer errorCode, String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * @param writableStackTrace false for a message refused in a send reporting each recipient, whose stack trace is
+     *                           then not filled
+     */
+    public ProviderException(int statusCode, Integer errorCode, String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, writableStackTrace);
+        this.statusCode = statusCode;
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * @return the HTTP status of the response, -1 when the provider was not reached
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Integer getErrorCode() {
+        return errorCode;
+    }
+
+    public boolean isRateLimited() {
+        return statusCode == 429;
+    }
+
+    /**
+     * @return true when the provider failed or was not reached, as opposed to a refused message
+     */
+    public boolean isServerError() {
+        return statusCode < 0 || statusCode >= 500;
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.kkm237.notifier.core.provider;
+
+/**
+ * @implNote Message accepted by a {@link MessageProvider}
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class ProviderMessage {
+
+    private final String id;
+    private final String status;
+
+    public ProviderMessage(String id, String status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    /**
+     * @return the id given by the provider to the message
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the status of the message when it was accepted, such as queued
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "ProviderMessage{" +
+                "id='" + id + '\'' +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
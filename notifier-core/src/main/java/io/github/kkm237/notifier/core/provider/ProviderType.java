@@ -0,0 +1,18 @@
+package io.github.kkm237.notifier.core.provider;
+
+/**
+ * @implNote Built-in {@link MessageProvider} of the SMS and WhatsApp notifiers
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public enum ProviderType {
+    /**
+     * Twilio SDK over a pool of HTTP/1.1 keep-alive connections
+     */
+    TWILIO_SDK,
+    /**
+     * {@link TwilioHttpProvider}: Twilio REST API over {@code java.net.http}, asynchronous and multiplexed on HTTP/2
+     */
+    TWILIO_HTTP
+}
@@ -0,0 +1,84 @@
+package io.github.kkm237.notifier.core.provider;
+
+import com.twilio.http.NetworkHttpClient;
+import com.twilio.http.TwilioRestClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * @implNote Build the {@link MessageProvider} owned by one SMS or WhatsApp notifier, and the {@link TwilioRestClient} of the SDK
+ * provider instead of the process wide client of {@code Twilio.init}, with its own pool of keep-alive HTTP connections
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class TwilioClientFactory {
+
+    private TwilioClientFactory() {}
+
+    /**
+     * Provider selected by the configuration, owning its HTTP connections, guarded by the circuit breaker of the
+     * configuration when there is one
+     */
+    public static MessageProvider provider(TwilioSettings config) {
+        MessageProvider provider = twilioProvider(config);
+        return config.getCircuitBreaker() == null ? provider : new CircuitBreakingProvider(provider, config.getCircuitBreaker());
+    }
+
+    private static MessageProvider twilioProvider(TwilioSettings config) {
+        switch (config.getProvider()) {
+            case TWILIO_HTTP:
+                return new TwilioHttpProvider(config.getAccountSid(), config.getAuthToken(), URI.create(config.getApiBaseUrl()),
+                        Duration.ofMillis(config.getHttpConnectTimeoutMillis()), Duration.ofMillis(config.getHttpReadTimeoutMillis()));
+            case TWILIO_SDK:
+            default:
+                PoolingHttpClientConnectionManager connectionManager = connectionManager(config);
+                return new TwilioSdkProvider(restClient(config, connectionManager), connectionManager);
+        }
+    }
+
+    private static PoolingHttpClientConnectionManager connectionManager(TwilioSettings config) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(config.getHttpMaxConnections())
+                .setMaxConnPerRoute(config.getHttpMaxConnectionsPerRoute())
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setSoKeepAlive(true)
+                        .setTcpNoDelay(true)
+                        .setSoTimeout(Timeout.ofMilliseconds(config.getHttpReadTimeoutMillis()))
+                        .build())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(config.getHttpConnectTimeoutMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(config.getHttpReadTimeoutMillis()))
+                        .build())
+                .build();
+    }
+
+    private static TwilioRestClient restClient(TwilioSettings config, PoolingHttpClientConnectionManager connectionManager) {
+        TimeValue keepAlive = TimeValue.ofMilliseconds(config.getHttpKeepAliveMillis());
+        HttpClientBuilder httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true)
+                .setConnectionReuseStrategy(DefaultConnectionReuseStrategy.INSTANCE)
+                // an idle connection expires after keepAlive and is dropped on its next lease
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(config.getHttpConnectTimeoutMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(config.getHttpReadTimeoutMillis()))
+                        .build());
+
+        return new TwilioRestClient.Builder(config.getAccountSid(), config.getAuthToken())
+                .httpClient(new NetworkHttpClient(httpClient))
+                .build();
+    }
+}
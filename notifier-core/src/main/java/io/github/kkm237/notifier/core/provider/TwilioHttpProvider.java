@@ -0,0 +1,209 @@
+package io.github.kkm237.notifier.core.provider;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @implNote {@link MessageProvider} calling the Twilio REST API with {@link HttpClient}, for the SMS and the WhatsApp
+ * notifiers
+ * <p>The requests are asynchronous and multiplexed over one HTTP/2 connection, falling back to HTTP/1.1 when the
+ * server does not negotiate HTTP/2. Only the fields used by the notifiers are read from the response:
+ * {@code sid} and {@code status} when accepted, {@code code} and {@code message} when refused.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class TwilioHttpProvider implements MessageProvider {
+
+    public static final String DEFAULT_BASE_URL = "https://api.twilio.com";
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final URI messagesUri;
+    private final String authorization;
+    private final Duration readTimeout;
+
+    /**
+     * @param baseUri        root of the API, {@link #DEFAULT_BASE_URL} outside of tests
+     * @param connectTimeout timeout to open a connection
+     * @param readTimeout    timeout of each request, from its sending to its response
+     */
+    public TwilioHttpProvider(String accountSid, String authToken, URI baseUri, Duration connectTimeout, Duration readTimeout) {
+        this.executor = Executors.newCachedThreadPool(providerThreadFactory());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+        String base = baseUri.toString().endsWith("/") ? baseUri.toString() : baseUri + "/";
+        this.messagesUri = URI.create(base + "2010-04-01/Accounts/" + accountSid + "/Messages.json");
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((accountSid + ":" + authToken).getBytes(StandardCharsets.UTF_8));
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public CompletableFuture<ProviderMessage> send(String from, String to, String body) {
+        String form = "To=" + encode(to) + "&From=" + encode(from) + "&Body=" + encode(body);
+        HttpRequest request = HttpRequest.newBuilder(messagesUri)
+                .timeout(readTimeout)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/x-www-form-urlencoded; charset=utf-8")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(form, StandardCharsets.UTF_8))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        throw new ProviderException(-1, null, "Twilio not reachable: " + cause, cause, false);
+                    }
+                    return toMessage(response);
+                });
+    }
+
+    /**
+     * Stop the threads of the client, the connections are closed once idle
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static ProviderMessage toMessage(HttpResponse<String> response) {
+        String json = response.body();
+        if (response.statusCode() / 100 == 2) {
+            return new ProviderMessage(field(json, "sid"), field(json, "status"));
+        }
+        String code = field(json, "code");
+        String message = field(json, "message");
+        throw new ProviderException(response.statusCode(), parseCode(code),
+                "Twilio refused the message (HTTP " + response.statusCode() + (code != null ? ", code " + code : "") + "): "
+                        + (message != null ? message : json), null, false);
+    }
+
+    /**
+     * Value of a top level field holding a string or a number, without parsing the whole document
+     *
+     * @return the value, null when the field is missing or null
+     */
+    static String field(String json, String name) {
+        String key = "\"" + name + "\"";
+        int depth = 0;
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            } else if (c == '"') {
+                if (depth == 1 && json.startsWith(key, i)) {
+                    int colon = skipSpaces(json, i + key.length());
+                    if (colon < json.length() && json.charAt(colon) == ':') {
+                        return value(json, skipSpaces(json, colon + 1));
+                    }
+                }
+                i = endOfString(json, i);
+            }
+        }
+        return null;
+    }
+
+    private static String value(String json, int start) {
+        if (start >= json.length()) {
+            return null;
+        }
+        if (json.charAt(start) == '"') {
+            return unescape(json, start + 1, endOfString(json, start));
+        }
+        int end = start;
+        while (end < json.length() && ",}] \t\r\n".indexOf(json.charAt(end)) < 0) {
+            end++;
+        }
+        String literal = json.substring(start, end);
+        return "null".equals(literal) ? null : literal;
+    }
+
+    /**
+     * @return the index of the quote closing the string opened at {@code quote}
+     */
+    private static int endOfString(String json, int quote) {
+        int i = quote + 1;
+        while (i < json.length() && json.charAt(i) != '"') {
+            i += json.charAt(i) == '\\' ? 2 : 1;
+        }
+        return i;
+    }
+
+    private static String unescape(String json, int start, int end) {
+        StringBuilder value = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = json.charAt(i);
+            if (c != '\\' || i + 1 >= end) {
+                value.append(c);
+                continue;
+            }
+            char escaped = json.charAt(++i);
+            switch (escaped) {
+                case 'n': value.append('\n'); break;
+                case 't': value.append('\t'); break;
+                case 'r': value.append('\r'); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case 'u':
+                    if (i + 4 < end) {
+                        value.append((char) Integer.parseInt(json, i + 1, i + 5, 16));
+                        i += 4;
+                    }
+                    break;
+                default: value.append(escaped);
+            }
+        }
+        return value.toString();
+    }
+
+    private static int skipSpaces(String json, int i) {
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Integer parseCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(code);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static ThreadFactory providerThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("notifier-http-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
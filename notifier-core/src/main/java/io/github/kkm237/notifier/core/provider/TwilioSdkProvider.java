@@ -0,0 +1,52 @@
+package io.github.kkm237.notifier.core.provider;
+
+import com.twilio.exception.ApiConnectionException;
+import com.twilio.exception.ApiException;
+import com.twilio.http.TwilioRestClient;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @implNote {@link MessageProvider} calling the Twilio SDK, for the SMS and the WhatsApp notifiers
+ * <p>The SDK is blocking: the message is sent on the calling thread and the returned future is already complete.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class TwilioSdkProvider implements MessageProvider {
+
+    private final TwilioRestClient restClient;
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * @param connectionManager connections of the client closed with the provider, null when owned by the caller
+     */
+    public TwilioSdkProvider(TwilioRestClient restClient, PoolingHttpClientConnectionManager connectionManager) {
+        this.restClient = restClient;
+        this.connectionManager = connectionManager;
+    }
+
+    @Override
+    public CompletableFuture<ProviderMessage> send(String from, String to, String body) {
+        try {
+            Message message = Message.creator(new PhoneNumber(to), new PhoneNumber(from), body).create(restClient);
+            return CompletableFuture.completedFuture(new ProviderMessage(message.getSid(),
+                    message.getStatus() != null ? message.getStatus().toString() : null));
+        } catch (ApiException e) {
+            return CompletableFuture.failedFuture(new ProviderException(
+                    e.getStatusCode() != null ? e.getStatusCode() : 0, e.getCode(), e.getMessage(), e, false));
+        } catch (ApiConnectionException e) {
+            return CompletableFuture.failedFuture(new ProviderException(-1, null, e.getMessage(), e, false));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (connectionManager != null) {
+            connectionManager.close();
+        }
+    }
+}
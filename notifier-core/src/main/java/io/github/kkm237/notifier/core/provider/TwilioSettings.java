@@ -0,0 +1,39 @@
+package io.github.kkm237.notifier.core.provider;
+
+import io.github.kkm237.notifier.core.circuit.CircuitBreaker;
+
+/**
+ * @implNote Settings of the Twilio account and of its HTTP connections read by {@link TwilioClientFactory}, shared by
+ * the SMS and the WhatsApp configurations
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public interface TwilioSettings {
+
+    String getAccountSid();
+
+    String getAuthToken();
+
+    ProviderType getProvider();
+
+    /**
+     * Root of the REST API used by {@link ProviderType#TWILIO_HTTP}
+     */
+    String getApiBaseUrl();
+
+    Integer getHttpMaxConnections();
+
+    Integer getHttpMaxConnectionsPerRoute();
+
+    Long getHttpKeepAliveMillis();
+
+    Long getHttpConnectTimeoutMillis();
+
+    Long getHttpReadTimeoutMillis();
+
+    /**
+     * Circuit breaker guarding the provider, null when there is none
+     */
+    CircuitBreaker getCircuitBreaker();
+}
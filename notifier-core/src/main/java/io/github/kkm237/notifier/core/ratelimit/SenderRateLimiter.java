@@ -0,0 +1,72 @@
+package io.github.kkm237.notifier.core.ratelimit;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @implNote Rate limiter keyed by sender, each sender (a phone number, an email address, ...) getting its own
+ * {@link TokenBucket} of {@code permitsPerSecond} and {@code burst}
+ * <p>A {@code permitsPerSecond} of 0 disables the limit.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class SenderRateLimiter {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long maxWaitNanos;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param permitsPerSecond sustained permits of one sender per second, 0 for no limit
+     * @param burst            permits a sender can use at once after being idle
+     * @param maxWaitMillis    maximum wait for a permit before giving up
+     */
+    public SenderRateLimiter(double permitsPerSecond, int burst, long maxWaitMillis) {
+        if (permitsPerSecond < 0) throw new NotifierException("permitsPerSecond cannot be negative");
+        if (burst < 1) throw new NotifierException("burst must be greater than 0");
+        if (maxWaitMillis < 0) throw new NotifierException("maxWaitMillis cannot be negative");
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    public boolean isEnabled() {
+        return permitsPerSecond > 0;
+    }
+
+    /**
+     * Wait for a permit of the sender
+     *
+     * @param sender sender of the notification
+     * @return the time waited in milliseconds
+     * @throws NotifierRateLimitedException when no permit is available within the maximum wait
+     */
+    public long acquire(String sender) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(bucket(sender).acquire(maxWaitNanos));
+    }
+
+    /**
+     * Slow the sender down after the provider rejected one of its sends for exceeding the rate
+     */
+    public void penalize(String sender) {
+        if (isEnabled()) {
+            bucket(sender).drain();
+        }
+    }
+
+    /**
+     * Bucket of the sender, created on its first use
+     */
+    public TokenBucket bucket(String sender) {
+        return buckets.computeIfAbsent(sender, key -> new TokenBucket(key, permitsPerSecond, burst));
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.kkm237.notifier.core.ratelimit;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @implNote Token bucket refilled at {@code permitsPerSecond}, holding at most {@code burst} permits.
+ * <p>A caller reserves its permit before waiting, so the callers are served in arrival order and the
+ * sustained rate never exceeds {@code permitsPerSecond}. The wait parks the thread until its permit is due
+ * instead of polling the bucket.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class TokenBucket {
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final double intervalNanos;
+
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    public TokenBucket(String name, double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) throw new NotifierException("permitsPerSecond must be greater than 0");
+        if (burst < 1) throw new NotifierException("burst must be greater than 0");
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.storedPermits = burst;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Take a permit when one is available right now
+     *
+     * @return true when the permit is taken
+     */
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Take a permit, waiting for it at most {@code timeoutNanos}
+     *
+     * @param timeoutNanos maximum wait
+     * @return the time waited in nanoseconds
+     * @throws NotifierRateLimitedException when the permit is not available within the timeout, nothing is then taken
+     * @throws NotifierSendFailedException  when the thread is interrupted while waiting
+     */
+    public long acquire(long timeoutNanos) {
+        long waitNanos = reserve(timeoutNanos);
+        if (waitNanos < 0) {
+            throw new NotifierRateLimitedException(name, TimeUnit.NANOSECONDS.toMillis(nanosUntilAvailable()),
+                    "Rate limit of " + permitsPerSecond + "/s reached for sender " + name, null, false);
+        }
+        long deadline = System.nanoTime() + waitNanos;
+        for (long remaining = waitNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new NotifierSendFailedException("Interrupted while waiting for a permit of sender " + name);
+            }
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Empty the bucket and delay the next permit by one interval, when the provider itself rejected a send for
+     * exceeding its rate
+     */
+    public synchronized void drain() {
+        long now = System.nanoTime();
+        storedPermits = 0;
+        nextFreeNanos = Math.max(nextFreeNanos, now + (long) intervalNanos);
+    }
+
+    /**
+     * Time until the next permit is available, 0 when one is available right now
+     */
+    public synchronized long nanosUntilAvailable() {
+        long now = System.nanoTime();
+        refill(now);
+        return storedPermits >= 1 ? 0 : Math.max(0, nextFreeNanos - now) + (long) ((1 - storedPermits) * intervalNanos);
+    }
+
+    /**
+     * Reserve the next permit when it is due within {@code maxWaitNanos}
+     *
+     * @return the wait before the permit is due, or -1 when it is due later and nothing is reserved
+     */
+    synchronized long reserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        refill(now);
+        long waitNanos = Math.max(0, nextFreeNanos - now);
+        double missing = Math.max(0, 1 - storedPermits);
+        if (missing > 0 && waitNanos + (long) (missing * intervalNanos) > maxWaitNanos) {
+            return -1;
+        }
+        waitNanos += (long) (missing * intervalNanos);
+        storedPermits -= 1 - missing;
+        nextFreeNanos = now + waitNanos;
+        return waitNanos;
+    }
+
+    private void refill(long now) {
+        if (now > nextFreeNanos) {
+            storedPermits = Math.min(burst, storedPermits + (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+    }
+}
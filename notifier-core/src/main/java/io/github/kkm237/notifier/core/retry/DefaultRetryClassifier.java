@@ -0,0 +1,83 @@
+package io.github.kkm237.notifier.core.retry;
+
+import io.github.kkm237.notifier.core.exceptions.ChannelNotSupportedException;
+import io.github.kkm237.notifier.core.exceptions.CircuitBreakerOpenException;
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+import io.github.kkm237.notifier.core.provider.ProviderException;
+
+import java.io.EOFException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.ClosedChannelException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @implNote Classifier of the failures known by the core: rate limits, {@link ProviderException} and network errors
+ * <p>A provider answering 429, 408 or 5xx, or not reached at all, is retried, as are the Twilio error codes of a
+ * saturated account. Any other 4xx is permanent: the request is refused whatever its moment. The causes are walked
+ * until one of them is recognized.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class DefaultRetryClassifier implements RetryClassifier {
+
+    /**
+     * Twilio error codes of a transient failure: SMS rate exceeded, too many requests, internal error, service
+     * unavailable and queue overflow
+     */
+    private static final Set<Integer> TRANSIENT_ERROR_CODES = Set.of(14107, 20429, 20500, 20503, 30001);
+    private static final int MAX_CAUSES = 16;
+
+    @Override
+    public Retryability classify(Throwable error) {
+        Throwable cause = error;
+        for (int depth = 0; cause != null && depth < MAX_CAUSES; depth++) {
+            Retryability retryability = classifyOne(cause);
+            if (retryability != Retryability.UNKNOWN) {
+                return retryability;
+            }
+            cause = cause.getCause() == cause ? null : cause.getCause();
+        }
+        return Retryability.UNKNOWN;
+    }
+
+    private static Retryability classifyOne(Throwable error) {
+        if (error instanceof NotifierRateLimitedException) {
+            return Retryability.RETRYABLE;
+        }
+        if (error instanceof ProviderException) {
+            return classify((ProviderException) error);
+        }
+        if (error instanceof ChannelNotSupportedException
+                || error instanceof CircuitBreakerOpenException
+                || error instanceof CancellationException
+                || error instanceof InterruptedException) {
+            return Retryability.PERMANENT;
+        }
+        if (error instanceof SocketException
+                || error instanceof SocketTimeoutException
+                || error instanceof UnknownHostException
+                || error instanceof HttpTimeoutException
+                || error instanceof EOFException
+                || error instanceof ClosedChannelException
+                || error instanceof TimeoutException) {
+            return Retryability.RETRYABLE;
+        }
+        return Retryability.UNKNOWN;
+    }
+
+    private static Retryability classify(ProviderException error) {
+        if (error.isRateLimited() || error.isServerError() || error.getStatusCode() == 408) {
+            return Retryability.RETRYABLE;
+        }
+        if (error.getErrorCode() != null && TRANSIENT_ERROR_CODES.contains(error.getErrorCode())) {
+            return Retryability.RETRYABLE;
+        }
+        return error.getStatusCode() >= 400 ? Retryability.PERMANENT : Retryability.UNKNOWN;
+    }
+}
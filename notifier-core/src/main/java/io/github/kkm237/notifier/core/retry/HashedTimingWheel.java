@@ -0,0 +1,297 @@
+package io.github.kkm237.notifier.core.retry;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Timer of the delayed retries: a ring of {@code wheelSize} buckets turned by one thread, one bucket every
+ * {@code tickMillis}
+ * <p>A timeout goes to the bucket of its deadline with the number of turns left before it is due, so scheduling and
+ * cancelling cost O(1) whatever the timeouts pending, and a pending timeout holds no thread. A timeout fires up to
+ * one tick late. The due tasks run on the executor, the thread of the wheel only moves the timeouts.</p>
+ * <p>The thread is started by the first timeout.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class HashedTimingWheel implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(HashedTimingWheel.class.getName());
+    /**
+     * timeouts moved into the wheel at each tick, the others wait for the next tick
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    private static final int WHEEL_NEW = 0;
+    private static final int WHEEL_STARTED = 1;
+    private static final int WHEEL_CLOSED = 2;
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger state = new AtomicInteger(WHEEL_NEW);
+    private volatile long startNanos;
+    private Thread worker;
+    /**
+     * ticks done, only used by the thread of the wheel
+     */
+    private long tick;
+
+    /**
+     * @param name       name of the thread of the wheel
+     * @param tickMillis duration of a tick, the precision of the timeouts
+     * @param wheelSize  buckets of the wheel, rounded up to a power of two
+     * @param executor   executor of the due tasks, which should not block
+     */
+    public HashedTimingWheel(String name, long tickMillis, int wheelSize, Executor executor) {
+        if (tickMillis < 1) throw new NotifierException("tickMillis must be greater than 0");
+        if (wheelSize < 1 || wheelSize > 1 << 30) throw new NotifierException("wheelSize must be between 1 and 2^30");
+        this.name = name;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = Integer.highestOneBit(wheelSize) == wheelSize ? wheelSize : Integer.highestOneBit(wheelSize) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.executor = executor;
+    }
+
+    /**
+     * Run the task once the delay elapsed
+     *
+     * @throws RejectedExecutionException when the wheel is closed
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        start();
+        Timeout timeout = new Timeout(task, System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay)));
+        pending.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return the timeouts neither fired nor cancelled
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Stop the thread of the wheel, the pending timeouts never fire
+     */
+    @Override
+    public void close() {
+        int previous = state.getAndSet(WHEEL_CLOSED);
+        if (previous == WHEEL_STARTED) {
+            worker.interrupt();
+            try {
+                worker.join(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void start() {
+        int current = state.get();
+        if (current == WHEEL_NEW) {
+            synchronized (this) {
+                if (state.get() == WHEEL_NEW) {
+                    startNanos = System.nanoTime();
+                    worker = new Thread(this::run, name);
+                    worker.setDaemon(true);
+                    state.set(WHEEL_STARTED);
+                    worker.start();
+                }
+            }
+            current = state.get();
+        }
+        if (current == WHEEL_CLOSED) {
+            throw new RejectedExecutionException("The timing wheel " + name + " is closed");
+        }
+    }
+
+    private void run() {
+        while (state.get() != WHEEL_CLOSED) {
+            if (!waitForNextTick()) {
+                return;
+            }
+            removeCancelled();
+            transferAdded();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    /**
+     * @return false when the wheel is closed
+     */
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startNanos;
+            long sleepNanos = deadline - now;
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (state.get() == WHEEL_CLOSED) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void transferAdded() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout timeout = added.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != INIT) {
+                continue;
+            }
+            long due = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (due - tick) / wheel.length;
+            // a timeout already due goes to the current bucket
+            wheel[(int) (Math.max(due, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        if (!timeout.state.compareAndSet(INIT, EXPIRED)) {
+            return;
+        }
+        pending.decrementAndGet();
+        try {
+            executor.execute(timeout.task);
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Timeout task of " + name + " failed", e);
+        }
+    }
+
+    /**
+     * Pending task of the wheel
+     */
+    public final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Prevent the task from running, removed from its bucket at the next tick
+         *
+         * @return false when the task already ran or was already cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    /**
+     * Doubly linked timeouts of one slot of the wheel, only used by the thread of the wheel
+     */
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * Fire the timeouts of this turn, the others wait one more turn
+         */
+        private void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    // in the bucket of its deadline, so due at this tick
+                    remove(timeout);
+                    fire(timeout);
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
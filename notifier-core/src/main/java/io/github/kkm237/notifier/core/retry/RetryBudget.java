@@ -0,0 +1,86 @@
+package io.github.kkm237.notifier.core.retry;
+
+import io.github.kkm237.notifier.core.ratelimit.TokenBucket;
+
+/**
+ * @implNote Retries allowed to one channel, earned by its sends
+ * <p>Each send deposits {@code ratio} of a retry and each retry withdraws a whole one, the balance keeping at most
+ * the deposits of {@value #DEPOSITS_KEPT} sends. A {@link TokenBucket} of {@code minRetriesPerSecond} still allows
+ * a few retries when the balance is empty, such as for a channel with little traffic.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class RetryBudget {
+
+    private static final int DEPOSITS_KEPT = 1_000;
+
+    private final double ratio;
+    private final double maxBalance;
+    private final TokenBucket floor;
+    private double balance;
+    private long retries;
+    private long exhausted;
+
+    /**
+     * @param name                name of the budget, such as its channel
+     * @param ratio               retries earned by each send
+     * @param minRetriesPerSecond retries allowed each second whatever the sends, 0 for none
+     */
+    public RetryBudget(String name, double ratio, double minRetriesPerSecond) {
+        this.ratio = ratio;
+        this.maxBalance = Math.max(1, ratio * DEPOSITS_KEPT);
+        this.floor = minRetriesPerSecond > 0
+                ? new TokenBucket(name, minRetriesPerSecond, (int) Math.max(1, Math.ceil(minRetriesPerSecond)))
+                : null;
+    }
+
+    /**
+     * Earn the retries of one send
+     */
+    public synchronized void deposit() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * Take one retry
+     *
+     * @return false when the budget is exhausted, the send is then not retried
+     */
+    public boolean tryWithdraw() {
+        synchronized (this) {
+            if (balance >= 1) {
+                balance -= 1;
+                retries++;
+                return true;
+            }
+        }
+        boolean allowed = floor != null && floor.tryAcquire();
+        synchronized (this) {
+            if (allowed) {
+                retries++;
+            } else {
+                exhausted++;
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * @return the retries taken
+     */
+    public synchronized long getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return the retries refused because the budget was exhausted
+     */
+    public synchronized long getExhausted() {
+        return exhausted;
+    }
+
+    public synchronized double getBalance() {
+        return balance;
+    }
+}
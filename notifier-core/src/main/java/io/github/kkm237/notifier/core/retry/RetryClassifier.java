@@ -0,0 +1,32 @@
+package io.github.kkm237.notifier.core.retry;
+
+/**
+ * @implNote Tell whether a failed send may be retried, from its exception and the exceptions causing it
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ * @see DefaultRetryClassifier
+ */
+@FunctionalInterface
+public interface RetryClassifier {
+
+    /**
+     * @param error failure of the send, null when the failure was detected without exception
+     */
+    Retryability classify(Throwable error);
+
+    /**
+     * @return a classifier answering the first outcome other than {@link Retryability#UNKNOWN}
+     */
+    static RetryClassifier firstOf(RetryClassifier... classifiers) {
+        return error -> {
+            for (RetryClassifier classifier : classifiers) {
+                Retryability retryability = classifier.classify(error);
+                if (retryability != Retryability.UNKNOWN) {
+                    return retryability;
+                }
+            }
+            return Retryability.UNKNOWN;
+        };
+    }
+}
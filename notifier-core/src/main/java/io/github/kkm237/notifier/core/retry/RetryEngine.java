@@ -0,0 +1,310 @@
+package io.github.kkm237.notifier.core.retry;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.RecipientResult;
+import io.github.kkm237.notifier.core.model.SendReport;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Retry the sends failing with a transient error, as told by a {@link RetryClassifier}, after a jittered
+ * backoff of the {@link RetryPolicy}
+ * <p>A retry waits on the {@link HashedTimingWheel} instead of a sleeping thread, then starts the next attempt, which
+ * should itself be asynchronous. A reported send only retries its failed recipients, the report of the caller merging
+ * the result of every attempt. Each channel has its own {@link RetryBudget}: once it is exhausted the failures are
+ * returned as they are.</p>
+ * <p>Cancelling the returned future cancels the attempt running or the retry waiting.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class RetryEngine implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(RetryEngine.class.getName());
+
+    private final RetryPolicy policy;
+    private final RetryClassifier classifier;
+    private final HashedTimingWheel wheel;
+    private final Map<NotifierPayload.Channel, RetryBudget> budgets = new EnumMap<>(NotifierPayload.Channel.class);
+
+    /**
+     * @param wheel timer of the retries, closed by {@link #close()}
+     */
+    public RetryEngine(RetryPolicy policy, RetryClassifier classifier, HashedTimingWheel wheel) {
+        this.policy = policy;
+        this.classifier = classifier;
+        this.wheel = wheel;
+        for (NotifierPayload.Channel channel : NotifierPayload.Channel.values()) {
+            budgets.put(channel, new RetryBudget(channel.name(), policy.getBudgetRatio(), policy.getMinRetriesPerSecond()));
+        }
+    }
+
+    /**
+     * @return an engine running each send once, whose timer is never started
+     */
+    public static RetryEngine disabled() {
+        return new RetryEngine(RetryPolicy.none(), error -> Retryability.PERMANENT,
+                new HashedTimingWheel("notifier-retry-timer", 10, 1, Runnable::run));
+    }
+
+    /**
+     * Run a send, retried as a whole while it fails with a retryable error
+     *
+     * @param attempt start one attempt of the send
+     */
+    public <T> CompletableFuture<T> execute(NotifierPayload.Channel channel, Supplier<CompletableFuture<T>> attempt) {
+        if (!policy.isEnabled()) {
+            return attempt.get();
+        }
+        budgets.get(channel).deposit();
+        WholeRetry<T> retry = new WholeRetry<>(channel, attempt);
+        retry.start();
+        return retry.result;
+    }
+
+    /**
+     * Run a reported send, only its failed recipients with a retryable error being sent again
+     *
+     * @param recipients recipients of the send, in the order of the report
+     * @param attempt    start one attempt for some recipients, all of them for the first attempt
+     */
+    public CompletableFuture<SendReport> sendWithReport(NotifierPayload.Channel channel, List<String> recipients,
+                                                       Function<List<String>, CompletableFuture<SendReport>> attempt) {
+        if (!policy.isEnabled()) {
+            return attempt.apply(recipients);
+        }
+        budgets.get(channel).deposit();
+        ReportRetry retry = new ReportRetry(channel, recipients, attempt);
+        retry.start();
+        return retry.result;
+    }
+
+    public RetryPolicy getPolicy() {
+        return policy;
+    }
+
+    public RetryBudget getBudget(NotifierPayload.Channel channel) {
+        return budgets.get(channel);
+    }
+
+    /**
+     * @return the retries waiting for their backoff
+     */
+    public int getPendingRetries() {
+        return wheel.pending();
+    }
+
+    /**
+     * Stop the timer, the retries waiting are never run
+     */
+    @Override
+    public void close() {
+        wheel.close();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Attempts of one send, the next one scheduled on the wheel
+     */
+    private abstract class Retry<T> {
+        final NotifierPayload.Channel channel;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        volatile CompletableFuture<?> current;
+        volatile HashedTimingWheel.Timeout timer;
+        volatile int attempts;
+
+        Retry(NotifierPayload.Channel channel) {
+            this.channel = channel;
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    HashedTimingWheel.Timeout waiting = timer;
+                    if (waiting != null) waiting.cancel();
+                    CompletableFuture<?> running = current;
+                    if (running == null) {
+                        return;
+                    }
+                    // a timeout reaches the attempt as such, so the attempt running is recorded as timed out
+                    if (unwrap(error) instanceof TimeoutException) {
+                        running.completeExceptionally(unwrap(error));
+                    } else {
+                        running.cancel(true);
+                    }
+                }
+            });
+        }
+
+        abstract void start();
+
+        /**
+         * Schedule the next attempt when the policy and the budget allow it
+         *
+         * @param cause failure of the last attempt, giving its retry delay when rate limited
+         * @return false when the send is not retried
+         */
+        boolean retryLater(Throwable cause, Runnable next) {
+            if (attempts >= policy.getMaxAttempts() || result.isDone()) {
+                return false;
+            }
+            if (!budgets.get(channel).tryWithdraw()) {
+                log.fine("Retry budget of " + channel + " exhausted, the failure is returned");
+                return false;
+            }
+            long delayMillis = policy.backoffMillis(attempts);
+            if (cause instanceof NotifierRateLimitedException) {
+                delayMillis = Math.max(delayMillis, ((NotifierRateLimitedException) cause).getRetryAfterMillis());
+            }
+            log.log(Level.FINE, "Retry " + attempts + " of a send on " + channel + " in " + delayMillis + " ms", cause);
+            try {
+                timer = wheel.schedule(next, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+            if (result.isDone()) {
+                // completed before the timer was set, so not cancelled by the completion
+                timer.cancel();
+            }
+            return true;
+        }
+    }
+
+    private final class WholeRetry<T> extends Retry<T> {
+        private final Supplier<CompletableFuture<T>> attempt;
+
+        private WholeRetry(NotifierPayload.Channel channel, Supplier<CompletableFuture<T>> attempt) {
+            super(channel);
+            this.attempt = attempt;
+        }
+
+        @Override
+        void start() {
+            if (result.isDone()) {
+                // cancelled or timed out while the retry waited
+                return;
+            }
+            attempts++;
+            CompletableFuture<T> sent;
+            try {
+                sent = attempt.get();
+            } catch (RuntimeException e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            current = sent;
+            if (result.isDone()) {
+                sent.cancel(true);
+            }
+            sent.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                    return;
+                }
+                Throwable cause = unwrap(error);
+                if (classifier.classify(cause) != Retryability.RETRYABLE || !retryLater(cause, this::start)) {
+                    result.completeExceptionally(cause);
+                }
+            });
+        }
+    }
+
+    private final class ReportRetry extends Retry<SendReport> {
+        private final List<String> recipients;
+        private final Function<List<String>, CompletableFuture<SendReport>> attempt;
+        /**
+         * last result of each recipient, guarded by this retry
+         */
+        private final Map<String, RecipientResult> results;
+
+        private ReportRetry(NotifierPayload.Channel channel, List<String> recipients,
+                            Function<List<String>, CompletableFuture<SendReport>> attempt) {
+            super(channel);
+            this.recipients = recipients;
+            this.attempt = attempt;
+            this.results = new LinkedHashMap<>(recipients.size() * 2);
+        }
+
+        @Override
+        void start() {
+            send(recipients);
+        }
+
+        private void send(List<String> pending) {
+            if (result.isDone()) {
+                // cancelled or timed out while the retry waited
+                return;
+            }
+            attempts++;
+            CompletableFuture<SendReport> sent;
+            try {
+                sent = attempt.apply(pending);
+            } catch (RuntimeException e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            current = sent;
+            if (result.isDone()) {
+                sent.cancel(true);
+            }
+            sent.whenComplete((report, error) -> onAttempt(pending, report, error));
+        }
+
+        private void onAttempt(List<String> pending, SendReport report, Throwable error) {
+            List<String> retryable = new ArrayList<>();
+            Throwable retryCause = null;
+            synchronized (this) {
+                if (error != null) {
+                    Throwable cause = unwrap(error);
+                    if (classifier.classify(cause) == Retryability.RETRYABLE) {
+                        retryable.addAll(pending);
+                        retryCause = cause;
+                    } else if (attempts == 1) {
+                        // nothing was sent, the failure is returned as is
+                        result.completeExceptionally(cause);
+                        return;
+                    }
+                    Exception failure = cause instanceof Exception ? (Exception) cause : new NotifierSendFailedException(cause.toString(), cause);
+                    for (String recipient : pending) {
+                        results.put(recipient, RecipientResult.failed(recipient, failure, 0));
+                    }
+                } else {
+                    for (RecipientResult recipientResult : report.getResults()) {
+                        results.put(recipientResult.getRecipient(), recipientResult);
+                        if (!recipientResult.isSent() && classifier.classify(recipientResult.getError()) == Retryability.RETRYABLE) {
+                            retryable.add(recipientResult.getRecipient());
+                            retryCause = recipientResult.getError();
+                        }
+                    }
+                }
+            }
+            if (retryable.isEmpty() || !retryLater(retryCause, () -> send(retryable))) {
+                result.complete(merged());
+            }
+        }
+
+        private synchronized SendReport merged() {
+            List<RecipientResult> ordered = new ArrayList<>(recipients.size());
+            for (String recipient : recipients) {
+                RecipientResult recipientResult = results.get(recipient);
+                if (recipientResult != null) {
+                    ordered.add(recipientResult);
+                }
+            }
+            return new SendReport(channel, ordered);
+        }
+    }
+}
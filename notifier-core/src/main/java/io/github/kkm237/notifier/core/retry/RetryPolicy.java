@@ -0,0 +1,150 @@
+package io.github.kkm237.notifier.core.retry;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @implNote Attempts, backoff and budget of the retries of a {@link RetryEngine}
+ * <p>The backoff doubles at each retry up to {@code maxBackoffMillis}, and is drawn between its half and its whole
+ * so the retries of a burst of failures are spread instead of hitting the provider again at the same instant.</p>
+ * <p>The budget allows {@code budgetRatio} retry per send of a channel, plus {@code minRetriesPerSecond} whatever the
+ * traffic, so a provider down for everyone does not receive several times its usual load.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double multiplier;
+    private final double budgetRatio;
+    private final double minRetriesPerSecond;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoffMillis = builder.initialBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.multiplier = builder.multiplier;
+        this.budgetRatio = builder.budgetRatio;
+        this.minRetriesPerSecond = builder.minRetriesPerSecond;
+    }
+
+    /**
+     * @return a policy sending each payload once
+     */
+    public static RetryPolicy none() {
+        return builder().maxAttempts(1).build();
+    }
+
+    /**
+     * @param retry number of the retry, 1 for the retry following the first attempt
+     * @return the delay before the retry, jittered
+     */
+    public long backoffMillis(int retry) {
+        double backoff = initialBackoffMillis * Math.pow(multiplier, Math.max(0, retry - 1));
+        long capped = (long) Math.min(backoff, maxBackoffMillis);
+        long half = capped / 2;
+        return half + ThreadLocalRandom.current().nextLong(capped - half + 1);
+    }
+
+    public boolean isEnabled() {
+        return maxAttempts > 1;
+    }
+
+    /**
+     * @return the attempts of a send, the first one included
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    public double getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int maxAttempts = 4;
+        private long initialBackoffMillis = 200;
+        private long maxBackoffMillis = 30_000;
+        private double multiplier = 2.0;
+        private double budgetRatio = 0.2;
+        private double minRetriesPerSecond = 10;
+
+        private Builder() {}
+
+        /**
+         * Attempts of a send, the first one included, 1 to never retry
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) throw new NotifierException("maxAttempts must be greater than 0");
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder initialBackoffMillis(long initialBackoffMillis) {
+            if (initialBackoffMillis < 1) throw new NotifierException("initialBackoffMillis must be greater than 0");
+            this.initialBackoffMillis = initialBackoffMillis;
+            return this;
+        }
+
+        public Builder maxBackoffMillis(long maxBackoffMillis) {
+            if (maxBackoffMillis < 1) throw new NotifierException("maxBackoffMillis must be greater than 0");
+            this.maxBackoffMillis = maxBackoffMillis;
+            return this;
+        }
+
+        public Builder multiplier(double multiplier) {
+            if (!(multiplier >= 1)) throw new NotifierException("multiplier must be at least 1");
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Retries earned by each send of a channel, 0.2 allows one retry every five sends
+         */
+        public Builder budgetRatio(double budgetRatio) {
+            if (!(budgetRatio >= 0)) throw new NotifierException("budgetRatio cannot be negative");
+            this.budgetRatio = budgetRatio;
+            return this;
+        }
+
+        /**
+         * Retries of a channel allowed each second whatever its sends, 0 for none
+         */
+        public Builder minRetriesPerSecond(double minRetriesPerSecond) {
+            if (!(minRetriesPerSecond >= 0)) throw new NotifierException("minRetriesPerSecond cannot be negative");
+            this.minRetriesPerSecond = minRetriesPerSecond;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            if (initialBackoffMillis > maxBackoffMillis) {
+                throw new NotifierException("initialBackoffMillis cannot be greater than maxBackoffMillis");
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
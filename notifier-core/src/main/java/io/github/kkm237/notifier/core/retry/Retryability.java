@@ -0,0 +1,22 @@
+package io.github.kkm237.notifier.core.retry;
+
+/**
+ * @implNote Outcome of a {@link RetryClassifier} for a failed send
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public enum Retryability {
+    /**
+     * transient failure, the same send may succeed later
+     */
+    RETRYABLE,
+    /**
+     * the same send fails again, such as a refused recipient or a rejected authentication
+     */
+    PERMANENT,
+    /**
+     * not recognized by the classifier, left to the next one and not retried when none knows it
+     */
+    UNKNOWN
+}
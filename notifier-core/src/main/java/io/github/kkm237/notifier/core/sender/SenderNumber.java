@@ -0,0 +1,105 @@
+package io.github.kkm237.notifier.core.sender;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @implNote State of one sender of a {@link SenderPool}: messages in flight, sent and failed, and ejection
+ * after consecutive failures
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class SenderNumber {
+
+    private final String number;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private int consecutiveFailures;
+    private volatile long ejectedUntil;
+
+    SenderNumber(String number) {
+        this.number = number;
+    }
+
+    public String getNumber() {
+        return number;
+    }
+
+    /**
+     * Messages being sent from this sender
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Messages rejected by the provider because the rate of this sender was exceeded
+     */
+    public long getRateLimited() {
+        return rateLimited.get();
+    }
+
+    /**
+     * End of the ejection of this sender in epoch milliseconds, 0 when it was never ejected
+     */
+    public long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    public boolean isHealthy() {
+        return ejectedUntil <= System.currentTimeMillis();
+    }
+
+    void acquired() {
+        inFlight.incrementAndGet();
+    }
+
+    void released() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void recordSuccess() {
+        sent.incrementAndGet();
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * @return true when this failure ejected the sender
+     */
+    synchronized boolean recordFailure(int maxConsecutiveFailures, long ejectionMillis) {
+        failed.incrementAndGet();
+        if (++consecutiveFailures < maxConsecutiveFailures) {
+            return false;
+        }
+        consecutiveFailures = 0;
+        ejectedUntil = System.currentTimeMillis() + ejectionMillis;
+        return true;
+    }
+
+    void recordRateLimited() {
+        rateLimited.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "SenderNumber{" +
+                "number='" + number + '\'' +
+                ", inFlight=" + inFlight +
+                ", sent=" + sent +
+                ", failed=" + failed +
+                ", rateLimited=" + rateLimited +
+                ", healthy=" + isHealthy() +
+                '}';
+    }
+}
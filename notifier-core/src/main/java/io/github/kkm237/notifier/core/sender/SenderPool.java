@@ -0,0 +1,199 @@
+package io.github.kkm237.notifier.core.sender;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+import io.github.kkm237.notifier.core.ratelimit.SenderRateLimiter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Pool of sender numbers of one channel, each with its own rate limit, so the throughput of the channel
+ * grows with the number of senders.
+ * <p>The sender of a message is picked following the {@link SenderSelection}. A sender failing
+ * {@value #MAX_CONSECUTIVE_FAILURES} times in a row is ejected for the configured time; when every sender is
+ * ejected the one ejected first is used again.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class SenderPool {
+
+    private static final Logger log = Logger.getLogger(SenderPool.class.getName());
+
+    static final int MAX_CONSECUTIVE_FAILURES = 3;
+
+    private final List<SenderNumber> senders;
+    private final SenderSelection selection;
+    private final SenderRateLimiter rateLimiter;
+    private final long ejectionMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param numbers        sender numbers of the pool
+     * @param selection      how the sender of a message is picked
+     * @param rateLimiter    rate limit of each sender
+     * @param ejectionMillis how long a failing sender is left out
+     */
+    public SenderPool(List<String> numbers, SenderSelection selection, SenderRateLimiter rateLimiter, long ejectionMillis) {
+        if (numbers == null || numbers.isEmpty()) throw new NotifierException("numbers cannot be null or empty");
+        if (selection == null) throw new NotifierException("selection cannot be null");
+        if (rateLimiter == null) throw new NotifierException("rateLimiter cannot be null");
+        if (ejectionMillis < 0) throw new NotifierException("ejectionMillis cannot be negative");
+        this.senders = numbers.stream().distinct().map(SenderNumber::new).toList();
+        this.selection = selection;
+        this.rateLimiter = rateLimiter;
+        this.ejectionMillis = ejectionMillis;
+    }
+
+    /**
+     * Pick the sender of a message to the recipient and wait for its rate permit
+     *
+     * @param recipient recipient of the message
+     * @return the lease of the sender, to complete once the message is sent or failed
+     * @throws NotifierRateLimitedException when no permit of the picked sender is available within the maximum wait
+     */
+    public Lease acquire(String recipient) {
+        List<SenderNumber> candidates = candidates(recipient);
+        SenderNumber sender = null;
+        if (rateLimiter.isEnabled() && candidates.size() > 1) {
+            for (SenderNumber candidate : candidates) {
+                if (rateLimiter.bucket(candidate.getNumber()).tryAcquire()) {
+                    sender = candidate;
+                    break;
+                }
+            }
+            if (sender == null) {
+                sender = candidates.stream()
+                        .min(Comparator.comparingLong(candidate -> rateLimiter.bucket(candidate.getNumber()).nanosUntilAvailable()))
+                        .orElseThrow();
+                rateLimiter.acquire(sender.getNumber());
+            }
+        } else {
+            sender = candidates.get(0);
+            rateLimiter.acquire(sender.getNumber());
+        }
+        sender.acquired();
+        return new Lease(sender);
+    }
+
+    /**
+     * State of every sender of the pool
+     */
+    public List<SenderNumber> getSenders() {
+        return senders;
+    }
+
+    public SenderSelection getSelection() {
+        return selection;
+    }
+
+    /**
+     * Senders which may send the message to the recipient, by order of preference
+     */
+    private List<SenderNumber> candidates(String recipient) {
+        List<SenderNumber> healthy = new ArrayList<>(senders.size());
+        SenderNumber firstEjected = null;
+        for (SenderNumber sender : senders) {
+            if (sender.isHealthy()) {
+                healthy.add(sender);
+            } else if (firstEjected == null || sender.getEjectedUntil() < firstEjected.getEjectedUntil()) {
+                firstEjected = sender;
+            }
+        }
+        if (healthy.isEmpty()) {
+            return List.of(firstEjected);
+        }
+
+        switch (selection) {
+            case STICKY:
+                SenderNumber owner = healthy.get(0);
+                for (SenderNumber sender : healthy) {
+                    if (score(recipient, sender) > score(recipient, owner)) owner = sender;
+                }
+                return List.of(owner);
+            case LEAST_LOADED:
+                rotate(healthy);
+                // stable sort, senders with the same load stay in round-robin order
+                healthy.sort(Comparator.comparingInt(SenderNumber::getInFlight));
+                return healthy;
+            default:
+                rotate(healthy);
+                return healthy;
+        }
+    }
+
+    private void rotate(List<SenderNumber> healthy) {
+        Collections.rotate(healthy, -Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+
+    /**
+     * Rendezvous hash of the recipient and the sender, the sender with the highest score owns the recipient
+     * so ejecting a sender only moves its own recipients
+     */
+    private static long score(String recipient, SenderNumber sender) {
+        long hash = recipient.hashCode() * 0x9E3779B97F4A7C15L + sender.getNumber().hashCode();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * A sender picked for one message, completed with {@link #success()}, {@link #failure()} or
+     * {@link #rateLimited()}, or released without outcome by {@link #close()}
+     */
+    public final class Lease implements AutoCloseable {
+        private final SenderNumber sender;
+        private boolean released;
+
+        private Lease(SenderNumber sender) {
+            this.sender = sender;
+        }
+
+        public String getNumber() {
+            return sender.getNumber();
+        }
+
+        /**
+         * The message was accepted by the provider
+         */
+        public void success() {
+            sender.recordSuccess();
+            close();
+        }
+
+        /**
+         * The message failed because of the sender, which is ejected after repeated failures
+         */
+        public void failure() {
+            if (sender.recordFailure(MAX_CONSECUTIVE_FAILURES, ejectionMillis)) {
+                log.warning("Sender " + sender.getNumber() + " ejected for " + ejectionMillis + " ms after " + MAX_CONSECUTIVE_FAILURES + " consecutive failures");
+            }
+            close();
+        }
+
+        /**
+         * The provider rejected the message because the rate of the sender was exceeded
+         */
+        public void rateLimited() {
+            sender.recordRateLimited();
+            rateLimiter.penalize(sender.getNumber());
+            close();
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                sender.released();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.kkm237.notifier.core.sender;
+
+/**
+ * @implNote How a {@link SenderPool} picks the sender of a message
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public enum SenderSelection {
+    /**
+     * Each sender in turn, skipping the ones without a rate permit available
+     */
+    ROUND_ROBIN,
+    /**
+     * The sender with the fewest messages in flight, skipping the ones without a rate permit available
+     */
+    LEAST_LOADED,
+    /**
+     * Always the same sender for a recipient, so a conversation stays on one number. A recipient only moves
+     * to another sender while its own is ejected
+     */
+    STICKY
+}
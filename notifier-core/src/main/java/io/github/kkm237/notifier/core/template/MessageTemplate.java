@@ -0,0 +1,123 @@
+package io.github.kkm237.notifier.core.template;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @implNote Text with named placeholders, written {@code {{name}}}, compiled once into a segment list.
+ * <p>Rendering appends the literal segments and the variable values to a caller supplied buffer,
+ * without regex or intermediate strings. An unterminated <code>&#123;&#123;</code> is kept as literal text.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class MessageTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String source;
+    /**
+     * literal text before each placeholder, followed by the trailing literal
+     */
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private MessageTemplate(String source, String[] literals, String[] names) {
+        this.source = source;
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * compile the template text
+     *
+     * @param source text holding {@code {{name}}} placeholders
+     * @return the compiled template
+     */
+    public static MessageTemplate compile(String source) {
+        if (source == null) throw new NotifierException("Template cannot be null");
+
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int position = 0;
+        int literalStart = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) break;
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) break;
+
+            String name = source.substring(open + OPEN.length(), close).trim();
+            if (name.isEmpty()) throw new NotifierException("Empty placeholder at index " + open + " of template");
+
+            literals.add(source.substring(literalStart, open));
+            names.add(name);
+            position = close + CLOSE.length();
+            literalStart = position;
+        }
+        literals.add(source.substring(literalStart));
+
+        return new MessageTemplate(source, literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    /**
+     * append the rendered text to the buffer
+     *
+     * @param variables values of the placeholders
+     * @param buffer    buffer receiving the text
+     * @throws NotifierException when a placeholder has no value
+     */
+    public void appendTo(Map<String, String> variables, StringBuilder buffer) {
+        buffer.append(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            String value = variables.get(names[i]);
+            if (value == null) throw new NotifierException("Missing template variable: " + names[i]);
+            buffer.append(value).append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * render the text into a reused buffer, which is cleared first
+     *
+     * @param variables values of the placeholders
+     * @param buffer    reusable buffer
+     * @return the rendered text
+     */
+    public String render(Map<String, String> variables, StringBuilder buffer) {
+        if (names.length == 0) return source;
+        buffer.setLength(0);
+        buffer.ensureCapacity(literalLength + names.length * 16);
+        appendTo(variables, buffer);
+        return buffer.toString();
+    }
+
+    public String render(Map<String, String> variables) {
+        return render(variables, new StringBuilder());
+    }
+
+    /**
+     * @return the placeholder names, in order of appearance
+     */
+    public List<String> getNames() {
+        return List.of(names);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.kkm237.notifier.core.utils;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * @implNote Wait for the futures of a send on the calling thread, interruptibly, unlike
+ * {@link CompletableFuture#join()}: a send cancelled or timed out by its caller interrupts the sending thread, which
+ * then cancels the messages still in flight and stops.
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class Futures {
+
+    private Futures() {}
+
+    /**
+     * Result of the future, as {@link CompletableFuture#join()} but interruptible
+     *
+     * @param what what is awaited, for the message of the exception
+     * @throws CompletionException         when the future failed
+     * @throws NotifierSendFailedException when the thread is interrupted, the future is then cancelled
+     */
+    public static <T> T await(CompletableFuture<T> future, String what) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new NotifierSendFailedException("Interrupted while waiting for " + what, e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (CancellationException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Results of the futures in order, every future is cancelled when the thread is interrupted
+     *
+     * @throws NotifierSendFailedException when the thread is interrupted
+     */
+    public static <T> List<T> awaitAll(List<CompletableFuture<T>> futures, String what) {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(await(future, what));
+            }
+        } catch (NotifierSendFailedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return results;
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.kkm237.notifier.core.utils;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @implNote Validate recipients with hand-written scanners instead of regular expressions, a recipient being
+ * checked in a single pass over its characters without allocation.
+ * <ul>
+ *     <li>email: {@code [a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,}}</li>
+ *     <li>phone number, E.164: {@code \+[1-9]\d{1,14}}</li>
+ *     <li>WhatsApp number: an E.164 phone number, optionally prefixed by {@code whatsapp:}</li>
+ * </ul>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class RecipientValidator {
+
+    public static final String WHATSAPP_PREFIX = "whatsapp:";
+
+    private static final int E164_MAX_DIGITS = 15;
+    private static final int[] NO_INDEX = new int[0];
+
+    /**
+     * ASCII characters allowed in the local part of an email
+     */
+    private static final boolean[] LOCAL = new boolean[128];
+    /**
+     * ASCII characters allowed in the domain of an email
+     */
+    private static final boolean[] DOMAIN = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) LOCAL[c] = DOMAIN[c] = true;
+        for (char c = 'A'; c <= 'Z'; c++) LOCAL[c] = DOMAIN[c] = true;
+        for (char c = '0'; c <= '9'; c++) LOCAL[c] = DOMAIN[c] = true;
+        for (char c : "._%+-".toCharArray()) LOCAL[c] = true;
+        for (char c : ".-".toCharArray()) DOMAIN[c] = true;
+    }
+
+    private RecipientValidator() {}
+
+    public static boolean isValidEmail(CharSequence email) {
+        int length = email.length();
+        int at = -1;
+        int lastDot = -1;
+        // letters since the last dot of the domain, -1 when a non letter follows it
+        int tld = -1;
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c >= 128) return false;
+            if (at < 0) {
+                if (c == '@') {
+                    if (i == 0) return false;
+                    at = i;
+                } else if (!LOCAL[c]) {
+                    return false;
+                }
+            } else if (c == '.') {
+                lastDot = i;
+                tld = 0;
+            } else if (!DOMAIN[c]) {
+                return false;
+            } else if (tld >= 0) {
+                tld = isLetter(c) ? tld + 1 : -1;
+            }
+        }
+        return at > 0 && lastDot > at + 1 && tld >= 2;
+    }
+
+    /**
+     * E.164 phone number: a {@code +}, a first digit from 1 to 9, then 1 to 14 digits
+     */
+    public static boolean isValidPhoneNumber(CharSequence phoneNumber) {
+        return isE164(phoneNumber, 0);
+    }
+
+    /**
+     * E.164 phone number, optionally prefixed by {@code whatsapp:}
+     */
+    public static boolean isValidWhatsAppNumber(CharSequence phoneNumber) {
+        int offset = startsWith(phoneNumber, WHATSAPP_PREFIX) ? WHATSAPP_PREFIX.length() : 0;
+        return isE164(phoneNumber, offset);
+    }
+
+    /**
+     * @return true when the recipient is valid for the channel: an email for EMAIL, a phone number for SMS,
+     * a WhatsApp number for WHATSAPP
+     */
+    public static boolean isValid(NotifierPayload.Channel channel, CharSequence recipient) {
+        if (recipient == null) return false;
+        return switch (channel) {
+            case EMAIL -> isValidEmail(recipient);
+            case SMS -> isValidPhoneNumber(recipient);
+            case WHATSAPP -> isValidWhatsAppNumber(recipient);
+        };
+    }
+
+    /**
+     * Validate many recipients at once
+     *
+     * @param channel    channel of the recipients
+     * @param recipients recipients to validate, a null recipient is invalid
+     * @return the indices of the invalid recipients in ascending order, empty when every recipient is valid
+     */
+    public static int[] validateAll(NotifierPayload.Channel channel, List<? extends CharSequence> recipients) {
+        int[] invalid = NO_INDEX;
+        int count = 0;
+        for (int i = 0; i < recipients.size(); i++) {
+            if (!isValid(channel, recipients.get(i))) {
+                if (count == invalid.length) invalid = Arrays.copyOf(invalid, Math.max(8, count * 2));
+                invalid[count++] = i;
+            }
+        }
+        return count == invalid.length ? invalid : Arrays.copyOf(invalid, count);
+    }
+
+    /**
+     * @throws NotifierException naming the first invalid recipient, when at least one recipient is invalid
+     */
+    public static void requireAllValid(NotifierPayload.Channel channel, List<? extends CharSequence> recipients) {
+        int[] invalid = validateAll(channel, recipients);
+        if (invalid.length > 0) {
+            throw new NotifierException("Recipient is not valid: " + recipients.get(invalid[0])
+                    + (invalid.length > 1 ? " (and " + (invalid.length - 1) + " more)" : ""));
+        }
+    }
+
+    private static boolean isE164(CharSequence phoneNumber, int offset) {
+        int digits = phoneNumber.length() - offset - 1;
+        if (digits < 2 || digits > E164_MAX_DIGITS) return false;
+        if (phoneNumber.charAt(offset) != '+') return false;
+        char first = phoneNumber.charAt(offset + 1);
+        if (first < '1' || first > '9') return false;
+        for (int i = offset + 2; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    private static boolean startsWith(CharSequence text, String prefix) {
+        if (text.length() < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(i) != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
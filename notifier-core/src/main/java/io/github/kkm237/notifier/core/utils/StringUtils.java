@@ -8,10 +8,10 @@ public class StringUtils {
     }
 
     public static boolean isValidPhoneNumber(String phoneNumber) {
-        return phoneNumber.matches("^\\+[1-9]\\d{1,14}$");
+        return RecipientValidator.isValidPhoneNumber(phoneNumber);
     }
 
     public static boolean isValidEmail(String email) {
-        return email.matches("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+        return RecipientValidator.isValidEmail(email);
     }
 }
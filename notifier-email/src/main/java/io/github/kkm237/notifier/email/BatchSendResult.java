@@ -0,0 +1,71 @@
+package io.github.kkm237.notifier.email;
+
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+
+import java.util.List;
+
+/**
+ * @implNote Outcome of one payload sent through {@link EmailNotifierImpl#sendBatch(java.util.Collection)},
+ * or of one recipient of a {@link EmailTemplate}, the payload being then the template prototype
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class BatchSendResult {
+
+    private final NotifierPayload payload;
+    private final List<String> recipients;
+    private final boolean sent;
+    private final Exception error;
+
+    private BatchSendResult(NotifierPayload payload, List<String> recipients, boolean sent, Exception error) {
+        this.payload = payload;
+        this.recipients = recipients;
+        this.sent = sent;
+        this.error = error;
+    }
+
+    static BatchSendResult sent(NotifierPayload payload) {
+        return new BatchSendResult(payload, payload.getRecipients(), true, null);
+    }
+
+    static BatchSendResult failed(NotifierPayload payload, Exception error) {
+        return new BatchSendResult(payload, payload.getRecipients(), false, error);
+    }
+
+    static BatchSendResult sent(EmailTemplate template, String recipient) {
+        return new BatchSendResult(template.getPrototype(), List.of(recipient), true, null);
+    }
+
+    static BatchSendResult failed(EmailTemplate template, String recipient, Exception error) {
+        return new BatchSendResult(template.getPrototype(), List.of(recipient), false, error);
+    }
+
+    public NotifierPayload getPayload() {
+        return payload;
+    }
+
+    public List<String> getRecipients() {
+        return recipients;
+    }
+
+    public boolean isSent() {
+        return sent;
+    }
+
+    /**
+     * @return the failure cause, null when the payload was sent
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchSendResult{" +
+                "recipients=" + recipients +
+                ", sent=" + sent +
+                ", error=" + (error == null ? null : error.getMessage()) +
+                '}';
+    }
+}
@@ -3,6 +3,8 @@ package io.github.kkm237.notifier.email;
 import io.github.kkm237.notifier.core.exceptions.NotifierException;
 import io.github.kkm237.notifier.core.utils.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -22,6 +24,19 @@ public final class EmailConfig {
     private final Boolean authEnabled;
     private final Boolean sslEnabled;
     private final Boolean debug;
+    private final Integer poolMaxSize;
+    private final Long poolIdleTimeoutMillis;
+    private final Integer poolMaxMessagesPerConnection;
+    private final Long poolBorrowTimeoutMillis;
+    private final Long smtpTimeoutMillis;
+    private final Long attachmentCacheMaxBytes;
+    private final String attachmentCacheSpillDirectory;
+    private final List<SmtpRelay> relays;
+    private final Long relayEjectionMillis;
+    private final Double relayMaxErrorRate;
+    private final Integer nioIoThreads;
+    private final Integer nioMaxSessions;
+    private final Integer warmUpConnections;
 
     public String getHost() {
         return host;
@@ -59,6 +74,70 @@ public final class EmailConfig {
         return debug;
     }
 
+    public Integer getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public Long getPoolIdleTimeoutMillis() {
+        return poolIdleTimeoutMillis;
+    }
+
+    public Integer getPoolMaxMessagesPerConnection() {
+        return poolMaxMessagesPerConnection;
+    }
+
+    public Long getPoolBorrowTimeoutMillis() {
+        return poolBorrowTimeoutMillis;
+    }
+
+    public Long getSmtpTimeoutMillis() {
+        return smtpTimeoutMillis;
+    }
+
+    public Long getAttachmentCacheMaxBytes() {
+        return attachmentCacheMaxBytes;
+    }
+
+    public String getAttachmentCacheSpillDirectory() {
+        return attachmentCacheSpillDirectory;
+    }
+
+    /**
+     * @return the configured relays, or a single relay made of host, port, username, password and poolMaxSize
+     */
+    public List<SmtpRelay> getRelays() {
+        if (!relays.isEmpty()) {
+            return relays;
+        }
+        return List.of(SmtpRelay.builder()
+                .host(host)
+                .port(port)
+                .username(username)
+                .password(password)
+                .maxConnections(poolMaxSize)
+                .build());
+    }
+
+    public Long getRelayEjectionMillis() {
+        return relayEjectionMillis;
+    }
+
+    public Double getRelayMaxErrorRate() {
+        return relayMaxErrorRate;
+    }
+
+    public Integer getNioIoThreads() {
+        return nioIoThreads;
+    }
+
+    public Integer getNioMaxSessions() {
+        return nioMaxSessions;
+    }
+
+    public Integer getWarmUpConnections() {
+        return warmUpConnections;
+    }
+
     private EmailConfig(Builder builder) {
         this.host = builder.host;
         this.port = builder.port;
@@ -69,6 +148,19 @@ public final class EmailConfig {
         this.authEnabled = builder.authEnabled;
         this.sslEnabled = builder.sslEnabled;
         this.debug = builder.debug;
+        this.poolMaxSize = builder.poolMaxSize;
+        this.poolIdleTimeoutMillis = builder.poolIdleTimeoutMillis;
+        this.poolMaxMessagesPerConnection = builder.poolMaxMessagesPerConnection;
+        this.poolBorrowTimeoutMillis = builder.poolBorrowTimeoutMillis;
+        this.smtpTimeoutMillis = builder.smtpTimeoutMillis;
+        this.attachmentCacheMaxBytes = builder.attachmentCacheMaxBytes;
+        this.attachmentCacheSpillDirectory = builder.attachmentCacheSpillDirectory;
+        this.relays = List.copyOf(builder.relays);
+        this.relayEjectionMillis = builder.relayEjectionMillis;
+        this.relayMaxErrorRate = builder.relayMaxErrorRate;
+        this.nioIoThreads = builder.nioIoThreads;
+        this.nioMaxSessions = builder.nioMaxSessions;
+        this.warmUpConnections = builder.warmUpConnections;
     }
 
     public static Builder builder() {
@@ -85,7 +177,19 @@ public final class EmailConfig {
         private Boolean authEnabled = true;
         private Boolean sslEnabled = false;
         private Boolean debug = false;
-
+        private Integer poolMaxSize = 4;
+        private Long poolIdleTimeoutMillis = 60_000L;
+        private Integer poolMaxMessagesPerConnection = 100;
+        private Long poolBorrowTimeoutMillis = 10_000L;
+        private Long smtpTimeoutMillis = 10_000L;
+        private Long attachmentCacheMaxBytes = 0L;
+        private String attachmentCacheSpillDirectory;
+        private final List<SmtpRelay> relays = new ArrayList<>();
+        private Long relayEjectionMillis = 30_000L;
+        private Double relayMaxErrorRate = 0.5;
+        private Integer nioIoThreads = 2;
+        private Integer nioMaxSessions = 256;
+        private Integer warmUpConnections = 0;
 
         private Builder() {}
 
@@ -139,12 +243,123 @@ public final class EmailConfig {
             return this;
         }
 
+        public Builder poolMaxSize(Integer poolMaxSize) {
+            if (poolMaxSize == null || poolMaxSize < 1) throw new NotifierException("poolMaxSize must be greater than 0");
+            this.poolMaxSize = poolMaxSize;
+            return this;
+        }
+
+        public Builder poolIdleTimeoutMillis(Long poolIdleTimeoutMillis) {
+            if (poolIdleTimeoutMillis == null || poolIdleTimeoutMillis < 0) throw new NotifierException("poolIdleTimeoutMillis cannot be null or negative");
+            this.poolIdleTimeoutMillis = poolIdleTimeoutMillis;
+            return this;
+        }
+
+        public Builder poolMaxMessagesPerConnection(Integer poolMaxMessagesPerConnection) {
+            if (poolMaxMessagesPerConnection == null || poolMaxMessagesPerConnection < 1) throw new NotifierException("poolMaxMessagesPerConnection must be greater than 0");
+            this.poolMaxMessagesPerConnection = poolMaxMessagesPerConnection;
+            return this;
+        }
+
+        public Builder poolBorrowTimeoutMillis(Long poolBorrowTimeoutMillis) {
+            if (poolBorrowTimeoutMillis == null || poolBorrowTimeoutMillis < 0) throw new NotifierException("poolBorrowTimeoutMillis cannot be null or negative");
+            this.poolBorrowTimeoutMillis = poolBorrowTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Timeout of the connection, of each read and of each write on an SMTP connection
+         */
+        public Builder smtpTimeoutMillis(Long smtpTimeoutMillis) {
+            if (smtpTimeoutMillis == null || smtpTimeoutMillis < 1) throw new NotifierException("smtpTimeoutMillis must be greater than 0");
+            this.smtpTimeoutMillis = smtpTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Maximum size of the encoded attachment cache, 0 disables the cache
+         */
+        public Builder attachmentCacheMaxBytes(Long attachmentCacheMaxBytes) {
+            if (attachmentCacheMaxBytes == null || attachmentCacheMaxBytes < 0) throw new NotifierException("attachmentCacheMaxBytes cannot be null or negative");
+            this.attachmentCacheMaxBytes = attachmentCacheMaxBytes;
+            return this;
+        }
+
+        /**
+         * Directory of the memory-mapped files holding the encoded attachment cache, the heap is used when not set
+         */
+        public Builder attachmentCacheSpillDirectory(String attachmentCacheSpillDirectory) {
+            if (StringUtils.isNullOrEmpty(attachmentCacheSpillDirectory)) throw new NotifierException("attachmentCacheSpillDirectory cannot be null or empty");
+            this.attachmentCacheSpillDirectory = attachmentCacheSpillDirectory;
+            return this;
+        }
+
+        /**
+         * Add a relay. When relays are configured they replace host, port, username and password,
+         * and the traffic is balanced between them
+         */
+        public Builder addRelay(SmtpRelay relay) {
+            this.relays.add(Objects.requireNonNull(relay, "relay cannot be null"));
+            return this;
+        }
+
+        public Builder addRelays(List<SmtpRelay> relays) {
+            relays.forEach(this::addRelay);
+            return this;
+        }
+
+        /**
+         * How long a failing relay is kept out of the rotation
+         */
+        public Builder relayEjectionMillis(Long relayEjectionMillis) {
+            if (relayEjectionMillis == null || relayEjectionMillis < 0) throw new NotifierException("relayEjectionMillis cannot be null or negative");
+            this.relayEjectionMillis = relayEjectionMillis;
+            return this;
+        }
+
+        /**
+         * Observed error rate, between 0 and 1, above which a relay is ejected
+         */
+        public Builder relayMaxErrorRate(Double relayMaxErrorRate) {
+            if (relayMaxErrorRate == null || relayMaxErrorRate <= 0 || relayMaxErrorRate > 1) throw new NotifierException("relayMaxErrorRate must be between 0 and 1");
+            this.relayMaxErrorRate = relayMaxErrorRate;
+            return this;
+        }
+
+        /**
+         * Number of threads driving the sessions of {@link NioSmtpNotifierImpl}
+         */
+        public Builder nioIoThreads(Integer nioIoThreads) {
+            if (nioIoThreads == null || nioIoThreads < 1) throw new NotifierException("nioIoThreads must be greater than 0");
+            this.nioIoThreads = nioIoThreads;
+            return this;
+        }
+
+        /**
+         * Maximum number of SMTP sessions opened at the same time by {@link NioSmtpNotifierImpl}
+         */
+        public Builder nioMaxSessions(Integer nioMaxSessions) {
+            if (nioMaxSessions == null || nioMaxSessions < 1) throw new NotifierException("nioMaxSessions must be greater than 0");
+            this.nioMaxSessions = nioMaxSessions;
+            return this;
+        }
+
+        /**
+         * Number of connections opened and authenticated to each relay when the notifier is created,
+         * capped by the relay pool size. 0 disables the warm-up
+         */
+        public Builder warmUpConnections(Integer warmUpConnections) {
+            if (warmUpConnections == null || warmUpConnections < 0) throw new NotifierException("warmUpConnections cannot be null or negative");
+            this.warmUpConnections = warmUpConnections;
+            return this;
+        }
+
         public EmailConfig build() {
 
             if (StringUtils.isNullOrEmpty(host)) throw new NotifierException("host cannot be null or empty");
             if (port == null) throw new NotifierException("port cannot be null");
-            if (StringUtils.isNullOrEmpty(username)) throw new NotifierException("username cannot be null or empty");
-            if (StringUtils.isNullOrEmpty(password)) throw new NotifierException("password cannot be null or empty");
+            if (relays.isEmpty() && StringUtils.isNullOrEmpty(username)) throw new NotifierException("username cannot be null or empty");
+            if (relays.isEmpty() && StringUtils.isNullOrEmpty(password)) throw new NotifierException("password cannot be null or empty");
             if (StringUtils.isNullOrEmpty(fromEmail)) throw new NotifierException("fromEmail cannot be null or empty");
             if (!StringUtils.isValidEmail(fromEmail)) throw new NotifierException("fromEmail is not valid");
             if (startTlsEnabled == null) throw new NotifierException("startTlsEnabled cannot be null");
@@ -1,16 +1,22 @@
 package io.github.kkm237.notifier.email;
 
 
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import com.sun.mail.smtp.SMTPTransport;
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
 import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
 import io.github.kkm237.notifier.core.model.*;
-import jakarta.activation.DataHandler;
-import jakarta.activation.FileDataSource;
 import jakarta.mail.*;
 import jakarta.mail.internet.*;
-import jakarta.mail.util.ByteArrayDataSource;
 
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 
 /**
@@ -20,10 +26,18 @@ import java.util.logging.Logger;
  * @version 1.0.0
  * @see io.github.kkm237.notifier.core.model.AttachmentPayload
  */
-public class EmailNotifierImpl implements Notifier {
+public class EmailNotifierImpl implements Notifier, AutoCloseable {
+
+    private static final String[] TEMPLATE_IGNORED_HEADERS = {"To", "Cc", "Bcc", "Date", "Message-ID"};
+    private static final int TLS_SESSION_CACHE_SIZE = 256;
 
     private final Session session;
     private final String fromEmail;
+    private final SmtpRelayBalancer relays;
+    private final EncodedAttachmentCache attachmentCache;
+    private final MimeMessageFactory messages;
+    private final SSLSocketFactory sslSocketFactory;
+    private final List<WarmUpReport> warmUpReports;
     Logger log = Logger.getLogger(EmailNotifierImpl.class.getName());
 
     /**
@@ -31,7 +45,17 @@ public class EmailNotifierImpl implements Notifier {
      */
     public EmailNotifierImpl(EmailConfig config) {
         this.fromEmail = config.getFromEmail();
-        this.session = createSession(config);
+        this.sslSocketFactory = config.isSslEnabled() || config.isStartTlsEnabled() ? createSslSocketFactory() : null;
+        this.session = createSession(config, config.getRelays().get(0));
+        this.relays = new SmtpRelayBalancer(config, relay -> createSession(config, relay));
+        this.attachmentCache = config.getAttachmentCacheMaxBytes() > 0
+                ? new EncodedAttachmentCache(config.getAttachmentCacheMaxBytes(),
+                        config.getAttachmentCacheSpillDirectory() == null ? null : Path.of(config.getAttachmentCacheSpillDirectory()))
+                : null;
+        this.messages = new MimeMessageFactory(session, fromEmail, attachmentCache);
+        this.warmUpReports = config.getWarmUpConnections() > 0
+                ? relays.warmUp(config.getWarmUpConnections())
+                : List.of();
     }
 
 
@@ -39,128 +63,339 @@ public class EmailNotifierImpl implements Notifier {
     public void send(NotifierPayload payload) {
 
         try {
-            Message message = new MimeMessage(session);
-            message.setFrom(new InternetAddress(fromEmail, payload.getOrganizationName()));
-            message.setSubject(payload.getSubject());
-            message.setSentDate(new Date());
+            Message message = messages.createMessage(payload);
+            sendPooled(message);
+            log.info("Mail sent successfully.");
+        } catch (SendFailedException e) {
+            throw new NotifierSendFailedException("Partial failure: " + e.getMessage(), e);
+        } catch (MessagingException e) {
+            throw new NotifierSendFailedException("Messaging error: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new NotifierSendFailedException("Unexpected error: " + e.getMessage(), e);
+        }
+    }
 
-            if (payload.getReplyTo()!= null) {
-                message.setReplyTo(InternetAddress.parse(payload.getReplyTo()));
-            }
+    /**
+     * Send many payloads one after another over the same SMTP session.
+     * <p>A new connection is taken from the pool only when the current one reached its message limit
+     * or broke. A failed payload is reported in its result, the transaction is reset with RSET and the
+     * remaining payloads are still sent.</p>
+     *
+     * @param payloads the payloads to send
+     * @return one result per payload, in iteration order
+     */
+    public List<BatchSendResult> sendBatch(Collection<NotifierPayload> payloads) {
+        List<BatchSendResult> results = new ArrayList<>(payloads.size());
+        sendEach(payloads, messages::createMessage, (payload, error) ->
+                results.add(error == null ? BatchSendResult.sent(payload) : BatchSendResult.failed(payload, error)));
+        log.info("Mail batch sent: " + countSent(results) + "/" + results.size());
+        return results;
+    }
 
-            if (payload.getPriority() != null) {
-                message.setHeader("X-Priority", String.valueOf(payload.getPriority().getValue()));
+    /**
+     * Send the payload and report each recipient.
+     * <p>When the server refuses some recipients, the ones it accepted are reported as sent. The Message-ID
+     * is reported as the provider id.</p>
+     */
+    @Override
+    public SendReport sendWithReport(NotifierPayload payload) {
+        long start = System.nanoTime();
+        List<RecipientResult> results = new ArrayList<>(payload.getRecipients().size());
+        MimeMessage message = null;
+        try {
+            message = messages.createMessage(payload);
+            sendPooled(message);
+            long latency = System.nanoTime() - start;
+            for (String recipient : payload.getRecipients()) {
+                results.add(RecipientResult.sent(recipient, message.getMessageID(), latency));
             }
-
-            if (payload.getCc() != null) {
-                for (String cc : payload.getCc()) {
-                    message.addRecipient(Message.RecipientType.CC, new InternetAddress(cc));
-                }
+        } catch (SendFailedException e) {
+            long latency = System.nanoTime() - start;
+            Set<String> accepted = new HashSet<>();
+            if (e.getValidSentAddresses() != null) {
+                for (Address address : e.getValidSentAddresses()) accepted.add(((InternetAddress) address).getAddress());
             }
-
-            if (payload.getRecipients() != null) {
-                for (String recipient : payload.getRecipients()) {
-                    message.addRecipient(Message.RecipientType.TO, new InternetAddress(recipient));
-                }
+            Map<String, Exception> refused = refusedRecipients(e);
+            Set<String> unsent = new HashSet<>();
+            if (!refused.isEmpty() && e.getValidUnsentAddresses() != null) {
+                for (Address address : e.getValidUnsentAddresses()) unsent.add(((InternetAddress) address).getAddress());
+            }
+            NotifierSendFailedException failure = new NotifierSendFailedException("Partial failure: " + e.getMessage(), e);
+            // one failure shared by the valid addresses left unsent, which may be sent again on their own
+            NotifierSendFailedException unsentFailure = unsent.isEmpty() ? null : new NotifierSendFailedException(
+                    "Not sent as other recipients were refused: " + e.getMessage(),
+                    new SendFailedException(e.getMessage(), null, null, e.getValidUnsentAddresses(), null), false);
+            String messageId = messageIdOf(message);
+            for (String recipient : payload.getRecipients()) {
+                results.add(accepted.contains(recipient) ? RecipientResult.sent(recipient, messageId, latency)
+                        : RecipientResult.failed(recipient, recipientFailure(recipient, refused, unsent, unsentFailure, failure), latency));
+            }
+        } catch (MessagingException | IOException e) {
+            long latency = System.nanoTime() - start;
+            NotifierSendFailedException failure = new NotifierSendFailedException("Messaging error: " + e.getMessage(), e);
+            for (String recipient : payload.getRecipients()) {
+                results.add(RecipientResult.failed(recipient, failure, latency));
             }
+        }
+        return new SendReport(NotifierPayload.Channel.EMAIL, results);
+    }
 
-            if (payload.getBcc() != null) {
-                for (String bcc : payload.getBcc()) {
-                    message.addRecipient(Message.RecipientType.BCC, new InternetAddress(bcc));
-                }
+    /**
+     * The failure of one recipient: its own reply when the server refused it, or a valid address left unsent because
+     * other recipients were refused. The failures are reported, not thrown, and fill no stack trace
+     */
+    private static Exception recipientFailure(String recipient, Map<String, Exception> refused, Set<String> unsent,
+                                              NotifierSendFailedException unsentFailure, NotifierSendFailedException failure) {
+        Exception refusal = refused.get(recipient);
+        if (refusal != null) {
+            return new NotifierSendFailedException("Recipient refused: " + refusal.getMessage(), refusal, false);
+        }
+        return unsent.contains(recipient) ? unsentFailure : failure;
+    }
+
+    /**
+     * The Message-ID assigned when the message was saved, null when the message was not built
+     */
+    private static String messageIdOf(MimeMessage message) {
+        try {
+            return message == null ? null : message.getMessageID();
+        } catch (MessagingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The reply of each recipient refused by the server, so a transient refusal is told apart from a permanent one
+     */
+    private static Map<String, Exception> refusedRecipients(SendFailedException failure) {
+        Map<String, Exception> refused = new HashMap<>();
+        for (Exception next = failure.getNextException(); next != null && refused.size() < 10_000;
+             next = next instanceof MessagingException ? ((MessagingException) next).getNextException() : null) {
+            if (next instanceof SMTPAddressFailedException) {
+                refused.putIfAbsent(((SMTPAddressFailedException) next).getAddress().getAddress(), next);
             }
+        }
+        return refused;
+    }
 
-            // Create content of message (body + attachment)
-            if (payload.getCourierAttachments() != null && !payload.getCourierAttachments().isEmpty()) {
-                message.setContent(createMultipartContent(payload));
-            } else {
-                // simple message without attachment
-                if (payload.getHtmlContent() != null) {
-                    message.setContent(payload.getHtmlContent(), "text/html; charset=utf-8");
-                } else {
-                    message.setText(payload.getBody());
-                }
+    /**
+     * Send the payload rendered for each recipient over the same SMTP session
+     */
+    @Override
+    public void send(TemplatePayload payload) {
+        sendWithReport(payload).throwIfFailed("mails");
+        log.info("Mail sent successfully to " + payload.getRecipients().size() + " recipients.");
+    }
+
+    /**
+     * Send the payload rendered for each recipient over the same SMTP session and report each recipient. A stream
+     * attachment is spooled to a temporary file first, as each recipient reads it
+     */
+    @Override
+    public SendReport sendWithReport(TemplatePayload payload) {
+        List<RecipientResult> results = new ArrayList<>(payload.getRecipients().size());
+        long[] start = {System.nanoTime()};
+        TemplatePayload spooled;
+        try {
+            spooled = MimeMessageFactory.spoolStreams(payload);
+        } catch (NotifierException e) {
+            for (String recipient : payload.getRecipients()) {
+                results.add(RecipientResult.failed(recipient, e, System.nanoTime() - start[0]));
             }
+            return new SendReport(NotifierPayload.Channel.EMAIL, results);
+        }
+        try {
+            sendEach(spooled.getRecipients(), recipient -> messages.createMessage(spooled.render(recipient)), (recipient, error) -> {
+                long now = System.nanoTime();
+                results.add(error == null ? RecipientResult.sent(recipient, null, now - start[0]) : RecipientResult.failed(recipient, error, now - start[0]));
+                start[0] = now;
+            });
+        } finally {
+            MimeMessageFactory.deleteSpooledStreams(payload, spooled);
+        }
+        return new SendReport(NotifierPayload.Channel.EMAIL, results);
+    }
+
+    /**
+     * Compile a payload into a template sent to many recipients.
+     * <p>Headers, body and attachments are built and encoded once. The recipients, cc and bcc of
+     * the prototype are ignored, each send addresses one recipient.</p>
+     *
+     * @param prototype the payload holding the shared content
+     * @return the compiled template
+     */
+    public EmailTemplate compile(NotifierPayload prototype) {
+        try {
+            MimeMessage message = messages.createMessage(prototype, false);
+            message.saveChanges();
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            message.writeTo(content, TEMPLATE_IGNORED_HEADERS);
+            String domain = fromEmail.substring(fromEmail.indexOf('@') + 1);
+            return new EmailTemplate(prototype, content.toByteArray(), domain);
+        } catch (MessagingException e) {
+            throw new NotifierSendFailedException("Messaging error: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new NotifierSendFailedException("Unexpected error: " + e.getMessage(), e);
+        }
+    }
 
-            Transport.send(message);
+    /**
+     * Send a compiled template to one recipient
+     */
+    public void send(EmailTemplate template, String recipient) {
+        try {
+            sendPooled(messages.createMessage(template, recipient));
             log.info("Mail sent successfully.");
         } catch (SendFailedException e) {
             throw new NotifierSendFailedException("Partial failure: " + e.getMessage(), e);
         } catch (MessagingException e) {
             throw new NotifierSendFailedException("Messaging error: " + e.getMessage(), e);
-        } catch (IOException e) {
-            throw new NotifierSendFailedException("Unexpected error: " + e.getMessage(), e);
         }
     }
 
-        private Multipart createMultipartContent(NotifierPayload request) throws MessagingException, IOException {
+    /**
+     * Send a compiled template to each recipient over the same SMTP session,
+     * see {@link #sendBatch(Collection)}
+     *
+     * @return one result per recipient, in iteration order
+     */
+    public List<BatchSendResult> sendBatch(EmailTemplate template, Collection<String> recipients) {
+        List<BatchSendResult> results = new ArrayList<>(recipients.size());
+        sendEach(recipients, recipient -> messages.createMessage(template, recipient), (recipient, error) ->
+                results.add(error == null ? BatchSendResult.sent(template, recipient) : BatchSendResult.failed(template, recipient, error)));
+        log.info("Mail template sent: " + countSent(results) + "/" + results.size());
+        return results;
+    }
 
-            Multipart multipart = new MimeMultipart("mixed");
+    /**
+     * @return the connections opened to each relay when this notifier was created, empty when the warm-up is disabled
+     */
+    public List<WarmUpReport> getWarmUpReports() {
+        return warmUpReports;
+    }
 
-            MimeBodyPart bodyPart = new MimeBodyPart();
-            if (request.getHtmlContent() != null) {
-                bodyPart.setContent(request.getHtmlContent(), "text/html; charset=UTF-8");
-            } else {
-                bodyPart.setContent(request.getBody(), "text/plain; charset=UTF-8");
-            }
-            multipart.addBodyPart(bodyPart);
+    /**
+     * Close all pooled SMTP connections
+     */
+    @Override
+    public void close() {
+        relays.close();
+        if (attachmentCache != null) {
+            attachmentCache.clear();
+        }
+    }
 
-            for (AttachmentPayload attachment : request.getCourierAttachments()) {
-                MimeBodyPart attachmentPart = createAttachmentPart(attachment);
-                multipart.addBodyPart(attachmentPart);
+        /**
+         * Send the message over a pooled connection of one relay. The connection is discarded when the failure
+         * leaves it in an unknown state, a rejected recipient or message keeps it reusable.
+         */
+        private void sendPooled(Message message) throws MessagingException {
+            message.saveChanges();
+            SmtpRelayBalancer.Lease lease = relays.borrow();
+            boolean broken = true;
+            try {
+                long start = System.nanoTime();
+                lease.getTransport().sendMessage(message, message.getAllRecipients());
+                relays.messageSent(lease, System.nanoTime() - start);
+                broken = false;
+            } catch (SendFailedException e) {
+                broken = !lease.getTransport().isConnected();
+                throw e;
+            } finally {
+                relays.release(lease, broken);
             }
-            return multipart;
         }
 
+        /**
+         * Send each item over the same pooled connection, a connection is only swapped when it
+         * broke or reached its message limit
+         */
+        private <T> void sendEach(Collection<T> items, MessageFactory<T> factory, BiConsumer<T, Exception> onResult) {
+            SmtpRelayBalancer.Lease lease = null;
+            try {
+                for (T item : items) {
+                    Message message;
+                    try {
+                        message = factory.create(item);
+                        message.saveChanges();
+                    } catch (MessagingException | IOException | RuntimeException e) {
+                        onResult.accept(item, e);
+                        continue;
+                    }
 
-        private MimeBodyPart createAttachmentPart(AttachmentPayload attachment) throws MessagingException, IOException {
-
-            MimeBodyPart attachmentPart = new MimeBodyPart();
-            if (attachment.getContent() != null) {
-                ByteArrayDataSource dataSource = new ByteArrayDataSource(attachment.getContent(), attachment.getContentType() );
-                attachmentPart.setDataHandler(new jakarta.activation.DataHandler(dataSource));
-
-            } else if (attachment.getFile() != null) {
-                FileDataSource dataSource = new FileDataSource(attachment.getFile());
-                attachmentPart.setDataHandler(new DataHandler(dataSource));
+                    try {
+                        if (lease == null) {
+                            lease = relays.borrow();
+                        }
+                        long start = System.nanoTime();
+                        lease.getTransport().sendMessage(message, message.getAllRecipients());
+                        relays.messageSent(lease, System.nanoTime() - start);
+                        onResult.accept(item, null);
+                    } catch (MessagingException | RuntimeException e) {
+                        onResult.accept(item, e);
+                        if (lease != null && !resetTransaction(lease.getTransport())) {
+                            relays.release(lease, true);
+                            lease = null;
+                        }
+                    }
 
-            } else if (attachment.getInputStream() != null) {
-                ByteArrayDataSource dataSource = new ByteArrayDataSource(attachment.getInputStream(), attachment.getContentType());
-                attachmentPart.setDataHandler(new jakarta.activation.DataHandler(dataSource));
+                    if (lease != null && relays.isExhausted(lease)) {
+                        relays.release(lease, false);
+                        lease = null;
+                    }
+                }
+            } finally {
+                if (lease != null) {
+                    relays.release(lease, false);
+                }
             }
+        }
 
-            attachmentPart.setDisposition(Part.ATTACHMENT);
-            attachmentPart.setFileName(attachment.getFilename());
-            attachmentPart.setDescription(attachment.getDescription(), "UTF-8");
+        private static long countSent(List<BatchSendResult> results) {
+            return results.stream().filter(BatchSendResult::isSent).count();
+        }
 
-            return attachmentPart;
+        /**
+         * Abort the current mail transaction so the next message starts clean
+         *
+         * @return false when the connection cannot be reused
+         */
+        private boolean resetTransaction(Transport transport) {
+            if (!(transport instanceof SMTPTransport)) {
+                return transport.isConnected();
+            }
+            try {
+                ((SMTPTransport) transport).issueCommand("RSET", 250);
+                return true;
+            } catch (MessagingException e) {
+                return false;
+            }
         }
 
         /**
-         * Create Jakarta Mail session
+         * Create Jakarta Mail session of one relay
          */
-        private Session createSession(EmailConfig config) {
+        private Session createSession(EmailConfig config, SmtpRelay relay) {
 
-            String username = config.getUsername();
-            String password = config.getPassword();
+            String username = relay.getUsername();
+            String password = relay.getPassword();
 
             Properties props = new Properties();
             props.put("mail.transport.protocol", "smtp");
-            props.put("mail.smtp.host", config.getHost());
-            props.put("mail.smtp.port", String.valueOf(config.getPort()));
+            props.put("mail.smtp.host", relay.getHost());
+            props.put("mail.smtp.port", String.valueOf(relay.getPort()));
             props.put("mail.smtp.auth", String.valueOf(config.isAuthEnabled()));
             props.put("mail.smtp.user", username);
             props.put("mail.debug", String.valueOf(config.isDebug()));
 
             /* MIME & encoding */
-            props.put("mail.mime.charset", "UTF-8");
-            props.put("mail.mime.allowutf8", "true");
-            props.put("mail.mime.encodefilename", "true");
+            props.putAll(MimeMessageFactory.mimeProperties());
 
             /* Timeouts */
-            props.put("mail.smtp.timeout", "10000");
-            props.put("mail.smtp.connectiontimeout", "10000");
-            props.put("mail.smtp.writetimeout", "10000");
+            String timeout = String.valueOf(config.getSmtpTimeoutMillis());
+            props.put("mail.smtp.timeout", timeout);
+            props.put("mail.smtp.connectiontimeout", timeout);
+            props.put("mail.smtp.writetimeout", timeout);
 
             if (config.isSslEnabled()) {
                 // Port 465
@@ -169,6 +404,10 @@ public class EmailNotifierImpl implements Notifier {
                 // Port 587
                 props.put("mail.smtp.starttls.enable", "true");
             }
+            if (sslSocketFactory != null) {
+                // shared TLS session cache, new connections resume the session with an abbreviated handshake
+                props.put("mail.smtp.ssl.socketFactory", sslSocketFactory);
+            }
 
             if (config.isAuthEnabled()) {
                 return Session.getInstance(props, new Authenticator() {
@@ -182,6 +421,20 @@ public class EmailNotifierImpl implements Notifier {
             return Session.getInstance(props);
         }
 
+        /**
+         * Create the TLS socket factory of all the relays, with its own client session cache
+         */
+        private static SSLSocketFactory createSslSocketFactory() {
+            try {
+                SSLContext context = SSLContext.getInstance("TLS");
+                context.init(null, null, null);
+                context.getClientSessionContext().setSessionCacheSize(TLS_SESSION_CACHE_SIZE);
+                return context.getSocketFactory();
+            } catch (GeneralSecurityException e) {
+                throw new NotifierException("Cannot create the TLS context: " + e.getMessage(), e);
+            }
+        }
+
         @Override
         public boolean supports(NotifierPayload.Channel channel) {
             return NotifierPayload.Channel.EMAIL.equals(channel);
@@ -191,4 +444,9 @@ public class EmailNotifierImpl implements Notifier {
         public NotifierPayload.Channel getChannel() {
             return NotifierPayload.Channel.EMAIL;
         }
+
+        @FunctionalInterface
+        private interface MessageFactory<T> {
+            MimeMessage create(T item) throws MessagingException, IOException;
+        }
     }
\ No newline at end of file
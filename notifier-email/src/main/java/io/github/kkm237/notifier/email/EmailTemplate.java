@@ -0,0 +1,44 @@
+package io.github.kkm237.notifier.email;
+
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+
+/**
+ * @implNote Email compiled once by {@link EmailNotifierImpl#compile(NotifierPayload)} and sent to many recipients.
+ * <p>Holds the serialized shared part of the message: From, Reply-To, Subject, priority and MIME headers
+ * followed by the encoded body and attachments. Only the recipient, Date and Message-ID headers are written
+ * per send. The recipients, cc and bcc of the prototype payload are not part of the template.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class EmailTemplate {
+
+    private final NotifierPayload prototype;
+    private final byte[] content;
+    private final String messageIdDomain;
+
+    EmailTemplate(NotifierPayload prototype, byte[] content, String messageIdDomain) {
+        this.prototype = prototype;
+        this.content = content;
+        this.messageIdDomain = messageIdDomain;
+    }
+
+    public NotifierPayload getPrototype() {
+        return prototype;
+    }
+
+    /**
+     * @return the size in bytes of the serialized shared part
+     */
+    public int getSize() {
+        return content.length;
+    }
+
+    byte[] getContent() {
+        return content;
+    }
+
+    String getMessageIdDomain() {
+        return messageIdDomain;
+    }
+}
@@ -0,0 +1,248 @@
+package io.github.kkm237.notifier.email;
+
+import io.github.kkm237.notifier.core.model.AttachmentPayload;
+import jakarta.activation.DataSource;
+import jakarta.mail.EncodingAware;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @implNote LRU cache of base64 encoded attachment content, bounded by the total encoded bytes.
+ * <p>In-memory content is keyed by its SHA-256 digest, computed on every lookup as the caller may refill the same
+ * {@code byte[]} between two sends. Files are keyed by path, size and modification time so they are not read
+ * again to be hashed.</p>
+ * <p>When a spill directory is configured each encoded entry is written to a file of that directory and
+ * memory-mapped read only, keeping the cache off the heap. Evicted entries have their file deleted.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class EncodedAttachmentCache {
+
+    private static final Logger log = Logger.getLogger(EncodedAttachmentCache.class.getName());
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long maxBytes;
+    private final Path spillDirectory;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+
+    EncodedAttachmentCache(long maxBytes, Path spillDirectory) {
+        this.maxBytes = maxBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * @return the encoded content of the attachment, or null when it is not backed by bytes or a file
+     * or when it would not fit in the cache
+     */
+    DataSource get(AttachmentPayload attachment) throws IOException {
+        String key = keyOf(attachment);
+        if (key == null || encodedSizeOf(attachment) > maxBytes) return null;
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                return new EncodedDataSource(entry.buffer, attachment.getContentType(), attachment.getFilename());
+            }
+        }
+
+        Entry entry = encode(attachment);
+        synchronized (this) {
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                entry.discard();
+                entry = existing;
+            } else {
+                entries.put(key, entry);
+                currentBytes += entry.size;
+                evict();
+            }
+        }
+        return new EncodedDataSource(entry.buffer, attachment.getContentType(), attachment.getFilename());
+    }
+
+    synchronized void clear() {
+        entries.values().forEach(Entry::discard);
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            currentBytes -= eldest.size;
+            eldest.discard();
+        }
+    }
+
+    private static long encodedSizeOf(AttachmentPayload attachment) {
+        long size = attachment.getContent() != null ? attachment.getContent().length : attachment.getFile().length();
+        long encoded = (size + 2) / 3 * 4;
+        return encoded + encoded / 76 * 2;
+    }
+
+    private static String keyOf(AttachmentPayload attachment) throws IOException {
+        if (attachment.getContent() != null) {
+            return "sha256:" + digestOf(attachment.getContent());
+        }
+        if (attachment.getFile() != null) {
+            File file = attachment.getFile();
+            return "file:" + file.getCanonicalPath() + ':' + file.length() + ':' + file.lastModified();
+        }
+        return null;
+    }
+
+    private static String digestOf(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            char[] chars = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                chars[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+                chars[i * 2 + 1] = HEX[hash[i] & 0xF];
+            }
+            return new String(chars);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Entry encode(AttachmentPayload attachment) throws IOException {
+        if (spillDirectory == null) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            writeEncoded(attachment, encoded);
+            return new Entry(ByteBuffer.wrap(encoded.toByteArray()), null);
+        }
+
+        Files.createDirectories(spillDirectory);
+        Path spill = Files.createTempFile(spillDirectory, "attachment-", ".b64");
+        try {
+            try (OutputStream out = Files.newOutputStream(spill)) {
+                writeEncoded(attachment, out);
+            }
+            try (FileChannel channel = FileChannel.open(spill, StandardOpenOption.READ)) {
+                return new Entry(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), spill);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spill);
+            throw e;
+        }
+    }
+
+    private void writeEncoded(AttachmentPayload attachment, OutputStream out) throws IOException {
+        // MIME base64: 76 characters per line separated by CRLF, as Jakarta Mail would write it
+        try (OutputStream encoder = Base64.getMimeEncoder().wrap(out)) {
+            if (attachment.getContent() != null) {
+                encoder.write(attachment.getContent());
+            } else {
+                Files.copy(attachment.getFile().toPath(), encoder);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final ByteBuffer buffer;
+        private final Path spill;
+        private final long size;
+
+        private Entry(ByteBuffer buffer, Path spill) {
+            this.buffer = buffer;
+            this.spill = spill;
+            this.size = buffer.remaining();
+        }
+
+        private void discard() {
+            if (spill == null) return;
+            try {
+                Files.deleteIfExists(spill);
+            } catch (IOException e) {
+                log.log(Level.FINE, "Failed to delete attachment spill file " + spill, e);
+            }
+        }
+    }
+
+    /**
+     * Already encoded content, written to the wire as is by {@link jakarta.mail.internet.PreencodedMimeBodyPart}
+     */
+    private static final class EncodedDataSource implements DataSource, EncodingAware {
+        private final ByteBuffer buffer;
+        private final String contentType;
+        private final String name;
+
+        private EncodedDataSource(ByteBuffer buffer, String contentType, String name) {
+            this.buffer = buffer;
+            this.contentType = contentType;
+            this.name = name;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteBufferInputStream(buffer.duplicate());
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            throw new IOException("Encoded attachment " + name + " is read only");
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getEncoding() {
+            return "base64";
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.kkm237.notifier.email;
+
+import io.github.kkm237.notifier.core.model.AttachmentPayload;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.core.utils.StringUtils;
+import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
+import jakarta.activation.FileDataSource;
+import jakarta.mail.*;
+import jakarta.mail.internet.*;
+import jakarta.mail.util.ByteArrayDataSource;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * @implNote Build the MIME messages of {@link EmailNotifierImpl} and {@link NioSmtpNotifierImpl}
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class MimeMessageFactory {
+
+    private final Session session;
+    private final String fromEmail;
+    private final EncodedAttachmentCache attachmentCache;
+
+    MimeMessageFactory(Session session, String fromEmail, EncodedAttachmentCache attachmentCache) {
+        this.session = session;
+        this.fromEmail = fromEmail;
+        this.attachmentCache = attachmentCache;
+    }
+
+    /**
+     * MIME and encoding properties shared by every session building messages
+     */
+    static Properties mimeProperties() {
+        Properties props = new Properties();
+        props.put("mail.mime.charset", "UTF-8");
+        props.put("mail.mime.allowutf8", "true");
+        props.put("mail.mime.encodefilename", "true");
+        return props;
+    }
+
+    /**
+     * The template with its stream attachments spooled to temporary files, as the message of each recipient reads
+     * them again, or the template itself when a single recipient reads them once. The files are deleted by
+     * {@link #deleteSpooledStreams(TemplatePayload, TemplatePayload)}
+     */
+    static TemplatePayload spoolStreams(TemplatePayload payload) {
+        if (payload.getRecipients().size() < 2) {
+            return payload;
+        }
+        List<AttachmentPayload> spooled = AttachmentPayload.spoolStreams(payload.getCourierAttachments());
+        return spooled == payload.getCourierAttachments() ? payload : payload.withAttachments(spooled);
+    }
+
+    /**
+     * Delete the files of the stream attachments spooled by {@link #spoolStreams(TemplatePayload)}, leaving the
+     * spool files of the caller in place
+     */
+    static void deleteSpooledStreams(TemplatePayload payload, TemplatePayload spooled) {
+        AttachmentPayload.deleteSpooledStreams(payload.getCourierAttachments(), spooled.getCourierAttachments());
+    }
+
+    MimeMessage createMessage(NotifierPayload payload) throws MessagingException, IOException {
+        return createMessage(payload, true);
+    }
+
+    MimeMessage createMessage(EmailTemplate template, String recipient) throws MessagingException {
+        if (!StringUtils.isValidEmail(recipient)) {
+            throw new AddressException("Recipient is not valid", recipient);
+        }
+        InternetAddress address = new InternetAddress();
+        address.setAddress(recipient);
+
+        MimeMessage message = new TemplatedMimeMessage(session, template, fromEmail);
+        message.setRecipient(Message.RecipientType.TO, address);
+        return message;
+    }
+
+    MimeMessage createMessage(NotifierPayload payload, boolean withRecipients) throws MessagingException, IOException {
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(new InternetAddress(fromEmail, payload.getOrganizationName()));
+        message.setSubject(payload.getSubject());
+        message.setSentDate(new Date());
+
+        if (payload.getReplyTo()!= null) {
+            message.setReplyTo(InternetAddress.parse(payload.getReplyTo()));
+        }
+
+        if (payload.getPriority() != null) {
+            message.setHeader("X-Priority", String.valueOf(payload.getPriority().getValue()));
+        }
+
+        if (withRecipients && payload.getCc() != null) {
+            for (String cc : payload.getCc()) {
+                message.addRecipient(Message.RecipientType.CC, new InternetAddress(cc));
+            }
+        }
+
+        if (withRecipients && payload.getRecipients() != null) {
+            for (String recipient : payload.getRecipients()) {
+                message.addRecipient(Message.RecipientType.TO, new InternetAddress(recipient));
+            }
+        }
+
+        if (withRecipients && payload.getBcc() != null) {
+            for (String bcc : payload.getBcc()) {
+                message.addRecipient(Message.RecipientType.BCC, new InternetAddress(bcc));
+            }
+        }
+
+        // Create content of message (body + attachment)
+        if (payload.getCourierAttachments() != null && !payload.getCourierAttachments().isEmpty()) {
+            message.setContent(createMultipartContent(payload));
+        } else {
+            // simple message without attachment
+            if (payload.getHtmlContent() != null) {
+                message.setContent(payload.getHtmlContent(), "text/html; charset=utf-8");
+            } else {
+                message.setText(payload.getBody());
+            }
+        }
+
+        return message;
+    }
+
+    private Multipart createMultipartContent(NotifierPayload request) throws MessagingException, IOException {
+
+        Multipart multipart = new MimeMultipart("mixed");
+
+        MimeBodyPart bodyPart = new MimeBodyPart();
+        if (request.getHtmlContent() != null) {
+            bodyPart.setContent(request.getHtmlContent(), "text/html; charset=UTF-8");
+        } else {
+            bodyPart.setContent(request.getBody(), "text/plain; charset=UTF-8");
+        }
+        multipart.addBodyPart(bodyPart);
+
+        for (AttachmentPayload attachment : request.getCourierAttachments()) {
+            MimeBodyPart attachmentPart = createAttachmentPart(attachment);
+            multipart.addBodyPart(attachmentPart);
+        }
+        return multipart;
+    }
+
+
+    private MimeBodyPart createAttachmentPart(AttachmentPayload attachment) throws MessagingException, IOException {
+
+        // a spooled attachment is sent once, caching it would only copy it
+        DataSource encoded = attachmentCache != null && !attachment.isSpooled() ? attachmentCache.get(attachment) : null;
+
+        MimeBodyPart attachmentPart = encoded != null ? new PreencodedMimeBodyPart("base64") : new MimeBodyPart();
+        if (encoded != null) {
+            // already base64 encoded, written to the wire as is
+            attachmentPart.setDataHandler(new DataHandler(encoded));
+
+        } else if (attachment.getContent() != null) {
+            ByteArrayDataSource dataSource = new ByteArrayDataSource(attachment.getContent(), attachment.getContentType() );
+            attachmentPart.setDataHandler(new jakarta.activation.DataHandler(dataSource));
+
+        } else if (attachment.getFile() != null) {
+            FileDataSource dataSource = new FileDataSource(attachment.getFile());
+            attachmentPart.setDataHandler(new DataHandler(dataSource));
+            if (attachment.isSpooled()) {
+                // streamed from disk while written, skip the scan choosing the encoding
+                attachmentPart.setHeader("Content-Transfer-Encoding", "base64");
+            }
+
+        } else if (attachment.getInputStream() != null) {
+            // streamed once while the message is written, never buffered in memory
+            StreamingDataSource dataSource = new StreamingDataSource(attachment);
+            attachmentPart.setDataHandler(new DataHandler(dataSource));
+        }
+
+        attachmentPart.setDisposition(Part.ATTACHMENT);
+        attachmentPart.setFileName(attachment.getFilename());
+        attachmentPart.setDescription(attachment.getDescription(), "UTF-8");
+
+        return attachmentPart;
+    }
+}
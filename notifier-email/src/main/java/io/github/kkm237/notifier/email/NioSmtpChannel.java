@@ -0,0 +1,274 @@
+package io.github.kkm237.notifier.email;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @implNote Asynchronous line oriented channel of {@link NioSmtpConnection}, plain or encrypted with an {@link SSLEngine}.
+ * <p>No thread waits on the socket: every read and write completes a {@link CompletableFuture} from the threads
+ * of the channel group. Only one read and one write are pending at a time, the SMTP dialog being sequential.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class NioSmtpChannel implements AutoCloseable {
+
+    private static final int PLAIN_BUFFER_SIZE = 8 * 1024;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final AsynchronousSocketChannel channel;
+    private final long timeoutMillis;
+    private SSLEngine engine;
+    /**
+     * received bytes not read yet, kept in read mode
+     */
+    private ByteBuffer appIn = ByteBuffer.allocate(PLAIN_BUFFER_SIZE).flip();
+    /**
+     * encrypted bytes received and not unwrapped yet, kept in write mode
+     */
+    private ByteBuffer netIn;
+    private ByteBuffer netOut;
+
+    private NioSmtpChannel(AsynchronousSocketChannel channel, long timeoutMillis) {
+        this.channel = channel;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    static CompletableFuture<NioSmtpChannel> connect(AsynchronousChannelGroup group, InetSocketAddress address, long timeoutMillis) {
+        AsynchronousSocketChannel socket;
+        try {
+            socket = AsynchronousSocketChannel.open(group);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<NioSmtpChannel> connected = new CompletableFuture<>();
+        socket.connect(address, null, new CompletionHandler<Void, Void>() {
+            @Override
+            public void completed(Void result, Void attachment) {
+                connected.complete(new NioSmtpChannel(socket, timeoutMillis));
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                connected.completeExceptionally(e);
+            }
+        });
+        return connected.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((channel, e) -> {
+            if (e != null) closeQuietly(socket);
+        });
+    }
+
+    /**
+     * Read one line, without its line terminator
+     */
+    CompletableFuture<String> readLine() {
+        for (int i = appIn.position(); i < appIn.limit(); i++) {
+            if (appIn.get(i) == '\n') {
+                int end = i > appIn.position() && appIn.get(i - 1) == '\r' ? i - 1 : i;
+                String line = new String(appIn.array(), appIn.arrayOffset() + appIn.position(), end - appIn.position(), StandardCharsets.UTF_8);
+                appIn.position(i + 1);
+                return CompletableFuture.completedFuture(line);
+            }
+        }
+        if (!appIn.hasRemaining()) {
+            appIn.clear().flip();
+        } else if (appIn.remaining() == appIn.capacity()) {
+            return CompletableFuture.failedFuture(new IOException("SMTP reply line longer than " + appIn.capacity() + " bytes"));
+        }
+        return fill().thenCompose(v -> readLine());
+    }
+
+    /**
+     * Write all the remaining bytes of the buffer
+     */
+    CompletableFuture<Void> write(ByteBuffer source) {
+        if (engine == null) {
+            return writeFully(source);
+        }
+        netOut.clear();
+        try {
+            SSLEngineResult result = engine.wrap(source, netOut);
+            if (result.getStatus() != SSLEngineResult.Status.OK) {
+                throw new SSLException("TLS wrap failed: " + result.getStatus());
+            }
+        } catch (SSLException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        netOut.flip();
+        return writeFully(netOut).thenCompose(v -> source.hasRemaining() ? write(source) : DONE);
+    }
+
+    /**
+     * Encrypt the channel, either right after connecting or after a STARTTLS command
+     */
+    CompletableFuture<Void> startTls(SSLContext context, String host, int port) {
+        engine = context.createSSLEngine(host, port);
+        engine.setUseClientMode(true);
+        SSLParameters parameters = engine.getSSLParameters();
+        parameters.setEndpointIdentificationAlgorithm("HTTPS");
+        engine.setSSLParameters(parameters);
+
+        int packetSize = engine.getSession().getPacketBufferSize();
+        netIn = ByteBuffer.allocate(packetSize);
+        netOut = ByteBuffer.allocate(packetSize);
+        appIn = ByteBuffer.allocate(Math.max(PLAIN_BUFFER_SIZE, engine.getSession().getApplicationBufferSize())).flip();
+        try {
+            engine.beginHandshake();
+        } catch (SSLException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return handshake();
+    }
+
+    boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(channel);
+    }
+
+    private CompletableFuture<Void> handshake() {
+        try {
+            while (true) {
+                switch (engine.getHandshakeStatus()) {
+                    case NEED_TASK:
+                        Runnable task;
+                        while ((task = engine.getDelegatedTask()) != null) {
+                            task.run();
+                        }
+                        break;
+                    case NEED_WRAP:
+                        netOut.clear();
+                        SSLEngineResult wrapped = engine.wrap(EMPTY, netOut);
+                        if (wrapped.getStatus() == SSLEngineResult.Status.CLOSED) throw new EOFException("TLS closed during handshake");
+                        netOut.flip();
+                        if (netOut.hasRemaining()) {
+                            return writeFully(netOut).thenCompose(v -> handshake());
+                        }
+                        break;
+                    case NEED_UNWRAP:
+                    case NEED_UNWRAP_AGAIN:
+                        SSLEngineResult unwrapped = unwrap();
+                        if (unwrapped.getStatus() == SSLEngineResult.Status.CLOSED) throw new EOFException("TLS closed during handshake");
+                        if (unwrapped.getStatus() == SSLEngineResult.Status.BUFFER_UNDERFLOW) {
+                            return read(netIn).thenCompose(n -> handshake());
+                        }
+                        break;
+                    default:
+                        return DONE;
+                }
+            }
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Receive more bytes into appIn
+     */
+    private CompletableFuture<Void> fill() {
+        if (engine == null) {
+            appIn.compact();
+            return read(appIn).whenComplete((n, e) -> appIn.flip()).thenApply(n -> null);
+        }
+        if (netIn.position() > 0) {
+            try {
+                SSLEngineResult result = unwrap();
+                switch (result.getStatus()) {
+                    case CLOSED:
+                        throw new EOFException("Connection closed by SMTP server");
+                    case BUFFER_OVERFLOW:
+                        throw new IOException("SMTP reply line longer than " + appIn.capacity() + " bytes");
+                    case OK:
+                        SSLEngineResult.HandshakeStatus status = engine.getHandshakeStatus();
+                        if (status != SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING && status != SSLEngineResult.HandshakeStatus.FINISHED) {
+                            return handshake();
+                        }
+                        return DONE;
+                    default:
+                        // underflow, a whole TLS record is needed
+                        break;
+                }
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return read(netIn).thenCompose(n -> fill());
+    }
+
+    private SSLEngineResult unwrap() throws SSLException {
+        netIn.flip();
+        appIn.compact();
+        try {
+            return engine.unwrap(netIn, appIn);
+        } finally {
+            netIn.compact();
+            appIn.flip();
+        }
+    }
+
+    private CompletableFuture<Integer> read(ByteBuffer target) {
+        CompletableFuture<Integer> read = new CompletableFuture<>();
+        channel.read(target, timeoutMillis, TimeUnit.MILLISECONDS, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer count, Void attachment) {
+                if (count < 0) {
+                    read.completeExceptionally(new EOFException("Connection closed by SMTP server"));
+                } else {
+                    read.complete(count);
+                }
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                read.completeExceptionally(e);
+            }
+        });
+        return read;
+    }
+
+    private CompletableFuture<Void> writeFully(ByteBuffer source) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        channel.write(source, timeoutMillis, TimeUnit.MILLISECONDS, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer count, Void attachment) {
+                if (source.hasRemaining()) {
+                    channel.write(source, timeoutMillis, TimeUnit.MILLISECONDS, null, this);
+                } else {
+                    written.complete(null);
+                }
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                written.completeExceptionally(e);
+            }
+        });
+        return written;
+    }
+
+    private static void closeQuietly(AsynchronousSocketChannel socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package io.github.kkm237.notifier.email;
+
+import javax.net.ssl.SSLContext;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * @implNote One SMTP session of {@link NioSmtpNotifierImpl}: greeting, EHLO, optional STARTTLS, AUTH PLAIN or LOGIN,
+ * then any number of MAIL, RCPT, DATA transactions.
+ * <p>A rejected command leaves the session usable after a RSET, a network or TLS failure breaks it.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class NioSmtpConnection implements AutoCloseable {
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+    private static final String LOCAL_HOST = localHostName();
+
+    private final NioSmtpChannel channel;
+    private final Set<String> extensions = new HashSet<>();
+    private volatile boolean broken;
+    private int messagesSent;
+    private long lastUsedMillis = System.currentTimeMillis();
+
+    private NioSmtpConnection(NioSmtpChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Connect and authenticate a new session
+     */
+    static CompletableFuture<NioSmtpConnection> open(AsynchronousChannelGroup group, EmailConfig config, SmtpRelay relay,
+                                                     SSLContext sslContext, long timeoutMillis) {
+        InetSocketAddress address = new InetSocketAddress(relay.getHost(), relay.getPort());
+        return NioSmtpChannel.connect(group, address, timeoutMillis).thenCompose(channel -> {
+            NioSmtpConnection connection = new NioSmtpConnection(channel);
+            CompletableFuture<Void> ready = config.isSslEnabled()
+                    ? channel.startTls(sslContext, relay.getHost(), relay.getPort())
+                    : DONE;
+            return ready
+                    .thenCompose(v -> connection.expect(220))
+                    .thenCompose(v -> connection.ehlo())
+                    .thenCompose(v -> connection.startTlsIfOffered(config, relay, sslContext))
+                    .thenCompose(v -> config.isAuthEnabled() ? connection.authenticate(relay) : DONE)
+                    .handle((v, e) -> {
+                        if (e != null) {
+                            channel.close();
+                            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+                        }
+                        return connection;
+                    });
+        });
+    }
+
+    /**
+     * Send one message
+     *
+     * @param from       envelope sender
+     * @param recipients envelope recipients
+     * @param data       message content, dot-stuffed and terminated by the CRLF.CRLF sequence
+     */
+    CompletableFuture<Void> send(String from, List<String> recipients, ByteBuffer data) {
+        CompletableFuture<Void> transaction = command("MAIL FROM:<" + from + ">", 250);
+        for (String recipient : recipients) {
+            transaction = transaction.thenCompose(v -> command("RCPT TO:<" + recipient + ">", 250, 251));
+        }
+        return transaction
+                .thenCompose(v -> command("DATA", 354))
+                .thenCompose(v -> write(data))
+                .thenCompose(v -> expect(250))
+                .handle((v, e) -> {
+                    lastUsedMillis = System.currentTimeMillis();
+                    if (e == null) {
+                        messagesSent++;
+                        return DONE;
+                    }
+                    if (!broken) {
+                        // rejected by the server, abort the transaction and keep the session
+                        return command("RSET", 250).<Void>handle((r, resetError) -> {
+                            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+                        });
+                    }
+                    return CompletableFuture.<Void>failedFuture(e);
+                })
+                .thenCompose(future -> future);
+    }
+
+    /**
+     * @return true when the session can carry another message
+     */
+    boolean isReusable(long idleTimeoutMillis, int maxMessages) {
+        return !broken
+                && channel.isOpen()
+                && messagesSent < maxMessages
+                && System.currentTimeMillis() - lastUsedMillis < idleTimeoutMillis;
+    }
+
+    /**
+     * Say goodbye to the server then close the socket
+     */
+    void quit() {
+        if (broken || !channel.isOpen()) {
+            close();
+            return;
+        }
+        command("QUIT", 221).whenComplete((v, e) -> close());
+    }
+
+    @Override
+    public void close() {
+        broken = true;
+        channel.close();
+    }
+
+    private CompletableFuture<Void> ehlo() {
+        return write("EHLO " + LOCAL_HOST).thenCompose(v -> readReply()).thenAccept(reply -> {
+            if (reply.code != 250) throw new SmtpReplyException(reply.code, "EHLO rejected: " + reply.text);
+            extensions.clear();
+            // first line is the server greeting
+            for (int i = 1; i < reply.lines.size(); i++) {
+                extensions.add(reply.lines.get(i).toUpperCase(Locale.ROOT));
+            }
+        });
+    }
+
+    private CompletableFuture<Void> startTlsIfOffered(EmailConfig config, SmtpRelay relay, SSLContext sslContext) {
+        if (config.isSslEnabled() || !config.isStartTlsEnabled() || !extensions.contains("STARTTLS")) {
+            return DONE;
+        }
+        return command("STARTTLS", 220)
+                .thenCompose(v -> channel.startTls(sslContext, relay.getHost(), relay.getPort()))
+                .thenCompose(v -> ehlo());
+    }
+
+    private CompletableFuture<Void> authenticate(SmtpRelay relay) {
+        String mechanisms = extensions.stream()
+                .filter(extension -> extension.startsWith("AUTH ") || extension.startsWith("AUTH="))
+                .findFirst()
+                .orElse(null);
+        if (mechanisms == null) {
+            // the server does not ask for authentication
+            return DONE;
+        }
+
+        Base64.Encoder base64 = Base64.getEncoder();
+        if (mechanisms.contains("PLAIN")) {
+            String credentials = "\0" + relay.getUsername() + "\0" + relay.getPassword();
+            return command("AUTH PLAIN " + base64.encodeToString(credentials.getBytes(StandardCharsets.UTF_8)), 235);
+        }
+        return command("AUTH LOGIN", 334)
+                .thenCompose(v -> command(base64.encodeToString(relay.getUsername().getBytes(StandardCharsets.UTF_8)), 334))
+                .thenCompose(v -> command(base64.encodeToString(relay.getPassword().getBytes(StandardCharsets.UTF_8)), 235));
+    }
+
+    private CompletableFuture<Void> command(String line, int... expected) {
+        return write(line).thenCompose(v -> expect(expected));
+    }
+
+    private CompletableFuture<Void> write(String line) {
+        return write(ByteBuffer.wrap((line + "\r\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private CompletableFuture<Void> write(ByteBuffer data) {
+        return channel.write(data).whenComplete((v, e) -> {
+            if (e != null) broken = true;
+        });
+    }
+
+    private CompletableFuture<Void> expect(int... expected) {
+        return readReply().thenAccept(reply -> {
+            for (int code : expected) {
+                if (reply.code == code) return;
+            }
+            throw new SmtpReplyException(reply.code, "SMTP server replied " + reply.code + " " + reply.text);
+        });
+    }
+
+    /**
+     * Read a possibly multi-line reply, whose last line has a space after the code
+     */
+    private CompletableFuture<Reply> readReply() {
+        return readReply(new Reply());
+    }
+
+    private CompletableFuture<Reply> readReply(Reply reply) {
+        return channel.readLine().handle((line, e) -> {
+            if (e != null) {
+                broken = true;
+                throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+            }
+            int code;
+            try {
+                code = Integer.parseInt(line.substring(0, 3));
+            } catch (RuntimeException invalid) {
+                broken = true;
+                throw new SmtpReplyException(-1, "Invalid SMTP reply: " + line);
+            }
+            reply.code = code;
+            String text = line.length() > 4 ? line.substring(4) : "";
+            reply.lines.add(text);
+            reply.text = text;
+            boolean last = line.length() == 3 || line.charAt(3) == ' ';
+            return last ? CompletableFuture.completedFuture(reply) : readReply(reply);
+        }).thenCompose(next -> next);
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getCanonicalHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+    private static final class Reply {
+        private int code;
+        private String text = "";
+        private final List<String> lines = new ArrayList<>();
+    }
+}
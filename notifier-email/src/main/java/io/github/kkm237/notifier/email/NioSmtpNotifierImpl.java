@@ -0,0 +1,387 @@
+package io.github.kkm237.notifier.email;
+
+import com.sun.mail.smtp.SMTPMessage;
+import com.sun.mail.smtp.SMTPOutputStream;
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+import io.github.kkm237.notifier.core.model.Notifier;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.RecipientResult;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.core.utils.Futures;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Send Email notification over non-blocking SMTP sessions {@link io.github.kkm237.notifier.email.EmailConfig}
+ * <p>Alternative to {@link EmailNotifierImpl}: the SMTP dialog runs on {@link java.nio.channels.AsynchronousSocketChannel}
+ * completions, so a slow server holds a session but no thread. Up to {@code nioMaxSessions} sessions are driven by
+ * {@code nioIoThreads} threads, requests beyond that wait for a session without blocking.</p>
+ * <p>The messages are built by the same {@link MimeMessageFactory} and sent to the first relay of the configuration.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public class NioSmtpNotifierImpl implements Notifier, AutoCloseable {
+
+    /**
+     * headers never written in the DATA, as SMTPTransport does: the blind copies stay hidden from the recipients
+     */
+    private static final String[] IGNORED_HEADERS = {"Bcc", "Content-Length"};
+
+    private final EmailConfig config;
+    private final SmtpRelay relay;
+    private final String fromEmail;
+    private final MimeMessageFactory messages;
+    private final EncodedAttachmentCache attachmentCache;
+    private final AsynchronousChannelGroup group;
+    private final SSLContext sslContext;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<NioSmtpConnection> idle = new ArrayDeque<>();
+    private final ArrayDeque<CompletableFuture<NioSmtpConnection>> waiters = new ArrayDeque<>();
+    private int openSessions;
+    private boolean closed;
+
+    Logger log = Logger.getLogger(NioSmtpNotifierImpl.class.getName());
+
+    /**
+     * Constructor with personalized configuration
+     */
+    public NioSmtpNotifierImpl(EmailConfig config) {
+        this.config = config;
+        this.relay = config.getRelays().get(0);
+        this.fromEmail = config.getFromEmail();
+        this.attachmentCache = config.getAttachmentCacheMaxBytes() > 0
+                ? new EncodedAttachmentCache(config.getAttachmentCacheMaxBytes(),
+                        config.getAttachmentCacheSpillDirectory() == null ? null : Path.of(config.getAttachmentCacheSpillDirectory()))
+                : null;
+        Session session = Session.getInstance(MimeMessageFactory.mimeProperties());
+        this.messages = new MimeMessageFactory(session, fromEmail, attachmentCache);
+
+        try {
+            this.sslContext = SSLContext.getDefault();
+            this.group = AsynchronousChannelGroup.withFixedThreadPool(config.getNioIoThreads(), ioThreadFactory());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new NotifierException("Cannot start the NIO SMTP engine: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void send(NotifierPayload payload) {
+        join(sendAsync(payload));
+        log.info("Mail sent successfully.");
+    }
+
+    /**
+     * Send the payload without blocking the caller
+     *
+     * @return a future completed when the server accepted the message, or failed with a {@link NotifierSendFailedException}
+     */
+    public CompletableFuture<Void> sendAsync(NotifierPayload payload) {
+        return sendMessage(payload);
+    }
+
+    /**
+     * Send a compiled template to one recipient without blocking the caller
+     */
+    public CompletableFuture<Void> sendAsync(EmailTemplate template, String recipient) {
+        try {
+            return sendAsync(messages.createMessage(template, recipient));
+        } catch (MessagingException e) {
+            return CompletableFuture.failedFuture(new NotifierSendFailedException("Messaging error: " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Send the payload rendered for each recipient, all recipients being in flight at the same time
+     *
+     * @throws NotifierSendFailedException when at least one recipient failed
+     */
+    @Override
+    public void send(TemplatePayload payload) {
+        sendWithReport(payload).throwIfFailed("notifications");
+        log.info("Mail sent successfully to " + payload.getRecipients().size() + " recipients.");
+    }
+
+    /**
+     * Send the payload rendered for each recipient, all recipients being in flight at the same time, and report
+     * each recipient. A stream attachment is spooled to a temporary file first, as each recipient reads it
+     */
+    @Override
+    public SendReport sendWithReport(TemplatePayload payload) {
+        List<CompletableFuture<RecipientResult>> pending = new ArrayList<>(payload.getRecipients().size());
+        TemplatePayload spooled;
+        try {
+            spooled = MimeMessageFactory.spoolStreams(payload);
+        } catch (NotifierException e) {
+            List<RecipientResult> failures = new ArrayList<>(payload.getRecipients().size());
+            for (String recipient : payload.getRecipients()) {
+                failures.add(RecipientResult.failed(recipient, e, 0));
+            }
+            return new SendReport(NotifierPayload.Channel.EMAIL, failures);
+        }
+        try {
+            for (String recipient : spooled.getRecipients()) {
+                long start = System.nanoTime();
+                CompletableFuture<Void> result;
+                try {
+                    result = sendMessage(spooled.render(recipient));
+                } catch (NotifierException e) {
+                    result = CompletableFuture.failedFuture(e);
+                }
+                pending.add(result.handle((v, e) -> e == null
+                        ? RecipientResult.sent(recipient, null, System.nanoTime() - start)
+                        : RecipientResult.failed(recipient, toFailure(e), System.nanoTime() - start)));
+            }
+        } finally {
+            // each message is encoded before it is queued, the files are no longer read
+            MimeMessageFactory.deleteSpooledStreams(payload, spooled);
+        }
+
+        List<RecipientResult> results = Futures.awaitAll(pending, "the SMTP sessions");
+        return new SendReport(NotifierPayload.Channel.EMAIL, results);
+    }
+
+    /**
+     * Close the idle sessions and stop the engine threads, sessions in use are closed when released
+     */
+    @Override
+    public void close() {
+        List<NioSmtpConnection> sessions;
+        List<CompletableFuture<NioSmtpConnection>> pending;
+        synchronized (lock) {
+            closed = true;
+            sessions = new ArrayList<>(idle);
+            pending = new ArrayList<>(waiters);
+            openSessions -= idle.size();
+            idle.clear();
+            waiters.clear();
+        }
+        pending.forEach(waiter -> waiter.completeExceptionally(new NotifierSendFailedException("Email notifier closed")));
+        sessions.forEach(NioSmtpConnection::quit);
+        group.shutdown();
+        if (attachmentCache != null) {
+            attachmentCache.clear();
+        }
+    }
+
+    private CompletableFuture<Void> sendMessage(NotifierPayload payload) {
+        MimeMessage message;
+        try {
+            message = messages.createMessage(payload);
+        } catch (MessagingException e) {
+            return CompletableFuture.failedFuture(new NotifierSendFailedException("Messaging error: " + e.getMessage(), e));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new NotifierSendFailedException("Unexpected error: " + e.getMessage(), e));
+        }
+        return sendAsync(message);
+    }
+
+    private CompletableFuture<Void> sendAsync(MimeMessage message) {
+        String from;
+        List<String> recipients = new ArrayList<>();
+        ByteBuffer data;
+        try {
+            message.saveChanges();
+            from = message instanceof SMTPMessage && ((SMTPMessage) message).getEnvelopeFrom() != null
+                    ? ((SMTPMessage) message).getEnvelopeFrom()
+                    : fromEmail;
+            for (Address address : message.getAllRecipients()) {
+                recipients.add(((InternetAddress) address).getAddress());
+            }
+            data = encode(message);
+        } catch (MessagingException e) {
+            return CompletableFuture.failedFuture(new NotifierSendFailedException("Messaging error: " + e.getMessage(), e));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new NotifierSendFailedException("Unexpected error: " + e.getMessage(), e));
+        }
+
+        return acquire().thenCompose(connection -> connection.send(from, recipients, data)
+                .whenComplete((v, e) -> release(connection)))
+                .exceptionally(e -> {
+                    throw new CompletionException(toSendFailure(e));
+                });
+    }
+
+    /**
+     * Write the message as it goes on the wire after DATA, without its Bcc header: CRLF line ends, leading dots
+     * doubled, terminated by a line holding a single dot
+     */
+    private static ByteBuffer encode(MimeMessage message) throws IOException, MessagingException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream(8 * 1024);
+        SMTPOutputStream out = new SMTPOutputStream(content);
+        message.writeTo(out, IGNORED_HEADERS);
+        out.ensureAtBOL();
+        content.write(".\r\n".getBytes(StandardCharsets.US_ASCII));
+        return ByteBuffer.wrap(content.toByteArray());
+    }
+
+    /**
+     * Take an idle session, open a new one while below nioMaxSessions, or wait for a released one
+     */
+    private CompletableFuture<NioSmtpConnection> acquire() {
+        CompletableFuture<NioSmtpConnection> waiter = new CompletableFuture<>();
+        List<NioSmtpConnection> expired = new ArrayList<>();
+        boolean open = false;
+        synchronized (lock) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new NotifierSendFailedException("Email notifier closed"));
+            }
+            NioSmtpConnection connection;
+            while ((connection = idle.pollLast()) != null) {
+                if (isReusable(connection)) {
+                    waiter.complete(connection);
+                    break;
+                }
+                expired.add(connection);
+                openSessions--;
+            }
+            if (!waiter.isDone()) {
+                if (openSessions < config.getNioMaxSessions()) {
+                    openSessions++;
+                    open = true;
+                } else {
+                    waiters.addLast(waiter);
+                }
+            }
+        }
+        expired.forEach(NioSmtpConnection::quit);
+
+        if (open) {
+            openFor(waiter);
+        }
+        return waiter.orTimeout(config.getPoolBorrowTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Keep the session for the next message, hand it to a waiting request first
+     */
+    private void release(NioSmtpConnection connection) {
+        boolean reusable = isReusable(connection);
+        while (true) {
+            CompletableFuture<NioSmtpConnection> waiter;
+            boolean discard;
+            synchronized (lock) {
+                discard = closed || !reusable;
+                waiter = closed ? null : nextWaiter();
+                if (discard) {
+                    // the freed slot goes to the waiting request, if any
+                    if (waiter == null) openSessions--;
+                } else if (waiter == null) {
+                    idle.addLast(connection);
+                    return;
+                }
+            }
+
+            if (discard) {
+                connection.quit();
+                if (waiter != null) openFor(waiter);
+                return;
+            }
+            if (waiter.complete(connection)) {
+                return;
+            }
+            // the waiter timed out meanwhile, try the next one
+        }
+    }
+
+    private CompletableFuture<NioSmtpConnection> nextWaiter() {
+        CompletableFuture<NioSmtpConnection> waiter;
+        while ((waiter = waiters.pollFirst()) != null && waiter.isDone()) {
+            // skip waiters that timed out
+        }
+        return waiter;
+    }
+
+    /**
+     * Open a session for a request, the session slot being already counted
+     */
+    private void openFor(CompletableFuture<NioSmtpConnection> waiter) {
+        NioSmtpConnection.open(group, config, relay, sslContext, config.getSmtpTimeoutMillis()).whenComplete((connection, e) -> {
+            if (e != null) {
+                synchronized (lock) {
+                    openSessions--;
+                }
+                waiter.completeExceptionally(e);
+            } else if (!waiter.complete(connection)) {
+                release(connection);
+            }
+        });
+    }
+
+    private boolean isReusable(NioSmtpConnection connection) {
+        return connection.isReusable(config.getPoolIdleTimeoutMillis(), config.getPoolMaxMessagesPerConnection());
+    }
+
+    private static NotifierSendFailedException toSendFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof NotifierSendFailedException) {
+            return (NotifierSendFailedException) cause;
+        }
+        if (cause instanceof TimeoutException) {
+            return new NotifierSendFailedException("No SMTP session available, timeout expired", cause);
+        }
+        return new NotifierSendFailedException("Messaging error: " + cause.getMessage(), cause);
+    }
+
+    private static NotifierException toFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof NotifierException ? (NotifierException) cause : toSendFailure(e);
+    }
+
+    private static void join(CompletableFuture<Void> result) {
+        try {
+            Futures.await(result, "the SMTP session");
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NotifierException) {
+                throw (NotifierException) e.getCause();
+            }
+            throw toSendFailure(e);
+        }
+    }
+
+    private static ThreadFactory ioThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("notifier-smtp-io-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public boolean supports(NotifierPayload.Channel channel) {
+        return NotifierPayload.Channel.EMAIL.equals(channel);
+    }
+
+    @Override
+    public NotifierPayload.Channel getChannel() {
+        return NotifierPayload.Channel.EMAIL;
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.kkm237.notifier.email;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.utils.StringUtils;
+
+import java.util.Objects;
+
+/**
+ * @implNote One SMTP relay, or provider account, among the relays of {@link EmailConfig}
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class SmtpRelay {
+
+    private final String host;
+    private final Integer port;
+    private final String username;
+    private final String password;
+    private final Integer weight;
+    private final Integer maxConnections;
+
+    public String getHost() {
+        return host;
+    }
+
+    public Integer getPort() {
+        return port;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public Integer getWeight() {
+        return weight;
+    }
+
+    public Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    @Override
+    public String toString() {
+        return host + ":" + port;
+    }
+
+    private SmtpRelay(Builder builder) {
+        this.host = builder.host;
+        this.port = builder.port;
+        this.username = builder.username;
+        this.password = builder.password;
+        this.weight = builder.weight;
+        this.maxConnections = builder.maxConnections;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String host;
+        private Integer port = 587;
+        private String username;
+        private String password;
+        private Integer weight = 1;
+        private Integer maxConnections = 4;
+
+        private Builder() {}
+
+        public Builder host(String host) {
+            if (StringUtils.isNullOrEmpty(host)) throw new NotifierException("host cannot be null or empty");
+            this.host = host;
+            return this;
+        }
+
+        public Builder port(Integer port) {
+            this.port = Objects.requireNonNull(port, "port cannot be null");
+            return this;
+        }
+
+        public Builder username(String username) {
+            if (StringUtils.isNullOrEmpty(username)) throw new NotifierException("username cannot be null or empty");
+            this.username = username;
+            return this;
+        }
+
+        public Builder password(String password) {
+            if (StringUtils.isNullOrEmpty(password)) throw new NotifierException("password cannot be null or empty");
+            this.password = password;
+            return this;
+        }
+
+        /**
+         * share of the traffic of this relay relative to the other relays
+         */
+        public Builder weight(Integer weight) {
+            if (weight == null || weight < 1) throw new NotifierException("weight must be greater than 0");
+            this.weight = weight;
+            return this;
+        }
+
+        /**
+         * maximum number of connections opened to this relay
+         */
+        public Builder maxConnections(Integer maxConnections) {
+            if (maxConnections == null || maxConnections < 1) throw new NotifierException("maxConnections must be greater than 0");
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        public SmtpRelay build() {
+            if (StringUtils.isNullOrEmpty(host)) throw new NotifierException("host cannot be null or empty");
+            if (port == null) throw new NotifierException("port cannot be null");
+            if (StringUtils.isNullOrEmpty(username)) throw new NotifierException("username cannot be null or empty");
+            if (StringUtils.isNullOrEmpty(password)) throw new NotifierException("password cannot be null or empty");
+            return new SmtpRelay(this);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.kkm237.notifier.email;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Spread the SMTP traffic over the relays of {@link EmailConfig}, each with its own {@link SmtpTransportPool}.
+ * <p>A relay is picked at random with a probability proportional to its weight, lowered by its observed
+ * latency, error rate and number of messages in flight. A relay whose connection fails repeatedly, or whose
+ * error rate goes above the configured maximum, is ejected for the configured time. When every relay is
+ * ejected the one ejected first is tried again.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class SmtpRelayBalancer implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(SmtpRelayBalancer.class.getName());
+
+    /**
+     * smoothing factor of the latency and error rate moving averages
+     */
+    private static final double ALPHA = 0.2;
+    private static final int MIN_SAMPLES = 10;
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+    private static final int MAX_WARM_UP_THREADS = 16;
+
+    private final List<RelayNode> nodes;
+    private final long ejectionMillis;
+    private final double maxErrorRate;
+
+    SmtpRelayBalancer(EmailConfig config, Function<SmtpRelay, Session> sessionFactory) {
+        this.ejectionMillis = config.getRelayEjectionMillis();
+        this.maxErrorRate = config.getRelayMaxErrorRate();
+        List<RelayNode> relayNodes = new ArrayList<>();
+        for (SmtpRelay relay : config.getRelays()) {
+            SmtpTransportPool pool = new SmtpTransportPool(sessionFactory.apply(relay), relay.getMaxConnections(),
+                    config.getPoolIdleTimeoutMillis(), config.getPoolMaxMessagesPerConnection(), config.getPoolBorrowTimeoutMillis());
+            relayNodes.add(new RelayNode(relay, pool));
+        }
+        this.nodes = List.copyOf(relayNodes);
+    }
+
+    /**
+     * Borrow a connection from the best relay, falling back to the other relays when it cannot connect
+     */
+    Lease borrow() throws MessagingException {
+        List<RelayNode> tried = new ArrayList<>(nodes.size());
+        RuntimeException exhausted = null;
+        MessagingException failure = null;
+        while (tried.size() < nodes.size()) {
+            RelayNode node = select(tried);
+            tried.add(node);
+            try {
+                SmtpTransportPool.PooledTransport pooled = node.pool.borrow();
+                node.acquired();
+                return new Lease(node, pooled);
+            } catch (MessagingException e) {
+                node.recordFailure();
+                failure = e;
+            } catch (NotifierSendFailedException e) {
+                // pool exhausted, the relay itself is healthy
+                exhausted = e;
+            }
+        }
+        if (failure != null) throw failure;
+        throw exhausted;
+    }
+
+    /**
+     * Record a message accepted by the relay
+     */
+    void messageSent(Lease lease, long elapsedNanos) {
+        lease.pooled.messageSent();
+        lease.node.recordSuccess(elapsedNanos);
+    }
+
+    /**
+     * Give back the connection, a broken connection counts as a failure of its relay
+     */
+    void release(Lease lease, boolean broken) {
+        lease.node.released();
+        if (broken) {
+            lease.node.recordFailure();
+        }
+        lease.node.pool.release(lease.pooled, broken);
+    }
+
+    boolean isExhausted(Lease lease) {
+        return lease.node.pool.isExhausted(lease.pooled);
+    }
+
+    /**
+     * Open connections to every relay in parallel, at most the pool size of each relay.
+     * A failed connection is reported but does not count against the relay health.
+     */
+    List<WarmUpReport> warmUp(int connections) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(connections * nodes.size(), MAX_WARM_UP_THREADS));
+        try {
+            List<List<Future<Long>>> handshakes = new ArrayList<>();
+            for (RelayNode node : nodes) {
+                List<Future<Long>> relayHandshakes = new ArrayList<>();
+                for (int i = 0; i < Math.min(connections, node.relay.getMaxConnections()); i++) {
+                    relayHandshakes.add(executor.submit(node.pool::warmUp));
+                }
+                handshakes.add(relayHandshakes);
+            }
+
+            List<WarmUpReport> reports = new ArrayList<>();
+            for (int i = 0; i < nodes.size(); i++) {
+                SmtpRelay relay = nodes.get(i).relay;
+                List<Long> elapsed = new ArrayList<>();
+                int failed = 0;
+                for (Future<Long> handshake : handshakes.get(i)) {
+                    try {
+                        elapsed.add(handshake.get());
+                    } catch (ExecutionException e) {
+                        failed++;
+                        log.warning("SMTP relay " + relay + " warm-up connection failed: " + e.getCause().getMessage());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failed++;
+                    }
+                }
+                WarmUpReport report = WarmUpReport.of(relay, elapsed, failed);
+                log.info("SMTP relay warmed up: " + report);
+                reports.add(report);
+            }
+            return reports;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void close() {
+        nodes.forEach(node -> node.pool.close());
+    }
+
+    private RelayNode select(List<RelayNode> excluded) {
+        long now = System.currentTimeMillis();
+        double[] scores = new double[nodes.size()];
+        double total = 0;
+        RelayNode firstEjected = null;
+        for (int i = 0; i < nodes.size(); i++) {
+            RelayNode node = nodes.get(i);
+            if (excluded.contains(node)) continue;
+            if (node.ejectedUntil > now) {
+                if (firstEjected == null || node.ejectedUntil < firstEjected.ejectedUntil) firstEjected = node;
+                continue;
+            }
+            scores[i] = node.score();
+            total += scores[i];
+        }
+        if (total == 0) {
+            return firstEjected;
+        }
+
+        double pick = ThreadLocalRandom.current().nextDouble(total);
+        for (int i = 0; i < scores.length; i++) {
+            pick -= scores[i];
+            if (scores[i] > 0 && pick < 0) return nodes.get(i);
+        }
+        // rounding, take the last candidate
+        for (int i = scores.length - 1; ; i--) {
+            if (scores[i] > 0) return nodes.get(i);
+        }
+    }
+
+    /**
+     * A connection borrowed from one relay
+     */
+    static final class Lease {
+        private final RelayNode node;
+        private final SmtpTransportPool.PooledTransport pooled;
+
+        private Lease(RelayNode node, SmtpTransportPool.PooledTransport pooled) {
+            this.node = node;
+            this.pooled = pooled;
+        }
+
+        Transport getTransport() {
+            return pooled.getTransport();
+        }
+
+        SmtpRelay getRelay() {
+            return node.relay;
+        }
+    }
+
+    private final class RelayNode {
+        private final SmtpRelay relay;
+        private final SmtpTransportPool pool;
+        private double latencyMillis;
+        private double errorRate;
+        private long samples;
+        private int consecutiveFailures;
+        private int inFlight;
+        private volatile long ejectedUntil;
+
+        private RelayNode(SmtpRelay relay, SmtpTransportPool pool) {
+            this.relay = relay;
+            this.pool = pool;
+        }
+
+        private synchronized double score() {
+            return relay.getWeight() * (1 - errorRate) / ((1 + latencyMillis) * (1 + inFlight));
+        }
+
+        private synchronized void acquired() {
+            inFlight++;
+        }
+
+        private synchronized void released() {
+            inFlight--;
+        }
+
+        private synchronized void recordSuccess(long elapsedNanos) {
+            double elapsedMillis = elapsedNanos / 1_000_000.0;
+            latencyMillis = samples == 0 ? elapsedMillis : latencyMillis + ALPHA * (elapsedMillis - latencyMillis);
+            errorRate -= ALPHA * errorRate;
+            samples++;
+            consecutiveFailures = 0;
+        }
+
+        private synchronized void recordFailure() {
+            errorRate += ALPHA * (1 - errorRate);
+            samples++;
+            consecutiveFailures++;
+            if (consecutiveFailures >= MAX_CONSECUTIVE_FAILURES || (samples >= MIN_SAMPLES && errorRate > maxErrorRate)) {
+                ejectedUntil = System.currentTimeMillis() + ejectionMillis;
+                consecutiveFailures = 0;
+                log.warning("SMTP relay " + relay + " ejected for " + ejectionMillis + " ms, error rate " + String.format("%.2f", errorRate));
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.kkm237.notifier.email;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+
+/**
+ * Throw this Exception when the SMTP server answers a command with an unexpected reply
+ */
+public class SmtpReplyException extends NotifierSendFailedException {
+
+    private final int code;
+
+    public SmtpReplyException(int code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    /**
+     * @return the SMTP reply code, 4xx for a transient failure and 5xx for a permanent one
+     */
+    public int getCode() {
+        return code;
+    }
+
+    public boolean isTransient() {
+        return code >= 400 && code < 500;
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.kkm237.notifier.email;
+
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import com.sun.mail.smtp.SMTPSendFailedException;
+import com.sun.mail.smtp.SMTPSenderFailedException;
+import com.sun.mail.util.MailConnectException;
+import io.github.kkm237.notifier.core.retry.Retryability;
+import io.github.kkm237.notifier.core.retry.RetryClassifier;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+
+/**
+ * @implNote Classifier of the SMTP failures, from the reply code of the server: 4xx is transient and retried, 5xx is
+ * permanent
+ * <p>It reads the {@link SmtpReplyException} of the NIO engine and the {@link jakarta.mail.MessagingException} of
+ * Jakarta Mail, whose next exceptions hold the reply of each refused recipient. A connection failure is retried, a
+ * rejected authentication or an invalid address is not.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class SmtpRetryClassifier implements RetryClassifier {
+
+    private static final int MAX_CAUSES = 16;
+    private static final int MAX_REFUSALS = 10_000;
+
+    @Override
+    public Retryability classify(Throwable error) {
+        Throwable cause = error;
+        for (int depth = 0; cause != null && depth < MAX_CAUSES; depth++) {
+            Retryability retryability = classifyOne(cause);
+            if (retryability != Retryability.UNKNOWN) {
+                return retryability;
+            }
+            cause = cause.getCause() == cause ? null : cause.getCause();
+        }
+        return Retryability.UNKNOWN;
+    }
+
+    private static Retryability classifyOne(Throwable error) {
+        if (error instanceof SmtpReplyException) {
+            int code = ((SmtpReplyException) error).getCode();
+            // -1 is a reply which could not be read, such as a connection cut in the middle of it
+            return code < 0 ? Retryability.RETRYABLE : ofReplyCode(code);
+        }
+        if (error instanceof SMTPSendFailedException) {
+            return ofReplyCode(((SMTPSendFailedException) error).getReturnCode());
+        }
+        if (error instanceof SMTPAddressFailedException) {
+            return ofReplyCode(((SMTPAddressFailedException) error).getReturnCode());
+        }
+        if (error instanceof SMTPSenderFailedException) {
+            return ofReplyCode(((SMTPSenderFailedException) error).getReturnCode());
+        }
+        if (error instanceof SendFailedException) {
+            SendFailedException failure = (SendFailedException) error;
+            // refused recipients are classified by their own reply, the next exceptions
+            if (failure.getInvalidAddresses() != null && failure.getInvalidAddresses().length > 0) {
+                return ofRefusals(failure);
+            }
+            return failure.getValidUnsentAddresses() != null && failure.getValidUnsentAddresses().length > 0
+                    ? Retryability.RETRYABLE : Retryability.UNKNOWN;
+        }
+        if (error instanceof MailConnectException) {
+            return Retryability.RETRYABLE;
+        }
+        if (error instanceof AuthenticationFailedException || error instanceof AddressException) {
+            return Retryability.PERMANENT;
+        }
+        return Retryability.UNKNOWN;
+    }
+
+    /**
+     * A transaction with any recipient refused for good is permanent whatever the order of the refusals, as sending
+     * it again fails again
+     */
+    private static Retryability ofRefusals(SendFailedException failure) {
+        Retryability retryability = Retryability.UNKNOWN;
+        Exception next = failure.getNextException();
+        for (int depth = 0; next != null && depth < MAX_REFUSALS; depth++) {
+            if (next instanceof SMTPAddressFailedException) {
+                Retryability refusal = ofReplyCode(((SMTPAddressFailedException) next).getReturnCode());
+                if (refusal == Retryability.PERMANENT) {
+                    return refusal;
+                }
+                if (refusal == Retryability.RETRYABLE) {
+                    retryability = refusal;
+                }
+            }
+            next = next instanceof MessagingException ? ((MessagingException) next).getNextException() : null;
+        }
+        return retryability;
+    }
+
+    private static Retryability ofReplyCode(int code) {
+        if (code >= 400 && code < 500) {
+            return Retryability.RETRYABLE;
+        }
+        return code >= 500 ? Retryability.PERMANENT : Retryability.UNKNOWN;
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.kkm237.notifier.email;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Bounded pool of connected and authenticated SMTP {@link Transport} for one {@link EmailConfig}.
+ * <p>Idle connections are handed out most recently used first. Before reuse a connection is checked
+ * with {@link Transport#isConnected()}, which issues a NOOP on the SMTP transport, and it is closed
+ * instead when it was idle longer than the idle timeout or already carried the maximum number of messages.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class SmtpTransportPool implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(SmtpTransportPool.class.getName());
+
+    private final Session session;
+    private final long idleTimeoutMillis;
+    private final int maxMessagesPerConnection;
+    private final long borrowTimeoutMillis;
+    private final Semaphore permits;
+    private final Deque<PooledTransport> idle = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    SmtpTransportPool(Session session, int maxSize, long idleTimeoutMillis, int maxMessagesPerConnection, long borrowTimeoutMillis) {
+        this.session = session;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrow a connected transport, waiting at most the borrow timeout when the pool is exhausted.
+     * The caller must give it back with {@link #release(PooledTransport, boolean)}.
+     */
+    PooledTransport borrow() throws MessagingException {
+        if (closed) throw new NotifierSendFailedException("SMTP transport pool is closed");
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new NotifierSendFailedException("Timed out waiting for a SMTP connection after " + borrowTimeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NotifierSendFailedException("Interrupted while waiting for a SMTP connection", e);
+        }
+
+        try {
+            PooledTransport pooled;
+            while ((pooled = pollIdle()) != null) {
+                if (isReusable(pooled)) {
+                    return pooled;
+                }
+                closeQuietly(pooled);
+            }
+            return open();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Give back a borrowed transport. A broken transport, or one which reached its message limit, is closed.
+     */
+    void release(PooledTransport pooled, boolean broken) {
+        try {
+            if (broken || closed || pooled.messageCount >= maxMessagesPerConnection) {
+                closeQuietly(pooled);
+                return;
+            }
+            pooled.lastUsedAt = System.currentTimeMillis();
+            synchronized (idle) {
+                idle.push(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return true when the transport carried the maximum number of messages and should be given back
+     */
+    boolean isExhausted(PooledTransport pooled) {
+        return pooled.messageCount >= maxMessagesPerConnection;
+    }
+
+    /**
+     * Open a connection ahead of the first send and keep it idle
+     *
+     * @return the time spent in TCP connect, TLS handshake and AUTH, in nanoseconds
+     */
+    long warmUp() throws MessagingException {
+        long start = System.nanoTime();
+        PooledTransport pooled = open();
+        long elapsed = System.nanoTime() - start;
+        synchronized (idle) {
+            idle.push(pooled);
+        }
+        return elapsed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledTransport pooled;
+        while ((pooled = pollIdle()) != null) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private PooledTransport pollIdle() {
+        synchronized (idle) {
+            return idle.poll();
+        }
+    }
+
+    private boolean isReusable(PooledTransport pooled) {
+        if (pooled.messageCount >= maxMessagesPerConnection) return false;
+        if (System.currentTimeMillis() - pooled.lastUsedAt > idleTimeoutMillis) return false;
+        // NOOP round trip on the SMTP transport
+        return pooled.transport.isConnected();
+    }
+
+    private PooledTransport open() throws MessagingException {
+        Transport transport = session.getTransport();
+        transport.connect();
+        return new PooledTransport(transport);
+    }
+
+    private void closeQuietly(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.log(Level.FINE, "Failed to close SMTP connection", e);
+        }
+    }
+
+    /**
+     * One pooled SMTP connection with its usage statistics.
+     */
+    static final class PooledTransport {
+        private final Transport transport;
+        private long lastUsedAt;
+        private int messageCount;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+            this.lastUsedAt = System.currentTimeMillis();
+        }
+
+        Transport getTransport() {
+            return transport;
+        }
+
+        void messageSent() {
+            messageCount++;
+        }
+    }
+}
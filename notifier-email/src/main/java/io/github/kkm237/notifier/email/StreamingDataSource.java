@@ -0,0 +1,63 @@
+package io.github.kkm237.notifier.email;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.model.AttachmentPayload;
+import jakarta.activation.DataSource;
+import jakarta.mail.EncodingAware;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * @implNote Single pass {@link DataSource} over an attachment {@link InputStream}.
+ * <p>The stream is never buffered: the transfer encoding is declared up front as base64 through
+ * {@link EncodingAware}, so Jakarta Mail does not read the data to guess it, and the content is read
+ * and encoded straight onto the SMTP connection while the DATA command is written.
+ * The stream is taken from its {@link AttachmentPayload}, which lets it be read once: a second message sending the
+ * same attachment fails instead of sending it empty.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class StreamingDataSource implements DataSource, EncodingAware {
+
+    private final AttachmentPayload attachment;
+    private final String contentType;
+    private final String name;
+
+    StreamingDataSource(AttachmentPayload attachment) {
+        this.attachment = attachment;
+        this.contentType = attachment.getContentType();
+        this.name = attachment.getFilename();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        try {
+            return attachment.takeInputStream();
+        } catch (NotifierException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        throw new IOException("Attachment stream " + name + " is read only");
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getEncoding() {
+        return "base64";
+    }
+}
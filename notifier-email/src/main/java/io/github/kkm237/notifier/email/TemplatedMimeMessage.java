@@ -0,0 +1,68 @@
+package io.github.kkm237.notifier.email;
+
+import com.sun.mail.smtp.SMTPMessage;
+import jakarta.mail.Header;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Enumeration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @implNote Message written as its own recipient headers followed by the pre-serialized {@link EmailTemplate}.
+ * <p>The envelope sender is carried by {@link SMTPMessage#setEnvelopeFrom(String)} since the From header
+ * only exists in the template bytes.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class TemplatedMimeMessage extends SMTPMessage {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final long INSTANCE_ID = ThreadLocalRandom.current().nextLong() >>> 1;
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final EmailTemplate template;
+
+    TemplatedMimeMessage(Session session, EmailTemplate template, String envelopeFrom) {
+        super(session);
+        this.template = template;
+        setEnvelopeFrom(envelopeFrom);
+    }
+
+    /**
+     * Only the per-message headers are computed, the rest of the message is already serialized
+     */
+    @Override
+    protected void updateHeaders() throws MessagingException {
+        setHeader("Date", ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME));
+        updateMessageID();
+    }
+
+    @Override
+    protected void updateMessageID() throws MessagingException {
+        setHeader("Message-ID", "<" + Long.toHexString(INSTANCE_ID) + '.' + SEQUENCE.incrementAndGet() + '.'
+                + System.currentTimeMillis() + '@' + template.getMessageIdDomain() + '>');
+    }
+
+    @Override
+    public void writeTo(OutputStream os, String[] ignoreList) throws IOException, MessagingException {
+        if (!saved) {
+            saveChanges();
+        }
+        Enumeration<Header> headers = getNonMatchingHeaders(ignoreList);
+        while (headers.hasMoreElements()) {
+            Header header = headers.nextElement();
+            os.write((header.getName() + ": " + header.getValue()).getBytes(StandardCharsets.UTF_8));
+            os.write(CRLF);
+        }
+        os.write(template.getContent());
+        os.flush();
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.kkm237.notifier.email;
+
+import java.util.List;
+
+/**
+ * @implNote Outcome of the connections opened to one relay when {@link EmailNotifierImpl} starts,
+ * see {@link EmailConfig.Builder#warmUpConnections(Integer)}
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class WarmUpReport {
+
+    private final SmtpRelay relay;
+    private final int opened;
+    private final int failed;
+    private final double minHandshakeMillis;
+    private final double averageHandshakeMillis;
+    private final double maxHandshakeMillis;
+
+    private WarmUpReport(SmtpRelay relay, int opened, int failed, double minHandshakeMillis,
+                         double averageHandshakeMillis, double maxHandshakeMillis) {
+        this.relay = relay;
+        this.opened = opened;
+        this.failed = failed;
+        this.minHandshakeMillis = minHandshakeMillis;
+        this.averageHandshakeMillis = averageHandshakeMillis;
+        this.maxHandshakeMillis = maxHandshakeMillis;
+    }
+
+    /**
+     * @param handshakeNanos time spent by each opened connection in TCP connect, TLS handshake and AUTH
+     */
+    static WarmUpReport of(SmtpRelay relay, List<Long> handshakeNanos, int failed) {
+        if (handshakeNanos.isEmpty()) {
+            return new WarmUpReport(relay, 0, failed, 0, 0, 0);
+        }
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        long total = 0;
+        for (long nanos : handshakeNanos) {
+            min = Math.min(min, nanos);
+            max = Math.max(max, nanos);
+            total += nanos;
+        }
+        return new WarmUpReport(relay, handshakeNanos.size(), failed, min / 1_000_000.0,
+                total / 1_000_000.0 / handshakeNanos.size(), max / 1_000_000.0);
+    }
+
+    public SmtpRelay getRelay() {
+        return relay;
+    }
+
+    /**
+     * @return number of connections opened and kept idle in the pool
+     */
+    public int getOpened() {
+        return opened;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public double getMinHandshakeMillis() {
+        return minHandshakeMillis;
+    }
+
+    public double getAverageHandshakeMillis() {
+        return averageHandshakeMillis;
+    }
+
+    public double getMaxHandshakeMillis() {
+        return maxHandshakeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpReport{" +
+                "relay=" + relay +
+                ", opened=" + opened +
+                ", failed=" + failed +
+                ", handshakeMillis=" + String.format("%.1f/%.1f/%.1f", minHandshakeMillis, averageHandshakeMillis, maxHandshakeMillis) +
+                '}';
+    }
+}
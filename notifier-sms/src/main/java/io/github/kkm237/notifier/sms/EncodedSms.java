@@ -0,0 +1,60 @@
+package io.github.kkm237.notifier.sms;
+
+/**
+ * @implNote Body of an SMS ready to send, with its encoding and the number of segments it is billed for
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class EncodedSms {
+
+    private final String body;
+    private final SmsEncoding encoding;
+    private final int units;
+    private final int segments;
+    private final boolean transliterated;
+
+    EncodedSms(String body, SmsEncoding encoding, int units, int segments, boolean transliterated) {
+        this.body = body;
+        this.encoding = encoding;
+        this.units = units;
+        this.segments = segments;
+        this.transliterated = transliterated;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public SmsEncoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Length of the body in septets for GSM-7, in 16 bits code units for UCS-2
+     */
+    public int getUnits() {
+        return units;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    /**
+     * True when characters of the original body were replaced to fit in GSM-7
+     */
+    public boolean isTransliterated() {
+        return transliterated;
+    }
+
+    @Override
+    public String toString() {
+        return "EncodedSms{" +
+                "encoding=" + encoding +
+                ", units=" + units +
+                ", segments=" + segments +
+                ", transliterated=" + transliterated +
+                '}';
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.kkm237.notifier.sms;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Prepare the body of an SMS: optional transliteration to the GSM 03.38 alphabet, encoding and segment
+ * accounting, and check of the segment budget.
+ * <p>Each character is looked up in a table built once, so a body is encoded in a single pass without
+ * regular expression nor allocation, unless it is transliterated.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class SmsEncoder {
+
+    private static final Logger log = Logger.getLogger(SmsEncoder.class.getName());
+
+    /**
+     * characters of the GSM 03.38 basic table in the order of their code, the escape code 0x1B being a placeholder
+     */
+    private static final String GSM_BASIC = "@£$¥èéùìòÇ\nØø\rÅåΔ_ΦΓΛΩΠΨΣΘΞ\u001BÆæßÉ !\"#¤%&'()*+,-./0123456789:;<=>?"
+            + "¡ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÑÜ§¿abcdefghijklmnopqrstuvwxyzäöñüà";
+    private static final String GSM_EXTENSION = "\f^{}\\[~]|€";
+    /**
+     * GSM 03.38 code of each character of GSM_EXTENSION, sent after the escape code
+     */
+    private static final byte[] EXTENSION_CODES = {0x0A, 0x14, 0x28, 0x29, 0x2F, 0x3C, 0x3D, 0x3E, 0x40, 0x65};
+    private static final byte ESCAPE = 0x1B;
+    private static final char EURO = '€';
+
+    /**
+     * septets of each character below its size: 1 in the basic table, 2 in the extension table, 0 outside of GSM-7
+     */
+    private static final byte[] SEPTETS = new byte[0x400];
+    /**
+     * GSM-7 replacement of each character below its size, null when there is none
+     */
+    private static final String[] TRANSLITERATIONS = new String[0x2300];
+    /**
+     * GSM 03.38 code of each character below its size, in its table
+     */
+    private static final byte[] CODES = new byte[0x400];
+
+    static {
+        for (int i = 0; i < GSM_BASIC.length(); i++) {
+            if (i == ESCAPE) continue;
+            SEPTETS[GSM_BASIC.charAt(i)] = 1;
+            CODES[GSM_BASIC.charAt(i)] = (byte) i;
+        }
+        for (char c : GSM_EXTENSION.toCharArray()) if (c < SEPTETS.length) SEPTETS[c] = 2;
+        for (int i = 0; i < GSM_EXTENSION.length(); i++) {
+            if (GSM_EXTENSION.charAt(i) < CODES.length) CODES[GSM_EXTENSION.charAt(i)] = EXTENSION_CODES[i];
+        }
+
+        replace("‘’‚‛′‹›`´", "'");
+        replace("“”„‟″«»", "\"");
+        replace("‐‑‒–—―−•", "-");
+        replace("\t\u00A0\u2002\u2003\u2007\u2009\u200A\u202F", " ");
+        replace("…", "...");
+        replace("©", "(c)");
+        replace("®", "(R)");
+        replace("™", "TM");
+        replace("×", "x");
+        replace("÷", "/");
+        replace("Œ", "OE");
+        replace("œ", "oe");
+        replace("ĐÐ", "D");
+        replace("đð", "d");
+        replace("Þ", "Th");
+        replace("þ", "th");
+        replace("Ł", "L");
+        replace("ł", "l");
+        // letters with diacritics: the base letter when it is in GSM-7, ç -> c, ê -> e, ő -> o, ...
+        for (char c = 0xC0; c < TRANSLITERATIONS.length; c++) {
+            if (septets(c) > 0 || TRANSLITERATIONS[c] != null || !Character.isLetter(c)) continue;
+            String base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+            if (!base.isEmpty() && base.charAt(0) != c && isGsm7(base)) {
+                TRANSLITERATIONS[c] = base;
+            }
+        }
+    }
+
+    private final boolean transliterate;
+    private final int maxSegments;
+    private final boolean rejectAboveMaxSegments;
+
+    /**
+     * @param transliterate          replace the characters outside of GSM-7 which have a GSM-7 equivalent
+     * @param maxSegments            segment budget of one SMS, 0 for no budget
+     * @param rejectAboveMaxSegments reject a body above the budget instead of logging a warning
+     */
+    public SmsEncoder(boolean transliterate, int maxSegments, boolean rejectAboveMaxSegments) {
+        if (maxSegments < 0) throw new NotifierException("maxSegments cannot be negative");
+        this.transliterate = transliterate;
+        this.maxSegments = maxSegments;
+        this.rejectAboveMaxSegments = rejectAboveMaxSegments;
+    }
+
+    /**
+     * Transliterate the body when enabled, then encode it and check the segment budget
+     *
+     * @param body body of the SMS
+     * @return the body to send with its encoding and segments
+     * @throws NotifierSendFailedException when the body is above the segment budget and rejected
+     */
+    public EncodedSms encode(String body) {
+        String text = transliterate ? transliterate(body) : body;
+        EncodedSms encoded = analyze(text, text != body);
+        if (maxSegments > 0 && encoded.getSegments() > maxSegments) {
+            String message = "SMS body needs " + encoded.getSegments() + " " + encoded.getEncoding()
+                    + " segments, above the maximum of " + maxSegments;
+            if (rejectAboveMaxSegments) {
+                throw new NotifierSendFailedException(message);
+            }
+            log.warning(message);
+        }
+        return encoded;
+    }
+
+    /**
+     * Encoding and segments of the body as it is
+     */
+    public static EncodedSms analyze(String body) {
+        return analyze(body, false);
+    }
+
+    /**
+     * Septets of the character in GSM-7: 1 in the basic table, 2 in the extension table, 0 when it is not in GSM-7
+     */
+    public static int septets(char c) {
+        if (c < SEPTETS.length) return SEPTETS[c];
+        return c == EURO ? 2 : 0;
+    }
+
+    public static boolean isGsm7(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (septets(text.charAt(i)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * GSM 03.38 codes of a GSM-7 body, one septet per byte as sent over SMPP, the characters of the extension table
+     * escaped with 0x1B
+     *
+     * @throws NotifierException when a character is not in GSM-7
+     */
+    public static byte[] toGsm7(String body) {
+        byte[] codes = new byte[body.length() * 2];
+        int length = 0;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            int width = septets(c);
+            if (width == 0) throw new NotifierException("Character not in GSM-7: " + c);
+            if (width == 2) codes[length++] = ESCAPE;
+            codes[length++] = c == EURO ? EXTENSION_CODES[EXTENSION_CODES.length - 1] : CODES[c];
+        }
+        return length == codes.length ? codes : Arrays.copyOf(codes, length);
+    }
+
+    /**
+     * Replace the characters outside of GSM-7 which have a GSM-7 equivalent, the others are kept
+     *
+     * @return the body itself when nothing is replaced
+     */
+    public static String transliterate(String body) {
+        int length = body.length();
+        int i = 0;
+        while (i < length && replacement(body.charAt(i)) == null) i++;
+        if (i == length) {
+            return body;
+        }
+
+        StringBuilder builder = new StringBuilder(length + 16).append(body, 0, i);
+        for (; i < length; i++) {
+            char c = body.charAt(i);
+            String replacement = replacement(c);
+            if (replacement != null) {
+                builder.append(replacement);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String replacement(char c) {
+        return c < TRANSLITERATIONS.length && septets(c) == 0 ? TRANSLITERATIONS[c] : null;
+    }
+
+    private static EncodedSms analyze(String body, boolean transliterated) {
+        int capacity = SmsEncoding.GSM_7.getConcatenatedSegmentUnits();
+        int septets = 0;
+        int segments = 1;
+        int used = 0;
+        for (int i = 0; i < body.length(); i++) {
+            int width = septets(body.charAt(i));
+            if (width == 0) {
+                return analyzeUcs2(body, transliterated);
+            }
+            septets += width;
+            // an escaped character is never split between two segments
+            if (used + width > capacity) {
+                segments++;
+                used = width;
+            } else {
+                used += width;
+            }
+        }
+        if (septets <= SmsEncoding.GSM_7.getSingleSegmentUnits()) {
+            segments = 1;
+        }
+        return new EncodedSms(body, SmsEncoding.GSM_7, septets, segments, transliterated);
+    }
+
+    private static EncodedSms analyzeUcs2(String body, boolean transliterated) {
+        int capacity = SmsEncoding.UCS_2.getConcatenatedSegmentUnits();
+        int segments = 1;
+        int used = 0;
+        for (int i = 0; i < body.length(); i++) {
+            // a surrogate pair is never split between two segments
+            int width = Character.isHighSurrogate(body.charAt(i)) && i + 1 < body.length()
+                    && Character.isLowSurrogate(body.charAt(i + 1)) ? 2 : 1;
+            i += width - 1;
+            if (used + width > capacity) {
+                segments++;
+                used = width;
+            } else {
+                used += width;
+            }
+        }
+        if (body.length() <= SmsEncoding.UCS_2.getSingleSegmentUnits()) {
+            segments = 1;
+        }
+        return new EncodedSms(body, SmsEncoding.UCS_2, body.length(), segments, transliterated);
+    }
+
+    private static void replace(String characters, String replacement) {
+        for (char c : characters.toCharArray()) TRANSLITERATIONS[c] = replacement;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.kkm237.notifier.sms;
+
+/**
+ * @implNote Encoding of an SMS body, a single character outside of the GSM 03.38 alphabet switches the whole
+ * body to UCS-2
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public enum SmsEncoding {
+    /**
+     * 7 bits per character, 160 characters in a single segment, 153 per segment of a concatenated body
+     */
+    GSM_7(160, 153),
+    /**
+     * 16 bits per character, 70 characters in a single segment, 67 per segment of a concatenated body
+     */
+    UCS_2(70, 67);
+
+    private final int singleSegmentUnits;
+    private final int concatenatedSegmentUnits;
+
+    SmsEncoding(int singleSegmentUnits, int concatenatedSegmentUnits) {
+        this.singleSegmentUnits = singleSegmentUnits;
+        this.concatenatedSegmentUnits = concatenatedSegmentUnits;
+    }
+
+    public int getSingleSegmentUnits() {
+        return singleSegmentUnits;
+    }
+
+    public int getConcatenatedSegmentUnits() {
+        return concatenatedSegmentUnits;
+    }
+}
@@ -1,47 +1,162 @@
 package io.github.kkm237.notifier.sms;
 
 
-import com.twilio.Twilio;
-import com.twilio.rest.api.v2010.account.Message;
-import com.twilio.type.PhoneNumber;
+import com.twilio.http.TwilioRestClient;
+import io.github.kkm237.notifier.core.delivery.DeliveryState;
+import io.github.kkm237.notifier.core.delivery.DeliveryStatusStore;
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
 import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
 import io.github.kkm237.notifier.core.model.NotifierPayload;
 import io.github.kkm237.notifier.core.model.Notifier;
+import io.github.kkm237.notifier.core.model.RecipientResult;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.core.provider.MessageProvider;
+import io.github.kkm237.notifier.core.provider.ProviderException;
+import io.github.kkm237.notifier.core.provider.ProviderMessage;
+import io.github.kkm237.notifier.core.provider.TwilioClientFactory;
+import io.github.kkm237.notifier.core.provider.TwilioSdkProvider;
+import io.github.kkm237.notifier.core.ratelimit.SenderRateLimiter;
+import io.github.kkm237.notifier.core.sender.SenderNumber;
+import io.github.kkm237.notifier.core.sender.SenderPool;
+import io.github.kkm237.notifier.core.utils.Futures;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /**
  * @implNote Send sms notification {@link io.github.kkm237.notifier.sms.SmsConfig}
+ * <p>The recipients of a payload are sent concurrently, at most {@code parallelism} at a time for each payload,
+ * and a failed recipient does not prevent the other ones from being sent. The sender threads are shared by the
+ * payloads without a queue, so a small payload never waits behind the recipients of a large one.</p>
+ * <p>Each body goes through the {@link SmsEncoder}: transliteration to GSM-7 when enabled, segment accounting and
+ * check of the segment budget.</p>
+ * <p>The messages are sent by a {@link MessageProvider}, the Twilio SDK by default or the HTTP/2 client of the JDK,
+ * see {@link SmsConfig.Builder#provider}.</p>
+ * <p>The messages are spread over the sender numbers of the configuration, see {@link SenderPool}.
+ * When {@code rateLimitPerSecond} is set, the sends are paced to that rate per sender number, and a send which
+ * cannot get a permit within {@code rateLimitMaxWaitMillis} fails with a {@link NotifierRateLimitedException}.</p>
  * @author Maximilien kengne kongne
  * @since 16.01.2026
  * @version 1.0.0
  * @see io.github.kkm237.notifier.core.model.NotifierPayload
  */
-public class SmsNotifierImpl implements Notifier {
+public class SmsNotifierImpl implements Notifier, AutoCloseable {
+    /**
+     * Twilio errors of the sender number: not a valid sender (21606), queue of the number full (21611)
+     */
+    private static final Set<Integer> SENDER_ERROR_CODES = Set.of(21606, 21611);
+
     Logger log = Logger.getLogger(SmsNotifierImpl.class.getName());
-    private final String fromPhoneNumber;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final SenderPool senders;
+    private final SmsEncoder encoder;
+    private final MessageProvider provider;
+    private volatile DeliveryStatusStore deliveries;
 
     public SmsNotifierImpl(SmsConfig config) {
-        Twilio.init(config.getAccountSid(), config.getAuthToken());
-        this.fromPhoneNumber = config.getFromPhone();
+        this(config, TwilioClientFactory.provider(config));
+    }
+
+    /**
+     * Constructor with a Twilio client built by the caller, the provider and HTTP settings of the configuration are
+     * then ignored
+     */
+    public SmsNotifierImpl(SmsConfig config, TwilioRestClient restClient) {
+        this(config, new TwilioSdkProvider(restClient, null));
+    }
+
+    /**
+     * Constructor with a provider built by the caller, closed with the notifier
+     */
+    public SmsNotifierImpl(SmsConfig config, MessageProvider provider) {
+        this.provider = provider;
+        this.senders = new SenderPool(config.getFromPhones(), config.getSenderSelection(),
+                new SenderRateLimiter(config.getRateLimitPerSecond(), config.getRateLimitBurst(), config.getRateLimitMaxWaitMillis()),
+                config.getSenderEjectionMillis());
+        this.encoder = new SmsEncoder(config.isTransliterate(), config.getMaxSegments(), config.isRejectAboveMaxSegments());
+        this.parallelism = config.getParallelism();
+        this.executor = Executors.newCachedThreadPool(senderThreadFactory());
     }
 
     @Override
     public void send(NotifierPayload payload) {
+        if (payload.getRecipients().isEmpty()) {
+            throw new NotifierSendFailedException( "Failed to send SMS: missing or invalid recipient");
+        }
+        throwIfFailed(sendWithReport(payload));
+    }
+
+    /**
+     * Send the body rendered for each recipient, reusing one buffer for the rendering
+     */
+    @Override
+    public void send(TemplatePayload payload) {
+        throwIfFailed(sendWithReport(payload));
+    }
+
+    /**
+     * Send the payload and report each recipient, a failed recipient is reported without exception
+     */
+    @Override
+    public SendReport sendWithReport(NotifierPayload payload) {
+        List<String> recipients = payload.getRecipients();
+        EncodedSms[] bodies = new EncodedSms[recipients.size()];
+        RecipientResult[] results = new RecipientResult[recipients.size()];
         try {
+            Arrays.fill(bodies, encoder.encode(payload.getBody()));
+        } catch (NotifierSendFailedException e) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = RecipientResult.failed(recipients.get(i), e, 0);
+            }
+        }
+        return dispatch(recipients, bodies, results);
+    }
 
-            if (!payload.getRecipients().isEmpty()) {
-                for (String recipient: payload.getRecipients()) {
-                    Message message = Message.creator(new PhoneNumber(recipient), new PhoneNumber(fromPhoneNumber), payload.getBody()).create();
-                    log.info("SMS sent successfully. Message SID: " +message.getSid() +" Message Status: " +message.getStatus().toString());
-                }
-            }else {
-                throw new NotifierSendFailedException( "Failed to send SMS: missing or invalid recipient");
+    /**
+     * Send the body rendered for each recipient and report each recipient, reusing one buffer for the rendering
+     */
+    @Override
+    public SendReport sendWithReport(TemplatePayload payload) {
+        List<String> recipients = payload.getRecipients();
+        EncodedSms[] bodies = new EncodedSms[recipients.size()];
+        RecipientResult[] results = new RecipientResult[recipients.size()];
+        StringBuilder buffer = new StringBuilder(160);
+        for (int i = 0; i < bodies.length; i++) {
+            try {
+                bodies[i] = encoder.encode(payload.renderBody(recipients.get(i), buffer));
+            } catch (RuntimeException e) {
+                results[i] = RecipientResult.failed(recipients.get(i), e, 0);
             }
+        }
+        return dispatch(recipients, bodies, results);
+    }
 
-        } catch (Exception e) {
-            throw new NotifierSendFailedException( "Failed to send SMS: " + e.getMessage(),e );
+    /**
+     * Stop the sender threads once the recipients in flight are sent, then close the provider
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        provider.close();
     }
 
     @Override
@@ -53,4 +168,148 @@ public class SmsNotifierImpl implements Notifier {
     public NotifierPayload.Channel getChannel() {
         return NotifierPayload.Channel.SMS;
     }
+
+    /**
+     * Track each accepted message in the store, whose status callbacks then give its final state
+     */
+    public void trackDeliveries(DeliveryStatusStore deliveries) {
+        this.deliveries = deliveries;
+    }
+
+    /**
+     * State of the sender numbers
+     */
+    public List<SenderNumber> getSenders() {
+        return senders.getSenders();
+    }
+
+    /**
+     * Send each body to the recipient at the same position, a single recipient on the caller thread
+     * <p>A recipient listed twice is sent and reported twice. The caller thread submits a recipient once one of the
+     * {@code parallelism} permits of the payload is free.</p>
+     *
+     * @param recipients recipients of the payload, giving the order of the report
+     * @param bodies     body of each recipient to send, null when its result is already known
+     * @param results    results already known, completed with the sent recipients
+     */
+    private SendReport dispatch(List<String> recipients, EncodedSms[] bodies, RecipientResult[] results) {
+        List<Integer> toSend = new ArrayList<>(bodies.length);
+        for (int i = 0; i < bodies.length; i++) {
+            if (bodies[i] != null) {
+                toSend.add(i);
+            }
+        }
+        if (toSend.size() == 1) {
+            int single = toSend.get(0);
+            results[single] = sendOne(recipients.get(single), bodies[single]);
+        } else if (!toSend.isEmpty()) {
+            List<Future<RecipientResult>> pending = new ArrayList<>(toSend.size());
+            Semaphore permits = new Semaphore(parallelism);
+            try {
+                for (int i : toSend) {
+                    permits.acquire();
+                    pending.add(executor.submit(() -> {
+                        try {
+                            return sendOne(recipients.get(i), bodies[i]);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+                for (int n = 0; n < pending.size(); n++) {
+                    int i = toSend.get(n);
+                    try {
+                        results[i] = pending.get(n).get();
+                    } catch (ExecutionException e) {
+                        results[i] = RecipientResult.failed(recipients.get(i),
+                                e.getCause() instanceof Exception ? (Exception) e.getCause() : e, 0);
+                    }
+                }
+            } catch (InterruptedException e) {
+                pending.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new NotifierSendFailedException("Interrupted while sending SMS", e);
+            }
+        }
+        return new SendReport(NotifierPayload.Channel.SMS, Arrays.asList(results));
+    }
+
+    /**
+     * Throw the failure of a single recipient as is, or the failures of many recipients at once
+     */
+    private static void throwIfFailed(SendReport report) {
+        if (report.getResults().size() == 1 && !report.isSuccess()) {
+            RecipientResult failure = report.getResults().get(0);
+            if (failure.getError() instanceof NotifierRateLimitedException) {
+                throw (NotifierRateLimitedException) failure.getError();
+            }
+            throw new NotifierSendFailedException( "Failed to send SMS: " + failure.getErrorMessage(), failure.getError());
+        }
+        report.throwIfFailed("SMS");
+    }
+
+    /**
+     * Send one message from a sender number of the pool, once that number has a permit
+     *
+     * @return the result of the recipient, {@link RecipientResult.Status#RATE_LIMITED} when no permit is available
+     * in time or Twilio rejected the send for its rate
+     */
+    private RecipientResult sendOne(String recipient, EncodedSms body) {
+        long start = System.nanoTime();
+        SenderPool.Lease sender;
+        try {
+            sender = senders.acquire(recipient);
+        } catch (RuntimeException e) {
+            return RecipientResult.failed(recipient, e, System.nanoTime() - start);
+        }
+        try (sender) {
+            long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (waited > 0) {
+                log.fine("SMS to " + recipient + " delayed " + waited + " ms by the rate limit of " + sender.getNumber());
+            }
+            ProviderMessage message = Futures.await(provider.send(sender.getNumber(), recipient, body.getBody()), "the provider");
+            sender.success();
+            log.info("SMS sent successfully. Message SID: " +message.getId() +" Message Status: " +message.getStatus()
+                    +" Segments: " +body.getSegments() +" " +body.getEncoding());
+            DeliveryStatusStore store = deliveries;
+            if (store != null) {
+                store.track(NotifierPayload.Channel.SMS, message.getId(), recipient, DeliveryState.fromProviderStatus(message.getStatus()));
+            }
+            return RecipientResult.sent(recipient, message.getId(), System.nanoTime() - start);
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof ProviderException)) {
+                return RecipientResult.failed(recipient, e.getCause() instanceof Exception ? (Exception) e.getCause() : e,
+                        System.nanoTime() - start);
+            }
+            ProviderException failure = (ProviderException) e.getCause();
+            if (failure.isRateLimited()) {
+                sender.rateLimited();
+                return RecipientResult.failed(recipient, new NotifierRateLimitedException(sender.getNumber(), -1,
+                        "Twilio rate limit reached for sender " + sender.getNumber(), failure, false), System.nanoTime() - start);
+            }
+            if (isSenderFailure(failure)) {
+                sender.failure();
+            }
+            return RecipientResult.failed(recipient, failure, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            return RecipientResult.failed(recipient, e, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * A server error, or an error of the sender number itself, as opposed to an invalid recipient or body
+     */
+    private static boolean isSenderFailure(ProviderException e) {
+        return e.isServerError() || (e.getErrorCode() != null && SENDER_ERROR_CODES.contains(e.getErrorCode()));
+    }
+
+    private static ThreadFactory senderThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("notifier-sms-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
@@ -0,0 +1,454 @@
+package io.github.kkm237.notifier.sms.smpp;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @implNote SMPP 3.4 transceiver session with an SMSC
+ * <p>One persistent connection is bound on the first message and bound again after it is lost. The submit_sm are
+ * pipelined: each one is written without waiting for the response of the previous ones, and its response is matched
+ * by its sequence number. At most {@code windowSize} requests wait for their response, a sender blocks for a slot of
+ * the window up to {@code responseTimeoutMillis}.</p>
+ * <p>Concurrent writers are coalesced: the last one leaving the buffer flushes it, so a burst of messages costs few
+ * system calls. A single reader thread completes the responses, answers the enquire_link and deliver_sm of the SMSC
+ * and hands the delivery receipts to the listener. An enquire_link is sent every {@code enquireLinkIntervalMillis},
+ * and a connection whose enquire_link is not answered in time is closed.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class SmppClient implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(SmppClient.class.getName());
+    private static final int MAX_PDU_LENGTH = 64 * 1024;
+
+    private final SmppConfig config;
+    private final Semaphore window;
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final ScheduledExecutorService timer;
+    private volatile Connection connection;
+    private volatile Consumer<SmppDeliveryReceipt> receiptListener = receipt -> { };
+    private volatile boolean closed;
+
+    SmppClient(SmppConfig config) {
+        this.config = config;
+        this.window = new Semaphore(config.getWindowSize());
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notifier-smpp-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepMillis = Math.max(10, Math.min(1_000, config.getResponseTimeoutMillis() / 4));
+        timer.scheduleWithFixedDelay(this::expire, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+        if (config.getEnquireLinkIntervalMillis() > 0) {
+            timer.scheduleWithFixedDelay(this::enquireLink, config.getEnquireLinkIntervalMillis(),
+                    config.getEnquireLinkIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void onDeliveryReceipt(Consumer<SmppDeliveryReceipt> listener) {
+        this.receiptListener = listener;
+    }
+
+    /**
+     * Number of requests waiting for their response
+     */
+    int inFlight() {
+        return config.getWindowSize() - window.availablePermits();
+    }
+
+    /**
+     * Submit one short message, binding first when the session is not bound
+     *
+     * @return a future completed with the message id given by the SMSC, or failed with a {@link SmppException}, or a
+     * {@link NotifierRateLimitedException} when the SMSC throttles the session or no slot of the window frees in time
+     */
+    CompletableFuture<String> submit(String destination, boolean udhi, byte dataCoding, byte[] shortMessage) {
+        try {
+            if (!window.tryAcquire(config.getResponseTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                return CompletableFuture.failedFuture(new NotifierRateLimitedException(config.getSourceAddress(), -1,
+                        "SMPP window of " + config.getWindowSize() + " requests still full after "
+                                + config.getResponseTimeoutMillis() + " ms", null, false));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new SmppException(-1, "Interrupted while waiting for the SMPP window", e));
+        }
+
+        CompletableFuture<SmppPdu> response;
+        try {
+            Connection bound = bound();
+            int sequenceNumber = nextSequence();
+            response = request(bound, sequenceNumber,
+                    SmppPdu.submitSm(sequenceNumber, config, destination, udhi, dataCoding, shortMessage), true);
+        } catch (RuntimeException e) {
+            window.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.thenApply(this::messageId);
+    }
+
+    /**
+     * Unbind and close the connection, the requests still waiting fail
+     */
+    @Override
+    public void close() {
+        closed = true;
+        timer.shutdownNow();
+        Connection current = connection;
+        if (current != null) {
+            try {
+                int sequenceNumber = nextSequence();
+                request(current, sequenceNumber, SmppPdu.header(SmppPdu.UNBIND, SmppPdu.ESME_ROK, sequenceNumber), false)
+                        .get(Math.min(1_000, config.getResponseTimeoutMillis()), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException | ExecutionException | TimeoutException e) {
+                log.fine("SMPP unbind not acknowledged: " + e);
+            }
+            disconnect(current, new SmppException(-1, "SMPP session closed"));
+        }
+    }
+
+    private String messageId(SmppPdu response) {
+        if (response.status == SmppPdu.ESME_ROK) {
+            return SmppPdu.cString(response.body);
+        }
+        if (response.status == SmppPdu.ESME_RTHROTTLED || response.status == SmppPdu.ESME_RMSGQFUL) {
+            throw new NotifierRateLimitedException(config.getSourceAddress(), -1,
+                    String.format("SMSC throttled the submit_sm (status 0x%08X)", response.status), null, false);
+        }
+        throw new SmppException(response.status, String.format("SMSC refused the submit_sm with status 0x%08X", response.status));
+    }
+
+    /**
+     * Connection bound as transceiver, opened and bound when there is none
+     */
+    private synchronized Connection bound() {
+        if (closed) {
+            throw new SmppException(-1, "SMPP session closed");
+        }
+        Connection current = connection;
+        if (current != null) {
+            return current;
+        }
+
+        Socket socket = new Socket();
+        Connection opened;
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(new InetSocketAddress(config.getHost(), config.getPort()), config.getConnectTimeoutMillis().intValue());
+            opened = new Connection(socket);
+        } catch (IOException e) {
+            closeQuietly(socket);
+            throw new SmppException(-1, "Cannot connect to the SMSC " + config.getHost() + ":" + config.getPort(), e);
+        }
+
+        opened.start();
+        int sequenceNumber = nextSequence();
+        try {
+            SmppPdu response = request(opened, sequenceNumber, SmppPdu.bindTransceiver(sequenceNumber, config.getSystemId(),
+                    config.getPassword(), config.getSystemType(), config.getSourceTon(), config.getSourceNpi()), false)
+                    .get(config.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS);
+            if (response.status != SmppPdu.ESME_ROK) {
+                throw new SmppException(response.status, String.format("SMSC refused the bind of %s with status 0x%08X",
+                        config.getSystemId(), response.status));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            disconnect(opened, new SmppException(-1, "Interrupted while binding"));
+            throw new SmppException(-1, "Interrupted while binding to the SMSC", e);
+        } catch (ExecutionException | TimeoutException e) {
+            disconnect(opened, new SmppException(-1, "SMPP bind failed"));
+            throw new SmppException(-1, "SMPP bind to " + config.getHost() + ":" + config.getPort() + " failed", e);
+        } catch (SmppException e) {
+            disconnect(opened, e);
+            throw e;
+        }
+        log.info("SMPP transceiver bound to " + config.getHost() + ":" + config.getPort() + " as " + config.getSystemId());
+        connection = opened;
+        return opened;
+    }
+
+    /**
+     * Register the request then write it
+     *
+     * @param windowed true when the request holds a slot of the window, released with its response
+     */
+    private CompletableFuture<SmppPdu> request(Connection target, int sequenceNumber, byte[] pdu, boolean windowed) {
+        Pending request = new Pending(target, windowed,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getResponseTimeoutMillis()));
+        pending.put(sequenceNumber, request);
+        try {
+            target.write(pdu);
+        } catch (IOException e) {
+            SmppException failure = new SmppException(-1, "SMPP connection lost", e);
+            fail(sequenceNumber, failure);
+            disconnect(target, failure);
+        }
+        return request.response;
+    }
+
+    private void complete(SmppPdu response) {
+        Pending request = pending.remove(response.sequence);
+        if (request == null) {
+            log.fine("SMPP response without request, sequence " + response.sequence);
+            return;
+        }
+        if (request.windowed) {
+            window.release();
+        }
+        if (response.commandId == SmppPdu.GENERIC_NACK) {
+            request.response.completeExceptionally(new SmppException(response.status,
+                    String.format("SMSC rejected the request with generic_nack, status 0x%08X", response.status)));
+        } else {
+            request.response.complete(response);
+        }
+    }
+
+    private void fail(int sequenceNumber, Exception failure) {
+        Pending request = pending.remove(sequenceNumber);
+        if (request != null) {
+            if (request.windowed) {
+                window.release();
+            }
+            request.response.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Fail the requests waiting longer than the response timeout
+     */
+    private void expire() {
+        long now = System.nanoTime();
+        for (Map.Entry<Integer, Pending> entry : pending.entrySet()) {
+            if (now - entry.getValue().deadline > 0) {
+                fail(entry.getKey(), new SmppException(-1, "No SMPP response after " + config.getResponseTimeoutMillis() + " ms"));
+            }
+        }
+    }
+
+    private void enquireLink() {
+        Connection current = connection;
+        if (current == null) {
+            return;
+        }
+        int sequenceNumber = nextSequence();
+        request(current, sequenceNumber, SmppPdu.header(SmppPdu.ENQUIRE_LINK, SmppPdu.ESME_ROK, sequenceNumber), false)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.warning("SMPP enquire_link not answered, closing the connection: " + error.getMessage());
+                        disconnect(current, new SmppException(-1, "SMPP enquire_link not answered"));
+                    }
+                });
+    }
+
+    /**
+     * Close the connection and fail its requests, the next message binds a new one
+     */
+    private void disconnect(Connection lost, Exception failure) {
+        synchronized (this) {
+            if (connection == lost) {
+                connection = null;
+            }
+        }
+        lost.close();
+        pending.forEach((sequenceNumber, request) -> {
+            if (request.connection == lost) {
+                fail(sequenceNumber, failure);
+            }
+        });
+    }
+
+    private void handle(Connection source, SmppPdu pdu) throws IOException {
+        if (pdu.isResponse()) {
+            complete(pdu);
+            return;
+        }
+        switch (pdu.commandId) {
+            case SmppPdu.ENQUIRE_LINK:
+                source.write(SmppPdu.header(SmppPdu.ENQUIRE_LINK_RESP, SmppPdu.ESME_ROK, pdu.sequence));
+                break;
+            case SmppPdu.DELIVER_SM:
+                source.write(SmppPdu.emptyIdResponse(SmppPdu.DELIVER_SM_RESP, pdu.sequence));
+                deliver(pdu.body);
+                break;
+            case SmppPdu.UNBIND:
+                source.write(SmppPdu.header(SmppPdu.UNBIND_RESP, SmppPdu.ESME_ROK, pdu.sequence));
+                log.info("SMSC unbound the SMPP session");
+                disconnect(source, new SmppException(-1, "SMSC unbound the SMPP session"));
+                break;
+            default:
+                source.write(SmppPdu.header(SmppPdu.GENERIC_NACK, SmppPdu.ESME_RINVCMDID, pdu.sequence));
+        }
+    }
+
+    /**
+     * Read the delivery receipt of a deliver_sm and hand it to the listener
+     */
+    private void deliver(ByteBuffer body) {
+        SmppPdu.cString(body);                      // service_type
+        body.position(body.position() + 2);         // source_addr_ton, source_addr_npi
+        String recipient = SmppPdu.cString(body);   // source_addr: the handset which received the message
+        body.position(body.position() + 2);         // dest_addr_ton, dest_addr_npi
+        SmppPdu.cString(body);                      // destination_addr
+        byte esmClass = body.get();
+        body.position(body.position() + 2);         // protocol_id, priority_flag
+        SmppPdu.cString(body);                      // schedule_delivery_time
+        SmppPdu.cString(body);                      // validity_period
+        body.position(body.position() + 4);         // registered_delivery, replace_if_present, data_coding, sm_default_msg_id
+        byte[] shortMessage = new byte[body.get() & 0xFF];
+        body.get(shortMessage);
+
+        String messageId = null;
+        int state = -1;
+        while (body.remaining() >= 4) {
+            short tag = body.getShort();
+            int length = body.getShort() & 0xFFFF;
+            if (length > body.remaining()) {
+                break;
+            }
+            if (tag == SmppPdu.TAG_RECEIPTED_MESSAGE_ID) {
+                byte[] value = new byte[length];
+                body.get(value);
+                messageId = new String(value, StandardCharsets.ISO_8859_1).replace("\0", "");
+            } else if (tag == SmppPdu.TAG_MESSAGE_STATE && length == 1) {
+                state = body.get() & 0xFF;
+            } else {
+                body.position(body.position() + length);
+            }
+        }
+        // esm_class 0x04: SMSC delivery receipt, anything else is a mobile originated message
+        if ((esmClass & 0x3C) != 0x04) {
+            log.fine("SMPP mobile originated message from " + recipient + " ignored");
+            return;
+        }
+        SmppDeliveryReceipt receipt = SmppDeliveryReceipt.parse(recipient,
+                new String(shortMessage, StandardCharsets.ISO_8859_1), messageId, state);
+        try {
+            receiptListener.accept(receipt);
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Delivery receipt listener failed for " + receipt, e);
+        }
+    }
+
+    private int nextSequence() {
+        int next = sequence.incrementAndGet() & 0x7FFFFFFF;
+        return next == 0 ? nextSequence() : next;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+
+    /**
+     * Request waiting for its response
+     */
+    private static final class Pending {
+        private final CompletableFuture<SmppPdu> response = new CompletableFuture<>();
+        private final Connection connection;
+        private final boolean windowed;
+        private final long deadline;
+
+        private Pending(Connection connection, boolean windowed, long deadline) {
+            this.connection = connection;
+            this.windowed = windowed;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * TCP connection to the SMSC with its reader thread
+     */
+    private final class Connection {
+        private final Socket socket;
+        private final OutputStream out;
+        private final AtomicInteger writers = new AtomicInteger();
+        private volatile boolean open = true;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024);
+        }
+
+        private void start() {
+            Thread reader = new Thread(this::read, "notifier-smpp-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        /**
+         * Write one PDU, flushed by the last of the concurrent writers
+         */
+        private void write(byte[] pdu) throws IOException {
+            writers.incrementAndGet();
+            synchronized (out) {
+                try {
+                    out.write(pdu);
+                } finally {
+                    if (writers.decrementAndGet() == 0) {
+                        out.flush();
+                    }
+                }
+            }
+        }
+
+        private void read() {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024))) {
+                while (open) {
+                    int length = in.readInt();
+                    if (length < SmppPdu.HEADER_LENGTH || length > MAX_PDU_LENGTH) {
+                        throw new IOException("Invalid SMPP command length " + length);
+                    }
+                    byte[] frame = new byte[length - 4];
+                    in.readFully(frame);
+                    handle(this, SmppPdu.decode(frame));
+                }
+            } catch (EOFException e) {
+                if (open) {
+                    log.warning("SMSC closed the SMPP connection");
+                }
+            } catch (IOException | RuntimeException e) {
+                if (open) {
+                    log.log(Level.WARNING, "SMPP connection failed", e);
+                }
+            } finally {
+                disconnect(this, new SmppException(-1, "SMPP connection lost"));
+            }
+        }
+
+        private void close() {
+            open = false;
+            closeQuietly(socket);
+        }
+    }
+}
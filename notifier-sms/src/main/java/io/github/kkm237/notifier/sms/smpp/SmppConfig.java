@@ -0,0 +1,312 @@
+package io.github.kkm237.notifier.sms.smpp;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.utils.StringUtils;
+
+import java.util.Objects;
+
+/**
+ * @implNote SMPP 3.4 configuration of the {@link SmppNotifierImpl}
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class SmppConfig {
+    private final String host;
+    private final Integer port;
+    private final String systemId;
+    private final String password;
+    private final String systemType;
+    private final String sourceAddress;
+    private final Integer sourceTon;
+    private final Integer sourceNpi;
+    private final Integer destinationTon;
+    private final Integer destinationNpi;
+    private final Integer windowSize;
+    private final Long enquireLinkIntervalMillis;
+    private final Long connectTimeoutMillis;
+    private final Long responseTimeoutMillis;
+    private final Boolean registeredDelivery;
+    private final Boolean transliterate;
+    private final Integer maxSegments;
+    private final Boolean rejectAboveMaxSegments;
+
+    public String getHost() {
+        return host;
+    }
+
+    public Integer getPort() {
+        return port;
+    }
+
+    public String getSystemId() {
+        return systemId;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getSystemType() {
+        return systemType;
+    }
+
+    public String getSourceAddress() {
+        return sourceAddress;
+    }
+
+    public Integer getSourceTon() {
+        return sourceTon;
+    }
+
+    public Integer getSourceNpi() {
+        return sourceNpi;
+    }
+
+    public Integer getDestinationTon() {
+        return destinationTon;
+    }
+
+    public Integer getDestinationNpi() {
+        return destinationNpi;
+    }
+
+    public Integer getWindowSize() {
+        return windowSize;
+    }
+
+    public Long getEnquireLinkIntervalMillis() {
+        return enquireLinkIntervalMillis;
+    }
+
+    public Long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public Long getResponseTimeoutMillis() {
+        return responseTimeoutMillis;
+    }
+
+    public Boolean isRegisteredDelivery() {
+        return registeredDelivery;
+    }
+
+    public Boolean isTransliterate() {
+        return transliterate;
+    }
+
+    public Integer getMaxSegments() {
+        return maxSegments;
+    }
+
+    public Boolean isRejectAboveMaxSegments() {
+        return rejectAboveMaxSegments;
+    }
+
+    private SmppConfig(Builder builder) {
+        this.host = builder.host;
+        this.port = builder.port;
+        this.systemId = builder.systemId;
+        this.password = builder.password;
+        this.systemType = builder.systemType;
+        this.sourceAddress = builder.sourceAddress;
+        this.sourceTon = builder.sourceTon;
+        this.sourceNpi = builder.sourceNpi;
+        this.destinationTon = builder.destinationTon;
+        this.destinationNpi = builder.destinationNpi;
+        this.windowSize = builder.windowSize;
+        this.enquireLinkIntervalMillis = builder.enquireLinkIntervalMillis;
+        this.connectTimeoutMillis = builder.connectTimeoutMillis;
+        this.responseTimeoutMillis = builder.responseTimeoutMillis;
+        this.registeredDelivery = builder.registeredDelivery;
+        this.transliterate = builder.transliterate;
+        this.maxSegments = builder.maxSegments;
+        this.rejectAboveMaxSegments = builder.rejectAboveMaxSegments;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String host;
+        private Integer port = 2775;
+        private String systemId;
+        private String password;
+        private String systemType = "";
+        private String sourceAddress;
+        private Integer sourceTon = 1;
+        private Integer sourceNpi = 1;
+        private Integer destinationTon = 1;
+        private Integer destinationNpi = 1;
+        private Integer windowSize = 64;
+        private Long enquireLinkIntervalMillis = 30_000L;
+        private Long connectTimeoutMillis = 10_000L;
+        private Long responseTimeoutMillis = 30_000L;
+        private Boolean registeredDelivery = true;
+        private Boolean transliterate = false;
+        private Integer maxSegments = 0;
+        private Boolean rejectAboveMaxSegments = false;
+
+        private Builder() {}
+
+        public Builder host(String host) {
+            if (StringUtils.isNullOrEmpty(host)) throw new NotifierException("host is null or empty");
+            this.host = host;
+            return this;
+        }
+
+        /**
+         * TCP port of the SMSC
+         */
+        public Builder port(Integer port) {
+            if (port == null || port < 1) throw new NotifierException("port must be greater than 0");
+            this.port = port;
+            return this;
+        }
+
+        public Builder systemId(String systemId) {
+            if (StringUtils.isNullOrEmpty(systemId)) throw new NotifierException("systemId is null or empty");
+            this.systemId = systemId;
+            return this;
+        }
+
+        public Builder password(String password) {
+            if (StringUtils.isNullOrEmpty(password)) throw new NotifierException("password is null or empty");
+            this.password = password;
+            return this;
+        }
+
+        /**
+         * System type sent in the bind, empty unless the SMSC requires one
+         */
+        public Builder systemType(String systemType) {
+            this.systemType = Objects.requireNonNull(systemType, "systemType cannot be null");
+            return this;
+        }
+
+        /**
+         * Sender of the messages: a phone number, a short code or an alphanumeric sender id
+         */
+        public Builder sourceAddress(String sourceAddress) {
+            if (StringUtils.isNullOrEmpty(sourceAddress)) throw new NotifierException("sourceAddress is null or empty");
+            this.sourceAddress = sourceAddress;
+            return this;
+        }
+
+        /**
+         * Type of number of the sender: 1 international, 3 network specific, 5 alphanumeric
+         */
+        public Builder sourceTon(Integer sourceTon) {
+            if (sourceTon == null || sourceTon < 0 || sourceTon > 0xFF) throw new NotifierException("sourceTon must be between 0 and 255");
+            this.sourceTon = sourceTon;
+            return this;
+        }
+
+        /**
+         * Numbering plan of the sender: 0 unknown, 1 E.164
+         */
+        public Builder sourceNpi(Integer sourceNpi) {
+            if (sourceNpi == null || sourceNpi < 0 || sourceNpi > 0xFF) throw new NotifierException("sourceNpi must be between 0 and 255");
+            this.sourceNpi = sourceNpi;
+            return this;
+        }
+
+        /**
+         * Type of number of the recipients, 1 international for E.164 numbers
+         */
+        public Builder destinationTon(Integer destinationTon) {
+            if (destinationTon == null || destinationTon < 0 || destinationTon > 0xFF) throw new NotifierException("destinationTon must be between 0 and 255");
+            this.destinationTon = destinationTon;
+            return this;
+        }
+
+        /**
+         * Numbering plan of the recipients, 1 for E.164 numbers
+         */
+        public Builder destinationNpi(Integer destinationNpi) {
+            if (destinationNpi == null || destinationNpi < 0 || destinationNpi > 0xFF) throw new NotifierException("destinationNpi must be between 0 and 255");
+            this.destinationNpi = destinationNpi;
+            return this;
+        }
+
+        /**
+         * Maximum number of submit_sm waiting for their response on the connection
+         */
+        public Builder windowSize(Integer windowSize) {
+            if (windowSize == null || windowSize < 1) throw new NotifierException("windowSize must be greater than 0");
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Interval of the enquire_link keeping the connection alive, 0 to disable
+         */
+        public Builder enquireLinkIntervalMillis(Long enquireLinkIntervalMillis) {
+            if (enquireLinkIntervalMillis == null || enquireLinkIntervalMillis < 0) throw new NotifierException("enquireLinkIntervalMillis cannot be null or negative");
+            this.enquireLinkIntervalMillis = enquireLinkIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Timeout of the TCP connection and of the bind
+         */
+        public Builder connectTimeoutMillis(Long connectTimeoutMillis) {
+            if (connectTimeoutMillis == null || connectTimeoutMillis < 0) throw new NotifierException("connectTimeoutMillis cannot be null or negative");
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Timeout waiting for a submit_sm_resp, and for a free slot of the window
+         */
+        public Builder responseTimeoutMillis(Long responseTimeoutMillis) {
+            if (responseTimeoutMillis == null || responseTimeoutMillis < 0) throw new NotifierException("responseTimeoutMillis cannot be null or negative");
+            this.responseTimeoutMillis = responseTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Request a delivery receipt for each message
+         */
+        public Builder registeredDelivery(Boolean registeredDelivery) {
+            this.registeredDelivery = Objects.requireNonNull(registeredDelivery, "registeredDelivery cannot be null");
+            return this;
+        }
+
+        /**
+         * Replace the characters outside of the GSM-7 alphabet which have a GSM-7 equivalent
+         */
+        public Builder transliterate(Boolean transliterate) {
+            this.transliterate = Objects.requireNonNull(transliterate, "transliterate cannot be null");
+            return this;
+        }
+
+        /**
+         * Segment budget of one SMS, 0 for no budget
+         */
+        public Builder maxSegments(Integer maxSegments) {
+            if (maxSegments == null || maxSegments < 0) throw new NotifierException("maxSegments cannot be null or negative");
+            this.maxSegments = maxSegments;
+            return this;
+        }
+
+        /**
+         * Reject an SMS above the segment budget instead of logging a warning
+         */
+        public Builder rejectAboveMaxSegments(Boolean rejectAboveMaxSegments) {
+            this.rejectAboveMaxSegments = Objects.requireNonNull(rejectAboveMaxSegments, "rejectAboveMaxSegments cannot be null");
+            return this;
+        }
+
+        public SmppConfig build() {
+            if (StringUtils.isNullOrEmpty(host)) throw new NotifierException("host is null or empty");
+            if (StringUtils.isNullOrEmpty(systemId)) throw new NotifierException("systemId is null or empty");
+            if (StringUtils.isNullOrEmpty(password)) throw new NotifierException("password is null or empty");
+            if (StringUtils.isNullOrEmpty(sourceAddress)) throw new NotifierException("sourceAddress is null or empty");
+            if (systemId.length() > 15) throw new NotifierException("systemId cannot be longer than 15 characters");
+            if (password.length() > 8) throw new NotifierException("password cannot be longer than 8 characters");
+            return new SmppConfig(this);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.kkm237.notifier.sms.smpp;
+
+/**
+ * @implNote Delivery receipt of a message, received from the SMSC in a deliver_sm
+ * <p>The message id and state are read from the receipted_message_id and message_state TLVs when present, from the
+ * text of the receipt otherwise: {@code id:IIII sub:001 dlvrd:001 submit date:... done date:... stat:DELIVRD err:000}.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class SmppDeliveryReceipt {
+
+    private static final String[] MESSAGE_STATES = {
+            null, "ENROUTE", "DELIVRD", "EXPIRED", "DELETED", "UNDELIV", "ACCEPTD", "UNKNOWN", "REJECTD"
+    };
+
+    private final String messageId;
+    private final String recipient;
+    private final String state;
+    private final String error;
+    private final String text;
+
+    SmppDeliveryReceipt(String messageId, String recipient, String state, String error, String text) {
+        this.messageId = messageId;
+        this.recipient = recipient;
+        this.state = state;
+        this.error = error;
+        this.text = text;
+    }
+
+    /**
+     * @return the id given by the SMSC in the submit_sm_resp of the message
+     */
+    public String getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * @return the recipient of the message, as sent to the SMSC
+     */
+    public String getRecipient() {
+        return recipient;
+    }
+
+    /**
+     * @return the state of the message: DELIVRD, UNDELIV, EXPIRED, REJECTD, ...
+     */
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * @return the network error code, null when unknown
+     */
+    public String getError() {
+        return error;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isDelivered() {
+        return "DELIVRD".equals(state);
+    }
+
+    /**
+     * @param messageId receipted_message_id TLV, null when absent
+     * @param state     message_state TLV, -1 when absent
+     */
+    static SmppDeliveryReceipt parse(String recipient, String text, String messageId, int state) {
+        return new SmppDeliveryReceipt(
+                messageId != null ? messageId : field(text, "id:"),
+                recipient,
+                state > 0 && state < MESSAGE_STATES.length ? MESSAGE_STATES[state] : field(text, "stat:"),
+                field(text, "err:"),
+                text);
+    }
+
+    /**
+     * Value following the key in the text of the receipt, up to the next space
+     */
+    private static String field(String text, String key) {
+        int start = text.indexOf(key);
+        while (start > 0 && text.charAt(start - 1) != ' ') {
+            start = text.indexOf(key, start + 1);
+        }
+        if (start < 0) {
+            return null;
+        }
+        start += key.length();
+        int end = text.indexOf(' ', start);
+        return text.substring(start, end < 0 ? text.length() : end);
+    }
+
+    @Override
+    public String toString() {
+        return "SmppDeliveryReceipt{" +
+                "messageId='" + messageId + '\'' +
+                ", recipient='" + recipient + '\'' +
+                ", state='" + state + '\'' +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
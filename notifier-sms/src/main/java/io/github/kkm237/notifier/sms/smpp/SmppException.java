@@ -0,0 +1,34 @@
+package io.github.kkm237.notifier.sms.smpp;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+
+/**
+ * @implNote PDU refused by the SMSC, or SMPP connection failure
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public class SmppException extends NotifierSendFailedException {
+
+    private final int commandStatus;
+
+    /**
+     * @param commandStatus command status of the response, -1 when the SMSC did not respond
+     */
+    public SmppException(int commandStatus, String message) {
+        super(message);
+        this.commandStatus = commandStatus;
+    }
+
+    public SmppException(int commandStatus, String message, Throwable cause) {
+        super(message, cause);
+        this.commandStatus = commandStatus;
+    }
+
+    /**
+     * @return the command status of the response, -1 when the SMSC did not respond
+     */
+    public int getCommandStatus() {
+        return commandStatus;
+    }
+}
@@ -0,0 +1,269 @@
+package io.github.kkm237.notifier.sms.smpp;
+
+import io.github.kkm237.notifier.core.delivery.DeliveryState;
+import io.github.kkm237.notifier.core.delivery.DeliveryStatusStore;
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+import io.github.kkm237.notifier.core.model.Notifier;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.RecipientResult;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.core.utils.Futures;
+import io.github.kkm237.notifier.sms.EncodedSms;
+import io.github.kkm237.notifier.sms.SmsEncoder;
+import io.github.kkm237.notifier.sms.SmsEncoding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Send sms notification over SMPP 3.4 {@link io.github.kkm237.notifier.sms.smpp.SmppConfig}, an alternative
+ * to the Twilio {@link io.github.kkm237.notifier.sms.SmsNotifierImpl} for bulk SMS
+ * <p>The messages of a payload are pipelined on one persistent transceiver session, up to {@code windowSize}
+ * messages waiting for their response, instead of one HTTP request per message.</p>
+ * <p>Each body goes through the {@link SmsEncoder}: GSM-7 bodies are sent in the SMSC default alphabet, the other
+ * ones in UCS-2, and a body longer than one segment is split into concatenated segments with a user data header.
+ * The delivery receipts of the SMSC are handed to the listener of {@link #onDeliveryReceipt(Consumer)}.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ * @see io.github.kkm237.notifier.core.model.NotifierPayload
+ */
+public class SmppNotifierImpl implements Notifier, AutoCloseable {
+
+    private static final int UDH_LENGTH = 6;
+
+    Logger log = Logger.getLogger(SmppNotifierImpl.class.getName());
+    private final SmppClient client;
+    private final SmsEncoder encoder;
+    private final AtomicInteger reference = new AtomicInteger();
+    private volatile Consumer<SmppDeliveryReceipt> receiptListener = receipt -> { };
+    private volatile DeliveryStatusStore deliveries;
+
+    public SmppNotifierImpl(SmppConfig config) {
+        this.client = new SmppClient(config);
+        this.encoder = new SmsEncoder(config.isTransliterate(), config.getMaxSegments(), config.isRejectAboveMaxSegments());
+        this.client.onDeliveryReceipt(this::receive);
+    }
+
+    @Override
+    public void send(NotifierPayload payload) {
+        if (payload.getRecipients().isEmpty()) {
+            throw new NotifierSendFailedException( "Failed to send SMS: missing or invalid recipient");
+        }
+        throwIfFailed(sendWithReport(payload));
+    }
+
+    /**
+     * Send the body rendered for each recipient, reusing one buffer for the rendering
+     */
+    @Override
+    public void send(TemplatePayload payload) {
+        throwIfFailed(sendWithReport(payload));
+    }
+
+    /**
+     * Send the payload and report each recipient, a failed recipient is reported without exception
+     */
+    @Override
+    public SendReport sendWithReport(NotifierPayload payload) {
+        Map<String, EncodedSms> bodies = new LinkedHashMap<>();
+        Map<String, RecipientResult> results = new LinkedHashMap<>();
+        try {
+            EncodedSms body = encoder.encode(payload.getBody());
+            for (String recipient : payload.getRecipients()) {
+                bodies.put(recipient, body);
+            }
+        } catch (NotifierSendFailedException e) {
+            for (String recipient : payload.getRecipients()) {
+                results.put(recipient, RecipientResult.failed(recipient, e, 0));
+            }
+        }
+        return dispatch(payload.getRecipients(), bodies, results);
+    }
+
+    /**
+     * Send the body rendered for each recipient and report each recipient, reusing one buffer for the rendering
+     */
+    @Override
+    public SendReport sendWithReport(TemplatePayload payload) {
+        Map<String, EncodedSms> bodies = new LinkedHashMap<>();
+        Map<String, RecipientResult> results = new LinkedHashMap<>();
+        StringBuilder buffer = new StringBuilder(160);
+        for (String recipient : payload.getRecipients()) {
+            try {
+                bodies.put(recipient, encoder.encode(payload.renderBody(recipient, buffer)));
+            } catch (RuntimeException e) {
+                results.put(recipient, RecipientResult.failed(recipient, e, 0));
+            }
+        }
+        return dispatch(payload.getRecipients(), bodies, results);
+    }
+
+    /**
+     * Listener of the delivery receipts sent by the SMSC, called on the reader thread of the session
+     */
+    public void onDeliveryReceipt(Consumer<SmppDeliveryReceipt> listener) {
+        this.receiptListener = listener;
+    }
+
+    /**
+     * Track each accepted message in the store, whose delivery receipts then give its final state
+     */
+    public void trackDeliveries(DeliveryStatusStore deliveries) {
+        this.deliveries = deliveries;
+    }
+
+    /**
+     * Unbind the session and close its connection
+     */
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    @Override
+    public boolean supports(NotifierPayload.Channel channel) {
+        return NotifierPayload.Channel.SMS.equals(channel);
+    }
+
+    @Override
+    public NotifierPayload.Channel getChannel() {
+        return NotifierPayload.Channel.SMS;
+    }
+
+    /**
+     * Submit the message of every recipient without waiting for the responses, then wait for all of them
+     *
+     * @param recipients recipients of the payload, giving the order of the report
+     * @param bodies     body of each recipient to send
+     * @param results    results already known, completed with the sent recipients
+     */
+    private SendReport dispatch(List<String> recipients, Map<String, EncodedSms> bodies, Map<String, RecipientResult> results) {
+        List<CompletableFuture<RecipientResult>> pending = new ArrayList<>(bodies.size());
+        bodies.forEach((recipient, body) -> pending.add(sendOne(recipient, body)));
+        for (RecipientResult result : Futures.awaitAll(pending, "the SMPP responses")) {
+            results.put(result.getRecipient(), result);
+        }
+
+        List<RecipientResult> ordered = new ArrayList<>(recipients.size());
+        for (String recipient : recipients) {
+            ordered.add(results.get(recipient));
+        }
+        return new SendReport(NotifierPayload.Channel.SMS, ordered);
+    }
+
+    private void receive(SmppDeliveryReceipt receipt) {
+        DeliveryStatusStore store = deliveries;
+        if (store != null && receipt.getMessageId() != null) {
+            store.ingest(receipt.getMessageId(), receipt.getState(), receipt.getError());
+        }
+        receiptListener.accept(receipt);
+    }
+
+    /**
+     * Throw the failure of a single recipient as is, or the failures of many recipients at once
+     */
+    private static void throwIfFailed(SendReport report) {
+        if (report.getResults().size() == 1 && !report.isSuccess()) {
+            RecipientResult failure = report.getResults().get(0);
+            if (failure.getError() instanceof NotifierRateLimitedException) {
+                throw (NotifierRateLimitedException) failure.getError();
+            }
+            throw new NotifierSendFailedException( "Failed to send SMS: " + failure.getErrorMessage(), failure.getError());
+        }
+        report.throwIfFailed("SMS");
+    }
+
+    /**
+     * Submit the segments of one message
+     *
+     * @return the result of the recipient, sent with the message id of the first segment once every segment is
+     * accepted by the SMSC
+     */
+    private CompletableFuture<RecipientResult> sendOne(String recipient, EncodedSms body) {
+        long start = System.nanoTime();
+        String destination = recipient.startsWith("+") ? recipient.substring(1) : recipient;
+        CompletableFuture<String> messageId;
+        try {
+            messageId = submit(destination, body);
+        } catch (RuntimeException e) {
+            messageId = CompletableFuture.failedFuture(e);
+        }
+        return messageId.handle((id, error) -> {
+            if (error == null) {
+                log.fine("SMS submitted over SMPP. Message id: " + id + " Segments: " + body.getSegments() + " " + body.getEncoding());
+                DeliveryStatusStore store = deliveries;
+                if (store != null) {
+                    store.track(NotifierPayload.Channel.SMS, id, recipient, DeliveryState.SENT);
+                }
+                return RecipientResult.sent(recipient, id, System.nanoTime() - start);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            return RecipientResult.failed(recipient, cause instanceof Exception ? (Exception) cause
+                    : new NotifierSendFailedException(cause.toString(), cause), System.nanoTime() - start);
+        });
+    }
+
+    private CompletableFuture<String> submit(String destination, EncodedSms body) {
+        boolean gsm7 = body.getEncoding() == SmsEncoding.GSM_7;
+        byte dataCoding = gsm7 ? SmppPdu.DATA_CODING_DEFAULT : SmppPdu.DATA_CODING_UCS2;
+        byte[] text = gsm7 ? SmsEncoder.toGsm7(body.getBody()) : body.getBody().getBytes(StandardCharsets.UTF_16BE);
+        if (body.getSegments() == 1) {
+            return client.submit(destination, false, dataCoding, text);
+        }
+
+        List<byte[]> segments = split(text, gsm7);
+        byte ref = (byte) reference.incrementAndGet();
+        List<CompletableFuture<String>> parts = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            byte[] segment = segments.get(i);
+            byte[] shortMessage = new byte[UDH_LENGTH + segment.length];
+            // concatenated short message, 8 bit reference: IEI 0x00, length 3, reference, total, sequence
+            shortMessage[0] = 0x05;
+            shortMessage[1] = 0x00;
+            shortMessage[2] = 0x03;
+            shortMessage[3] = ref;
+            shortMessage[4] = (byte) segments.size();
+            shortMessage[5] = (byte) (i + 1);
+            System.arraycopy(segment, 0, shortMessage, UDH_LENGTH, segment.length);
+            parts.add(client.submit(destination, true, dataCoding, shortMessage));
+        }
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).thenApply(done -> parts.get(0).join());
+    }
+
+    /**
+     * Split a body into the segments of a concatenated message, never splitting an escaped GSM-7 character nor a
+     * UTF-16 surrogate pair
+     *
+     * @param text body as GSM-7 septets, one per byte, or as UTF-16BE
+     */
+    static List<byte[]> split(byte[] text, boolean gsm7) {
+        int capacity = gsm7 ? SmsEncoding.GSM_7.getConcatenatedSegmentUnits() : SmsEncoding.UCS_2.getConcatenatedSegmentUnits() * 2;
+        List<byte[]> segments = new ArrayList<>();
+        int start = 0;
+        while (start < text.length) {
+            int end = Math.min(start + capacity, text.length);
+            if (end < text.length) {
+                if (gsm7 && text[end - 1] == 0x1B) {
+                    end--;
+                } else if (!gsm7 && Character.isHighSurrogate((char) (((text[end - 2] & 0xFF) << 8) | (text[end - 1] & 0xFF)))) {
+                    end -= 2;
+                }
+            }
+            segments.add(Arrays.copyOfRange(text, start, end));
+            start = end;
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.kkm237.notifier.sms.smpp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * @implNote SMPP 3.4 PDU: a 16 bytes header (length, command id, command status, sequence number) followed by the
+ * body, big endian.
+ * <p>Only the PDUs of a transceiver ESME are encoded: bind_transceiver, submit_sm, enquire_link, unbind and the
+ * responses to the requests of the SMSC.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class SmppPdu {
+
+    static final int HEADER_LENGTH = 16;
+
+    static final int GENERIC_NACK = 0x80000000;
+    static final int BIND_TRANSCEIVER = 0x00000009;
+    static final int BIND_TRANSCEIVER_RESP = 0x80000009;
+    static final int SUBMIT_SM = 0x00000004;
+    static final int SUBMIT_SM_RESP = 0x80000004;
+    static final int DELIVER_SM = 0x00000005;
+    static final int DELIVER_SM_RESP = 0x80000005;
+    static final int UNBIND = 0x00000006;
+    static final int UNBIND_RESP = 0x80000006;
+    static final int ENQUIRE_LINK = 0x00000015;
+    static final int ENQUIRE_LINK_RESP = 0x80000015;
+
+    static final int ESME_ROK = 0x00000000;
+    static final int ESME_RMSGQFUL = 0x00000014;
+    static final int ESME_RINVCMDID = 0x00000003;
+    static final int ESME_RTHROTTLED = 0x00000058;
+
+    static final byte INTERFACE_VERSION = 0x34;
+    static final byte DATA_CODING_DEFAULT = 0x00;
+    static final byte DATA_CODING_UCS2 = 0x08;
+    /**
+     * esm_class of a short_message starting with a user data header
+     */
+    static final byte ESM_CLASS_UDHI = 0x40;
+    static final short TAG_RECEIPTED_MESSAGE_ID = 0x001E;
+    static final short TAG_MESSAGE_STATE = 0x0427;
+
+    final int commandId;
+    final int status;
+    final int sequence;
+    /**
+     * body of the PDU, positioned at its start
+     */
+    final ByteBuffer body;
+
+    SmppPdu(int commandId, int status, int sequence, ByteBuffer body) {
+        this.commandId = commandId;
+        this.status = status;
+        this.sequence = sequence;
+        this.body = body;
+    }
+
+    boolean isResponse() {
+        return (commandId & GENERIC_NACK) != 0;
+    }
+
+    /**
+     * Decode a PDU read after its length
+     *
+     * @param frame the PDU without its first 4 bytes
+     */
+    static SmppPdu decode(byte[] frame) {
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        int commandId = buffer.getInt();
+        int status = buffer.getInt();
+        int sequence = buffer.getInt();
+        return new SmppPdu(commandId, status, sequence, buffer.slice());
+    }
+
+    static byte[] header(int commandId, int status, int sequence) {
+        return new Writer(0).pdu(commandId, status, sequence);
+    }
+
+    static byte[] bindTransceiver(int sequence, String systemId, String password, String systemType, int ton, int npi) {
+        return new Writer(64)
+                .cString(systemId)
+                .cString(password)
+                .cString(systemType)
+                .octet(INTERFACE_VERSION)
+                .octet(ton)
+                .octet(npi)
+                .cString("")
+                .pdu(BIND_TRANSCEIVER, ESME_ROK, sequence);
+    }
+
+    /**
+     * @param udhi         true when the short message starts with a user data header
+     * @param shortMessage at most 254 bytes
+     */
+    static byte[] submitSm(int sequence, SmppConfig config, String destination, boolean udhi, byte dataCoding,
+                           byte[] shortMessage) {
+        return new Writer(64 + shortMessage.length)
+                .cString("")
+                .octet(config.getSourceTon())
+                .octet(config.getSourceNpi())
+                .cString(config.getSourceAddress())
+                .octet(config.getDestinationTon())
+                .octet(config.getDestinationNpi())
+                .cString(destination)
+                .octet(udhi ? ESM_CLASS_UDHI : 0)
+                .octet(0)
+                .octet(0)
+                .cString("")
+                .cString("")
+                .octet(config.isRegisteredDelivery() ? 1 : 0)
+                .octet(0)
+                .octet(dataCoding)
+                .octet(0)
+                .octet(shortMessage.length)
+                .bytes(shortMessage)
+                .pdu(SUBMIT_SM, ESME_ROK, sequence);
+    }
+
+    /**
+     * Response with an empty message id, as sent for deliver_sm
+     */
+    static byte[] emptyIdResponse(int commandId, int sequence) {
+        return new Writer(1).cString("").pdu(commandId, ESME_ROK, sequence);
+    }
+
+    /**
+     * Read a C-Octet string, a null terminated ASCII string
+     */
+    static String cString(ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = start;
+        while (end < buffer.limit() && buffer.get(end) != 0) {
+            end++;
+        }
+        byte[] value = new byte[end - start];
+        buffer.get(value);
+        if (buffer.hasRemaining()) {
+            buffer.get();
+        }
+        return new String(value, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Growable buffer of a PDU body
+     */
+    private static final class Writer {
+        private byte[] bytes;
+        private int length;
+
+        private Writer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private Writer octet(int value) {
+            ensure(1);
+            bytes[length++] = (byte) value;
+            return this;
+        }
+
+        private Writer cString(String value) {
+            return bytes(value.getBytes(StandardCharsets.ISO_8859_1)).octet(0);
+        }
+
+        private Writer bytes(byte[] value) {
+            ensure(value.length);
+            System.arraycopy(value, 0, bytes, length, value.length);
+            length += value.length;
+            return this;
+        }
+
+        private byte[] pdu(int commandId, int status, int sequence) {
+            ByteBuffer pdu = ByteBuffer.allocate(HEADER_LENGTH + length);
+            pdu.putInt(HEADER_LENGTH + length).putInt(commandId).putInt(status).putInt(sequence).put(bytes, 0, length);
+            return pdu.array();
+        }
+
+        private void ensure(int size) {
+            if (length + size > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + size));
+            }
+        }
+    }
+}
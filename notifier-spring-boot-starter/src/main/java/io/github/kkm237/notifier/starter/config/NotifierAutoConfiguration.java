@@ -1,12 +1,29 @@
 package io.github.kkm237.notifier.starter.config;
 
+import io.github.kkm237.notifier.core.circuit.CircuitBreaker;
+import io.github.kkm237.notifier.core.delivery.DeliveryStatusStore;
 import io.github.kkm237.notifier.core.model.Notifier;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.outbox.OutboxLog;
+import io.github.kkm237.notifier.core.retry.DefaultRetryClassifier;
+import io.github.kkm237.notifier.core.retry.HashedTimingWheel;
+import io.github.kkm237.notifier.core.retry.RetryClassifier;
+import io.github.kkm237.notifier.core.retry.RetryEngine;
+import io.github.kkm237.notifier.core.retry.RetryPolicy;
 import io.github.kkm237.notifier.email.EmailConfig;
 import io.github.kkm237.notifier.email.EmailNotifierImpl;
+import io.github.kkm237.notifier.email.NioSmtpNotifierImpl;
+import io.github.kkm237.notifier.email.SmtpRelay;
+import io.github.kkm237.notifier.email.SmtpRetryClassifier;
 import io.github.kkm237.notifier.sms.SmsConfig;
 import io.github.kkm237.notifier.sms.SmsNotifierImpl;
+import io.github.kkm237.notifier.sms.smpp.SmppConfig;
+import io.github.kkm237.notifier.sms.smpp.SmppNotifierImpl;
+import io.github.kkm237.notifier.starter.service.NotifierExecutors;
 import io.github.kkm237.notifier.starter.service.NotifierService;
 import io.github.kkm237.notifier.starter.service.NotifierServiceImpl;
+import io.github.kkm237.notifier.starter.service.OutboxNotifierService;
+import io.github.kkm237.notifier.starter.service.PriorityScheduler;
 import io.github.kkm237.notifier.whatsapp.WhatsAppConfig;
 import io.github.kkm237.notifier.whatsapp.WhatsAppNotifierImpl;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -15,7 +32,12 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 
 /**
@@ -26,6 +48,7 @@ import java.util.List;
  * @version 1.0.0
  * @see io.github.kkm237.notifier.email.EmailConfig
  * @see io.github.kkm237.notifier.sms.SmsConfig
+ * @see io.github.kkm237.notifier.sms.smpp.SmppConfig
  * @see io.github.kkm237.notifier.whatsapp.WhatsAppConfig
  */
 @Configuration
@@ -38,51 +61,218 @@ public class NotifierAutoConfiguration {
     public Notifier emailNotifierImpl(NotifierProperties properties) {
         NotifierProperties.Email props = properties.getEmail();
 
-        EmailConfig config = EmailConfig.builder()
+        EmailConfig.Builder builder = EmailConfig.builder()
                 .host(props.getHost())
                 .port(props.getPort())
-                .username(props.getUsername())
-                .password(props.getPassword())
                 .fromEmail(props.getFrom())
                 .startTlsEnabled(props.isStartTlsEnabled())
                 .sslEnabled(props.getSslEnabled())
                 .authEnabled(props.isAuthEnabled())
                 .debug(props.getDebug())
-                .build();
+                .poolMaxSize(props.getPoolMaxSize())
+                .poolIdleTimeoutMillis(props.getPoolIdleTimeoutMillis())
+                .poolMaxMessagesPerConnection(props.getPoolMaxMessagesPerConnection())
+                .poolBorrowTimeoutMillis(props.getPoolBorrowTimeoutMillis())
+                .smtpTimeoutMillis(props.getSmtpTimeoutMillis())
+                .attachmentCacheMaxBytes(props.getAttachmentCacheMaxBytes())
+                .relayEjectionMillis(props.getRelayEjectionMillis())
+                .relayMaxErrorRate(props.getRelayMaxErrorRate())
+                .nioIoThreads(props.getNioIoThreads())
+                .nioMaxSessions(props.getNioMaxSessions())
+                .warmUpConnections(props.getWarmUpConnections());
+
+        // username and password are optional when relays are configured
+        if (props.getUsername() != null) {
+            builder.username(props.getUsername());
+        }
+        if (props.getPassword() != null) {
+            builder.password(props.getPassword());
+        }
+
+        for (NotifierProperties.Relay relay : props.getRelays()) {
+            builder.addRelay(SmtpRelay.builder()
+                    .host(relay.getHost())
+                    .port(relay.getPort())
+                    .username(relay.getUsername())
+                    .password(relay.getPassword())
+                    .weight(relay.getWeight())
+                    .maxConnections(relay.getMaxConnections())
+                    .build());
+        }
+
+        if (props.getAttachmentCacheSpillDirectory() != null) {
+            builder.attachmentCacheSpillDirectory(props.getAttachmentCacheSpillDirectory());
+        }
 
-        return new EmailNotifierImpl(config);
+        if ("nio".equalsIgnoreCase(props.getEngine())) {
+            return new NioSmtpNotifierImpl(builder.build());
+        }
+        return new EmailNotifierImpl(builder.build());
     }
 
     @Bean
     @ConditionalOnProperty(prefix = "notifier.sms", name = "enabled", havingValue = "true")
-    public Notifier smsNotifierImpl(NotifierProperties properties) {
+    public Notifier smsNotifierImpl(NotifierProperties properties, DeliveryStatusStore deliveryStatusStore) {
         NotifierProperties.Sms sms = properties.getSms();
 
-        SmsConfig config = SmsConfig.builder()
+        if ("smpp".equalsIgnoreCase(sms.getEngine())) {
+            NotifierProperties.Smpp smpp = sms.getSmpp();
+            SmppNotifierImpl smppNotifier = new SmppNotifierImpl(SmppConfig.builder()
+                    .host(smpp.getHost())
+                    .port(smpp.getPort())
+                    .systemId(smpp.getSystemId())
+                    .password(smpp.getPassword())
+                    .systemType(smpp.getSystemType())
+                    .sourceAddress(sms.getFromPhone())
+                    .sourceTon(smpp.getSourceTon())
+                    .sourceNpi(smpp.getSourceNpi())
+                    .windowSize(smpp.getWindowSize())
+                    .enquireLinkIntervalMillis(smpp.getEnquireLinkIntervalMillis())
+                    .connectTimeoutMillis(smpp.getConnectTimeoutMillis())
+                    .responseTimeoutMillis(smpp.getResponseTimeoutMillis())
+                    .registeredDelivery(smpp.isRegisteredDelivery())
+                    .transliterate(sms.isTransliterate())
+                    .maxSegments(sms.getMaxSegments())
+                    .rejectAboveMaxSegments(sms.isRejectAboveMaxSegments())
+                    .build());
+            smppNotifier.trackDeliveries(deliveryStatusStore);
+            return smppNotifier;
+        }
+
+        SmsConfig.Builder builder = SmsConfig.builder()
                 .accountSid(sms.getAccountSid())
                 .authToken(sms.getAuthToken())
                 .fromPhone(sms.getFromPhone())
-                .build();
+                .addFromPhones(sms.getAdditionalFromPhones())
+                .senderSelection(sms.getSenderSelection())
+                .senderEjectionMillis(sms.getSenderEjectionMillis())
+                .parallelism(sms.getParallelism())
+                .httpMaxConnections(sms.getHttpMaxConnections())
+                .httpMaxConnectionsPerRoute(sms.getHttpMaxConnectionsPerRoute())
+                .httpKeepAliveMillis(sms.getHttpKeepAliveMillis())
+                .httpConnectTimeoutMillis(sms.getHttpConnectTimeoutMillis())
+                .httpReadTimeoutMillis(sms.getHttpReadTimeoutMillis())
+                .rateLimitPerSecond(sms.getRateLimitPerSecond())
+                .rateLimitBurst(sms.getRateLimitBurst())
+                .rateLimitMaxWaitMillis(sms.getRateLimitMaxWaitMillis())
+                .transliterate(sms.isTransliterate())
+                .maxSegments(sms.getMaxSegments())
+                .rejectAboveMaxSegments(sms.isRejectAboveMaxSegments())
+                .provider(sms.getProvider())
+                .apiBaseUrl(sms.getApiBaseUrl());
+        if (properties.getCircuitBreaker().isEnabled()) {
+            builder.circuitBreaker(circuitBreaker(properties.getCircuitBreaker(), "sms:" + sms.getApiBaseUrl()));
+        }
 
-        return new SmsNotifierImpl(config);
+        SmsNotifierImpl smsNotifier = new SmsNotifierImpl(builder.build());
+        smsNotifier.trackDeliveries(deliveryStatusStore);
+        return smsNotifier;
     }
 
     @Bean
     @ConditionalOnProperty(prefix = "notifier.whatsapp", name = "enabled", havingValue = "true")
-    public Notifier whatsappNotifierImpl(NotifierProperties properties) {
+    public Notifier whatsappNotifierImpl(NotifierProperties properties, DeliveryStatusStore deliveryStatusStore) {
         NotifierProperties.WhatsApp whatsapp = properties.getWhatsapp();
 
-        WhatsAppConfig config = WhatsAppConfig.builder()
+        WhatsAppConfig.Builder builder = WhatsAppConfig.builder()
                 .accountSid(whatsapp.getAccountSid())
                 .authToken(whatsapp.getAuthToken())
                 .fromPhone(whatsapp.getFromPhone())
-                .build();
+                .addFromPhones(whatsapp.getAdditionalFromPhones())
+                .senderSelection(whatsapp.getSenderSelection())
+                .senderEjectionMillis(whatsapp.getSenderEjectionMillis())
+                .httpMaxConnections(whatsapp.getHttpMaxConnections())
+                .httpMaxConnectionsPerRoute(whatsapp.getHttpMaxConnectionsPerRoute())
+                .httpKeepAliveMillis(whatsapp.getHttpKeepAliveMillis())
+                .httpConnectTimeoutMillis(whatsapp.getHttpConnectTimeoutMillis())
+                .httpReadTimeoutMillis(whatsapp.getHttpReadTimeoutMillis())
+                .rateLimitPerSecond(whatsapp.getRateLimitPerSecond())
+                .rateLimitBurst(whatsapp.getRateLimitBurst())
+                .rateLimitMaxWaitMillis(whatsapp.getRateLimitMaxWaitMillis())
+                .provider(whatsapp.getProvider())
+                .apiBaseUrl(whatsapp.getApiBaseUrl());
+        if (properties.getCircuitBreaker().isEnabled()) {
+            builder.circuitBreaker(circuitBreaker(properties.getCircuitBreaker(), "whatsapp:" + whatsapp.getApiBaseUrl()));
+        }
+
+        WhatsAppNotifierImpl whatsappNotifier = new WhatsAppNotifierImpl(builder.build());
+        whatsappNotifier.trackDeliveries(deliveryStatusStore);
+        return whatsappNotifier;
+    }
 
-        return new WhatsAppNotifierImpl(config);
+    /**
+     * Delivery states of the SMS and WhatsApp messages, fed by the status callbacks given to
+     * {@link DeliveryStatusStore#ingestTwilioCallback} and by the SMPP delivery receipts
+     */
+    @Bean
+    public DeliveryStatusStore deliveryStatusStore(NotifierProperties properties) {
+        NotifierProperties.Delivery delivery = properties.getDelivery();
+        return new DeliveryStatusStore(delivery.getMaxEntries(), delivery.getExpireAfterMillis());
     }
 
+    /**
+     * The sends are queued in one lane per priority and run on virtual threads when available, otherwise on a
+     * bounded pool of platform threads. With the outbox enabled, send returns once the payload is durable in the
+     * outbox log. Each channel has its circuit breaker, refusing its sends while its provider is failing.
+     */
     @Bean
-    public NotifierService notifierService(List<Notifier> notifiers) {
-        return new NotifierServiceImpl(notifiers);
+    public NotifierService notifierService(List<Notifier> notifiers, NotifierProperties properties) {
+        NotifierProperties.Async async = properties.getAsync();
+        NotifierProperties.Dispatch dispatch = properties.getDispatch();
+        ExecutorService executor = NotifierExecutors.create(async.getExecutor(), async.getPlatformThreads(), async.getQueueCapacity());
+        PriorityScheduler scheduler = PriorityScheduler.builder()
+                .concurrency(dispatch.getConcurrency())
+                .reservedHighSlots(dispatch.getReservedHighSlots())
+                .weights(dispatch.getHighWeight(), dispatch.getNormalWeight(), dispatch.getLowWeight())
+                .maxWaitMillis(dispatch.getMaxWaitMillis())
+                .laneCapacity(dispatch.getLaneCapacity())
+                .build(executor);
+        Map<NotifierPayload.Channel, CircuitBreaker> circuitBreakers = new EnumMap<>(NotifierPayload.Channel.class);
+        if (properties.getCircuitBreaker().isEnabled()) {
+            for (Notifier notifier : notifiers) {
+                circuitBreakers.put(notifier.getChannel(), circuitBreaker(properties.getCircuitBreaker(), notifier.getChannel().name()));
+            }
+        }
+        // the circuit breakers record the transient failures even when the sends are not retried
+        RetryClassifier classifier = RetryClassifier.firstOf(new SmtpRetryClassifier(), new DefaultRetryClassifier());
+        NotifierServiceImpl notifierService = new NotifierServiceImpl(notifiers, scheduler, retryEngine(properties.getRetry(), classifier),
+                circuitBreakers, classifier, Duration.ofMillis(async.getTimeoutMillis()));
+
+        NotifierProperties.Outbox outbox = properties.getOutbox();
+        if (!outbox.isEnabled()) {
+            return notifierService;
+        }
+        return new OutboxNotifierService(notifierService, OutboxLog.open(Path.of(outbox.getDirectory()), outbox.getSegmentBytes()));
+    }
+
+    /**
+     * The retries wait on a timing wheel whose due retries only queue the next attempt, so they run on its thread
+     */
+    private static RetryEngine retryEngine(NotifierProperties.Retry retry, RetryClassifier classifier) {
+        if (!retry.isEnabled()) {
+            return RetryEngine.disabled();
+        }
+        RetryPolicy policy = RetryPolicy.builder()
+                .maxAttempts(retry.getMaxAttempts())
+                .initialBackoffMillis(retry.getInitialBackoffMillis())
+                .maxBackoffMillis(retry.getMaxBackoffMillis())
+                .multiplier(retry.getMultiplier())
+                .budgetRatio(retry.getBudgetRatio())
+                .minRetriesPerSecond(retry.getMinRetriesPerSecond())
+                .build();
+        return new RetryEngine(policy, classifier,
+                new HashedTimingWheel("notifier-retry-timer", retry.getTickMillis(), retry.getWheelSize(), Runnable::run));
+    }
+
+    private static CircuitBreaker circuitBreaker(NotifierProperties.CircuitBreaker circuitBreaker, String name) {
+        return CircuitBreaker.builder()
+                .windowSize(circuitBreaker.getWindowSize())
+                .minimumCalls(circuitBreaker.getMinimumCalls())
+                .failureRateThreshold(circuitBreaker.getFailureRateThreshold())
+                .slowCallRateThreshold(circuitBreaker.getSlowCallRateThreshold())
+                .slowCallMillis(circuitBreaker.getSlowCallMillis())
+                .openMillis(circuitBreaker.getOpenMillis())
+                .halfOpenProbes(circuitBreaker.getHalfOpenProbes())
+                .build(name);
     }
-}
\ No newline at end of file
+}
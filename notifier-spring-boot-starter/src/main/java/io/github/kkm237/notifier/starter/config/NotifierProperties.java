@@ -1,8 +1,13 @@
 package io.github.kkm237.notifier.starter.config;
 
 
+import io.github.kkm237.notifier.core.provider.ProviderType;
+import io.github.kkm237.notifier.core.sender.SenderSelection;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @implNote properties of all channels configuration
  * @author Maximilien kengne kongne
@@ -15,6 +20,12 @@ public class NotifierProperties {
     private Email email = new Email();
     private Sms sms = new Sms();
     private WhatsApp whatsapp = new WhatsApp();
+    private Delivery delivery = new Delivery();
+    private Async async = new Async();
+    private Outbox outbox = new Outbox();
+    private Dispatch dispatch = new Dispatch();
+    private Retry retry = new Retry();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
 
     private NotifierProperties() {
     }
@@ -49,6 +60,54 @@ public class NotifierProperties {
         this.whatsapp = whatsapp;
     }
 
+    public Delivery getDelivery() {
+        return delivery;
+    }
+
+    public void setDelivery(Delivery delivery) {
+        this.delivery = delivery;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public void setAsync(Async async) {
+        this.async = async;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    public Dispatch getDispatch() {
+        return dispatch;
+    }
+
+    public void setDispatch(Dispatch dispatch) {
+        this.dispatch = dispatch;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public void setRetry(Retry retry) {
+        this.retry = retry;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
     public static class Email {
         private boolean enabled = false;
         private String protocol = "smtp";
@@ -61,6 +120,23 @@ public class NotifierProperties {
         private Boolean authEnabled = true;
         private Boolean sslEnabled = false;
         private Boolean debug = false;
+        private Integer poolMaxSize = 4;
+        private Long poolIdleTimeoutMillis = 60_000L;
+        private Integer poolMaxMessagesPerConnection = 100;
+        private Long poolBorrowTimeoutMillis = 10_000L;
+        private Long smtpTimeoutMillis = 10_000L;
+        private Long attachmentCacheMaxBytes = 0L;
+        private String attachmentCacheSpillDirectory;
+        private List<Relay> relays = new ArrayList<>();
+        private Long relayEjectionMillis = 30_000L;
+        private Double relayMaxErrorRate = 0.5;
+        /**
+         * SMTP engine, jakarta for the blocking Jakarta Mail transport or nio for the non-blocking one
+         */
+        private String engine = "jakarta";
+        private Integer nioIoThreads = 2;
+        private Integer nioMaxSessions = 256;
+        private Integer warmUpConnections = 0;
 
         public Email() {
         }
@@ -182,6 +258,179 @@ public class NotifierProperties {
         public void setDebug(Boolean debug) {
             this.debug = debug;
         }
+
+        public Integer getPoolMaxSize() {
+            return poolMaxSize;
+        }
+
+        public void setPoolMaxSize(Integer poolMaxSize) {
+            this.poolMaxSize = poolMaxSize;
+        }
+
+        public Long getPoolIdleTimeoutMillis() {
+            return poolIdleTimeoutMillis;
+        }
+
+        public void setPoolIdleTimeoutMillis(Long poolIdleTimeoutMillis) {
+            this.poolIdleTimeoutMillis = poolIdleTimeoutMillis;
+        }
+
+        public Integer getPoolMaxMessagesPerConnection() {
+            return poolMaxMessagesPerConnection;
+        }
+
+        public void setPoolMaxMessagesPerConnection(Integer poolMaxMessagesPerConnection) {
+            this.poolMaxMessagesPerConnection = poolMaxMessagesPerConnection;
+        }
+
+        public Long getPoolBorrowTimeoutMillis() {
+            return poolBorrowTimeoutMillis;
+        }
+
+        public void setPoolBorrowTimeoutMillis(Long poolBorrowTimeoutMillis) {
+            this.poolBorrowTimeoutMillis = poolBorrowTimeoutMillis;
+        }
+
+        public Long getSmtpTimeoutMillis() {
+            return smtpTimeoutMillis;
+        }
+
+        public void setSmtpTimeoutMillis(Long smtpTimeoutMillis) {
+            this.smtpTimeoutMillis = smtpTimeoutMillis;
+        }
+
+        public Long getAttachmentCacheMaxBytes() {
+            return attachmentCacheMaxBytes;
+        }
+
+        public void setAttachmentCacheMaxBytes(Long attachmentCacheMaxBytes) {
+            this.attachmentCacheMaxBytes = attachmentCacheMaxBytes;
+        }
+
+        public String getAttachmentCacheSpillDirectory() {
+            return attachmentCacheSpillDirectory;
+        }
+
+        public void setAttachmentCacheSpillDirectory(String attachmentCacheSpillDirectory) {
+            this.attachmentCacheSpillDirectory = attachmentCacheSpillDirectory;
+        }
+
+        public List<Relay> getRelays() {
+            return relays;
+        }
+
+        public void setRelays(List<Relay> relays) {
+            this.relays = relays;
+        }
+
+        public Long getRelayEjectionMillis() {
+            return relayEjectionMillis;
+        }
+
+        public void setRelayEjectionMillis(Long relayEjectionMillis) {
+            this.relayEjectionMillis = relayEjectionMillis;
+        }
+
+        public Double getRelayMaxErrorRate() {
+            return relayMaxErrorRate;
+        }
+
+        public void setRelayMaxErrorRate(Double relayMaxErrorRate) {
+            this.relayMaxErrorRate = relayMaxErrorRate;
+        }
+
+        public String getEngine() {
+            return engine;
+        }
+
+        public void setEngine(String engine) {
+            this.engine = engine;
+        }
+
+        public Integer getNioIoThreads() {
+            return nioIoThreads;
+        }
+
+        public void setNioIoThreads(Integer nioIoThreads) {
+            this.nioIoThreads = nioIoThreads;
+        }
+
+        public Integer getNioMaxSessions() {
+            return nioMaxSessions;
+        }
+
+        public void setNioMaxSessions(Integer nioMaxSessions) {
+            this.nioMaxSessions = nioMaxSessions;
+        }
+
+        public Integer getWarmUpConnections() {
+            return warmUpConnections;
+        }
+
+        public void setWarmUpConnections(Integer warmUpConnections) {
+            this.warmUpConnections = warmUpConnections;
+        }
+    }
+
+
+    public static class Relay {
+        private String host;
+        private int port = 587;
+        private String username;
+        private String password;
+        private int weight = 1;
+        private int maxConnections = 4;
+
+        public Relay() {
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
     }
 
 
@@ -190,6 +439,28 @@ public class NotifierProperties {
         private String accountSid;
         private String authToken;
         private String fromPhone;
+        private List<String> additionalFromPhones = new ArrayList<>();
+        private SenderSelection senderSelection = SenderSelection.ROUND_ROBIN;
+        private Long senderEjectionMillis = 30_000L;
+        private Integer parallelism = 8;
+        private Integer httpMaxConnections = 50;
+        private Integer httpMaxConnectionsPerRoute = 50;
+        private Long httpKeepAliveMillis = 30_000L;
+        private Long httpConnectTimeoutMillis = 10_000L;
+        private Long httpReadTimeoutMillis = 30_000L;
+        private Double rateLimitPerSecond = 0.0;
+        private Integer rateLimitBurst = 1;
+        private Long rateLimitMaxWaitMillis = 30_000L;
+        private boolean transliterate = false;
+        private Integer maxSegments = 0;
+        private boolean rejectAboveMaxSegments = false;
+        private ProviderType provider = ProviderType.TWILIO_SDK;
+        private String apiBaseUrl = "https://api.twilio.com";
+        /**
+         * SMS engine, twilio for the Twilio REST API or smpp for an SMPP 3.4 session with the SMSC of {@code smpp}
+         */
+        private String engine = "twilio";
+        private Smpp smpp = new Smpp();
 
         public Sms() {
         }
@@ -232,6 +503,273 @@ public class NotifierProperties {
         public void setFromPhone(String fromPhone) {
             this.fromPhone = fromPhone;
         }
+
+        public Integer getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public Integer getHttpMaxConnections() {
+            return httpMaxConnections;
+        }
+
+        public void setHttpMaxConnections(Integer httpMaxConnections) {
+            this.httpMaxConnections = httpMaxConnections;
+        }
+
+        public Integer getHttpMaxConnectionsPerRoute() {
+            return httpMaxConnectionsPerRoute;
+        }
+
+        public void setHttpMaxConnectionsPerRoute(Integer httpMaxConnectionsPerRoute) {
+            this.httpMaxConnectionsPerRoute = httpMaxConnectionsPerRoute;
+        }
+
+        public Long getHttpKeepAliveMillis() {
+            return httpKeepAliveMillis;
+        }
+
+        public void setHttpKeepAliveMillis(Long httpKeepAliveMillis) {
+            this.httpKeepAliveMillis = httpKeepAliveMillis;
+        }
+
+        public Long getHttpConnectTimeoutMillis() {
+            return httpConnectTimeoutMillis;
+        }
+
+        public void setHttpConnectTimeoutMillis(Long httpConnectTimeoutMillis) {
+            this.httpConnectTimeoutMillis = httpConnectTimeoutMillis;
+        }
+
+        public Long getHttpReadTimeoutMillis() {
+            return httpReadTimeoutMillis;
+        }
+
+        public void setHttpReadTimeoutMillis(Long httpReadTimeoutMillis) {
+            this.httpReadTimeoutMillis = httpReadTimeoutMillis;
+        }
+
+        public Double getRateLimitPerSecond() {
+            return rateLimitPerSecond;
+        }
+
+        public void setRateLimitPerSecond(Double rateLimitPerSecond) {
+            this.rateLimitPerSecond = rateLimitPerSecond;
+        }
+
+        public Integer getRateLimitBurst() {
+            return rateLimitBurst;
+        }
+
+        public void setRateLimitBurst(Integer rateLimitBurst) {
+            this.rateLimitBurst = rateLimitBurst;
+        }
+
+        public Long getRateLimitMaxWaitMillis() {
+            return rateLimitMaxWaitMillis;
+        }
+
+        public void setRateLimitMaxWaitMillis(Long rateLimitMaxWaitMillis) {
+            this.rateLimitMaxWaitMillis = rateLimitMaxWaitMillis;
+        }
+
+        public List<String> getAdditionalFromPhones() {
+            return additionalFromPhones;
+        }
+
+        public void setAdditionalFromPhones(List<String> additionalFromPhones) {
+            this.additionalFromPhones = additionalFromPhones;
+        }
+
+        public SenderSelection getSenderSelection() {
+            return senderSelection;
+        }
+
+        public void setSenderSelection(SenderSelection senderSelection) {
+            this.senderSelection = senderSelection;
+        }
+
+        public Long getSenderEjectionMillis() {
+            return senderEjectionMillis;
+        }
+
+        public void setSenderEjectionMillis(Long senderEjectionMillis) {
+            this.senderEjectionMillis = senderEjectionMillis;
+        }
+
+        public boolean isTransliterate() {
+            return transliterate;
+        }
+
+        public void setTransliterate(boolean transliterate) {
+            this.transliterate = transliterate;
+        }
+
+        public Integer getMaxSegments() {
+            return maxSegments;
+        }
+
+        public void setMaxSegments(Integer maxSegments) {
+            this.maxSegments = maxSegments;
+        }
+
+        public boolean isRejectAboveMaxSegments() {
+            return rejectAboveMaxSegments;
+        }
+
+        public void setRejectAboveMaxSegments(boolean rejectAboveMaxSegments) {
+            this.rejectAboveMaxSegments = rejectAboveMaxSegments;
+        }
+
+        public ProviderType getProvider() {
+            return provider;
+        }
+
+        public void setProvider(ProviderType provider) {
+            this.provider = provider;
+        }
+
+        public String getApiBaseUrl() {
+            return apiBaseUrl;
+        }
+
+        public void setApiBaseUrl(String apiBaseUrl) {
+            this.apiBaseUrl = apiBaseUrl;
+        }
+
+        public String getEngine() {
+            return engine;
+        }
+
+        public void setEngine(String engine) {
+            this.engine = engine;
+        }
+
+        public Smpp getSmpp() {
+            return smpp;
+        }
+
+        public void setSmpp(Smpp smpp) {
+            this.smpp = smpp;
+        }
+    }
+
+
+    public static class Smpp {
+        private String host;
+        private int port = 2775;
+        private String systemId;
+        private String password;
+        private String systemType = "";
+        private int sourceTon = 1;
+        private int sourceNpi = 1;
+        private int windowSize = 64;
+        private Long enquireLinkIntervalMillis = 30_000L;
+        private Long connectTimeoutMillis = 10_000L;
+        private Long responseTimeoutMillis = 30_000L;
+        private boolean registeredDelivery = true;
+
+        public Smpp() {
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public String getSystemId() {
+            return systemId;
+        }
+
+        public void setSystemId(String systemId) {
+            this.systemId = systemId;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getSystemType() {
+            return systemType;
+        }
+
+        public void setSystemType(String systemType) {
+            this.systemType = systemType;
+        }
+
+        public int getSourceTon() {
+            return sourceTon;
+        }
+
+        public void setSourceTon(int sourceTon) {
+            this.sourceTon = sourceTon;
+        }
+
+        public int getSourceNpi() {
+            return sourceNpi;
+        }
+
+        public void setSourceNpi(int sourceNpi) {
+            this.sourceNpi = sourceNpi;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public Long getEnquireLinkIntervalMillis() {
+            return enquireLinkIntervalMillis;
+        }
+
+        public void setEnquireLinkIntervalMillis(Long enquireLinkIntervalMillis) {
+            this.enquireLinkIntervalMillis = enquireLinkIntervalMillis;
+        }
+
+        public Long getConnectTimeoutMillis() {
+            return connectTimeoutMillis;
+        }
+
+        public void setConnectTimeoutMillis(Long connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+        }
+
+        public Long getResponseTimeoutMillis() {
+            return responseTimeoutMillis;
+        }
+
+        public void setResponseTimeoutMillis(Long responseTimeoutMillis) {
+            this.responseTimeoutMillis = responseTimeoutMillis;
+        }
+
+        public boolean isRegisteredDelivery() {
+            return registeredDelivery;
+        }
+
+        public void setRegisteredDelivery(boolean registeredDelivery) {
+            this.registeredDelivery = registeredDelivery;
+        }
     }
 
 
@@ -240,6 +778,19 @@ public class NotifierProperties {
         private String accountSid;
         private String authToken;
         private String fromPhone;
+        private List<String> additionalFromPhones = new ArrayList<>();
+        private SenderSelection senderSelection = SenderSelection.ROUND_ROBIN;
+        private Long senderEjectionMillis = 30_000L;
+        private Integer httpMaxConnections = 50;
+        private Integer httpMaxConnectionsPerRoute = 50;
+        private Long httpKeepAliveMillis = 30_000L;
+        private Long httpConnectTimeoutMillis = 10_000L;
+        private Long httpReadTimeoutMillis = 30_000L;
+        private Double rateLimitPerSecond = 0.0;
+        private Integer rateLimitBurst = 1;
+        private Long rateLimitMaxWaitMillis = 30_000L;
+        private ProviderType provider = ProviderType.TWILIO_SDK;
+        private String apiBaseUrl = "https://api.twilio.com";
 
         public WhatsApp() {
         }
@@ -282,5 +833,465 @@ public class NotifierProperties {
         public void setFromPhone(String fromPhone) {
             this.fromPhone = fromPhone;
         }
+
+        public Integer getHttpMaxConnections() {
+            return httpMaxConnections;
+        }
+
+        public void setHttpMaxConnections(Integer httpMaxConnections) {
+            this.httpMaxConnections = httpMaxConnections;
+        }
+
+        public Integer getHttpMaxConnectionsPerRoute() {
+            return httpMaxConnectionsPerRoute;
+        }
+
+        public void setHttpMaxConnectionsPerRoute(Integer httpMaxConnectionsPerRoute) {
+            this.httpMaxConnectionsPerRoute = httpMaxConnectionsPerRoute;
+        }
+
+        public Long getHttpKeepAliveMillis() {
+            return httpKeepAliveMillis;
+        }
+
+        public void setHttpKeepAliveMillis(Long httpKeepAliveMillis) {
+            this.httpKeepAliveMillis = httpKeepAliveMillis;
+        }
+
+        public Long getHttpConnectTimeoutMillis() {
+            return httpConnectTimeoutMillis;
+        }
+
+        public void setHttpConnectTimeoutMillis(Long httpConnectTimeoutMillis) {
+            this.httpConnectTimeoutMillis = httpConnectTimeoutMillis;
+        }
+
+        public Long getHttpReadTimeoutMillis() {
+            return httpReadTimeoutMillis;
+        }
+
+        public void setHttpReadTimeoutMillis(Long httpReadTimeoutMillis) {
+            this.httpReadTimeoutMillis = httpReadTimeoutMillis;
+        }
+
+        public Double getRateLimitPerSecond() {
+            return rateLimitPerSecond;
+        }
+
+        public void setRateLimitPerSecond(Double rateLimitPerSecond) {
+            this.rateLimitPerSecond = rateLimitPerSecond;
+        }
+
+        public Integer getRateLimitBurst() {
+            return rateLimitBurst;
+        }
+
+        public void setRateLimitBurst(Integer rateLimitBurst) {
+            this.rateLimitBurst = rateLimitBurst;
+        }
+
+        public Long getRateLimitMaxWaitMillis() {
+            return rateLimitMaxWaitMillis;
+        }
+
+        public void setRateLimitMaxWaitMillis(Long rateLimitMaxWaitMillis) {
+            this.rateLimitMaxWaitMillis = rateLimitMaxWaitMillis;
+        }
+
+        public List<String> getAdditionalFromPhones() {
+            return additionalFromPhones;
+        }
+
+        public void setAdditionalFromPhones(List<String> additionalFromPhones) {
+            this.additionalFromPhones = additionalFromPhones;
+        }
+
+        public SenderSelection getSenderSelection() {
+            return senderSelection;
+        }
+
+        public void setSenderSelection(SenderSelection senderSelection) {
+            this.senderSelection = senderSelection;
+        }
+
+        public Long getSenderEjectionMillis() {
+            return senderEjectionMillis;
+        }
+
+        public void setSenderEjectionMillis(Long senderEjectionMillis) {
+            this.senderEjectionMillis = senderEjectionMillis;
+        }
+
+        public ProviderType getProvider() {
+            return provider;
+        }
+
+        public void setProvider(ProviderType provider) {
+            this.provider = provider;
+        }
+
+        public String getApiBaseUrl() {
+            return apiBaseUrl;
+        }
+
+        public void setApiBaseUrl(String apiBaseUrl) {
+            this.apiBaseUrl = apiBaseUrl;
+        }
+    }
+
+
+    public static class Delivery {
+        private int maxEntries = 100_000;
+        private Long expireAfterMillis = 86_400_000L;
+
+        public Delivery() {
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Long getExpireAfterMillis() {
+            return expireAfterMillis;
+        }
+
+        public void setExpireAfterMillis(Long expireAfterMillis) {
+            this.expireAfterMillis = expireAfterMillis;
+        }
+    }
+
+
+    public static class Async {
+        private String executor = "auto";
+        private int platformThreads = 32;
+        private int queueCapacity = 10_000;
+        private Long timeoutMillis = 0L;
+
+        public Async() {
+        }
+
+        public String getExecutor() {
+            return executor;
+        }
+
+        public void setExecutor(String executor) {
+            this.executor = executor;
+        }
+
+        public int getPlatformThreads() {
+            return platformThreads;
+        }
+
+        public void setPlatformThreads(int platformThreads) {
+            this.platformThreads = platformThreads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Long getTimeoutMillis() {
+            return timeoutMillis;
+        }
+
+        public void setTimeoutMillis(Long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+
+    public static class Outbox {
+        /**
+         * send returns once the payload is durable in the outbox log, a dispatcher thread then sends it
+         */
+        private boolean enabled = false;
+        private String directory = "notifier-outbox";
+        private int segmentBytes = 64 * 1024 * 1024;
+
+        public Outbox() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getSegmentBytes() {
+            return segmentBytes;
+        }
+
+        public void setSegmentBytes(int segmentBytes) {
+            this.segmentBytes = segmentBytes;
+        }
+    }
+
+    public static class Dispatch {
+        /**
+         * sends running at the same time, no more than the platform threads of the async executor
+         */
+        private int concurrency = 32;
+        private int reservedHighSlots = 4;
+        private int highWeight = 6;
+        private int normalWeight = 3;
+        private int lowWeight = 1;
+        private Long maxWaitMillis = 5_000L;
+        private int laneCapacity = 10_000;
+
+        public Dispatch() {
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getReservedHighSlots() {
+            return reservedHighSlots;
+        }
+
+        public void setReservedHighSlots(int reservedHighSlots) {
+            this.reservedHighSlots = reservedHighSlots;
+        }
+
+        public int getHighWeight() {
+            return highWeight;
+        }
+
+        public void setHighWeight(int highWeight) {
+            this.highWeight = highWeight;
+        }
+
+        public int getNormalWeight() {
+            return normalWeight;
+        }
+
+        public void setNormalWeight(int normalWeight) {
+            this.normalWeight = normalWeight;
+        }
+
+        public int getLowWeight() {
+            return lowWeight;
+        }
+
+        public void setLowWeight(int lowWeight) {
+            this.lowWeight = lowWeight;
+        }
+
+        public Long getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        public void setMaxWaitMillis(Long maxWaitMillis) {
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        public int getLaneCapacity() {
+            return laneCapacity;
+        }
+
+        public void setLaneCapacity(int laneCapacity) {
+            this.laneCapacity = laneCapacity;
+        }
+    }
+
+    public static class Retry {
+        private boolean enabled = true;
+        /**
+         * attempts of a send, the first one included
+         */
+        private int maxAttempts = 4;
+        private Long initialBackoffMillis = 200L;
+        private Long maxBackoffMillis = 30_000L;
+        private double multiplier = 2.0;
+        /**
+         * retries earned by each send of a channel
+         */
+        private double budgetRatio = 0.2;
+        private double minRetriesPerSecond = 10;
+        private Long tickMillis = 10L;
+        private int wheelSize = 512;
+
+        public Retry() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Long getInitialBackoffMillis() {
+            return initialBackoffMillis;
+        }
+
+        public void setInitialBackoffMillis(Long initialBackoffMillis) {
+            this.initialBackoffMillis = initialBackoffMillis;
+        }
+
+        public Long getMaxBackoffMillis() {
+            return maxBackoffMillis;
+        }
+
+        public void setMaxBackoffMillis(Long maxBackoffMillis) {
+            this.maxBackoffMillis = maxBackoffMillis;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public double getMinRetriesPerSecond() {
+            return minRetriesPerSecond;
+        }
+
+        public void setMinRetriesPerSecond(double minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+        }
+
+        public Long getTickMillis() {
+            return tickMillis;
+        }
+
+        public void setTickMillis(Long tickMillis) {
+            this.tickMillis = tickMillis;
+        }
+
+        public int getWheelSize() {
+            return wheelSize;
+        }
+
+        public void setWheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+        }
+    }
+
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        /**
+         * last sends of a channel or endpoint giving its failure and slow call rates
+         */
+        private int windowSize = 100;
+        /**
+         * sends recorded before the rates can open the breaker
+         */
+        private int minimumCalls = 20;
+        private double failureRateThreshold = 0.5;
+        private double slowCallRateThreshold = 0.8;
+        private Long slowCallMillis = 5_000L;
+        /**
+         * time an open breaker refuses the sends before letting probes through
+         */
+        private Long openMillis = 30_000L;
+        private int halfOpenProbes = 5;
+
+        public CircuitBreaker() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public double getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Long getSlowCallMillis() {
+            return slowCallMillis;
+        }
+
+        public void setSlowCallMillis(Long slowCallMillis) {
+            this.slowCallMillis = slowCallMillis;
+        }
+
+        public Long getOpenMillis() {
+            return openMillis;
+        }
+
+        public void setOpenMillis(Long openMillis) {
+            this.openMillis = openMillis;
+        }
+
+        public int getHalfOpenProbes() {
+            return halfOpenProbes;
+        }
+
+        public void setHalfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+        }
     }
-}
\ No newline at end of file
+}
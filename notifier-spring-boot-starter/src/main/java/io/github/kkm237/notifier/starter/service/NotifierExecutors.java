@@ -0,0 +1,84 @@
+package io.github.kkm237.notifier.starter.service;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Executor of the asynchronous sends of the {@link NotifierServiceImpl}
+ * <p>A send mostly waits on the network, so a virtual thread per send is used when the JVM has them (Java 21+),
+ * looked up by reflection as the library is built for Java 17. Otherwise a bounded pool of platform threads is
+ * used, which rejects the sends above its queue capacity.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class NotifierExecutors {
+
+    private static final Logger log = Logger.getLogger(NotifierExecutors.class.getName());
+
+    private NotifierExecutors() {}
+
+    /**
+     * @param mode            auto for virtual threads when available, virtual or platform
+     * @param platformThreads threads of the platform pool
+     * @param queueCapacity   sends waiting for a thread of the platform pool
+     * @throws NotifierException when virtual threads are required but not available, or the mode is unknown
+     */
+    public static ExecutorService create(String mode, int platformThreads, int queueCapacity) {
+        switch (mode == null ? "auto" : mode.toLowerCase(Locale.ROOT)) {
+            case "auto":
+                ExecutorService virtual = virtualThreads();
+                return virtual != null ? virtual : platformThreads(platformThreads, queueCapacity);
+            case "virtual":
+                ExecutorService required = virtualThreads();
+                if (required == null) throw new NotifierException("Virtual threads need Java 21 or later");
+                return required;
+            case "platform":
+                return platformThreads(platformThreads, queueCapacity);
+            default:
+                throw new NotifierException("Unknown executor mode " + mode + ", expected auto, virtual or platform");
+        }
+    }
+
+    /**
+     * @return an executor starting a virtual thread per task, null before Java 21
+     */
+    static ExecutorService virtualThreads() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    static ExecutorService platformThreads(int threads, int queueCapacity) {
+        if (threads < 1) throw new NotifierException("platformThreads must be greater than 0");
+        if (queueCapacity < 1) throw new NotifierException("queueCapacity must be greater than 0");
+        log.info("Asynchronous sends on " + threads + " platform threads");
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), asyncThreadFactory());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory asyncThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("notifier-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,12 +1,54 @@
 package io.github.kkm237.notifier.starter.service;
 
+import io.github.kkm237.notifier.core.circuit.CircuitBreaker;
 import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface NotifierService {
     void send(NotifierPayload request);
 
+    void send(TemplatePayload request);
+
+    /**
+     * Send the notification and report the outcome of each recipient instead of throwing on a failed recipient
+     */
+    SendReport sendWithReport(NotifierPayload request);
+
+    SendReport sendWithReport(TemplatePayload request);
+
+    /**
+     * Send the notification without blocking the caller, the future is completed with the report of the recipients,
+     * or failed when the channel is not available or the send could not start. Cancelling the future interrupts the
+     * send in the channel notifier
+     */
+    CompletableFuture<SendReport> sendAsync(NotifierPayload request);
+
+    CompletableFuture<SendReport> sendAsync(TemplatePayload request);
+
+    /**
+     * Send the notification without blocking the caller, the future fails with a TimeoutException and the send is
+     * interrupted when it does not complete within the timeout
+     */
+    CompletableFuture<SendReport> sendAsync(NotifierPayload request, Duration timeout);
+
+    CompletableFuture<SendReport> sendAsync(TemplatePayload request, Duration timeout);
+
+    /**
+     * Depth, sends running and wait of the lane of each priority
+     */
+    Map<NotifierPayload.Priority, PriorityScheduler.LaneStats> getLaneStats();
+
+    /**
+     * Circuit breaker of each channel, giving its state and metrics and taking the listeners of its transitions
+     */
+    Map<NotifierPayload.Channel, CircuitBreaker> getCircuitBreakers();
+
     boolean isChannelAvailable(NotifierPayload.Channel channel);
 
     List<NotifierPayload.Channel> getAvailableChannels();
@@ -1,10 +1,30 @@
 package io.github.kkm237.notifier.starter.service;
 
+import io.github.kkm237.notifier.core.circuit.CircuitBreaker;
 import io.github.kkm237.notifier.core.exceptions.ChannelNotSupportedException;
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
 import io.github.kkm237.notifier.core.model.*;
+import io.github.kkm237.notifier.core.retry.DefaultRetryClassifier;
+import io.github.kkm237.notifier.core.retry.RetryClassifier;
+import io.github.kkm237.notifier.core.retry.RetryEngine;
+import io.github.kkm237.notifier.core.retry.Retryability;
+import io.github.kkm237.notifier.core.utils.Futures;
 
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -15,32 +35,171 @@ import java.util.stream.Collectors;
 
 /**
  * @implNote Send notification via all supported channels {@link io.github.kkm237.notifier.core.model.NotifierPayload.Channel}
+ * <p>Every send is queued in the lane of its priority by the {@link PriorityScheduler}, which runs it on its executor:
+ * the blocking sends wait for it, the asynchronous ones return its future.</p>
+ * <p>A send failing with a transient error is queued again after a backoff by the {@link RetryEngine}, a reported
+ * send only for its failed recipients. The timeout of an asynchronous send covers its retries. A stream attachment
+ * of a retried send is spooled to a temporary file, read by every attempt and deleted once the last attempt is over;
+ * the spool files of the caller are left in place.</p>
+ * <p>The {@link CircuitBreaker} of a channel records the transient failures and the duration of its sends, and once
+ * it opens the sends of the channel fail at once with a
+ * {@link io.github.kkm237.notifier.core.exceptions.CircuitBreakerOpenException} instead of queueing behind a degraded
+ * provider.</p>
  * @author Maximilien kengne kongne
  * @since 16.01.2026
  * @version 1.0.0
  * @see io.github.kkm237.notifier.core.model.NotifierPayload
  */
-public class NotifierServiceImpl implements NotifierService {
+public class NotifierServiceImpl implements NotifierService, AutoCloseable {
 
     private static final Logger log = Logger.getLogger(NotifierServiceImpl.class.getName());
     private final Map<NotifierPayload.Channel, Notifier> channelNotifierMap;
+    private final PriorityScheduler scheduler;
+    private final RetryEngine retries;
+    private final Map<NotifierPayload.Channel, CircuitBreaker> circuitBreakers;
+    private final RetryClassifier failureClassifier;
+    private final Duration asyncTimeout;
 
     public NotifierServiceImpl(List<Notifier> notifiers) {
+        this(notifiers, NotifierExecutors.create("auto", 32, 10_000), Duration.ZERO);
+    }
+
+    /**
+     * @param asyncExecutor executor of the sends, shut down by {@link #close()}
+     * @param asyncTimeout  timeout of the asynchronous sends without an explicit one, zero for none
+     */
+    public NotifierServiceImpl(List<Notifier> notifiers, ExecutorService asyncExecutor, Duration asyncTimeout) {
+        this(notifiers, PriorityScheduler.builder().build(asyncExecutor), asyncTimeout);
+    }
+
+    /**
+     * @param scheduler    scheduler of the sends, its executor is shut down by {@link #close()}
+     * @param asyncTimeout timeout of the asynchronous sends without an explicit one, zero for none
+     */
+    public NotifierServiceImpl(List<Notifier> notifiers, PriorityScheduler scheduler, Duration asyncTimeout) {
+        this(notifiers, scheduler, RetryEngine.disabled(), asyncTimeout);
+    }
+
+    /**
+     * @param scheduler    scheduler of the sends, its executor is shut down by {@link #close()}
+     * @param retries      retries of the failed sends, closed by {@link #close()}
+     * @param asyncTimeout timeout of the asynchronous sends without an explicit one, zero for none
+     */
+    public NotifierServiceImpl(List<Notifier> notifiers, PriorityScheduler scheduler, RetryEngine retries, Duration asyncTimeout) {
+        this(notifiers, scheduler, retries, Map.of(), new DefaultRetryClassifier(), asyncTimeout);
+    }
+
+    /**
+     * @param scheduler         scheduler of the sends, its executor is shut down by {@link #close()}
+     * @param retries           retries of the failed sends, closed by {@link #close()}
+     * @param circuitBreakers   circuit breaker of each channel, a channel without one is never refused
+     * @param failureClassifier tells the failures of a provider, recorded by the circuit breakers whether the sends
+     *                          are retried or not
+     * @param asyncTimeout      timeout of the asynchronous sends without an explicit one, zero for none
+     */
+    public NotifierServiceImpl(List<Notifier> notifiers, PriorityScheduler scheduler, RetryEngine retries,
+                               Map<NotifierPayload.Channel, CircuitBreaker> circuitBreakers,
+                               RetryClassifier failureClassifier, Duration asyncTimeout) {
          // call getChannel() on each instance and associate the key at the matching instance
         this.channelNotifierMap = notifiers.stream().collect(Collectors.toMap(Notifier::getChannel, Function.identity()));
+        this.scheduler = scheduler;
+        this.retries = retries;
+        this.circuitBreakers = circuitBreakers.isEmpty() ? Map.of() : new EnumMap<>(circuitBreakers);
+        this.failureClassifier = failureClassifier;
+        this.asyncTimeout = asyncTimeout;
         log.info("Notifier initialized with channels: {}" + channelNotifierMap.keySet());
     }
 
 
     @Override
     public void send(NotifierPayload payload) {
-        Notifier notifier = channelNotifierMap.get(payload.getChannel());
+        NotifierPayload spooled = spoolStreams(payload);
+        await(deleteSpooledStreamsOnCompletion(retries.execute(payload.getChannel(), () -> submit(payload.getChannel(), payload.getPriority(), notifier -> {
+            notifier.send(spooled);
+            return null;
+        })), payload.getCourierAttachments(), spooled.getCourierAttachments()));
+    }
 
-        if (notifier == null) {
-            throw new ChannelNotSupportedException(payload.getChannel());
+    /**
+     * Send a personalized notification to each recipient of the template payload
+     */
+    @Override
+    public void send(TemplatePayload payload) {
+        TemplatePayload spooled = spoolStreams(payload);
+        await(deleteSpooledStreamsOnCompletion(retries.execute(payload.getChannel(), () -> submit(payload.getChannel(), payload.getPriority(), notifier -> {
+            notifier.send(spooled);
+            return null;
+        })), payload.getCourierAttachments(), spooled.getCourierAttachments()));
+    }
+
+    /**
+     * Send the notification and report the outcome of each recipient
+     */
+    @Override
+    public SendReport sendWithReport(NotifierPayload payload) {
+        return await(sendWithRetries(payload));
+    }
+
+    /**
+     * Send a personalized notification to each recipient of the template payload and report the outcome of each recipient
+     */
+    @Override
+    public SendReport sendWithReport(TemplatePayload payload) {
+        return await(sendWithRetries(payload));
+    }
+
+    /**
+     * Send the notification on the asynchronous executor and report the outcome of each recipient
+     */
+    @Override
+    public CompletableFuture<SendReport> sendAsync(NotifierPayload payload) {
+        return sendAsync(payload, asyncTimeout);
+    }
+
+    @Override
+    public CompletableFuture<SendReport> sendAsync(TemplatePayload payload) {
+        return sendAsync(payload, asyncTimeout);
+    }
+
+    @Override
+    public CompletableFuture<SendReport> sendAsync(NotifierPayload payload, Duration timeout) {
+        return withTimeout(sendWithRetries(payload), timeout);
+    }
+
+    @Override
+    public CompletableFuture<SendReport> sendAsync(TemplatePayload payload, Duration timeout) {
+        return withTimeout(sendWithRetries(payload), timeout);
+    }
+
+    /**
+     * Depth, sends running and wait of the lane of each priority
+     */
+    @Override
+    public Map<NotifierPayload.Priority, PriorityScheduler.LaneStats> getLaneStats() {
+        Map<NotifierPayload.Priority, PriorityScheduler.LaneStats> stats = new EnumMap<>(NotifierPayload.Priority.class);
+        for (NotifierPayload.Priority priority : NotifierPayload.Priority.values()) {
+            stats.put(priority, scheduler.getStats(priority));
         }
+        return stats;
+    }
 
-        notifier.send(payload);
+    /**
+     * State, failure rate and slow call rate of the circuit breaker of each channel, which also takes the listeners
+     * of its transitions
+     */
+    @Override
+    public Map<NotifierPayload.Channel, CircuitBreaker> getCircuitBreakers() {
+        return circuitBreakers;
+    }
+
+    /**
+     * Shut down the executor of the sends, the sends already submitted still complete, and the timer of the retries,
+     * whose retries waiting are dropped
+     */
+    @Override
+    public void close() {
+        retries.close();
+        scheduler.getExecutor().shutdown();
     }
 
     /**
@@ -58,4 +217,188 @@ public class NotifierServiceImpl implements NotifierService {
     public List<NotifierPayload.Channel> getAvailableChannels() {
         return List.copyOf(channelNotifierMap.keySet());
     }
-}
\ No newline at end of file
+
+    /**
+     * Wait for a send, throwing its failure as is
+     */
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return Futures.await(result, "the send");
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Send the payload, then its failed recipients again while their failure is transient
+     */
+    private CompletableFuture<SendReport> sendWithRetries(NotifierPayload payload) {
+        NotifierPayload spooled;
+        try {
+            spooled = spoolStreams(payload);
+        } catch (NotifierException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return deleteSpooledStreamsOnCompletion(retries.sendWithReport(payload.getChannel(), payload.getRecipients(), recipients -> {
+            NotifierPayload attempt = recipients.size() == spooled.getRecipients().size() ? spooled : spooled.withRecipients(recipients);
+            return submit(payload.getChannel(), payload.getPriority(), notifier -> notifier.sendWithReport(attempt));
+        }), payload.getCourierAttachments(), spooled.getCourierAttachments());
+    }
+
+    private CompletableFuture<SendReport> sendWithRetries(TemplatePayload payload) {
+        TemplatePayload spooled;
+        try {
+            spooled = spoolStreams(payload);
+        } catch (NotifierException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return deleteSpooledStreamsOnCompletion(retries.sendWithReport(payload.getChannel(), payload.getRecipients(), recipients -> {
+            TemplatePayload attempt = recipients.size() == spooled.getRecipients().size() ? spooled : spooled.withRecipients(recipients);
+            return submit(payload.getChannel(), payload.getPriority(), notifier -> notifier.sendWithReport(attempt));
+        }), payload.getCourierAttachments(), spooled.getCourierAttachments());
+    }
+
+    /**
+     * The payload with its stream attachments spooled to temporary files when its sends are retried, as each attempt
+     * reads them again
+     */
+    private NotifierPayload spoolStreams(NotifierPayload payload) {
+        if (!retries.getPolicy().isEnabled()) {
+            return payload;
+        }
+        List<AttachmentPayload> spooled = AttachmentPayload.spoolStreams(payload.getCourierAttachments());
+        return spooled == payload.getCourierAttachments() ? payload : payload.withAttachments(spooled);
+    }
+
+    private TemplatePayload spoolStreams(TemplatePayload payload) {
+        if (!retries.getPolicy().isEnabled()) {
+            return payload;
+        }
+        List<AttachmentPayload> spooled = AttachmentPayload.spoolStreams(payload.getCourierAttachments());
+        return spooled == payload.getCourierAttachments() ? payload : payload.withAttachments(spooled);
+    }
+
+    /**
+     * Delete the stream attachments spooled by the service once the send is over, its retries included, so no
+     * attempt misses them. The spool files of the caller are left in place
+     *
+     * @return a future completed as the send once the files are deleted, cancelling it or failing it, as a timeout
+     * does, stops the send
+     */
+    private static <T> CompletableFuture<T> deleteSpooledStreamsOnCompletion(CompletableFuture<T> result,
+                                                                            List<AttachmentPayload> attachments,
+                                                                            List<AttachmentPayload> spooled) {
+        if (spooled == attachments) {
+            return result;
+        }
+        CompletableFuture<T> done = new CompletableFuture<>();
+        result.whenComplete((value, error) -> {
+            AttachmentPayload.deleteSpooledStreams(attachments, spooled);
+            if (error == null) {
+                done.complete(value);
+            } else {
+                done.completeExceptionally(error);
+            }
+        });
+        done.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                result.cancel(true);
+            } else if (error != null) {
+                result.completeExceptionally(error);
+            }
+        });
+        return done;
+    }
+
+    private static <T> CompletableFuture<T> withTimeout(CompletableFuture<T> result, Duration timeout) {
+        if (timeout != null && !timeout.isZero() && !timeout.isNegative()) {
+            result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return result;
+    }
+
+    /**
+     * Queue the send in the lane of its priority, a cancelled or timed out future removes it from the lane or
+     * interrupts the thread of the send, which stops the notifier waiting on its provider
+     * <p>The send is refused at once when the circuit breaker of its channel is open.</p>
+     */
+    private <T> CompletableFuture<T> submit(NotifierPayload.Channel channel, NotifierPayload.Priority priority,
+                                            Function<Notifier, T> send) {
+        Notifier notifier = channelNotifierMap.get(channel);
+        if (notifier == null) {
+            return CompletableFuture.failedFuture(new ChannelNotSupportedException(channel));
+        }
+        CircuitBreaker circuitBreaker = circuitBreakers.get(channel);
+        CircuitBreaker.Permit permit = circuitBreaker == null ? null : circuitBreaker.tryAcquire();
+        if (circuitBreaker != null && permit == null) {
+            return CompletableFuture.failedFuture(circuitBreaker.openException());
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // start of the send once out of its lane, the wait in the lane is not the fault of the provider
+        AtomicLong startedAt = new AtomicLong();
+        Future<?> task;
+        try {
+            task = scheduler.submit(priority, () -> {
+                long start = System.nanoTime();
+                startedAt.set(start);
+                try {
+                    T value = send.apply(notifier);
+                    record(permit, value, null, System.nanoTime() - start);
+                    result.complete(value);
+                } catch (Throwable e) {
+                    record(permit, null, e, System.nanoTime() - start);
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (permit != null) permit.release();
+            return CompletableFuture.failedFuture(new NotifierSendFailedException("Send rejected on " + channel + ": " + e.getMessage(), e));
+        }
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException || error instanceof TimeoutException) {
+                // recorded before the interrupt, as the interrupted send may still return and record its outcome
+                if (permit != null) {
+                    long start = startedAt.get();
+                    // a send timed out while running counts as a slow failure of the provider
+                    if (error instanceof TimeoutException && start != 0) {
+                        permit.onFailure(System.nanoTime() - start);
+                    } else {
+                        permit.release();
+                    }
+                }
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Record the outcome of a send in the circuit breaker of its channel, only a transient failure counting as a
+     * failure of the provider
+     */
+    private void record(CircuitBreaker.Permit permit, Object value, Throwable error, long durationNanos) {
+        if (permit == null) {
+            return;
+        }
+        boolean failed = error != null ? isProviderFailure(error)
+                : value instanceof SendReport && ((SendReport) value).getFailures().stream()
+                .anyMatch(failure -> isProviderFailure(failure.getError()));
+        if (failed) {
+            permit.onFailure(durationNanos);
+        } else {
+            permit.onSuccess(durationNanos);
+        }
+    }
+
+    /**
+     * A rate limit of a sender is not a failure of the provider
+     */
+    private boolean isProviderFailure(Throwable error) {
+        return error != null && !(error instanceof NotifierRateLimitedException)
+                && failureClassifier.classify(error) == Retryability.RETRYABLE;
+    }
+}
@@ -0,0 +1,293 @@
+package io.github.kkm237.notifier.starter.service;
+
+import io.github.kkm237.notifier.core.circuit.CircuitBreaker;
+import io.github.kkm237.notifier.core.exceptions.ChannelNotSupportedException;
+import io.github.kkm237.notifier.core.exceptions.CircuitBreakerOpenException;
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.core.outbox.OutboxLog;
+import io.github.kkm237.notifier.core.outbox.OutboxMessage;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @implNote Send notification through a durable local outbox {@link io.github.kkm237.notifier.core.outbox.OutboxLog}
+ * <p>{@code send} returns once the payload is durable in the log, without waiting for the provider. A dispatcher
+ * thread reads the log ahead and sends its messages asynchronously through the delegate service, which queues them by
+ * priority, then checkpoints up to the first message not sent yet. The messages not sent when the JVM stops are sent
+ * after the restart: a message is sent at least once.</p>
+ * <p>The reported and asynchronous sends go directly to the delegate service, as their caller waits for the outcome.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ * @see io.github.kkm237.notifier.core.outbox.OutboxMessage
+ */
+public class OutboxNotifierService implements NotifierService, AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(OutboxNotifierService.class.getName());
+    /**
+     * messages sent between two checkpoints, replayed at most after a crash
+     */
+    private static final int CHECKPOINT_EVERY = 64;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 1_000;
+    private static final long POLL_MILLIS = 1_000;
+    private static final long BUSY_POLL_MILLIS = 10;
+    /**
+     * messages of the log being sent at the same time
+     */
+    private static final int WINDOW = 256;
+
+    private final NotifierService delegate;
+    private final OutboxLog outbox;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    /**
+     * Start the dispatcher, which first sends the messages left in the log
+     */
+    public OutboxNotifierService(NotifierService delegate, OutboxLog outbox) {
+        this.delegate = delegate;
+        this.outbox = outbox;
+        this.dispatcher = new Thread(this::dispatch, "notifier-outbox");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Append the payload to the outbox, it is sent by the dispatcher
+     *
+     * @throws ChannelNotSupportedException when the channel is not available
+     */
+    @Override
+    public void send(NotifierPayload payload) {
+        requireChannel(payload.getChannel());
+        outbox.append(OutboxMessage.of(payload).encode());
+    }
+
+    /**
+     * Append the template payload to the outbox, it is rendered and sent by the dispatcher
+     *
+     * @throws ChannelNotSupportedException when the channel is not available
+     */
+    @Override
+    public void send(TemplatePayload payload) {
+        requireChannel(payload.getChannel());
+        outbox.append(OutboxMessage.of(payload).encode());
+    }
+
+    @Override
+    public SendReport sendWithReport(NotifierPayload payload) {
+        return delegate.sendWithReport(payload);
+    }
+
+    @Override
+    public SendReport sendWithReport(TemplatePayload payload) {
+        return delegate.sendWithReport(payload);
+    }
+
+    @Override
+    public CompletableFuture<SendReport> sendAsync(NotifierPayload payload) {
+        return delegate.sendAsync(payload);
+    }
+
+    @Override
+    public CompletableFuture<SendReport> sendAsync(TemplatePayload payload) {
+        return delegate.sendAsync(payload);
+    }
+
+    @Override
+    public CompletableFuture<SendReport> sendAsync(NotifierPayload payload, Duration timeout) {
+        return delegate.sendAsync(payload, timeout);
+    }
+
+    @Override
+    public CompletableFuture<SendReport> sendAsync(TemplatePayload payload, Duration timeout) {
+        return delegate.sendAsync(payload, timeout);
+    }
+
+    @Override
+    public Map<NotifierPayload.Priority, PriorityScheduler.LaneStats> getLaneStats() {
+        return delegate.getLaneStats();
+    }
+
+    @Override
+    public Map<NotifierPayload.Channel, CircuitBreaker> getCircuitBreakers() {
+        return delegate.getCircuitBreakers();
+    }
+
+    @Override
+    public boolean isChannelAvailable(NotifierPayload.Channel channel) {
+        return delegate.isChannelAvailable(channel);
+    }
+
+    @Override
+    public List<NotifierPayload.Channel> getAvailableChannels() {
+        return delegate.getAvailableChannels();
+    }
+
+    /**
+     * Stop the dispatcher, the message being sent is sent again after the restart, then close the log and the
+     * delegate service
+     */
+    @Override
+    public void close() throws Exception {
+        running = false;
+        dispatcher.interrupt();
+        dispatcher.join(10_000);
+        outbox.close();
+        if (delegate instanceof AutoCloseable) {
+            ((AutoCloseable) delegate).close();
+        }
+    }
+
+    private void requireChannel(NotifierPayload.Channel channel) {
+        if (!delegate.isChannelAvailable(channel)) {
+            throw new ChannelNotSupportedException(channel);
+        }
+    }
+
+    /**
+     * Send the messages of the log as a window of asynchronous sends, queued by priority by the delegate service, and
+     * acknowledge them in the order of the log
+     */
+    private void dispatch() {
+        ArrayDeque<InFlight> window = new ArrayDeque<>();
+        long position = outbox.getCheckpoint();
+        long readPosition = position;
+        int sinceCheckpoint = 0;
+        try {
+            while (running) {
+                // the checkpoint stops at the first message still being sent
+                while (!window.isEmpty() && window.peekFirst().done.isDone()) {
+                    position = window.pollFirst().entry.getNextPosition();
+                    if (++sinceCheckpoint >= CHECKPOINT_EVERY) {
+                        outbox.checkpoint(position);
+                        sinceCheckpoint = 0;
+                    }
+                }
+                if (window.size() < WINDOW) {
+                    OutboxLog.Entry entry = outbox.read(readPosition);
+                    if (entry != null) {
+                        window.addLast(send(entry));
+                        readPosition = entry.getNextPosition();
+                        continue;
+                    }
+                    if (window.isEmpty() && sinceCheckpoint > 0) {
+                        outbox.checkpoint(position);
+                        sinceCheckpoint = 0;
+                    }
+                    outbox.awaitRecord(readPosition, window.isEmpty() ? POLL_MILLIS : BUSY_POLL_MILLIS);
+                } else {
+                    awaitQuietly(window.peekFirst().done);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.log(Level.SEVERE, "Outbox dispatcher stopped, the messages left are sent after the restart", e);
+        }
+
+        // the messages being sent are interrupted and sent again after the restart
+        for (InFlight inFlight : window) {
+            CompletableFuture<SendReport> attempt = inFlight.attempt;
+            if (attempt != null) {
+                attempt.cancel(true);
+            }
+        }
+        if (sinceCheckpoint > 0) {
+            try {
+                outbox.checkpoint(position);
+            } catch (NotifierException e) {
+                log.log(Level.WARNING, "Cannot checkpoint the outbox, its last messages are sent again after the restart", e);
+            }
+        }
+    }
+
+    private InFlight send(OutboxLog.Entry entry) {
+        InFlight inFlight = new InFlight(entry);
+        try {
+            attempt(inFlight, OutboxMessage.decode(entry.getData()), 1);
+        } catch (NotifierException e) {
+            log.log(Level.SEVERE, "Outbox message at position " + entry.getPosition() + " cannot be read, it is dropped", e);
+            inFlight.done.complete(null);
+        }
+        return inFlight;
+    }
+
+    /**
+     * Send one message of the log, retrying a send which fails, and without limit a send rejected by a full lane or
+     * by the open circuit breaker of its channel, the latter once the circuit lets sends through again
+     */
+    private void attempt(InFlight inFlight, OutboxMessage message, int attempt) {
+        CompletableFuture<SendReport> sent = message.getPayload() != null
+                ? delegate.sendAsync(message.getPayload())
+                : delegate.sendAsync(message.getTemplatePayload());
+        inFlight.attempt = sent;
+        sent.whenComplete((report, error) -> {
+            if (!running) {
+                // not acknowledged, sent again after the restart
+                return;
+            }
+            long position = inFlight.entry.getPosition();
+            if (error == null) {
+                if (!report.isSuccess()) {
+                    log.warning("Outbox message at position " + position + " failed: " + report.getFailures());
+                }
+                inFlight.done.complete(null);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            boolean rejected = cause.getCause() instanceof RejectedExecutionException || cause instanceof CircuitBreakerOpenException;
+            if (!rejected && attempt >= MAX_ATTEMPTS) {
+                log.log(Level.SEVERE, "Outbox message at position " + position + " failed " + attempt + " times, it is dropped", cause);
+                inFlight.done.complete(null);
+                return;
+            }
+            log.log(rejected ? Level.FINE : Level.WARNING, "Outbox message at position " + position + " failed, attempt " + attempt, cause);
+            long delayMillis = cause instanceof CircuitBreakerOpenException
+                    ? Math.max(RETRY_DELAY_MILLIS, ((CircuitBreakerOpenException) cause).getRetryAfterMillis())
+                    : RETRY_DELAY_MILLIS * Math.min(attempt, MAX_ATTEMPTS);
+            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> {
+                        if (running) {
+                            attempt(inFlight, message, rejected ? attempt : attempt + 1);
+                        }
+                    });
+        });
+    }
+
+    private static void awaitQuietly(CompletableFuture<Void> done) throws InterruptedException {
+        try {
+            done.get(BUSY_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // checked again by the dispatcher
+        }
+    }
+
+    /**
+     * Message of the log being sent
+     */
+    private static final class InFlight {
+        private final OutboxLog.Entry entry;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile CompletableFuture<SendReport> attempt;
+
+        private InFlight(OutboxLog.Entry entry) {
+            this.entry = entry;
+        }
+    }
+}
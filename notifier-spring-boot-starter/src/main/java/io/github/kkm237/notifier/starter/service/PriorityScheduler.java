@@ -0,0 +1,414 @@
+package io.github.kkm237.notifier.starter.service;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @implNote Scheduler of the sends of the {@link NotifierServiceImpl}, queued in one lane per
+ * {@link NotifierPayload.Priority} and run on an executor, at most {@code concurrency} at a time
+ * <p>The lanes share the capacity by smooth weighted round-robin, HIGH 6, NORMAL 3 and LOW 1 by default, so a large
+ * batch of LOW sends no longer delays the HIGH ones. A lane whose head waited longer than {@code maxWaitMillis} and
+ * which started no send for as long runs one send first whatever its weight, so a lane is never starved, yet an old
+ * backlog only gets one send ahead of the others every {@code maxWaitMillis}. {@code reservedHighSlots} of the
+ * capacity only run HIGH sends.</p>
+ * <p>The depth, the sends running and the wait of each lane are given by {@link #getStats(NotifierPayload.Priority)}.</p>
+ * @author Maximilien kengne kongne
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+public final class PriorityScheduler {
+
+    private final ExecutorService executor;
+    private final int concurrency;
+    private final int reservedHighSlots;
+    private final long maxWaitNanos;
+    private final int laneCapacity;
+    private final Map<NotifierPayload.Priority, Lane> lanes = new EnumMap<>(NotifierPayload.Priority.class);
+    private int running;
+    private int runningOther;
+
+    private PriorityScheduler(Builder builder, ExecutorService executor) {
+        this.executor = executor;
+        this.concurrency = builder.concurrency;
+        this.reservedHighSlots = builder.reservedHighSlots;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(builder.maxWaitMillis);
+        this.laneCapacity = builder.laneCapacity;
+        long now = System.nanoTime();
+        lanes.put(NotifierPayload.Priority.HIGH, new Lane(NotifierPayload.Priority.HIGH, builder.highWeight, now - maxWaitNanos));
+        lanes.put(NotifierPayload.Priority.NORMAL, new Lane(NotifierPayload.Priority.NORMAL, builder.normalWeight, now - maxWaitNanos));
+        lanes.put(NotifierPayload.Priority.LOW, new Lane(NotifierPayload.Priority.LOW, builder.lowWeight, now - maxWaitNanos));
+    }
+
+    /**
+     * Queue a send in the lane of its priority
+     *
+     * @return the future of the send, cancelling it removes a queued send from its lane or interrupts a running one
+     * @throws RejectedExecutionException when the lane is full
+     */
+    public Future<?> submit(NotifierPayload.Priority priority, Runnable send) {
+        Lane lane = lanes.get(priority);
+        Task task = new Task(send, lane, System.nanoTime());
+        synchronized (this) {
+            if (lane.queue.size() >= laneCapacity) {
+                lane.rejected++;
+                throw new RejectedExecutionException("The " + priority + " lane is full with " + laneCapacity + " sends");
+            }
+            lane.queue.add(task);
+            lane.submitted++;
+        }
+        drain();
+        return task;
+    }
+
+    public synchronized LaneStats getStats(NotifierPayload.Priority priority) {
+        Lane lane = lanes.get(priority);
+        Task oldest = lane.peek();
+        long oldestWaitNanos = oldest == null ? 0 : System.nanoTime() - oldest.enqueuedAtNanos;
+        return new LaneStats(priority, lane.queue.size(), lane.running, lane.submitted, lane.dispatched, lane.rejected,
+                lane.totalWaitNanos, lane.maxWaitNanos, oldestWaitNanos);
+    }
+
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Start the queued sends while there is capacity for them
+     */
+    private void drain() {
+        while (true) {
+            Task task;
+            Lane lane;
+            synchronized (this) {
+                lane = next();
+                if (lane == null) {
+                    return;
+                }
+                task = lane.poll();
+                if (task.isCancelled()) {
+                    // cancelled while taking the lock to leave its lane
+                    continue;
+                }
+                long now = System.nanoTime();
+                long waitNanos = now - task.enqueuedAtNanos;
+                lane.lastDispatchNanos = now;
+                lane.dispatched++;
+                lane.totalWaitNanos += waitNanos;
+                lane.maxWaitNanos = Math.max(lane.maxWaitNanos, waitNanos);
+                lane.running++;
+                running++;
+                if (lane.priority != NotifierPayload.Priority.HIGH) {
+                    runningOther++;
+                }
+            }
+
+            Lane started = lane;
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        release(started);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                task.fail(e);
+                release(started);
+                return;
+            }
+        }
+    }
+
+    private void release(Lane lane) {
+        synchronized (this) {
+            lane.running--;
+            running--;
+            if (lane.priority != NotifierPayload.Priority.HIGH) {
+                runningOther--;
+            }
+        }
+        drain();
+    }
+
+    /**
+     * @return the lane of the next send to start, null when no send can start
+     */
+    private Lane next() {
+        if (running >= concurrency) {
+            return null;
+        }
+        long now = System.nanoTime();
+        Lane aged = null;
+        int totalWeight = 0;
+        for (Lane lane : lanes.values()) {
+            if (lane.queue.isEmpty() || !hasCapacity(lane)) {
+                continue;
+            }
+            // a lane already started a send within maxWaitMillis is not starved, its backlog waits for its weight
+            long waited = now - lane.peek().enqueuedAtNanos;
+            if (waited >= maxWaitNanos && now - lane.lastDispatchNanos >= maxWaitNanos
+                    && (aged == null || waited > now - aged.peek().enqueuedAtNanos)) {
+                aged = lane;
+            }
+            totalWeight += lane.weight;
+        }
+        if (aged != null) {
+            return aged;
+        }
+
+        Lane selected = null;
+        for (Lane lane : lanes.values()) {
+            if (lane.queue.isEmpty() || !hasCapacity(lane)) {
+                continue;
+            }
+            lane.currentWeight += lane.weight;
+            if (selected == null || lane.currentWeight > selected.currentWeight) {
+                selected = lane;
+            }
+        }
+        if (selected != null) {
+            selected.currentWeight -= totalWeight;
+        }
+        return selected;
+    }
+
+    private boolean hasCapacity(Lane lane) {
+        return lane.priority == NotifierPayload.Priority.HIGH || runningOther < concurrency - reservedHighSlots;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int concurrency = 32;
+        private int reservedHighSlots = 4;
+        private int highWeight = 6;
+        private int normalWeight = 3;
+        private int lowWeight = 1;
+        private long maxWaitMillis = 5_000;
+        private int laneCapacity = 10_000;
+
+        private Builder() {}
+
+        /**
+         * Sends running at the same time, all lanes included
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency < 1) throw new NotifierException("concurrency must be greater than 0");
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Part of the concurrency running only HIGH sends
+         */
+        public Builder reservedHighSlots(int reservedHighSlots) {
+            if (reservedHighSlots < 0) throw new NotifierException("reservedHighSlots cannot be negative");
+            this.reservedHighSlots = reservedHighSlots;
+            return this;
+        }
+
+        /**
+         * Share of the capacity of each lane while all of them have sends waiting
+         */
+        public Builder weights(int highWeight, int normalWeight, int lowWeight) {
+            if (highWeight < 1 || normalWeight < 1 || lowWeight < 1) throw new NotifierException("weights must be greater than 0");
+            this.highWeight = highWeight;
+            this.normalWeight = normalWeight;
+            this.lowWeight = lowWeight;
+            return this;
+        }
+
+        /**
+         * Wait after which a send runs before the sends of the other lanes
+         */
+        public Builder maxWaitMillis(long maxWaitMillis) {
+            if (maxWaitMillis < 1) throw new NotifierException("maxWaitMillis must be greater than 0");
+            this.maxWaitMillis = maxWaitMillis;
+            return this;
+        }
+
+        /**
+         * Sends waiting in each lane, above which a send is rejected
+         */
+        public Builder laneCapacity(int laneCapacity) {
+            if (laneCapacity < 1) throw new NotifierException("laneCapacity must be greater than 0");
+            this.laneCapacity = laneCapacity;
+            return this;
+        }
+
+        /**
+         * @param executor executor running the sends, at least as many threads as the concurrency
+         */
+        public PriorityScheduler build(ExecutorService executor) {
+            if (reservedHighSlots >= concurrency) {
+                throw new NotifierException("reservedHighSlots must be lower than the concurrency");
+            }
+            return new PriorityScheduler(this, executor);
+        }
+    }
+
+    /**
+     * Queue and counters of one priority, guarded by the scheduler
+     */
+    private static final class Lane {
+        private final NotifierPayload.Priority priority;
+        private final int weight;
+        /**
+         * sends in the order of their submission, a cancelled send being removed at once
+         */
+        private final LinkedHashSet<Task> queue = new LinkedHashSet<>();
+        private long lastDispatchNanos;
+        private int currentWeight;
+        private int running;
+        private long submitted;
+        private long dispatched;
+        private long rejected;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+
+        private Lane(NotifierPayload.Priority priority, int weight, long lastDispatchNanos) {
+            this.priority = priority;
+            this.weight = weight;
+            this.lastDispatchNanos = lastDispatchNanos;
+        }
+
+        private Task peek() {
+            return queue.isEmpty() ? null : queue.iterator().next();
+        }
+
+        private Task poll() {
+            Task head = peek();
+            if (head != null) {
+                queue.remove(head);
+            }
+            return head;
+        }
+    }
+
+    private final class Task extends FutureTask<Void> {
+        private final Lane lane;
+        private final long enqueuedAtNanos;
+
+        private Task(Runnable send, Lane lane, long enqueuedAtNanos) {
+            super(send, null);
+            this.lane = lane;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+
+        /**
+         * A queued send leaves its lane at once, so it no longer counts in its depth nor its capacity
+         */
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                synchronized (PriorityScheduler.this) {
+                    lane.queue.remove(this);
+                }
+            }
+            return cancelled;
+        }
+
+        private void fail(Throwable error) {
+            setException(error);
+        }
+    }
+
+    /**
+     * Snapshot of the counters of one lane
+     */
+    public static final class LaneStats {
+        private final NotifierPayload.Priority priority;
+        private final int depth;
+        private final int running;
+        private final long submitted;
+        private final long dispatched;
+        private final long rejected;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+        private final long oldestWaitNanos;
+
+        private LaneStats(NotifierPayload.Priority priority, int depth, int running, long submitted, long dispatched,
+                          long rejected, long totalWaitNanos, long maxWaitNanos, long oldestWaitNanos) {
+            this.priority = priority;
+            this.depth = depth;
+            this.running = running;
+            this.submitted = submitted;
+            this.dispatched = dispatched;
+            this.rejected = rejected;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.oldestWaitNanos = oldestWaitNanos;
+        }
+
+        public NotifierPayload.Priority getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return the sends waiting in the lane
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getRunning() {
+            return running;
+        }
+
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        public long getDispatched() {
+            return dispatched;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * @return the mean wait of the started sends
+         */
+        public double getAverageWaitMillis() {
+            return dispatched == 0 ? 0 : totalWaitNanos / (dispatched * 1_000_000.0);
+        }
+
+        public long getMaxWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+        }
+
+        /**
+         * @return the wait of the send at the head of the lane, 0 when the lane is empty
+         */
+        public long getOldestWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(oldestWaitNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "LaneStats{" +
+                    "priority=" + priority +
+                    ", depth=" + depth +
+                    ", running=" + running +
+                    ", submitted=" + submitted +
+                    ", dispatched=" + dispatched +
+                    ", rejected=" + rejected +
+                    ", averageWaitMillis=" + getAverageWaitMillis() +
+                    ", maxWaitMillis=" + getMaxWaitMillis() +
+                    '}';
+        }
+    }
+}
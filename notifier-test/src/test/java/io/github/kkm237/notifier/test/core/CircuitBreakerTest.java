@@ -0,0 +1,92 @@
+package io.github.kkm237.notifier.test.core;
+
+import io.github.kkm237.notifier.core.circuit.CircuitBreaker;
+import io.github.kkm237.notifier.core.circuit.CircuitState;
+import io.github.kkm237.notifier.core.exceptions.CircuitBreakerOpenException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.core.circuit.CircuitBreaker}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("CircuitBreakerTest")
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Test
+    @DisplayName("tryAcquire() should refuse the sends once the failure rate opens the circuit, then close it after the probes")
+    void tryAcquireShouldRefuseWhileOpenAndCloseAfterProbes() throws Exception {
+        // Given
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+                .windowSize(10).minimumCalls(10).failureRateThreshold(0.5).openMillis(100).halfOpenProbes(2)
+                .build("SMS");
+        List<CircuitState> transitions = Collections.synchronizedList(new ArrayList<>());
+        circuitBreaker.onStateTransition(transition -> transitions.add(transition.getTo()));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+            if (i % 2 == 0) permit.onFailure(FAST); else permit.onSuccess(FAST);
+        }
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isNull();
+        assertThat(circuitBreaker.getMetrics().getNotPermitted()).isEqualTo(1);
+        assertThat(circuitBreaker.openException()).isInstanceOf(CircuitBreakerOpenException.class)
+                .satisfies(e -> assertThat(e.getCircuitBreaker()).isEqualTo("SMS"));
+
+        // When
+        Thread.sleep(150);
+        CircuitBreaker.Permit first = circuitBreaker.tryAcquire();
+        CircuitBreaker.Permit second = circuitBreaker.tryAcquire();
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.HALF_OPEN);
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(circuitBreaker.tryAcquire()).isNull();
+
+        // When
+        first.onSuccess(FAST);
+        second.onSuccess(FAST);
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.CLOSED);
+        assertThat(transitions).containsExactly(CircuitState.OPEN, CircuitState.HALF_OPEN, CircuitState.CLOSED);
+    }
+
+    @Test
+    @DisplayName("onSuccess() should open the circuit when too many sends are slow")
+    void onSuccessShouldOpenOnSlowCallRate() {
+        // Given
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+                .windowSize(10).minimumCalls(5).slowCallRateThreshold(0.6).slowCallMillis(50)
+                .build("EMAIL");
+        List<CircuitBreaker.StateTransition> transitions = Collections.synchronizedList(new ArrayList<>());
+        circuitBreaker.onStateTransition(transitions::add);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            circuitBreaker.tryAcquire().onSuccess(TimeUnit.MILLISECONDS.toNanos(i < 3 ? 80 : 1));
+        }
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThat(transitions).singleElement().satisfies(transition -> {
+            assertThat(transition.getFailureRate()).isZero();
+            assertThat(transition.getSlowCallRate()).isEqualTo(0.6);
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.kkm237.notifier.test.core;
+
+import io.github.kkm237.notifier.core.delivery.DeliveryState;
+import io.github.kkm237.notifier.core.delivery.DeliveryStatus;
+import io.github.kkm237.notifier.core.delivery.DeliveryStatusStore;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.core.delivery.DeliveryStatusStore}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("DeliveryStatusStoreTest")
+class DeliveryStatusStoreTest {
+
+    @Test
+    @DisplayName("ingestTwilioCallback() should update the message and complete its waiters and subscribers")
+    void ingestTwilioCallbackShouldCompleteFinalState() {
+        // Given
+        DeliveryStatusStore store = new DeliveryStatusStore(100, 60_000);
+        List<DeliveryStatus> finals = new CopyOnWriteArrayList<>();
+        store.subscribe(finals::add);
+        store.track(NotifierPayload.Channel.SMS, "SM1", "+15005550000", DeliveryState.QUEUED);
+        CompletableFuture<DeliveryStatus> delivered = store.awaitFinal("SM1");
+
+        // When
+        store.ingestTwilioCallback(Map.of("MessageSid", "SM1", "MessageStatus", "sent"));
+        boolean afterSent = delivered.isDone();
+        store.ingestTwilioCallback(Map.of("MessageSid", "SM1", "MessageStatus", "undelivered", "ErrorCode", "30003"));
+
+        // Then
+        assertThat(afterSent).isFalse();
+        assertThat(delivered).isCompleted();
+        assertThat(delivered.join().getState()).isEqualTo(DeliveryState.UNDELIVERED);
+        assertThat(delivered.join().getErrorCode()).isEqualTo("30003");
+        assertThat(store.getLatest("+15005550000")).hasValueSatisfying(status -> {
+            assertThat(status.getMessageId()).isEqualTo("SM1");
+            assertThat(status.getChannel()).isEqualTo(NotifierPayload.Channel.SMS);
+        });
+        assertThat(finals).extracting(DeliveryStatus::getMessageId).containsExactly("SM1");
+    }
+
+    @Test
+    @DisplayName("the stages chained on awaitFinal() should run without holding the store lock")
+    void awaitFinalShouldCompleteOutsideTheStoreLock() {
+        // Given
+        DeliveryStatusStore store = new DeliveryStatusStore(1, 60_000);
+        CompletableFuture<Boolean> evicted = store.awaitFinal("SM1").handle((status, error) -> Thread.holdsLock(store));
+
+        // When
+        // the store keeps a single message: tracking SM2 evicts SM1
+        store.track(NotifierPayload.Channel.SMS, "SM2", "+15005550002", DeliveryState.QUEUED);
+        CompletableFuture<Boolean> delivered = store.awaitFinal("SM2").thenApply(status -> Thread.holdsLock(store));
+        store.ingest("SM2", "delivered", null);
+
+        // Then
+        assertThat(evicted).isCompletedWithValue(false);
+        assertThat(delivered).isCompletedWithValue(false);
+    }
+
+    @Test
+    @DisplayName("update() should keep a callback received before the tracking and ignore a late non final state")
+    void updateShouldHandleCallbacksOutOfOrder() {
+        // Given
+        DeliveryStatusStore store = new DeliveryStatusStore(100, 60_000);
+
+        // When
+        store.ingest("SM2", "delivered", null);
+        store.track(NotifierPayload.Channel.WHATSAPP, "SM2", "whatsapp:+15005550001", DeliveryState.QUEUED);
+        boolean changed = store.ingest("SM2", "sent", null);
+
+        // Then
+        assertThat(changed).isFalse();
+        assertThat(store.get("SM2")).hasValueSatisfying(status -> {
+            assertThat(status.getState()).isEqualTo(DeliveryState.DELIVERED);
+            assertThat(status.getRecipient()).isEqualTo("whatsapp:+15005550001");
+        });
+    }
+
+    @Test
+    @DisplayName("the store should evict the oldest messages above its size and after their expiry")
+    void storeShouldBeBoundedAndExpire() {
+        // Given
+        MutableClock clock = new MutableClock();
+        DeliveryStatusStore store = new DeliveryStatusStore(3, 1_000, clock);
+        CompletableFuture<DeliveryStatus> evicted = store.awaitFinal("SM0");
+        for (int i = 1; i <= 3; i++) {
+            store.track(NotifierPayload.Channel.SMS, "SM" + i, "+1500555000" + i, DeliveryState.SENT);
+            clock.millis += 100;
+        }
+
+        // When
+        int sizeAtCapacity = store.size();
+        clock.millis += 850;
+
+        // Then
+        assertThat(sizeAtCapacity).isEqualTo(3);
+        assertThat(evicted).isCompletedExceptionally();
+        assertThat(store.get("SM1")).isEmpty();
+        assertThat(store.getLatest("+15005550001")).isEmpty();
+        assertThat(store.get("SM2")).isEmpty();
+        assertThat(store.get("SM3")).isPresent();
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis = 1_000_000;
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
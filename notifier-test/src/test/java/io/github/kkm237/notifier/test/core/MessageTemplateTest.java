@@ -0,0 +1,80 @@
+package io.github.kkm237.notifier.test.core;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.core.template.MessageTemplate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.core.template.MessageTemplate}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("MessageTemplateTest")
+class MessageTemplateTest {
+
+    @Test
+    @DisplayName("render() should replace every placeholder")
+    void renderShouldReplaceEveryPlaceholder() {
+        // Given
+        MessageTemplate template = MessageTemplate.compile("Hello {{ name }}, your code is {{code}}. Bye {{name}}");
+
+        // When
+        String rendered = template.render(Map.of("name", "Anna", "code", "1234"));
+
+        // Then
+        assertThat(rendered).isEqualTo("Hello Anna, your code is 1234. Bye Anna");
+        assertThat(template.getNames()).containsExactly("name", "code", "name");
+    }
+
+    @Test
+    @DisplayName("render() should reuse the buffer and keep unterminated placeholders as text")
+    void renderShouldReuseBuffer() {
+        // Given
+        MessageTemplate template = MessageTemplate.compile("{{greeting}} {{ unterminated");
+        StringBuilder buffer = new StringBuilder("previous content");
+
+        // When & Then
+        assertThat(template.render(Map.of("greeting", "Hi"), buffer)).isEqualTo("Hi {{ unterminated");
+        assertThat(template.render(Map.of("greeting", "Hey"), buffer)).isEqualTo("Hey {{ unterminated");
+    }
+
+    @Test
+    @DisplayName("render() should fail on missing variable")
+    void renderShouldFailOnMissingVariable() {
+        MessageTemplate template = MessageTemplate.compile("Hello {{name}}");
+
+        assertThatThrownBy(() -> template.render(Map.of()))
+                .isInstanceOf(NotifierException.class)
+                .hasMessageContaining("name");
+    }
+
+    @Test
+    @DisplayName("TemplatePayload.render() should build the payload of one recipient")
+    void templatePayloadShouldRenderRecipientPayload() {
+        // Given
+        TemplatePayload payload = TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .subject("Welcome {{name}}")
+                .body("Dear {{name}}, your plan is {{plan}}.")
+                .addRecipient("anna@example.com", Map.of("name", "Anna", "plan", "Pro"))
+                .addRecipient("bob@example.com", Map.of("name", "Bob", "plan", "Free"))
+                .build();
+
+        // When
+        NotifierPayload rendered = payload.render("bob@example.com");
+
+        // Then
+        assertThat(payload.getRecipients()).containsExactly("anna@example.com", "bob@example.com");
+        assertThat(rendered.getRecipients()).containsExactly("bob@example.com");
+        assertThat(rendered.getSubject()).isEqualTo("Welcome Bob");
+        assertThat(rendered.getBody()).isEqualTo("Dear Bob, your plan is Free.");
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.kkm237.notifier.test.core;
+
+import io.github.kkm237.notifier.core.outbox.OutboxLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.core.outbox.OutboxLog}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("OutboxLogTest")
+class OutboxLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("append() should keep concurrent records across segments and replay them from the checkpoint")
+    void appendShouldReplayFromCheckpointAcrossSegments() throws Exception {
+        // Given
+        OutboxLog outbox = OutboxLog.open(directory, 4096);
+        ExecutorService appenders = Executors.newFixedThreadPool(8);
+        List<Future<Long>> appended = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            byte[] record = ("message " + i).getBytes(StandardCharsets.UTF_8);
+            appended.add(appenders.submit(() -> outbox.append(record)));
+        }
+        for (Future<Long> position : appended) {
+            position.get();
+        }
+        appenders.shutdown();
+
+        // When
+        List<String> consumed = new ArrayList<>();
+        long position = outbox.getCheckpoint();
+        for (int i = 0; i < 150; i++) {
+            OutboxLog.Entry entry = outbox.read(position);
+            consumed.add(new String(entry.getData(), StandardCharsets.UTF_8));
+            position = entry.getNextPosition();
+        }
+        outbox.checkpoint(position);
+        outbox.close();
+        OutboxLog reopened = OutboxLog.open(directory, 4096);
+        List<String> replayed = new ArrayList<>();
+        for (OutboxLog.Entry entry = reopened.read(reopened.getCheckpoint()); entry != null; entry = reopened.read(entry.getNextPosition())) {
+            replayed.add(new String(entry.getData(), StandardCharsets.UTF_8));
+        }
+        reopened.close();
+
+        // Then
+        assertThat(consumed).doesNotHaveDuplicates();
+        assertThat(replayed).hasSize(250).doesNotContainAnyElementsOf(consumed);
+        assertThat(segments()).hasSizeLessThan(5);
+    }
+
+    @Test
+    @DisplayName("open() should end the log at a torn record and append after the last complete one")
+    void openShouldDiscardTornRecord() throws IOException {
+        // Given
+        OutboxLog outbox = OutboxLog.open(directory, 4096);
+        outbox.append("first".getBytes(StandardCharsets.UTF_8));
+        long torn = outbox.append("second".getBytes(StandardCharsets.UTF_8));
+        outbox.close();
+        try (RandomAccessFile segment = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            // a crash in the middle of the second record
+            segment.seek(torn + 9);
+            segment.write('X');
+        }
+
+        // When
+        OutboxLog reopened = OutboxLog.open(directory, 4096);
+        reopened.append("third".getBytes(StandardCharsets.UTF_8));
+        OutboxLog.Entry first = reopened.read(0);
+        OutboxLog.Entry next = reopened.read(first.getNextPosition());
+        OutboxLog.Entry end = reopened.read(next.getNextPosition());
+        reopened.close();
+
+        // Then
+        assertThat(new String(first.getData(), StandardCharsets.UTF_8)).isEqualTo("first");
+        assertThat(new String(next.getData(), StandardCharsets.UTF_8)).isEqualTo("third");
+        assertThat(end).isNull();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+}
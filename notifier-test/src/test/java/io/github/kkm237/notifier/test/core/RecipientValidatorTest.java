@@ -0,0 +1,87 @@
+package io.github.kkm237.notifier.test.core;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.utils.RecipientValidator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.core.utils.RecipientValidator}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("RecipientValidatorTest")
+class RecipientValidatorTest {
+
+    private static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
+    private static final String PHONE_REGEX = "^\\+[1-9]\\d{1,14}$";
+
+    @Test
+    @DisplayName("isValidEmail() and isValidPhoneNumber() should accept exactly what the regular expressions accept")
+    void scannersShouldMatchRegularExpressions() {
+        // Given
+        List<String> samples = List.of("user@example.com", "first.last+tag@sub.example.co", "a@b.cd", "a@b..cd",
+                "a@.cd", "@example.com", "user@", "user@example", "user@example.c", "user@example.c0m",
+                "user@exa_mple.com", "us er@example.com", "user@@example.com", "user@example.com\n", "é@example.com",
+                "user@example.com.", "user@1.2.3.com", "user@-example.com", "",
+                "+15005550006", "+1", "+12", "+0123", "+123456789012345", "+1234567890123456", "15005550006",
+                "+1500555000a", "+1 500555000", "+");
+
+        // When / Then
+        for (String sample : samples) {
+            assertThat(RecipientValidator.isValidEmail(sample)).as("email %s", sample).isEqualTo(sample.matches(EMAIL_REGEX));
+            assertThat(RecipientValidator.isValidPhoneNumber(sample)).as("phone %s", sample).isEqualTo(sample.matches(PHONE_REGEX));
+        }
+    }
+
+    @Test
+    @DisplayName("validateAll() should return the indices of the invalid recipients of the channel")
+    void validateAllShouldReturnInvalidIndices() {
+        // Given
+        List<String> recipients = List.of("+15005550006", "user@example.com", "+15005550007", "whatsapp:+15005550008");
+
+        // When
+        int[] sms = RecipientValidator.validateAll(NotifierPayload.Channel.SMS, recipients);
+        int[] whatsapp = RecipientValidator.validateAll(NotifierPayload.Channel.WHATSAPP, recipients);
+        int[] email = RecipientValidator.validateAll(NotifierPayload.Channel.EMAIL, recipients);
+
+        // Then
+        assertThat(sms).containsExactly(1, 3);
+        assertThat(whatsapp).containsExactly(1);
+        assertThat(email).containsExactly(0, 2, 3);
+    }
+
+    @Test
+    @DisplayName("NotifierPayload.Builder should validate the recipients for the channel of the payload")
+    void builderShouldValidateRecipientsForChannel() {
+        // When
+        NotifierPayload sms = NotifierPayload.builder()
+                .addRecipients(List.of("+15005550006", "+15005550007"))
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service degraded")
+                .build();
+        NotifierPayload email = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .addRecipient("user@example.com")
+                .addBcc("audit@example.com")
+                .subject("Alert")
+                .body("Service degraded")
+                .build();
+
+        // Then
+        assertThat(sms.getRecipients()).containsExactly("+15005550006", "+15005550007");
+        assertThat(email.getBcc()).containsExactly("audit@example.com");
+        assertThatThrownBy(() -> NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .addRecipients(List.of("+15005550006", "user@example.com")))
+                .isInstanceOf(NotifierException.class)
+                .hasMessageContaining("user@example.com");
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.kkm237.notifier.test.core;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.RecipientResult;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.provider.ProviderException;
+import io.github.kkm237.notifier.core.retry.DefaultRetryClassifier;
+import io.github.kkm237.notifier.core.retry.HashedTimingWheel;
+import io.github.kkm237.notifier.core.retry.RetryEngine;
+import io.github.kkm237.notifier.core.retry.RetryPolicy;
+import io.github.kkm237.notifier.core.retry.Retryability;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.core.retry.RetryEngine} and its
+ * {@link io.github.kkm237.notifier.core.retry.HashedTimingWheel}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("RetryEngineTest")
+class RetryEngineTest {
+
+    @Test
+    @DisplayName("schedule() should fire every timeout after its delay except the cancelled ones")
+    void scheduleShouldFireTimeoutsAndSkipCancelled() throws Exception {
+        // Given
+        try (HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", 5, 8, Runnable::run)) {
+            int count = 10_000;
+            CountDownLatch fired = new CountDownLatch(count / 2);
+            List<Long> lateMillis = Collections.synchronizedList(new ArrayList<>());
+            List<HashedTimingWheel.Timeout> cancelled = new ArrayList<>();
+            AtomicInteger cancelledFired = new AtomicInteger();
+
+            // When
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                long delay = 10 + i % 200;
+                if (i % 2 == 0) {
+                    wheel.schedule(() -> {
+                        lateMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) - delay);
+                        fired.countDown();
+                    }, delay, TimeUnit.MILLISECONDS);
+                } else {
+                    cancelled.add(wheel.schedule(cancelledFired::incrementAndGet, 1_000 + delay, TimeUnit.MILLISECONDS));
+                }
+            }
+            cancelled.forEach(HashedTimingWheel.Timeout::cancel);
+
+            // Then
+            assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(lateMillis).allMatch(late -> late >= 0);
+            assertThat(cancelledFired.get()).isZero();
+            assertThat(wheel.pending()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("sendWithReport() should only retry the recipients failed with a transient error")
+    void sendWithReportShouldRetryTransientFailuresOnly() throws Exception {
+        // Given
+        RetryPolicy policy = RetryPolicy.builder().maxAttempts(3).initialBackoffMillis(20).maxBackoffMillis(50).build();
+        List<List<String>> attempts = Collections.synchronizedList(new ArrayList<>());
+        try (RetryEngine engine = new RetryEngine(policy, new DefaultRetryClassifier(),
+                new HashedTimingWheel("test-retry", 5, 64, Runnable::run))) {
+
+            // When
+            SendReport report = engine.sendWithReport(NotifierPayload.Channel.SMS, List.of("+237600000001", "+237600000002", "+237600000003"),
+                    recipients -> {
+                        attempts.add(recipients);
+                        List<RecipientResult> results = new ArrayList<>();
+                        for (String recipient : recipients) {
+                            if (recipient.endsWith("1")) {
+                                results.add(RecipientResult.sent(recipient, "SM1", 0));
+                            } else if (recipient.endsWith("2") && attempts.size() < 3) {
+                                results.add(RecipientResult.failed(recipient, new ProviderException(503, 20503, "Service unavailable"), 0));
+                            } else if (recipient.endsWith("2")) {
+                                results.add(RecipientResult.sent(recipient, "SM2", 0));
+                            } else {
+                                results.add(RecipientResult.failed(recipient, new ProviderException(400, 21211, "Invalid 'To' Phone Number"), 0));
+                            }
+                        }
+                        return CompletableFuture.completedFuture(new SendReport(NotifierPayload.Channel.SMS, results));
+                    }).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(attempts).containsExactly(
+                    List.of("+237600000001", "+237600000002", "+237600000003"),
+                    List.of("+237600000002"),
+                    List.of("+237600000002"));
+            assertThat(report.getResults()).extracting(RecipientResult::getRecipient)
+                    .containsExactly("+237600000001", "+237600000002", "+237600000003");
+            assertThat(report.getSentCount()).isEqualTo(2);
+            assertThat(report.getResult("+237600000003").getErrorMessage()).contains("Invalid 'To'");
+            assertThat(engine.getBudget(NotifierPayload.Channel.SMS).getRetries()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("classify() should tell transient provider and network failures from permanent ones")
+    void classifyShouldTellTransientFromPermanent() {
+        // Given
+        DefaultRetryClassifier classifier = new DefaultRetryClassifier();
+
+        // When / Then
+        assertThat(classifier.classify(new ProviderException(429, 20429, "Too Many Requests"))).isEqualTo(Retryability.RETRYABLE);
+        assertThat(classifier.classify(new ProviderException(-1, null, "Twilio not reachable"))).isEqualTo(Retryability.RETRYABLE);
+        assertThat(classifier.classify(new ProviderException(400, 21610, "Unsubscribed recipient"))).isEqualTo(Retryability.PERMANENT);
+        assertThat(classifier.classify(new NotifierSendFailedException("Messaging error", new SocketTimeoutException("Read timed out"))))
+                .isEqualTo(Retryability.RETRYABLE);
+        assertThat(classifier.classify(new NotifierSendFailedException("Unknown"))).isEqualTo(Retryability.UNKNOWN);
+    }
+}
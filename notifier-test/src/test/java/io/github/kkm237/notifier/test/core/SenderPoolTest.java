@@ -0,0 +1,77 @@
+package io.github.kkm237.notifier.test.core;
+
+import io.github.kkm237.notifier.core.ratelimit.SenderRateLimiter;
+import io.github.kkm237.notifier.core.sender.SenderNumber;
+import io.github.kkm237.notifier.core.sender.SenderPool;
+import io.github.kkm237.notifier.core.sender.SenderSelection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.core.sender.SenderPool}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("SenderPoolTest")
+class SenderPoolTest {
+
+    private static final List<String> NUMBERS = List.of("+15005550006", "+15005550007", "+15005550008");
+
+    @Test
+    @DisplayName("acquire() should keep a recipient on one sender until that sender is ejected")
+    void acquireShouldKeepRecipientOnStickySender() {
+        // Given
+        SenderPool pool = new SenderPool(NUMBERS, SenderSelection.STICKY, new SenderRateLimiter(0, 1, 0), 60_000);
+        String owner = send(pool, "+237690000001");
+
+        // When
+        Set<String> senders = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            senders.add(send(pool, "+237690000001"));
+        }
+        for (int i = 0; i < 3; i++) {
+            try (SenderPool.Lease lease = pool.acquire("+237690000001")) {
+                lease.failure();
+            }
+        }
+
+        // Then
+        assertThat(senders).containsExactly(owner);
+        assertThat(pool.getSenders()).filteredOn(sender -> sender.getNumber().equals(owner))
+                .singleElement().satisfies(sender -> assertThat(sender.isHealthy()).isFalse());
+        assertThat(send(pool, "+237690000001")).isNotEqualTo(owner);
+    }
+
+    @Test
+    @DisplayName("acquire() should spread the messages over the senders with a permit available")
+    void acquireShouldSpreadMessagesOverSenders() {
+        // Given
+        SenderPool pool = new SenderPool(NUMBERS, SenderSelection.LEAST_LOADED, new SenderRateLimiter(1, 2, 0), 60_000);
+
+        // When
+        List<String> senders = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            senders.add(send(pool, "+23769000000" + i));
+        }
+
+        // Then
+        // 3 senders with a burst of 2 each, none has to wait
+        assertThat(senders).hasSize(6).containsOnlyElementsOf(NUMBERS);
+        assertThat(pool.getSenders()).extracting(SenderNumber::getSent).containsOnly(2L);
+    }
+
+    private static String send(SenderPool pool, String recipient) {
+        try (SenderPool.Lease lease = pool.acquire(recipient)) {
+            lease.success();
+            return lease.getNumber();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.kkm237.notifier.test.core;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+import io.github.kkm237.notifier.core.ratelimit.SenderRateLimiter;
+import io.github.kkm237.notifier.core.ratelimit.TokenBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.core.ratelimit.SenderRateLimiter}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("SenderRateLimiterTest")
+class SenderRateLimiterTest {
+
+    @Test
+    @DisplayName("acquire() should let the burst through then pace the sender to its rate")
+    void acquireShouldPaceSenderAfterBurst() {
+        // Given
+        SenderRateLimiter limiter = new SenderRateLimiter(20, 2, 5_000);
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            limiter.acquire("+15005550006");
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        // 2 permits of the burst, then 4 permits at 50 ms each
+        assertThat(elapsedMillis).isBetween(180L, 1_000L);
+        assertThat(limiter.acquire("+15005550007")).isZero();
+    }
+
+    @Test
+    @DisplayName("acquire() should fail without waiting when the permit is due after the maximum wait")
+    void acquireShouldFailWhenMaxWaitExceeded() {
+        // Given
+        SenderRateLimiter limiter = new SenderRateLimiter(1, 1, 100);
+        limiter.acquire("+15005550006");
+
+        // When / Then
+        assertThatThrownBy(() -> limiter.acquire("+15005550006"))
+                .isInstanceOf(NotifierRateLimitedException.class)
+                .satisfies(e -> {
+                    NotifierRateLimitedException limited = (NotifierRateLimitedException) e;
+                    assertThat(limited.getSender()).isEqualTo("+15005550006");
+                    assertThat(limited.getRetryAfterMillis()).isBetween(100L, 1_000L);
+                });
+    }
+
+    @Test
+    @DisplayName("drain() should empty the bucket of the sender")
+    void drainShouldEmptyBucket() {
+        // Given
+        TokenBucket bucket = new TokenBucket("+15005550006", 1, 5);
+
+        // When
+        bucket.drain();
+
+        // Then
+        assertThat(bucket.tryAcquire()).isFalse();
+        assertThat(bucket.nanosUntilAvailable()).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+}
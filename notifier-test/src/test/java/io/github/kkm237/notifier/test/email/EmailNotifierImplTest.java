@@ -7,8 +7,13 @@ import com.icegreen.greenmail.junit5.GreenMailExtension;
 import com.icegreen.greenmail.util.ServerSetupTest;
 import io.github.kkm237.notifier.core.model.AttachmentPayload;
 import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.email.BatchSendResult;
 import io.github.kkm237.notifier.email.EmailConfig;
 import io.github.kkm237.notifier.email.EmailNotifierImpl;
+import io.github.kkm237.notifier.email.EmailTemplate;
+import io.github.kkm237.notifier.email.SmtpRelay;
+import io.github.kkm237.notifier.email.WarmUpReport;
 import jakarta.mail.Message;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
@@ -16,10 +21,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -270,6 +283,407 @@ class EmailNotifierImplTest {
     }
 
 
+    @Test
+    @DisplayName("send() should reuse pooled connections for consecutive emails")
+    void sendShouldReusePooledConnections() throws Exception {
+        // Given
+        CountingSmtpRelay relay = new CountingSmtpRelay(greenMail.getSmtp().getBindTo(), greenMail.getSmtp().getPort());
+        EmailConfig config = EmailConfig.builder()
+                .host("127.0.0.1")
+                .port(relay.getPort())
+                .username("test@localhost")
+                .password("password")
+                .fromEmail("sender@example.com")
+                .poolMaxSize(1)
+                .poolMaxMessagesPerConnection(2)
+                .build();
+
+        // When
+        try (relay; EmailNotifierImpl pooledService = new EmailNotifierImpl(config)) {
+            for (int i = 0; i < 5; i++) {
+                pooledService.send(NotifierPayload.builder()
+                        .channel(NotifierPayload.Channel.EMAIL)
+                        .addRecipient("recipient" + i + "@example.com")
+                        .subject("Pooled " + i)
+                        .body("Pooled body " + i)
+                        .build());
+            }
+        }
+
+        // Then
+        // one connection for each 2 messages, instead of one per message
+        assertThat(relay.connections.get()).isEqualTo(3);
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(greenMail.getReceivedMessages()[4].getSubject()).isEqualTo("Pooled 4");
+    }
+
+    @Test
+    @DisplayName("constructor should warm up connections and report the handshake time")
+    void constructorShouldWarmUpConnections() throws Exception {
+        // Given
+        EmailConfig config = EmailConfig.builder()
+                .host(greenMail.getSmtp().getBindTo())
+                .port(greenMail.getSmtp().getPort())
+                .username("test@localhost")
+                .password("password")
+                .fromEmail("sender@example.com")
+                .poolMaxSize(2)
+                .warmUpConnections(3)
+                .build();
+
+        // When
+        try (EmailNotifierImpl warmService = new EmailNotifierImpl(config)) {
+            List<WarmUpReport> reports = warmService.getWarmUpReports();
+            warmService.send(NotifierPayload.builder()
+                    .channel(NotifierPayload.Channel.EMAIL)
+                    .addRecipient("warm@example.com")
+                    .subject("Warm")
+                    .body("Warm body")
+                    .build());
+
+            // Then
+            assertThat(reports).hasSize(1);
+            assertThat(reports.get(0).getOpened()).isEqualTo(2);
+            assertThat(reports.get(0).getFailed()).isZero();
+            assertThat(reports.get(0).getAverageHandshakeMillis()).isPositive();
+        }
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("sendBatch() should send every payload and report each result")
+    void sendBatchShouldSendEveryPayload() throws Exception {
+        // Given
+        List<NotifierPayload> payloads = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            payloads.add(NotifierPayload.builder()
+                    .channel(NotifierPayload.Channel.EMAIL)
+                    .addRecipient("campaign" + i + "@example.com")
+                    .subject("Campaign " + i)
+                    .body("Campaign body " + i)
+                    .build());
+        }
+
+        // When
+        List<BatchSendResult> results = emailService.sendBatch(payloads);
+
+        // Then
+        assertThat(results).hasSize(10).allMatch(BatchSendResult::isSent);
+        assertThat(greenMail.getReceivedMessages()).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("send() should stream InputStream attachments")
+    void sendShouldStreamInputStreamAttachment() throws Exception {
+        // Given
+        byte[] report = new byte[2 * 1024 * 1024];
+        new Random(42).nextBytes(report);
+        AttachmentPayload attachment = AttachmentPayload.builder()
+                .inputStream(new ByteArrayInputStream(report))
+                .filename("report.bin")
+                .contentType("application/octet-stream")
+                .build();
+
+        NotifierPayload notifierPayload = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .addRecipient("reports@example.com")
+                .subject("Daily report")
+                .body("Report attached.")
+                .addAttachment(attachment)
+                .build();
+
+        // When
+        emailService.send(notifierPayload);
+
+        // Then
+        MimeMessage receivedMessage = greenMail.getReceivedMessages()[0];
+        MimeMultipart multipart = (MimeMultipart) receivedMessage.getContent();
+        assertThat(multipart.getBodyPart(1).getHeader("Content-Transfer-Encoding")).containsExactly("base64");
+        assertThat(multipart.getBodyPart(1).getInputStream().readAllBytes()).isEqualTo(report);
+    }
+
+    @Test
+    @DisplayName("send() should attach a stream attachment of a template payload to the mail of each recipient")
+    void sendShouldAttachTemplateStreamToEachRecipient() throws Exception {
+        // Given
+        byte[] statement = new byte[256 * 1024];
+        new Random(11).nextBytes(statement);
+        TemplatePayload payload = TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .subject("Statement of {{name}}")
+                .body("Your statement is attached.")
+                .addRecipient("anna@example.com", Map.of("name", "Anna"))
+                .addRecipient("bob@example.com", Map.of("name", "Bob"))
+                .addAttachment(AttachmentPayload.builder()
+                        .inputStream(new ByteArrayInputStream(statement))
+                        .filename("statement.bin")
+                        .contentType("application/octet-stream")
+                        .build())
+                .build();
+
+        // When
+        emailService.send(payload);
+
+        // Then
+        assertThat(greenMail.getReceivedMessages()).hasSize(2).allSatisfy(receivedMessage -> {
+            MimeMultipart multipart = (MimeMultipart) receivedMessage.getContent();
+            assertThat(multipart.getBodyPart(1).getFileName()).isEqualTo("statement.bin");
+            assertThat(multipart.getBodyPart(1).getInputStream().readAllBytes()).isEqualTo(statement);
+        });
+    }
+
+    @Test
+    @DisplayName("sendBatch() should fail the second payload sharing a stream attachment instead of sending it empty")
+    void sendBatchShouldFailSharedStreamAttachment() throws Exception {
+        // Given
+        AttachmentPayload attachment = AttachmentPayload.builder()
+                .inputStream(new ByteArrayInputStream("Shared report".getBytes(StandardCharsets.UTF_8)))
+                .filename("report.txt")
+                .contentType("text/plain")
+                .build();
+        List<NotifierPayload> payloads = new ArrayList<>();
+        for (String recipient : List.of("anna@example.com", "bob@example.com")) {
+            payloads.add(NotifierPayload.builder()
+                    .channel(NotifierPayload.Channel.EMAIL)
+                    .addRecipient(recipient)
+                    .subject("Report")
+                    .body("Report attached.")
+                    .addAttachment(attachment)
+                    .build());
+        }
+
+        // When
+        List<BatchSendResult> results = emailService.sendBatch(payloads);
+
+        // Then
+        assertThat(results.get(0).isSent()).isTrue();
+        assertThat(results.get(1).isSent()).isFalse();
+        assertThat(results.get(1).getError()).hasStackTraceContaining("has already been sent");
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("send() should stream spooled attachment from disk and keep it for the next sends")
+    void sendShouldSendAndKeepSpooledAttachment(@TempDir Path spoolDirectory) throws Exception {
+        // Given
+        byte[] archive = new byte[512 * 1024];
+        new Random(7).nextBytes(archive);
+        AttachmentPayload attachment = AttachmentPayload.builder()
+                .content(archive)
+                .spoolThreshold(64 * 1024)
+                .spoolDirectory(spoolDirectory)
+                .filename("archive.bin")
+                .contentType("application/octet-stream")
+                .build();
+
+        NotifierPayload notifierPayload = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .addRecipient("archive@example.com")
+                .subject("Archive")
+                .body("Archive attached.")
+                .addAttachment(attachment)
+                .build();
+
+        assertThat(attachment.isSpooled()).isTrue();
+        assertThat(attachment.getContent()).isNull();
+        assertThat(attachment.getFile()).exists();
+
+        // When
+        emailService.send(notifierPayload);
+        emailService.send(notifierPayload);
+
+        // Then
+        assertThat(greenMail.getReceivedMessages()).hasSize(2).allSatisfy(receivedMessage -> {
+            MimeMultipart multipart = (MimeMultipart) receivedMessage.getContent();
+            assertThat(multipart.getBodyPart(1).getInputStream().readAllBytes()).isEqualTo(archive);
+        });
+        assertThat(attachment.getFile()).exists();
+        attachment.deleteSpoolFile();
+        assertThat(attachment.getFile()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("send() should reuse cached encoded attachments")
+    void sendShouldReuseCachedEncodedAttachments(@TempDir Path spillDirectory) throws Exception {
+        // Given
+        EmailConfig config = EmailConfig.builder()
+                .host(greenMail.getSmtp().getBindTo())
+                .port(greenMail.getSmtp().getPort())
+                .username("test@localhost")
+                .password("password")
+                .fromEmail("sender@example.com")
+                .attachmentCacheMaxBytes(1024L * 1024L)
+                .attachmentCacheSpillDirectory(spillDirectory.toString())
+                .build();
+        byte[] brochure = new byte[100_000];
+        new Random(7).nextBytes(brochure);
+
+        // When
+        try (EmailNotifierImpl cachingService = new EmailNotifierImpl(config)) {
+            for (int i = 0; i < 3; i++) {
+                cachingService.send(NotifierPayload.builder()
+                        .channel(NotifierPayload.Channel.EMAIL)
+                        .addRecipient("customer" + i + "@example.com")
+                        .subject("Brochure")
+                        .body("Our brochure is attached.")
+                        .addAttachment(AttachmentPayload.builder()
+                                .content(brochure)
+                                .filename("brochure.pdf")
+                                .contentType("application/pdf")
+                                .build())
+                        .build());
+            }
+            // Then
+            // each encoding is spilled to its own file: a single one means the later sends hit the cache
+            try (Stream<Path> spills = Files.list(spillDirectory)) {
+                assertThat(spills).hasSize(1);
+            }
+        }
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        for (MimeMessage receivedMessage : greenMail.getReceivedMessages()) {
+            MimeMultipart multipart = (MimeMultipart) receivedMessage.getContent();
+            assertThat(multipart.getBodyPart(1).getFileName()).isEqualTo("brochure.pdf");
+            assertThat(multipart.getBodyPart(1).getInputStream().readAllBytes()).isEqualTo(brochure);
+        }
+    }
+
+    @Test
+    @DisplayName("send() should not serve a cached attachment for a buffer refilled with other content")
+    void sendShouldEncodeRefilledAttachmentBuffer() throws Exception {
+        // Given
+        EmailConfig config = EmailConfig.builder()
+                .host(greenMail.getSmtp().getBindTo())
+                .port(greenMail.getSmtp().getPort())
+                .username("test@localhost")
+                .password("password")
+                .fromEmail("sender@example.com")
+                .attachmentCacheMaxBytes(1024L * 1024L)
+                .build();
+        byte[] buffer = new byte[10_000];
+        byte[][] documents = new byte[2][];
+
+        // When
+        try (EmailNotifierImpl cachingService = new EmailNotifierImpl(config)) {
+            for (int i = 0; i < 2; i++) {
+                new Random(i).nextBytes(buffer);
+                documents[i] = buffer.clone();
+                cachingService.send(NotifierPayload.builder()
+                        .channel(NotifierPayload.Channel.EMAIL)
+                        .addRecipient("customer" + i + "@example.com")
+                        .subject("Document")
+                        .body("Your document is attached.")
+                        .addAttachment(AttachmentPayload.builder()
+                                .content(buffer)
+                                .filename("document.pdf")
+                                .contentType("application/pdf")
+                                .build())
+                        .build());
+            }
+        }
+
+        // Then
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertThat(receivedMessages).hasSize(2);
+        for (int i = 0; i < 2; i++) {
+            MimeMultipart multipart = (MimeMultipart) receivedMessages[i].getContent();
+            assertThat(multipart.getBodyPart(1).getInputStream().readAllBytes()).isEqualTo(documents[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("sendBatch() should send a compiled template to each recipient")
+    void sendBatchShouldSendCompiledTemplate() throws Exception {
+        // Given
+        EmailTemplate template = emailService.compile(NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .addRecipient("ignored@example.com")
+                .subject("Spring sale")
+                .body("Everything is 20% off this week.")
+                .replyTo("sales@example.com")
+                .addAttachment(AttachmentPayload.builder()
+                        .content("Catalog".getBytes(StandardCharsets.UTF_8))
+                        .filename("catalog.pdf")
+                        .contentType("application/pdf")
+                        .build())
+                .build());
+
+        // When
+        List<BatchSendResult> results = emailService.sendBatch(template, List.of("anna@example.com", "bob@example.com"));
+
+        // Then
+        assertThat(results).allMatch(BatchSendResult::isSent);
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertThat(receivedMessages).hasSize(2);
+        assertThat(receivedMessages[0].getRecipients(Message.RecipientType.TO)[0].toString()).isEqualTo("anna@example.com");
+        assertThat(receivedMessages[1].getRecipients(Message.RecipientType.TO)[0].toString()).isEqualTo("bob@example.com");
+        assertThat(receivedMessages[0].getMessageID()).isNotEqualTo(receivedMessages[1].getMessageID());
+        assertThat(receivedMessages[1].getSubject()).isEqualTo("Spring sale");
+        assertThat(receivedMessages[1].getReplyTo()[0].toString()).isEqualTo("sales@example.com");
+        assertThat(((MimeMultipart) receivedMessages[1].getContent()).getCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("send() should personalize a template payload for each recipient")
+    void sendShouldPersonalizeTemplatePayload() throws Exception {
+        // Given
+        TemplatePayload payload = TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .subject("Hello {{name}}")
+                .body("Your balance is {{balance}}.")
+                .addRecipient("anna@example.com", Map.of("name", "Anna", "balance", "12.50"))
+                .addRecipient("bob@example.com", Map.of("name", "Bob", "balance", "3.00"))
+                .build();
+
+        // When
+        emailService.send(payload);
+
+        // Then
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertThat(receivedMessages).hasSize(2);
+        assertThat(receivedMessages[0].getSubject()).isEqualTo("Hello Anna");
+        assertThat(receivedMessages[1].getSubject()).isEqualTo("Hello Bob");
+        assertThat(receivedMessages[1].getContent().toString()).contains("Your balance is 3.00.");
+    }
+
+    @Test
+    @DisplayName("send() should fail over to a healthy relay")
+    void sendShouldFailOverToHealthyRelay() throws Exception {
+        // Given
+        EmailConfig config = EmailConfig.builder()
+                .fromEmail("sender@example.com")
+                .startTlsEnabled(false)
+                .addRelay(SmtpRelay.builder()
+                        .host("127.0.0.1")
+                        .port(1)
+                        .username("test@localhost")
+                        .password("password")
+                        .weight(10)
+                        .build())
+                .addRelay(SmtpRelay.builder()
+                        .host(greenMail.getSmtp().getBindTo())
+                        .port(greenMail.getSmtp().getPort())
+                        .username("test@localhost")
+                        .password("password")
+                        .build())
+                .build();
+
+        // When
+        try (EmailNotifierImpl relayedService = new EmailNotifierImpl(config)) {
+            for (int i = 0; i < 6; i++) {
+                relayedService.send(NotifierPayload.builder()
+                        .channel(NotifierPayload.Channel.EMAIL)
+                        .addRecipient("relay" + i + "@example.com")
+                        .subject("Relayed " + i)
+                        .body("Relayed body")
+                        .build());
+            }
+        }
+
+        // Then
+        assertThat(greenMail.getReceivedMessages()).hasSize(6);
+    }
+
     @Test
     @DisplayName("send() should preserve attachment descriptions")
     void sendShouldPreserveAttachmentDescriptions() throws Exception {
@@ -0,0 +1,160 @@
+package io.github.kkm237.notifier.test.email;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.github.kkm237.notifier.core.model.AttachmentPayload;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.email.EmailConfig;
+import io.github.kkm237.notifier.email.NioSmtpNotifierImpl;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.email.NioSmtpNotifierImpl}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("NioSmtpNotifierImplTest")
+class NioSmtpNotifierImplTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("test@localhost", "password"))
+            .withPerMethodLifecycle(true);
+
+    private NioSmtpNotifierImpl emailService;
+
+    @BeforeEach
+    void setUp() {
+        EmailConfig config = EmailConfig.builder()
+                .host(greenMail.getSmtp().getBindTo())
+                .port(greenMail.getSmtp().getPort())
+                .username("test@localhost")
+                .password("password")
+                .fromEmail("sender@example.com")
+                .startTlsEnabled(true)
+                .authEnabled(true)
+                .nioIoThreads(1)
+                .nioMaxSessions(2)
+                .build();
+
+        emailService = new NioSmtpNotifierImpl(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailService.close();
+    }
+
+    @Test
+    @DisplayName("send() should send email with attachment")
+    void sendShouldSendEmailWithAttachment() throws Exception {
+        // Given
+        NotifierPayload payload = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .addRecipient("recipient@example.com")
+                .addCc("cc@example.com")
+                .subject("NIO email")
+                .body("First line\n.line starting with a dot\n.")
+                .addAttachment(AttachmentPayload.builder()
+                        .filename("report.txt")
+                        .content("report content".getBytes(StandardCharsets.UTF_8))
+                        .contentType("text/plain")
+                        .build())
+                .build();
+
+        // When
+        emailService.send(payload);
+
+        // Then
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertThat(receivedMessages).hasSize(2);
+        MimeMessage received = receivedMessages[0];
+        assertThat(received.getSubject()).isEqualTo("NIO email");
+
+        MimeMultipart multipart = (MimeMultipart) received.getContent();
+        assertThat(multipart.getBodyPart(0).getContent().toString())
+                .contains(".line starting with a dot");
+        assertThat(multipart.getBodyPart(1).getFileName()).isEqualTo("report.txt");
+    }
+
+    @Test
+    @DisplayName("send() should send every recipient of a template payload over few sessions")
+    void sendShouldSendTemplatePayloadConcurrently() throws Exception {
+        // Given
+        TemplatePayload.Builder builder = TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .subject("Hello {{name}}")
+                .body("Dear {{name}}, welcome.");
+        for (int i = 0; i < 20; i++) {
+            builder.addRecipient("user" + i + "@example.com", Map.of("name", "User " + i));
+        }
+
+        // When
+        emailService.send(builder.build());
+
+        // Then
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertThat(receivedMessages).hasSize(20);
+        assertThat(Arrays.stream(receivedMessages).map(message -> {
+            try {
+                return message.getSubject();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        })).contains("Hello User 0", "Hello User 19");
+    }
+
+    @Test
+    @DisplayName("send() should deliver to the blind copies without a Bcc header in the data")
+    void sendShouldHideBlindCopies() throws Exception {
+        // Given
+        NotifierPayload payload = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .addRecipient("recipient@example.com")
+                .addBcc("hidden@example.com")
+                .subject("Blind copy")
+                .body("Blind copy")
+                .build();
+
+        // When
+        emailService.send(payload);
+
+        // Then
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertThat(receivedMessages).hasSize(2);
+        assertThat(receivedMessages).allSatisfy(message -> assertThat(message.getHeader("Bcc")).isNull());
+    }
+
+    @Test
+    @DisplayName("sendAsync() should complete once the server accepted the message")
+    void sendAsyncShouldCompleteWhenAccepted() {
+        // Given
+        NotifierPayload payload = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .addRecipient("async@example.com")
+                .subject("Async")
+                .htmlContent("<p>Async</p>")
+                .build();
+
+        // When
+        emailService.sendAsync(payload).join();
+
+        // Then
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+}
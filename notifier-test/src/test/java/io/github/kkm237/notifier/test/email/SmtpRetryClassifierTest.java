@@ -0,0 +1,67 @@
+package io.github.kkm237.notifier.test.email;
+
+import com.sun.mail.smtp.SMTPAddressFailedException;
+import io.github.kkm237.notifier.core.retry.Retryability;
+import io.github.kkm237.notifier.email.SmtpRetryClassifier;
+import jakarta.mail.Address;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.email.SmtpRetryClassifier}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("SmtpRetryClassifierTest")
+class SmtpRetryClassifierTest {
+
+    private final SmtpRetryClassifier classifier = new SmtpRetryClassifier();
+
+    @Test
+    @DisplayName("classify() should be permanent when any refused recipient has a 5xx reply, whatever the order")
+    void classifyShouldBePermanentWhenAnyRefusalIsPermanent() throws Exception {
+        // Given
+        SendFailedException busyFirst = refusals(451, 550);
+        SendFailedException unknownFirst = refusals(550, 451);
+
+        // When / Then
+        assertThat(classifier.classify(busyFirst)).isEqualTo(Retryability.PERMANENT);
+        assertThat(classifier.classify(unknownFirst)).isEqualTo(Retryability.PERMANENT);
+    }
+
+    @Test
+    @DisplayName("classify() should retry when every refused recipient has a 4xx reply")
+    void classifyShouldRetryTransientRefusals() throws Exception {
+        // Given
+        SendFailedException failure = refusals(451, 452);
+
+        // When / Then
+        assertThat(classifier.classify(failure)).isEqualTo(Retryability.RETRYABLE);
+    }
+
+    /**
+     * A failure refusing one recipient per reply code, in RCPT order
+     */
+    private static SendFailedException refusals(int... codes) throws Exception {
+        Address[] invalid = new Address[codes.length];
+        SMTPAddressFailedException first = null;
+        SMTPAddressFailedException last = null;
+        for (int i = 0; i < codes.length; i++) {
+            InternetAddress address = new InternetAddress("user" + i + "@example.com");
+            invalid[i] = address;
+            SMTPAddressFailedException refusal = new SMTPAddressFailedException(address, "RCPT TO", codes[i], codes[i] + " refused");
+            if (first == null) {
+                first = refusal;
+            } else {
+                last.setNextException(refusal);
+            }
+            last = refusal;
+        }
+        return new SendFailedException("Invalid Addresses", first, new Address[0], new Address[0], invalid);
+    }
+}
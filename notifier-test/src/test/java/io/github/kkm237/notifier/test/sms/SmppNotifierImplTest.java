@@ -0,0 +1,200 @@
+package io.github.kkm237.notifier.test.sms;
+
+import io.github.kkm237.notifier.core.delivery.DeliveryState;
+import io.github.kkm237.notifier.core.delivery.DeliveryStatusStore;
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.RecipientResult;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.sms.smpp.SmppConfig;
+import io.github.kkm237.notifier.sms.smpp.SmppDeliveryReceipt;
+import io.github.kkm237.notifier.sms.smpp.SmppNotifierImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link SmppNotifierImpl}, against a local SMPP simulator
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("SmppNotifierImplTest")
+class SmppNotifierImplTest {
+
+    private SmppSimulator simulator;
+    private SmppNotifierImpl smppService;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (smppService != null) {
+            smppService.close();
+        }
+        if (simulator != null) {
+            simulator.close();
+        }
+    }
+
+    @Test
+    @DisplayName("send() should pipeline the messages on one session within the window")
+    void sendShouldPipelineMessagesWithinWindow() throws IOException {
+        // Given
+        simulator = new SmppSimulator(20, null);
+        smppService = new SmppNotifierImpl(config(32, 30_000L));
+
+        TemplatePayload.Builder builder = TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service degraded, {{name}}");
+        for (int i = 0; i < 2_000; i++) {
+            builder.addRecipient(String.format("+1500555%04d", i), Map.of("name", "operator " + i));
+        }
+
+        // When
+        long start = System.nanoTime();
+        smppService.send(builder.build());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        // one message at a time would need 2000 x 20 ms = 40 s
+        assertThat(simulator.submitted).hasSize(2_000);
+        assertThat(simulator.maxOutstanding.get()).isBetween(2, 32);
+        assertThat(elapsedMillis).isLessThan(10_000);
+    }
+
+    @Test
+    @DisplayName("send() should split a long UCS-2 body into concatenated segments and track its delivery receipt")
+    void sendShouldConcatenateSegmentsAndReceiveReceipt() throws IOException {
+        // Given
+        simulator = new SmppSimulator(0, null);
+        smppService = new SmppNotifierImpl(config(8, 30_000L));
+        List<SmppDeliveryReceipt> receipts = new CopyOnWriteArrayList<>();
+        smppService.onDeliveryReceipt(receipts::add);
+        DeliveryStatusStore deliveries = new DeliveryStatusStore(100, 60_000);
+        smppService.trackDeliveries(deliveries);
+        String body = "Привет ".repeat(20);
+
+        NotifierPayload payload = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body(body)
+                .addRecipient("+15005550000")
+                .build();
+
+        // When
+        SendReport report = smppService.sendWithReport(payload);
+
+        // Then
+        assertThat(report.isSuccess()).isTrue();
+        assertThat(simulator.submitted).hasSize(3);
+        StringBuilder reassembled = new StringBuilder();
+        for (SmppSimulator.Submitted segment : simulator.submitted) {
+            assertThat(segment.destination).isEqualTo("15005550000");
+            assertThat(segment.esmClass).isEqualTo((byte) 0x40);
+            assertThat(segment.dataCoding).isEqualTo((byte) 0x08);
+            assertThat(segment.shortMessage[4]).isEqualTo((byte) 3);
+            reassembled.append(new String(Arrays.copyOfRange(segment.shortMessage, 6, segment.shortMessage.length), StandardCharsets.UTF_16BE));
+        }
+        assertThat(reassembled.toString()).isEqualTo(body);
+
+        String messageId = report.getResult("+15005550000").getProviderId();
+        await(() -> receipts.stream().anyMatch(receipt -> receipt.getMessageId().equals(messageId)));
+        assertThat(receipts).filteredOn(receipt -> receipt.getMessageId().equals(messageId))
+                .allSatisfy(receipt -> {
+                    assertThat(receipt.isDelivered()).isTrue();
+                    assertThat(receipt.getRecipient()).isEqualTo("15005550000");
+                });
+        assertThat(deliveries.getLatest("+15005550000")).hasValueSatisfying(status -> {
+            assertThat(status.getMessageId()).isEqualTo(messageId);
+            assertThat(status.getState()).isEqualTo(DeliveryState.DELIVERED);
+        });
+    }
+
+    @Test
+    @DisplayName("send() should report a throttled message as rate limited and keep the session alive with enquire_link")
+    void sendShouldReportThrottlingAndKeepSessionAlive() throws IOException {
+        // Given
+        simulator = new SmppSimulator(0, "15005550001");
+        smppService = new SmppNotifierImpl(config(8, 50L));
+
+        NotifierPayload payload = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service degraded")
+                .addRecipient("+15005550000")
+                .addRecipient("+15005550001")
+                .build();
+
+        // When
+        SendReport report = smppService.sendWithReport(payload);
+
+        // Then
+        assertThat(report.getResult("+15005550000").isSent()).isTrue();
+        RecipientResult throttled = report.getResult("+15005550001");
+        assertThat(throttled.getStatus()).isEqualTo(RecipientResult.Status.RATE_LIMITED);
+        assertThat(throttled.getError()).isInstanceOf(NotifierRateLimitedException.class);
+        await(() -> simulator.enquireLinks.get() >= 2);
+    }
+
+    @Test
+    @DisplayName("send() should encode a GSM-7 body with the GSM 03.38 codes of its characters")
+    void sendShouldEncodeGsm7BodyWithGsmCodes() throws IOException {
+        // Given
+        simulator = new SmppSimulator(0, null);
+        smppService = new SmppNotifierImpl(config(8, 30_000L));
+
+        NotifierPayload payload = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("A @Z Æé€")
+                .addRecipient("+15005550000")
+                .build();
+
+        // When
+        smppService.send(payload);
+
+        // Then
+        assertThat(simulator.submitted).singleElement().satisfies(submitted -> {
+            assertThat(submitted.dataCoding).isEqualTo((byte) 0x00);
+            assertThat(submitted.shortMessage).containsExactly(0x41, 0x20, 0x00, 0x5A, 0x20, 0x1C, 0x05, 0x1B, 0x65);
+        });
+    }
+
+    private SmppConfig config(int windowSize, long enquireLinkIntervalMillis) {
+        return SmppConfig.builder()
+                .host("127.0.0.1")
+                .port(simulator.getPort())
+                .systemId("notifier")
+                .password("secret")
+                .sourceAddress("15005550006")
+                .windowSize(windowSize)
+                .enquireLinkIntervalMillis(enquireLinkIntervalMillis)
+                .responseTimeoutMillis(5_000L)
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package io.github.kkm237.notifier.test.sms;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @implNote Local SMSC answering an SMPP 3.4 transceiver: bind, submit_sm after a delay, enquire_link, unbind, and a
+ * delivery receipt for each message when requested
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+final class SmppSimulator implements AutoCloseable {
+
+    static final int ESME_RTHROTTLED = 0x58;
+
+    private final ServerSocket server;
+    private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(2);
+    private final long responseDelayMillis;
+    private final String throttledDestination;
+    final List<Submitted> submitted = new CopyOnWriteArrayList<>();
+    final AtomicInteger enquireLinks = new AtomicInteger();
+    final AtomicInteger outstanding = new AtomicInteger();
+    final AtomicInteger maxOutstanding = new AtomicInteger();
+    private final AtomicInteger messageIds = new AtomicInteger();
+
+    /**
+     * @param responseDelayMillis  delay before each submit_sm_resp
+     * @param throttledDestination destination answered with ESME_RTHROTTLED, null for none
+     */
+    SmppSimulator(long responseDelayMillis, String throttledDestination) throws IOException {
+        this.responseDelayMillis = responseDelayMillis;
+        this.throttledDestination = throttledDestination;
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "smpp-simulator");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return server.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        responder.shutdownNow();
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread session = new Thread(() -> serve(socket), "smpp-simulator-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while (true) {
+                int length = in.readInt();
+                int commandId = in.readInt();
+                in.readInt();
+                int sequence = in.readInt();
+                byte[] body = new byte[length - 16];
+                in.readFully(body);
+                switch (commandId) {
+                    case 0x00000009:
+                        write(out, 0x80000009, 0, sequence, cString("SIM"));
+                        break;
+                    case 0x00000015:
+                        enquireLinks.incrementAndGet();
+                        write(out, 0x80000015, 0, sequence, new byte[0]);
+                        break;
+                    case 0x00000006:
+                        write(out, 0x80000006, 0, sequence, new byte[0]);
+                        return;
+                    case 0x00000004:
+                        submit(out, sequence, ByteBuffer.wrap(body));
+                        break;
+                    default:
+                        // deliver_sm_resp and others
+                }
+            }
+        } catch (IOException e) {
+            // session closed
+        }
+    }
+
+    private void submit(DataOutputStream out, int sequence, ByteBuffer body) {
+        cString(body);                                  // service_type
+        body.position(body.position() + 2);
+        String source = cString(body);
+        body.position(body.position() + 2);
+        String destination = cString(body);
+        byte esmClass = body.get();
+        body.position(body.position() + 2);
+        cString(body);
+        cString(body);
+        byte registeredDelivery = body.get();
+        body.position(body.position() + 1);
+        byte dataCoding = body.get();
+        body.position(body.position() + 1);
+        byte[] shortMessage = new byte[body.get() & 0xFF];
+        body.get(shortMessage);
+        submitted.add(new Submitted(destination, esmClass, dataCoding, shortMessage));
+
+        maxOutstanding.accumulateAndGet(outstanding.incrementAndGet(), Math::max);
+        responder.schedule(() -> {
+            outstanding.decrementAndGet();
+            if (destination.equals(throttledDestination)) {
+                write(out, 0x80000004, ESME_RTHROTTLED, sequence, new byte[0]);
+                return;
+            }
+            String messageId = "MSG" + messageIds.incrementAndGet();
+            write(out, 0x80000004, 0, sequence, cString(messageId));
+            if (registeredDelivery == 1) {
+                write(out, 0x00000005, 0, 1_000_000 + sequence, deliverSm(destination, source, messageId));
+            }
+        }, responseDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static byte[] deliverSm(String handset, String sender, String messageId) {
+        byte[] text = ("id:" + messageId + " sub:001 dlvrd:001 submit date:2610181200 done date:2610181200 stat:DELIVRD err:000 text:")
+                .getBytes(StandardCharsets.ISO_8859_1);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(cString(""));
+        body.write(1);
+        body.write(1);
+        body.writeBytes(cString(handset));
+        body.write(5);
+        body.write(0);
+        body.writeBytes(cString(sender));
+        body.write(0x04);
+        body.write(0);
+        body.write(0);
+        body.writeBytes(cString(""));
+        body.writeBytes(cString(""));
+        body.write(0);
+        body.write(0);
+        body.write(0);
+        body.write(0);
+        body.write(text.length);
+        body.writeBytes(text);
+        return body.toByteArray();
+    }
+
+    private static void write(DataOutputStream out, int commandId, int status, int sequence, byte[] body) {
+        synchronized (out) {
+            try {
+                out.writeInt(16 + body.length);
+                out.writeInt(commandId);
+                out.writeInt(status);
+                out.writeInt(sequence);
+                out.write(body);
+                out.flush();
+            } catch (IOException e) {
+                // session closed
+            }
+        }
+    }
+
+    private static byte[] cString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.ISO_8859_1);
+        byte[] cString = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, cString, 0, bytes.length);
+        return cString;
+    }
+
+    private static String cString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // up to the null terminator
+        }
+        return new String(buffer.array(), start, buffer.position() - start - 1, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * submit_sm received by the simulator
+     */
+    static final class Submitted {
+        final String destination;
+        final byte esmClass;
+        final byte dataCoding;
+        final byte[] shortMessage;
+
+        private Submitted(String destination, byte esmClass, byte dataCoding, byte[] shortMessage) {
+            this.destination = destination;
+            this.esmClass = esmClass;
+            this.dataCoding = dataCoding;
+            this.shortMessage = shortMessage;
+        }
+    }
+}
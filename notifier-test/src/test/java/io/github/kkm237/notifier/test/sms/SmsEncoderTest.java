@@ -0,0 +1,78 @@
+package io.github.kkm237.notifier.test.sms;
+
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+import io.github.kkm237.notifier.sms.EncodedSms;
+import io.github.kkm237.notifier.sms.SmsEncoder;
+import io.github.kkm237.notifier.sms.SmsEncoding;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.sms.SmsEncoder}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("SmsEncoderTest")
+class SmsEncoderTest {
+
+    @Test
+    @DisplayName("analyze() should count GSM-7 septets and segments, escaped characters taking two septets")
+    void analyzeShouldCountGsm7Segments() {
+        // Given
+        String single = "a".repeat(160);
+        String concatenated = "a".repeat(161);
+        // the euro sign does not fit in the 153rd septet and moves to the second segment
+        String escaped = "a".repeat(152) + "€" + "a".repeat(152);
+
+        // When
+        EncodedSms singleSms = SmsEncoder.analyze(single);
+        EncodedSms concatenatedSms = SmsEncoder.analyze(concatenated);
+        EncodedSms escapedSms = SmsEncoder.analyze(escaped);
+
+        // Then
+        assertThat(singleSms.getEncoding()).isEqualTo(SmsEncoding.GSM_7);
+        assertThat(singleSms.getSegments()).isEqualTo(1);
+        assertThat(concatenatedSms.getSegments()).isEqualTo(2);
+        assertThat(escapedSms.getUnits()).isEqualTo(306);
+        assertThat(escapedSms.getSegments()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("analyze() should switch to UCS-2 for a single character outside of GSM-7")
+    void analyzeShouldSwitchToUcs2() {
+        // Given
+        String body = "Your order is ready, we’ll see you soon! " + "a".repeat(60);
+
+        // When
+        EncodedSms encoded = SmsEncoder.analyze(body);
+        EncodedSms emoji = SmsEncoder.analyze("😀".repeat(34));
+
+        // Then
+        assertThat(encoded.getEncoding()).isEqualTo(SmsEncoding.UCS_2);
+        assertThat(encoded.getSegments()).isEqualTo(2);
+        assertThat(emoji.getUnits()).isEqualTo(68);
+        assertThat(emoji.getSegments()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("encode() should transliterate to GSM-7 and reject a body above the segment budget")
+    void encodeShouldTransliterateAndCheckBudget() {
+        // Given
+        SmsEncoder encoder = new SmsEncoder(true, 1, true);
+
+        // When
+        EncodedSms encoded = encoder.encode("“Ça coûte 5 €” – merci…");
+
+        // Then
+        assertThat(encoded.getBody()).isEqualTo("\"Ça coute 5 €\" - merci...");
+        assertThat(encoded.getEncoding()).isEqualTo(SmsEncoding.GSM_7);
+        assertThat(encoded.isTransliterated()).isTrue();
+        assertThat(SmsEncoder.transliterate("Kraków, déjà")).isEqualTo("Krakow, déjà");
+        assertThatThrownBy(() -> encoder.encode("😀 " + "a".repeat(80)))
+                .isInstanceOf(NotifierSendFailedException.class)
+                .hasMessageContaining("2 UCS_2 segments");
+    }
+}
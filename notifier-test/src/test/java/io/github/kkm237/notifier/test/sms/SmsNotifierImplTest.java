@@ -0,0 +1,273 @@
+package io.github.kkm237.notifier.test.sms;
+
+import com.twilio.http.HttpClient;
+import com.twilio.http.Request;
+import com.twilio.http.Response;
+import com.twilio.http.TwilioRestClient;
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.RecipientResult;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.sms.SmsConfig;
+import io.github.kkm237.notifier.sms.SmsNotifierImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.sms.SmsNotifierImpl}, against a fake Twilio HTTP client
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("SmsNotifierImplTest")
+class SmsNotifierImplTest {
+
+    private static final String FROM_PHONE = "+15005550006";
+
+    private SmsNotifierImpl smsService;
+
+    @AfterEach
+    void tearDown() {
+        if (smsService != null) {
+            smsService.close();
+        }
+    }
+
+    @Test
+    @DisplayName("send() should send recipients concurrently within the parallelism")
+    void sendShouldSendRecipientsConcurrently() {
+        // Given
+        FakeTwilioHttpClient httpClient = new FakeTwilioHttpClient(Set.of());
+        smsService = new SmsNotifierImpl(config(4), restClient(httpClient));
+
+        TemplatePayload.Builder builder = TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service degraded, {{name}}");
+        for (int i = 0; i < 20; i++) {
+            builder.addRecipient(String.format("+1500555%04d", i), Map.of("name", "operator " + i));
+        }
+
+        // When
+        smsService.send(builder.build());
+
+        // Then
+        assertThat(httpClient.recipients).hasSize(20);
+        assertThat(httpClient.maxInFlight.get()).isBetween(2, 4);
+    }
+
+    @Test
+    @DisplayName("send() should not queue a small payload behind the recipients of a large one")
+    void sendShouldNotQueueSmallPayloadBehindLargeOne() throws Exception {
+        // Given
+        FakeTwilioHttpClient httpClient = new FakeTwilioHttpClient(Set.of());
+        smsService = new SmsNotifierImpl(config(2), restClient(httpClient));
+
+        NotifierPayload.Builder bulk = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Newsletter")
+                .body("Monthly news");
+        for (int i = 0; i < 40; i++) {
+            bulk.addRecipient(String.format("+1500555%04d", i));
+        }
+        NotifierPayload alert = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service degraded")
+                .addRecipient("+15005559000")
+                .addRecipient("+15005559001")
+                .build();
+        CompletableFuture<SendReport> bulkSend = CompletableFuture.supplyAsync(() -> smsService.sendWithReport(bulk.build()));
+        while (httpClient.recipients.isEmpty()) {
+            Thread.sleep(5);
+        }
+
+        // When
+        long start = System.nanoTime();
+        SendReport report = smsService.sendWithReport(alert);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        // the bulk payload still needs about 1 s at 2 recipients per 50 ms
+        assertThat(report.isSuccess()).isTrue();
+        assertThat(elapsedMillis).isLessThan(500L);
+        assertThat(bulkSend.isDone()).isFalse();
+        assertThat(bulkSend.get(5, TimeUnit.SECONDS).getSentCount()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("send() should send every recipient and report the failed ones")
+    void sendShouldReportFailedRecipients() {
+        // Given
+        FakeTwilioHttpClient httpClient = new FakeTwilioHttpClient(Set.of("+15005550001"));
+        smsService = new SmsNotifierImpl(config(2), restClient(httpClient));
+
+        TemplatePayload payload = TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service degraded, {{name}}")
+                .addRecipient("+15005550000", Map.of("name", "Alice"))
+                .addRecipient("+15005550001", Map.of("name", "Bob"))
+                .addRecipient("+15005550002", Map.of("name", "Carol"))
+                .build();
+
+        // When / Then
+        assertThatThrownBy(() -> smsService.send(payload))
+                .isInstanceOf(NotifierSendFailedException.class)
+                .hasMessageContaining("1/3")
+                .hasMessageContaining("+15005550001");
+        assertThat(httpClient.recipients).containsExactlyInAnyOrder("+15005550000", "+15005550001", "+15005550002");
+    }
+
+    @Test
+    @DisplayName("sendWithReport() should report the outcome of each recipient without throwing")
+    void sendWithReportShouldReportEachRecipient() {
+        // Given
+        FakeTwilioHttpClient httpClient = new FakeTwilioHttpClient(Set.of("+15005550001"));
+        smsService = new SmsNotifierImpl(config(2), restClient(httpClient));
+
+        TemplatePayload payload = TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service degraded, {{name}}")
+                .addRecipient("+15005550000", Map.of("name", "Alice"))
+                .addRecipient("+15005550001", Map.of("name", "Bob"))
+                .build();
+
+        // When
+        SendReport report = smsService.sendWithReport(payload);
+
+        // Then
+        assertThat(report.isSuccess()).isFalse();
+        assertThat(report.getSentCount()).isEqualTo(1);
+        assertThat(report.getResults()).extracting(RecipientResult::getRecipient).containsExactly("+15005550000", "+15005550001");
+        assertThat(report.getResult("+15005550000").getProviderId()).startsWith("SM");
+        assertThat(report.getResult("+15005550000").getLatencyMillis()).isGreaterThanOrEqualTo(50);
+        assertThat(report.getResult("+15005550001").getStatus()).isEqualTo(RecipientResult.Status.FAILED);
+        assertThat(report.getResult("+15005550001").getErrorType()).isEqualTo("io.github.kkm237.notifier.core.provider.ProviderException");
+        // reported, not thrown: no stack trace is filled for the refused recipient
+        assertThat(report.getResult("+15005550001").getError().getStackTrace()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("sendWithReport() should send and report a recipient listed twice at each of its positions")
+    void sendWithReportShouldSendDuplicateRecipientAtEachPosition() {
+        // Given
+        FakeTwilioHttpClient httpClient = new FakeTwilioHttpClient(Set.of());
+        smsService = new SmsNotifierImpl(config(2), restClient(httpClient));
+
+        NotifierPayload payload = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service degraded")
+                .addRecipient("+15005550000")
+                .addRecipient("+15005550001")
+                .addRecipient("+15005550000")
+                .build();
+
+        // When
+        SendReport report = smsService.sendWithReport(payload);
+
+        // Then
+        assertThat(report.isSuccess()).isTrue();
+        assertThat(report.getResults()).extracting(RecipientResult::getRecipient)
+                .containsExactly("+15005550000", "+15005550001", "+15005550000");
+        assertThat(httpClient.senders.get(FROM_PHONE).get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("send() should spread the recipients over the sender numbers, each at its own rate")
+    void sendShouldSpreadRecipientsOverSenderNumbers() {
+        // Given
+        FakeTwilioHttpClient httpClient = new FakeTwilioHttpClient(Set.of());
+        SmsConfig config = SmsConfig.builder()
+                .accountSid("ACtest")
+                .authToken("token")
+                .fromPhone(FROM_PHONE)
+                .addFromPhone("+15005550007")
+                .parallelism(4)
+                .rateLimitPerSecond(5.0)
+                .rateLimitBurst(1)
+                .build();
+        smsService = new SmsNotifierImpl(config, restClient(httpClient));
+
+        TemplatePayload.Builder builder = TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service degraded");
+        for (int i = 0; i < 6; i++) {
+            builder.addRecipient(String.format("+1500555%04d", i), Map.of());
+        }
+
+        // When
+        long start = System.nanoTime();
+        smsService.send(builder.build());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        // 3 messages per number at 5/s take 400 ms, a single number would need 1 s
+        assertThat(httpClient.senders).containsOnlyKeys(FROM_PHONE, "+15005550007");
+        assertThat(httpClient.senders.values()).extracting(AtomicInteger::get).containsOnly(3);
+        assertThat(elapsedMillis).isBetween(350L, 900L);
+        assertThat(smsService.getSenders()).allSatisfy(sender -> assertThat(sender.getSent()).isEqualTo(3));
+    }
+
+    private static SmsConfig config(int parallelism) {
+        return SmsConfig.builder()
+                .accountSid("ACtest")
+                .authToken("token")
+                .fromPhone(FROM_PHONE)
+                .parallelism(parallelism)
+                .build();
+    }
+
+    private static TwilioRestClient restClient(HttpClient httpClient) {
+        return new TwilioRestClient.Builder("ACtest", "token").httpClient(httpClient).build();
+    }
+
+    /**
+     * Answer the Twilio message creation after a short delay, rejecting the given recipients
+     */
+    private static final class FakeTwilioHttpClient extends HttpClient {
+        private final Set<String> rejected;
+        private final Set<String> recipients = ConcurrentHashMap.newKeySet();
+        private final Map<String, AtomicInteger> senders = new ConcurrentHashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private FakeTwilioHttpClient(Set<String> rejected) {
+            this.rejected = rejected;
+        }
+
+        @Override
+        public Response makeRequest(Request request) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+                String to = request.getPostParams().get("To").get(0);
+                recipients.add(to);
+                senders.computeIfAbsent(request.getPostParams().get("From").get(0), from -> new AtomicInteger()).incrementAndGet();
+                if (rejected.contains(to)) {
+                    return new Response("{\"code\": 21211, \"message\": \"Invalid 'To' Phone Number\", \"status\": 400}", 400);
+                }
+                return new Response("{\"sid\": \"SM" + Math.abs(to.hashCode()) + "\", \"status\": \"queued\"}", 201);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Response("{}", 500);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
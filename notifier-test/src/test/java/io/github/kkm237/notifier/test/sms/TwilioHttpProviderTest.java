@@ -0,0 +1,132 @@
+package io.github.kkm237.notifier.test.sms;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.RecipientResult;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.core.provider.ProviderException;
+import io.github.kkm237.notifier.core.provider.ProviderType;
+import io.github.kkm237.notifier.sms.SmsConfig;
+import io.github.kkm237.notifier.sms.SmsNotifierImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link io.github.kkm237.notifier.core.provider.TwilioHttpProvider}, through the
+ * {@link SmsNotifierImpl} against a local stub of the Twilio REST API
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("TwilioHttpProviderTest")
+class TwilioHttpProviderTest {
+
+    private static final String REJECTED = "+15005550001";
+
+    private HttpServer server;
+    private SmsNotifierImpl smsService;
+    private final Set<String> bodies = ConcurrentHashMap.newKeySet();
+    private final Set<String> authorizations = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/2010-04-01/Accounts/ACtest/Messages.json", exchange -> {
+            String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String body = URLDecoder.decode(form, StandardCharsets.UTF_8);
+            bodies.add(body);
+            authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            boolean rejected = body.contains("To=" + REJECTED);
+            byte[] response = (rejected
+                    ? "{\"code\": 21211, \"message\": \"Invalid 'To' Phone Number: \\\"" + REJECTED + "\\\"\", \"more_info\": {\"sid\": \"x\"}, \"status\": 400}"
+                    : "{\"account_sid\": \"ACtest\", \"subresource_uris\": {\"media\": \"/media\"}, \"sid\": \"SM" + Math.abs(body.hashCode()) + "\", \"status\": \"queued\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(rejected ? 400 : 201, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+
+        smsService = new SmsNotifierImpl(SmsConfig.builder()
+                .accountSid("ACtest")
+                .authToken("token")
+                .fromPhone("+15005550006")
+                .parallelism(4)
+                .provider(ProviderType.TWILIO_HTTP)
+                .apiBaseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        smsService.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("sendWithReport() should send through the HTTP provider and read the SID or the error of each recipient")
+    void sendWithReportShouldReadSidAndError() {
+        // Given
+        TemplatePayload payload = TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Déjà vu & co, {{name}}")
+                .addRecipient("+15005550000", Map.of("name", "Alice"))
+                .addRecipient(REJECTED, Map.of("name", "Bob"))
+                .addRecipient("+15005550002", Map.of("name", "Carol"))
+                .build();
+
+        // When
+        SendReport report = smsService.sendWithReport(payload);
+
+        // Then
+        assertThat(report.getSentCount()).isEqualTo(2);
+        assertThat(report.getResult("+15005550000").getProviderId()).startsWith("SM");
+        assertThat(bodies).contains("To=+15005550000&From=+15005550006&Body=Déjà vu & co, Alice");
+        assertThat(authorizations).containsExactly("Basic QUN0ZXN0OnRva2Vu");
+
+        RecipientResult rejected = report.getResult(REJECTED);
+        assertThat(rejected.getStatus()).isEqualTo(RecipientResult.Status.FAILED);
+        assertThat(rejected.getError()).isInstanceOf(ProviderException.class);
+        assertThat(((ProviderException) rejected.getError()).getStatusCode()).isEqualTo(400);
+        assertThat(((ProviderException) rejected.getError()).getErrorCode()).isEqualTo(21211);
+        assertThat(rejected.getErrorMessage()).contains("Invalid 'To' Phone Number: \"" + REJECTED + "\"");
+    }
+
+    @Test
+    @DisplayName("send() should report a provider which cannot be reached as a failure of the sender")
+    void sendShouldFailWhenProviderUnreachable() {
+        // Given
+        server.stop(0);
+        NotifierPayload payload = NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service degraded")
+                .addRecipient("+15005550000")
+                .build();
+
+        // When
+        SendReport report = smsService.sendWithReport(payload);
+
+        // Then
+        assertThat(report.isSuccess()).isFalse();
+        assertThat(((ProviderException) report.getResults().get(0).getError()).getStatusCode()).isEqualTo(-1);
+        assertThat(smsService.getSenders().get(0).getFailed()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,311 @@
+package io.github.kkm237.notifier.test.starter;
+
+import io.github.kkm237.notifier.core.circuit.CircuitBreaker;
+import io.github.kkm237.notifier.core.circuit.CircuitState;
+import io.github.kkm237.notifier.core.exceptions.ChannelNotSupportedException;
+import io.github.kkm237.notifier.core.exceptions.CircuitBreakerOpenException;
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+import io.github.kkm237.notifier.core.model.AttachmentPayload;
+import io.github.kkm237.notifier.core.model.Notifier;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.provider.ProviderException;
+import io.github.kkm237.notifier.core.retry.DefaultRetryClassifier;
+import io.github.kkm237.notifier.core.retry.HashedTimingWheel;
+import io.github.kkm237.notifier.core.retry.RetryEngine;
+import io.github.kkm237.notifier.core.retry.RetryPolicy;
+import io.github.kkm237.notifier.core.retry.Retryability;
+import io.github.kkm237.notifier.starter.service.NotifierExecutors;
+import io.github.kkm237.notifier.starter.service.NotifierServiceImpl;
+import io.github.kkm237.notifier.starter.service.PriorityScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for the asynchronous sends of {@link NotifierServiceImpl}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("NotifierServiceImplTest")
+class NotifierServiceImplTest {
+
+    private NotifierServiceImpl notifierService;
+
+    @AfterEach
+    void tearDown() {
+        if (notifierService != null) {
+            notifierService.close();
+        }
+    }
+
+    @Test
+    @DisplayName("sendAsync() should complete with the report of the channel notifier off the caller thread")
+    void sendAsyncShouldCompleteWithReport() throws Exception {
+        // Given
+        BlockingNotifier sms = new BlockingNotifier(new CountDownLatch(0));
+        notifierService = new NotifierServiceImpl(List.of(sms), NotifierExecutors.create("platform", 2, 10), Duration.ZERO);
+
+        // When
+        CompletableFuture<SendReport> report = notifierService.sendAsync(payload(NotifierPayload.Channel.SMS));
+        CompletableFuture<SendReport> unsupported = notifierService.sendAsync(payload(NotifierPayload.Channel.EMAIL));
+
+        // Then
+        assertThat(report.get(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+        assertThat(sms.thread).isNotEqualTo(Thread.currentThread());
+        assertThat(unsupported).isCompletedExceptionally();
+        assertThatThrownBy(unsupported::join).hasCauseInstanceOf(ChannelNotSupportedException.class);
+    }
+
+    @Test
+    @DisplayName("sendAsync() should interrupt the channel notifier when the send times out or is cancelled")
+    void sendAsyncShouldPropagateTimeoutAndCancellation() throws Exception {
+        // Given
+        BlockingNotifier sms = new BlockingNotifier(new CountDownLatch(1));
+        notifierService = new NotifierServiceImpl(List.of(sms), NotifierExecutors.create("auto", 2, 10), Duration.ZERO);
+
+        // When
+        CompletableFuture<SendReport> timedOut = notifierService.sendAsync(payload(NotifierPayload.Channel.SMS), Duration.ofMillis(100));
+        boolean firstInterrupted = sms.interrupted.await(5, TimeUnit.SECONDS);
+        sms.started = new CountDownLatch(1);
+        sms.interrupted = new CountDownLatch(1);
+        CompletableFuture<SendReport> cancelled = notifierService.sendAsync(payload(NotifierPayload.Channel.SMS));
+        sms.started.await(5, TimeUnit.SECONDS);
+        cancelled.cancel(true);
+        boolean secondInterrupted = sms.interrupted.await(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThatThrownBy(timedOut::join).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(firstInterrupted).isTrue();
+        assertThat(cancelled).isCancelled();
+        assertThat(secondInterrupted).isTrue();
+    }
+
+    @Test
+    @DisplayName("sendWithReport() should leave the spool file of the caller for every retry and the next send")
+    void sendWithReportShouldKeepCallerSpoolFile(@TempDir Path spoolDirectory) {
+        // Given
+        AttachmentPayload attachment = AttachmentPayload.builder()
+                .content(new byte[1024])
+                .spoolThreshold(16)
+                .spoolDirectory(spoolDirectory)
+                .filename("report.bin")
+                .contentType("application/octet-stream")
+                .build();
+        List<Boolean> spoolFileSeen = Collections.synchronizedList(new ArrayList<>());
+        Notifier email = new AttachmentNotifier(payload -> {
+            spoolFileSeen.add(attachment.getFile().exists());
+            if (spoolFileSeen.size() == 1 || spoolFileSeen.size() == 3) {
+                throw new ProviderException(503, null, "Service unavailable");
+            }
+        });
+        notifierService = new NotifierServiceImpl(List.of(email),
+                PriorityScheduler.builder().build(NotifierExecutors.create("platform", 2, 10)), retryEngine(), Duration.ZERO);
+        NotifierPayload payload = attachmentPayload(attachment);
+
+        // When
+        SendReport first = notifierService.sendWithReport(payload);
+        SendReport second = notifierService.sendWithReport(payload);
+
+        // Then
+        assertThat(first.isSuccess()).isTrue();
+        assertThat(second.isSuccess()).isTrue();
+        assertThat(spoolFileSeen).containsExactly(true, true, true, true);
+        assertThat(attachment.getFile()).exists();
+        attachment.deleteSpoolFile();
+    }
+
+    @Test
+    @DisplayName("sendWithReport() should spool a stream attachment for every retry and delete it after the last attempt")
+    void sendWithReportShouldSpoolStreamAttachmentForRetries() {
+        // Given
+        byte[] report = "Daily report".getBytes(StandardCharsets.UTF_8);
+        AttachmentPayload attachment = AttachmentPayload.builder()
+                .inputStream(new ByteArrayInputStream(report))
+                .filename("report.txt")
+                .contentType("text/plain")
+                .build();
+        List<byte[]> contents = Collections.synchronizedList(new ArrayList<>());
+        List<File> spoolFiles = Collections.synchronizedList(new ArrayList<>());
+        Notifier email = new AttachmentNotifier(payload -> {
+            AttachmentPayload sent = payload.getCourierAttachments().get(0);
+            spoolFiles.add(sent.getFile());
+            try {
+                contents.add(Files.readAllBytes(sent.getFile().toPath()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (contents.size() < 3) {
+                throw new ProviderException(503, null, "Service unavailable");
+            }
+        });
+        notifierService = new NotifierServiceImpl(List.of(email),
+                PriorityScheduler.builder().build(NotifierExecutors.create("platform", 2, 10)), retryEngine(), Duration.ZERO);
+
+        // When
+        SendReport sent = notifierService.sendWithReport(attachmentPayload(attachment));
+
+        // Then
+        assertThat(sent.isSuccess()).isTrue();
+        assertThat(contents).hasSize(3).allSatisfy(content -> assertThat(content).isEqualTo(report));
+        assertThat(spoolFiles).allSatisfy(file -> assertThat(file).doesNotExist());
+    }
+
+    @Test
+    @DisplayName("send() should record the provider failures in the circuit breaker when the sends are not retried")
+    void sendShouldRecordFailuresWithoutRetries() {
+        // Given
+        Notifier sms = new BlockingNotifier(new CountDownLatch(0)) {
+            @Override
+            public void send(NotifierPayload payload) {
+                throw new NotifierSendFailedException("421 Service not available");
+            }
+        };
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder().windowSize(2).minimumCalls(2).halfOpenProbes(1).build("SMS");
+        notifierService = new NotifierServiceImpl(List.of(sms),
+                PriorityScheduler.builder().build(NotifierExecutors.create("platform", 2, 10)), RetryEngine.disabled(),
+                Map.of(NotifierPayload.Channel.SMS, circuitBreaker), error -> Retryability.RETRYABLE, Duration.ZERO);
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> notifierService.send(payload(NotifierPayload.Channel.SMS)))
+                    .isInstanceOf(NotifierSendFailedException.class);
+        }
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThatThrownBy(() -> notifierService.send(payload(NotifierPayload.Channel.SMS)))
+                .isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    @DisplayName("sendAsync() should record a send timed out while running as a failure of its retried attempt")
+    void sendAsyncShouldRecordTimeoutOfRetriedAttempt() throws Exception {
+        // Given
+        BlockingNotifier sms = new BlockingNotifier(new CountDownLatch(1));
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder().windowSize(10).minimumCalls(10).build("SMS");
+        RetryEngine retries = new RetryEngine(RetryPolicy.builder().maxAttempts(3).build(),
+                new DefaultRetryClassifier(), new HashedTimingWheel("test-retry", 5, 64, Runnable::run));
+        notifierService = new NotifierServiceImpl(List.of(sms),
+                PriorityScheduler.builder().build(NotifierExecutors.create("platform", 2, 10)), retries,
+                Map.of(NotifierPayload.Channel.SMS, circuitBreaker), new DefaultRetryClassifier(), Duration.ZERO);
+
+        // When
+        CompletableFuture<SendReport> timedOut = notifierService.sendAsync(payload(NotifierPayload.Channel.SMS), Duration.ofMillis(100));
+        boolean interrupted = sms.interrupted.await(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThatThrownBy(timedOut::join).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(interrupted).isTrue();
+        assertThat(circuitBreaker.getMetrics().getCalls()).isEqualTo(1);
+        assertThat(circuitBreaker.getMetrics().getFailureRate()).isEqualTo(1.0);
+    }
+
+    private static RetryEngine retryEngine() {
+        return new RetryEngine(RetryPolicy.builder().maxAttempts(3).initialBackoffMillis(10).maxBackoffMillis(20).build(),
+                new DefaultRetryClassifier(), new HashedTimingWheel("test-retry", 5, 64, Runnable::run));
+    }
+
+    private static NotifierPayload attachmentPayload(AttachmentPayload attachment) {
+        return NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.EMAIL)
+                .subject("Report")
+                .body("Report attached")
+                .addRecipient("ops@example.com")
+                .addAttachment(attachment)
+                .build();
+    }
+
+    private static NotifierPayload payload(NotifierPayload.Channel channel) {
+        return NotifierPayload.builder()
+                .channel(channel)
+                .subject("Alert")
+                .body("Service degraded")
+                .addRecipient(channel == NotifierPayload.Channel.EMAIL ? "ops@example.com" : "+15005550000")
+                .build();
+    }
+
+    /**
+     * SMS notifier waiting on its release latch, as a notifier waits on its provider
+     */
+    private static class BlockingNotifier implements Notifier {
+        private final CountDownLatch release;
+        private volatile CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch interrupted = new CountDownLatch(1);
+        private volatile Thread thread;
+
+        private BlockingNotifier(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(NotifierPayload payload) {
+            thread = Thread.currentThread();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public boolean supports(NotifierPayload.Channel channel) {
+            return NotifierPayload.Channel.SMS.equals(channel);
+        }
+
+        @Override
+        public NotifierPayload.Channel getChannel() {
+            return NotifierPayload.Channel.SMS;
+        }
+    }
+
+    /**
+     * Email notifier handing each payload to the given send
+     */
+    private static final class AttachmentNotifier implements Notifier {
+        private final Consumer<NotifierPayload> send;
+
+        private AttachmentNotifier(Consumer<NotifierPayload> send) {
+            this.send = send;
+        }
+
+        @Override
+        public void send(NotifierPayload payload) {
+            send.accept(payload);
+        }
+
+        @Override
+        public boolean supports(NotifierPayload.Channel channel) {
+            return NotifierPayload.Channel.EMAIL.equals(channel);
+        }
+
+        @Override
+        public NotifierPayload.Channel getChannel() {
+            return NotifierPayload.Channel.EMAIL;
+        }
+    }
+}
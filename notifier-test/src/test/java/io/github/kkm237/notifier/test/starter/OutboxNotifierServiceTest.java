@@ -0,0 +1,138 @@
+package io.github.kkm237.notifier.test.starter;
+
+import io.github.kkm237.notifier.core.circuit.CircuitBreaker;
+import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
+import io.github.kkm237.notifier.core.model.Notifier;
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.core.outbox.OutboxLog;
+import io.github.kkm237.notifier.core.retry.DefaultRetryClassifier;
+import io.github.kkm237.notifier.core.retry.RetryEngine;
+import io.github.kkm237.notifier.starter.service.NotifierExecutors;
+import io.github.kkm237.notifier.starter.service.NotifierServiceImpl;
+import io.github.kkm237.notifier.starter.service.OutboxNotifierService;
+import io.github.kkm237.notifier.starter.service.PriorityScheduler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link OutboxNotifierService}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("OutboxNotifierServiceTest")
+class OutboxNotifierServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("send() should return before the provider and the messages not sent should be sent after a restart")
+    void sendShouldReturnAtOnceAndReplayAfterRestart() throws Exception {
+        // Given
+        CountDownLatch provider = new CountDownLatch(1);
+        RecordingNotifier stalled = new RecordingNotifier(provider);
+        OutboxNotifierService first = new OutboxNotifierService(
+                new NotifierServiceImpl(List.of(stalled)), OutboxLog.open(directory, 64 * 1024));
+
+        // When
+        long start = System.nanoTime();
+        first.send(payload("Service degraded"));
+        first.send(TemplatePayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body("Service restored, {{name}}")
+                .addRecipient("+15005550001", Map.of("name", "operator"))
+                .build());
+        long sendMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        stalled.received.poll(5, TimeUnit.SECONDS);
+        // the JVM stops while the first message waits for the provider
+        first.close();
+
+        RecordingNotifier restarted = new RecordingNotifier(new CountDownLatch(0));
+        OutboxNotifierService second = new OutboxNotifierService(
+                new NotifierServiceImpl(List.of(restarted)), OutboxLog.open(directory, 64 * 1024));
+        List<String> replayed = List.of(restarted.received.poll(5, TimeUnit.SECONDS), restarted.received.poll(5, TimeUnit.SECONDS));
+        second.close();
+
+        // Then
+        assertThat(sendMillis).isLessThan(2_000);
+        assertThat(replayed).containsExactlyInAnyOrder("+15005550000 Service degraded", "+15005550001 Service restored, operator");
+    }
+
+    @Test
+    @DisplayName("send() should hold a message while the circuit breaker of its channel is open instead of dropping it")
+    void sendShouldHoldMessageWhileCircuitIsOpen() throws Exception {
+        // Given
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder().windowSize(1).minimumCalls(1).openMillis(3_500).halfOpenProbes(1)
+                .build("SMS");
+        circuitBreaker.tryAcquire().onFailure(0);
+        RecordingNotifier sms = new RecordingNotifier(new CountDownLatch(0));
+        OutboxNotifierService outbox = new OutboxNotifierService(new NotifierServiceImpl(List.of(sms),
+                PriorityScheduler.builder().build(NotifierExecutors.create("platform", 2, 10)), RetryEngine.disabled(),
+                Map.of(NotifierPayload.Channel.SMS, circuitBreaker), new DefaultRetryClassifier(), Duration.ZERO), OutboxLog.open(directory, 64 * 1024));
+
+        // When
+        outbox.send(payload("Service degraded"));
+        String received = sms.received.poll(8, TimeUnit.SECONDS);
+        outbox.close();
+
+        // Then
+        assertThat(received).isEqualTo("+15005550000 Service degraded");
+    }
+
+    private static NotifierPayload payload(String body) {
+        return NotifierPayload.builder()
+                .channel(NotifierPayload.Channel.SMS)
+                .subject("Alert")
+                .body(body)
+                .addRecipient("+15005550000")
+                .build();
+    }
+
+    /**
+     * SMS notifier recording each message, blocked on its provider latch
+     */
+    private static final class RecordingNotifier implements Notifier {
+        private final CountDownLatch provider;
+        private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        private RecordingNotifier(CountDownLatch provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public void send(NotifierPayload payload) {
+            received.add(payload.getRecipients().get(0) + " " + payload.getBody());
+            try {
+                provider.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NotifierSendFailedException("Interrupted");
+            }
+        }
+
+        @Override
+        public boolean supports(NotifierPayload.Channel channel) {
+            return NotifierPayload.Channel.SMS.equals(channel);
+        }
+
+        @Override
+        public NotifierPayload.Channel getChannel() {
+            return NotifierPayload.Channel.SMS;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.kkm237.notifier.test.starter;
+
+import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.starter.service.PriorityScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * @implNote unit test for {@link PriorityScheduler}
+ * @author <a href="mailto:maximiliendenver@gmail.com">Maximilien kengne kongne</a>
+ * @since 18.10.2026
+ * @version 1.0.0
+ */
+@DisplayName("PrioritySchedulerTest")
+class PrioritySchedulerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("submit() should run the HIGH sends before a LOW batch queued first and measure each lane")
+    void submitShouldRunHighBeforeLowBatch() throws Exception {
+        // Given
+        PriorityScheduler scheduler = PriorityScheduler.builder().concurrency(1).reservedHighSlots(0).build(executor);
+        CountDownLatch gate = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.submit(NotifierPayload.Priority.NORMAL, () -> await(gate));
+        for (int i = 0; i < 20; i++) {
+            String name = "low-" + i;
+            scheduler.submit(NotifierPayload.Priority.LOW, () -> order.add(name));
+        }
+        Future<?> last = null;
+        for (int i = 0; i < 3; i++) {
+            String name = "high-" + i;
+            last = scheduler.submit(NotifierPayload.Priority.HIGH, () -> order.add(name));
+        }
+        PriorityScheduler.LaneStats queued = scheduler.getStats(NotifierPayload.Priority.LOW);
+
+        // When
+        gate.countDown();
+        last.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(queued.getDepth()).isEqualTo(20);
+        assertThat(order.subList(0, 3)).containsExactly("high-0", "high-1", "high-2");
+        PriorityScheduler.LaneStats high = scheduler.getStats(NotifierPayload.Priority.HIGH);
+        assertThat(high.getDispatched()).isEqualTo(3);
+        assertThat(high.getDepth()).isZero();
+        assertThat(high.getMaxWaitMillis()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("submit() should keep a slot for the HIGH sends and run a LOW send waiting too long first")
+    void submitShouldReserveHighSlotAndPreventStarvation() throws Exception {
+        // Given
+        PriorityScheduler scheduler = PriorityScheduler.builder()
+                .concurrency(2)
+                .reservedHighSlots(1)
+                .weights(100, 1, 1)
+                .maxWaitMillis(50)
+                .build(executor);
+        CountDownLatch lowGate = new CountDownLatch(1);
+        CountDownLatch highGate = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.submit(NotifierPayload.Priority.LOW, () -> await(lowGate));
+        Future<?> starved = scheduler.submit(NotifierPayload.Priority.LOW, () -> order.add("low"));
+
+        // When
+        Future<?> urgent = scheduler.submit(NotifierPayload.Priority.HIGH, () -> await(highGate));
+        boolean lowWaiting = !starved.isDone();
+        TimeUnit.MILLISECONDS.sleep(100);
+        for (int i = 0; i < 10; i++) {
+            String name = "high-" + i;
+            scheduler.submit(NotifierPayload.Priority.HIGH, () -> order.add(name));
+        }
+        lowGate.countDown();
+        starved.get(5, TimeUnit.SECONDS);
+        highGate.countDown();
+        urgent.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(lowWaiting).isTrue();
+        assertThat(scheduler.getStats(NotifierPayload.Priority.HIGH).getMaxWaitMillis()).isLessThan(100);
+        assertThat(order.get(0)).isEqualTo("low");
+    }
+
+    @Test
+    @DisplayName("submit() should run a HIGH send ahead of an old LOW backlog, which only gets one aged send ahead")
+    void submitShouldNotLetAgedBacklogDelayHighSends() throws Exception {
+        // Given
+        PriorityScheduler scheduler = PriorityScheduler.builder().concurrency(1).reservedHighSlots(0).maxWaitMillis(20).build(executor);
+        CountDownLatch gate = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.submit(NotifierPayload.Priority.NORMAL, () -> await(gate));
+        for (int i = 0; i < 100; i++) {
+            String name = "low-" + i;
+            scheduler.submit(NotifierPayload.Priority.LOW, () -> order.add(name));
+        }
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        // When
+        Future<?> urgent = scheduler.submit(NotifierPayload.Priority.HIGH, () -> order.add("high"));
+        gate.countDown();
+        urgent.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(order.indexOf("high")).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("cancel() should remove a queued send from its lane and free its capacity")
+    void cancelShouldRemoveQueuedSendFromLane() throws Exception {
+        // Given
+        PriorityScheduler scheduler = PriorityScheduler.builder().concurrency(1).reservedHighSlots(0).laneCapacity(2).build(executor);
+        CountDownLatch gate = new CountDownLatch(1);
+        scheduler.submit(NotifierPayload.Priority.NORMAL, () -> await(gate));
+        List<Future<?>> timedOut = List.of(scheduler.submit(NotifierPayload.Priority.LOW, () -> { }),
+                scheduler.submit(NotifierPayload.Priority.LOW, () -> { }));
+
+        // When
+        timedOut.forEach(future -> future.cancel(true));
+        int depth = scheduler.getStats(NotifierPayload.Priority.LOW).getDepth();
+        Future<?> live = scheduler.submit(NotifierPayload.Priority.LOW, () -> { });
+        gate.countDown();
+        live.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(depth).isZero();
+        assertThat(scheduler.getStats(NotifierPayload.Priority.LOW).getRejected()).isZero();
+        assertThat(scheduler.getStats(NotifierPayload.Priority.LOW).getDispatched()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch gate) {
+        try {
+            gate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
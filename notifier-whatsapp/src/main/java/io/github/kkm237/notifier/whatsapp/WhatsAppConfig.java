@@ -1,19 +1,43 @@
 package io.github.kkm237.notifier.whatsapp;
 
+import io.github.kkm237.notifier.core.circuit.CircuitBreaker;
 import io.github.kkm237.notifier.core.exceptions.NotifierException;
+import io.github.kkm237.notifier.core.provider.ProviderType;
+import io.github.kkm237.notifier.core.provider.TwilioHttpProvider;
+import io.github.kkm237.notifier.core.provider.TwilioSettings;
+import io.github.kkm237.notifier.core.sender.SenderSelection;
+import io.github.kkm237.notifier.core.utils.RecipientValidator;
 import io.github.kkm237.notifier.core.utils.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * @implNote WhatsApp configuration
  * @author Maximilien kengne kongne
  * @since 16.01.2026
  * @version 1.0.0
  */
-public final class WhatsAppConfig {
+public final class WhatsAppConfig implements TwilioSettings {
 
     private final String accountSid;
     private final String authToken;
     private final String fromPhone;
+    private final List<String> additionalFromPhones;
+    private final SenderSelection senderSelection;
+    private final Long senderEjectionMillis;
+    private final Integer httpMaxConnections;
+    private final Integer httpMaxConnectionsPerRoute;
+    private final Long httpKeepAliveMillis;
+    private final Long httpConnectTimeoutMillis;
+    private final Long httpReadTimeoutMillis;
+    private final Double rateLimitPerSecond;
+    private final Integer rateLimitBurst;
+    private final Long rateLimitMaxWaitMillis;
+    private final ProviderType provider;
+    private final String apiBaseUrl;
+    private final CircuitBreaker circuitBreaker;
 
     public String getAccountSid() {
         return accountSid;
@@ -27,10 +51,89 @@ public final class WhatsAppConfig {
         return fromPhone;
     }
 
+    /**
+     * @return fromPhone followed by the additional sender numbers of the pool
+     */
+    public List<String> getFromPhones() {
+        List<String> fromPhones = new ArrayList<>(additionalFromPhones.size() + 1);
+        fromPhones.add(fromPhone);
+        fromPhones.addAll(additionalFromPhones);
+        return fromPhones;
+    }
+
+    public SenderSelection getSenderSelection() {
+        return senderSelection;
+    }
+
+    public Long getSenderEjectionMillis() {
+        return senderEjectionMillis;
+    }
+
+    public Integer getHttpMaxConnections() {
+        return httpMaxConnections;
+    }
+
+    public Integer getHttpMaxConnectionsPerRoute() {
+        return httpMaxConnectionsPerRoute;
+    }
+
+    public Long getHttpKeepAliveMillis() {
+        return httpKeepAliveMillis;
+    }
+
+    public Long getHttpConnectTimeoutMillis() {
+        return httpConnectTimeoutMillis;
+    }
+
+    public Long getHttpReadTimeoutMillis() {
+        return httpReadTimeoutMillis;
+    }
+
+    public Double getRateLimitPerSecond() {
+        return rateLimitPerSecond;
+    }
+
+    public Integer getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public Long getRateLimitMaxWaitMillis() {
+        return rateLimitMaxWaitMillis;
+    }
+
+    public ProviderType getProvider() {
+        return provider;
+    }
+
+    public String getApiBaseUrl() {
+        return apiBaseUrl;
+    }
+
+    /**
+     * @return the circuit breaker of the provider endpoint, null when the provider is not guarded
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
     private WhatsAppConfig(Builder builder) {
         this.accountSid = builder.accountSid;
         this.authToken = builder.authToken;
         this.fromPhone = builder.fromPhone;
+        this.additionalFromPhones = List.copyOf(builder.additionalFromPhones);
+        this.senderSelection = builder.senderSelection;
+        this.senderEjectionMillis = builder.senderEjectionMillis;
+        this.httpMaxConnections = builder.httpMaxConnections;
+        this.httpMaxConnectionsPerRoute = builder.httpMaxConnectionsPerRoute;
+        this.httpKeepAliveMillis = builder.httpKeepAliveMillis;
+        this.httpConnectTimeoutMillis = builder.httpConnectTimeoutMillis;
+        this.httpReadTimeoutMillis = builder.httpReadTimeoutMillis;
+        this.rateLimitPerSecond = builder.rateLimitPerSecond;
+        this.rateLimitBurst = builder.rateLimitBurst;
+        this.rateLimitMaxWaitMillis = builder.rateLimitMaxWaitMillis;
+        this.provider = builder.provider;
+        this.apiBaseUrl = builder.apiBaseUrl;
+        this.circuitBreaker = builder.circuitBreaker;
     }
 
     public static Builder builder() {
@@ -41,6 +144,20 @@ public final class WhatsAppConfig {
         private String accountSid;
         private String authToken;
         private String fromPhone;
+        private final List<String> additionalFromPhones = new ArrayList<>();
+        private SenderSelection senderSelection = SenderSelection.ROUND_ROBIN;
+        private Long senderEjectionMillis = 30_000L;
+        private Integer httpMaxConnections = 50;
+        private Integer httpMaxConnectionsPerRoute = 50;
+        private Long httpKeepAliveMillis = 30_000L;
+        private Long httpConnectTimeoutMillis = 10_000L;
+        private Long httpReadTimeoutMillis = 30_000L;
+        private Double rateLimitPerSecond = 0.0;
+        private Integer rateLimitBurst = 1;
+        private Long rateLimitMaxWaitMillis = 30_000L;
+        private ProviderType provider = ProviderType.TWILIO_SDK;
+        private String apiBaseUrl = TwilioHttpProvider.DEFAULT_BASE_URL;
+        private CircuitBreaker circuitBreaker;
 
 
         private Builder() {}
@@ -59,16 +176,145 @@ public final class WhatsAppConfig {
 
         public Builder fromPhone(String fromPhone) {
             if (StringUtils.isNullOrEmpty(fromPhone)) throw new NotifierException("fromPhone is null or empty");
-            if (StringUtils.isValidPhoneNumber(fromPhone)) throw  new NotifierException("fromPhone is not valid");
+            if (!RecipientValidator.isValidWhatsAppNumber(fromPhone)) throw  new NotifierException("fromPhone is not valid");
             this.fromPhone = fromPhone;
             return this;
         }
 
+        /**
+         * Add a sender number to the pool of fromPhone, the messages are then spread over the numbers
+         */
+        public Builder addFromPhone(String fromPhone) {
+            if (StringUtils.isNullOrEmpty(fromPhone)) throw new NotifierException("fromPhone is null or empty");
+            if (!RecipientValidator.isValidWhatsAppNumber(fromPhone)) throw  new NotifierException("fromPhone is not valid");
+            this.additionalFromPhones.add(fromPhone);
+            return this;
+        }
+
+        public Builder addFromPhones(List<String> fromPhones) {
+            fromPhones.forEach(this::addFromPhone);
+            return this;
+        }
+
+        /**
+         * How the sender number of a message is picked in the pool
+         */
+        public Builder senderSelection(SenderSelection senderSelection) {
+            this.senderSelection = Objects.requireNonNull(senderSelection, "senderSelection cannot be null");
+            return this;
+        }
+
+        /**
+         * How long a failing sender number is left out of the pool
+         */
+        public Builder senderEjectionMillis(Long senderEjectionMillis) {
+            if (senderEjectionMillis == null || senderEjectionMillis < 0) throw new NotifierException("senderEjectionMillis cannot be null or negative");
+            this.senderEjectionMillis = senderEjectionMillis;
+            return this;
+        }
+
+        /**
+         * Maximum number of HTTP connections opened to the Twilio API
+         */
+        public Builder httpMaxConnections(Integer httpMaxConnections) {
+            if (httpMaxConnections == null || httpMaxConnections < 1) throw new NotifierException("httpMaxConnections must be greater than 0");
+            this.httpMaxConnections = httpMaxConnections;
+            return this;
+        }
+
+        /**
+         * Maximum number of HTTP connections opened to one Twilio host
+         */
+        public Builder httpMaxConnectionsPerRoute(Integer httpMaxConnectionsPerRoute) {
+            if (httpMaxConnectionsPerRoute == null || httpMaxConnectionsPerRoute < 1) throw new NotifierException("httpMaxConnectionsPerRoute must be greater than 0");
+            this.httpMaxConnectionsPerRoute = httpMaxConnectionsPerRoute;
+            return this;
+        }
+
+        /**
+         * How long an idle HTTP connection is kept open for reuse
+         */
+        public Builder httpKeepAliveMillis(Long httpKeepAliveMillis) {
+            if (httpKeepAliveMillis == null || httpKeepAliveMillis < 0) throw new NotifierException("httpKeepAliveMillis cannot be null or negative");
+            this.httpKeepAliveMillis = httpKeepAliveMillis;
+            return this;
+        }
+
+        /**
+         * Timeout of the TCP and TLS connection to the Twilio API
+         */
+        public Builder httpConnectTimeoutMillis(Long httpConnectTimeoutMillis) {
+            if (httpConnectTimeoutMillis == null || httpConnectTimeoutMillis < 0) throw new NotifierException("httpConnectTimeoutMillis cannot be null or negative");
+            this.httpConnectTimeoutMillis = httpConnectTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Timeout waiting for a response of the Twilio API
+         */
+        public Builder httpReadTimeoutMillis(Long httpReadTimeoutMillis) {
+            if (httpReadTimeoutMillis == null || httpReadTimeoutMillis < 0) throw new NotifierException("httpReadTimeoutMillis cannot be null or negative");
+            this.httpReadTimeoutMillis = httpReadTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Messages per second sent from the sender number, 0 for no limit (a Twilio long code accepts about 1)
+         */
+        public Builder rateLimitPerSecond(Double rateLimitPerSecond) {
+            if (rateLimitPerSecond == null || rateLimitPerSecond < 0) throw new NotifierException("rateLimitPerSecond cannot be null or negative");
+            this.rateLimitPerSecond = rateLimitPerSecond;
+            return this;
+        }
+
+        /**
+         * Messages sent at once from an idle sender number before the rate applies
+         */
+        public Builder rateLimitBurst(Integer rateLimitBurst) {
+            if (rateLimitBurst == null || rateLimitBurst < 1) throw new NotifierException("rateLimitBurst must be greater than 0");
+            this.rateLimitBurst = rateLimitBurst;
+            return this;
+        }
+
+        /**
+         * How long a message waits for the rate limit before failing
+         */
+        public Builder rateLimitMaxWaitMillis(Long rateLimitMaxWaitMillis) {
+            if (rateLimitMaxWaitMillis == null || rateLimitMaxWaitMillis < 0) throw new NotifierException("rateLimitMaxWaitMillis cannot be null or negative");
+            this.rateLimitMaxWaitMillis = rateLimitMaxWaitMillis;
+            return this;
+        }
+
+        /**
+         * Client of the Twilio API: the Twilio SDK, or the asynchronous HTTP/2 client of the JDK
+         */
+        public Builder provider(ProviderType provider) {
+            this.provider = Objects.requireNonNull(provider, "provider cannot be null");
+            return this;
+        }
+
+        /**
+         * Root URL of the Twilio API used by the {@link ProviderType#TWILIO_HTTP} provider
+         */
+        public Builder apiBaseUrl(String apiBaseUrl) {
+            if (StringUtils.isNullOrEmpty(apiBaseUrl)) throw new NotifierException("apiBaseUrl is null or empty");
+            this.apiBaseUrl = apiBaseUrl;
+            return this;
+        }
+
+        /**
+         * Guard the provider endpoint with a circuit breaker, the messages then fail at once while it is degraded
+         */
+        public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = Objects.requireNonNull(circuitBreaker, "circuitBreaker cannot be null");
+            return this;
+        }
+
         public WhatsAppConfig build() {
             if (StringUtils.isNullOrEmpty(accountSid)) throw new NotifierException("accountSid is null or empty");
             if (StringUtils.isNullOrEmpty(authToken)) throw new NotifierException("authToken is null or empty");
             if (StringUtils.isNullOrEmpty(fromPhone)) throw new NotifierException("fromPhone is null or empty");
-            if (StringUtils.isValidPhoneNumber(fromPhone)) throw  new NotifierException("fromPhone is not valid");
+            if (!RecipientValidator.isValidWhatsAppNumber(fromPhone)) throw  new NotifierException("fromPhone is not valid");
             return new WhatsAppConfig(this);
         }
 
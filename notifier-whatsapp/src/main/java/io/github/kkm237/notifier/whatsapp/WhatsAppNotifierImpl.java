@@ -1,48 +1,137 @@
 package io.github.kkm237.notifier.whatsapp;
 
 
-import com.twilio.Twilio;
-import com.twilio.rest.api.v2010.account.Message;
-import com.twilio.type.PhoneNumber;
+import com.twilio.http.TwilioRestClient;
+import io.github.kkm237.notifier.core.delivery.DeliveryState;
+import io.github.kkm237.notifier.core.delivery.DeliveryStatusStore;
+import io.github.kkm237.notifier.core.exceptions.NotifierRateLimitedException;
 import io.github.kkm237.notifier.core.exceptions.NotifierSendFailedException;
 import io.github.kkm237.notifier.core.model.Notifier;
 import io.github.kkm237.notifier.core.model.NotifierPayload;
+import io.github.kkm237.notifier.core.model.RecipientResult;
+import io.github.kkm237.notifier.core.model.SendReport;
+import io.github.kkm237.notifier.core.model.TemplatePayload;
+import io.github.kkm237.notifier.core.provider.MessageProvider;
+import io.github.kkm237.notifier.core.provider.ProviderException;
+import io.github.kkm237.notifier.core.provider.ProviderMessage;
+import io.github.kkm237.notifier.core.provider.TwilioClientFactory;
+import io.github.kkm237.notifier.core.provider.TwilioSdkProvider;
+import io.github.kkm237.notifier.core.ratelimit.SenderRateLimiter;
+import io.github.kkm237.notifier.core.sender.SenderNumber;
+import io.github.kkm237.notifier.core.sender.SenderPool;
+import io.github.kkm237.notifier.core.utils.Futures;
 
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
  * @implNote Send WhatsApp notification {@link  io.github.kkm237.notifier.whatsapp.WhatsAppConfig}
+ * <p>A failed recipient does not prevent the next ones from being sent, {@link #sendWithReport(NotifierPayload)}
+ * reports the outcome of each recipient.</p>
+ * <p>The messages are spread over the sender numbers of the configuration, see {@link SenderPool}.
+ * When {@code rateLimitPerSecond} is set, the sends are paced to that rate per sender number, and a send which
+ * cannot get a permit within {@code rateLimitMaxWaitMillis} fails with a {@link NotifierRateLimitedException}.</p>
+ * <p>The messages are sent by a {@link MessageProvider}, the Twilio SDK by default or the HTTP/2 client of the JDK,
+ * see {@link WhatsAppConfig.Builder#provider}.</p>
  * @author Maximilien kengne kongne
  * @since 20.01.2026
  * @version 1.0.0
  * @see io.github.kkm237.notifier.core.model.NotifierPayload
  */
-public class WhatsAppNotifierImpl implements Notifier {
+public class WhatsAppNotifierImpl implements Notifier, AutoCloseable {
+    /**
+     * Twilio errors of the sender number: not a valid sender (21606), queue of the number full (21611)
+     */
+    private static final Set<Integer> SENDER_ERROR_CODES = Set.of(21606, 21611);
+
     Logger log = Logger.getLogger(WhatsAppNotifierImpl.class.getName());
-    private final String fromPhoneNumber;
+    private final MessageProvider provider;
+    private volatile DeliveryStatusStore deliveries;
+    private final SenderPool senders;
 
     public WhatsAppNotifierImpl(WhatsAppConfig config) {
-        Twilio.init(config.getAccountSid(), config.getAuthToken());
-        this.fromPhoneNumber = config.getFromPhone();
+        this(config, TwilioClientFactory.provider(config));
+    }
+
+    /**
+     * Constructor with a Twilio client built by the caller, the provider and HTTP settings of the configuration are
+     * then ignored
+     */
+    public WhatsAppNotifierImpl(WhatsAppConfig config, TwilioRestClient restClient) {
+        this(config, new TwilioSdkProvider(restClient, null));
+    }
+
+    /**
+     * Constructor with a provider built by the caller, closed with the notifier
+     */
+    public WhatsAppNotifierImpl(WhatsAppConfig config, MessageProvider provider) {
+        this.provider = provider;
+        this.senders = new SenderPool(config.getFromPhones(), config.getSenderSelection(),
+                new SenderRateLimiter(config.getRateLimitPerSecond(), config.getRateLimitBurst(), config.getRateLimitMaxWaitMillis()),
+                config.getSenderEjectionMillis());
     }
 
     @Override
     public void send(NotifierPayload payload) {
-        try {
+        if (payload.getRecipients().isEmpty()) {
+            throw new NotifierSendFailedException( "Failed to send WhatsApp notification: missing or invalid recipient");
+        }
+        throwIfFailed(sendWithReport(payload));
+    }
 
-            if (!payload.getRecipients().isEmpty()) {
-                for (String recipient: payload.getRecipients()) {
-                    Message message = Message.creator(new PhoneNumber(recipient), new PhoneNumber(fromPhoneNumber), payload.getBody()).create();
-                    log.info("WhatsApp notification sent successfully. Message SID: " +message.getSid() +" Message Status: " +message.getStatus().toString());
-                }
-            }else {
-                throw new NotifierSendFailedException( "Failed to send WhatsApp notification: missing or invalid recipient");
-            }
+    /**
+     * Send the body rendered for each recipient, reusing one buffer for the rendering
+     */
+    @Override
+    public void send(TemplatePayload payload) {
+        throwIfFailed(sendWithReport(payload));
+    }
 
-        } catch (Exception e) {
-            throw new NotifierSendFailedException( "Failed to send WhatsApp notification: " + e.getMessage(),e );
+    /**
+     * Send the payload and report each recipient, a failed recipient does not prevent the next ones from being sent
+     */
+    @Override
+    public SendReport sendWithReport(NotifierPayload payload) {
+        List<RecipientResult> results = new ArrayList<>(payload.getRecipients().size());
+        for (String recipient : payload.getRecipients()) {
+            stopIfInterrupted();
+            results.add(sendOne(recipient, payload.getBody()));
+        }
+        return new SendReport(NotifierPayload.Channel.WHATSAPP, results);
+    }
+
+    /**
+     * Send the body rendered for each recipient and report each recipient, reusing one buffer for the rendering
+     */
+    @Override
+    public SendReport sendWithReport(TemplatePayload payload) {
+        List<RecipientResult> results = new ArrayList<>(payload.getRecipients().size());
+        StringBuilder buffer = new StringBuilder(160);
+        for (String recipient : payload.getRecipients()) {
+            stopIfInterrupted();
+            String body;
+            try {
+                body = payload.renderBody(recipient, buffer);
+            } catch (RuntimeException e) {
+                results.add(RecipientResult.failed(recipient, e, 0));
+                continue;
+            }
+            results.add(sendOne(recipient, body));
         }
+        return new SendReport(NotifierPayload.Channel.WHATSAPP, results);
+    }
+
+    /**
+     * Close the provider and its HTTP connections
+     */
+    @Override
+    public void close() {
+        provider.close();
     }
 
     @Override
@@ -54,4 +143,95 @@ public class WhatsAppNotifierImpl implements Notifier {
     public NotifierPayload.Channel getChannel() {
         return NotifierPayload.Channel.WHATSAPP;
     }
+
+    /**
+     * Track each accepted message in the store, whose status callbacks then give its final state
+     */
+    public void trackDeliveries(DeliveryStatusStore deliveries) {
+        this.deliveries = deliveries;
+    }
+
+    /**
+     * State of the sender numbers
+     */
+    public List<SenderNumber> getSenders() {
+        return senders.getSenders();
+    }
+
+    /**
+     * Stop a send cancelled by its caller before the next recipient
+     */
+    private static void stopIfInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new NotifierSendFailedException("Interrupted while sending WhatsApp notifications");
+        }
+    }
+
+    /**
+     * Throw the failure of a single recipient as is, or the failures of many recipients at once
+     */
+    private static void throwIfFailed(SendReport report) {
+        if (report.getResults().size() == 1 && !report.isSuccess()) {
+            RecipientResult failure = report.getResults().get(0);
+            if (failure.getError() instanceof NotifierRateLimitedException) {
+                throw (NotifierRateLimitedException) failure.getError();
+            }
+            throw new NotifierSendFailedException( "Failed to send WhatsApp notification: " + failure.getErrorMessage(), failure.getError());
+        }
+        report.throwIfFailed("WhatsApp notifications");
+    }
+
+    /**
+     * Send one message from a sender number of the pool, once that number has a permit
+     *
+     * @return the result of the recipient, {@link RecipientResult.Status#RATE_LIMITED} when no permit is available
+     * in time or Twilio rejected the send for its rate
+     */
+    private RecipientResult sendOne(String recipient, String body) {
+        long start = System.nanoTime();
+        SenderPool.Lease sender;
+        try {
+            sender = senders.acquire(recipient);
+        } catch (RuntimeException e) {
+            return RecipientResult.failed(recipient, e, System.nanoTime() - start);
+        }
+        try (sender) {
+            long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (waited > 0) {
+                log.fine("WhatsApp notification to " + recipient + " delayed " + waited + " ms by the rate limit of " + sender.getNumber());
+            }
+            ProviderMessage message = Futures.await(provider.send(sender.getNumber(), recipient, body), "the provider");
+            sender.success();
+            log.info("WhatsApp notification sent successfully. Message SID: " +message.getId() +" Message Status: " +message.getStatus());
+            DeliveryStatusStore store = deliveries;
+            if (store != null) {
+                store.track(NotifierPayload.Channel.WHATSAPP, message.getId(), recipient, DeliveryState.fromProviderStatus(message.getStatus()));
+            }
+            return RecipientResult.sent(recipient, message.getId(), System.nanoTime() - start);
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof ProviderException)) {
+                return RecipientResult.failed(recipient, e.getCause() instanceof Exception ? (Exception) e.getCause() : e,
+                        System.nanoTime() - start);
+            }
+            ProviderException failure = (ProviderException) e.getCause();
+            if (failure.isRateLimited()) {
+                sender.rateLimited();
+                return RecipientResult.failed(recipient, new NotifierRateLimitedException(sender.getNumber(), -1,
+                        "Twilio rate limit reached for sender " + sender.getNumber(), failure, false), System.nanoTime() - start);
+            }
+            if (isSenderFailure(failure)) {
+                sender.failure();
+            }
+            return RecipientResult.failed(recipient, failure, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            return RecipientResult.failed(recipient, e, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * A server error, or an error of the sender number itself, as opposed to an invalid recipient or body
+     */
+    private static boolean isSenderFailure(ProviderException e) {
+        return e.isServerError() || (e.getErrorCode() != null && SENDER_ERROR_CODES.contains(e.getErrorCode()));
+    }
 }